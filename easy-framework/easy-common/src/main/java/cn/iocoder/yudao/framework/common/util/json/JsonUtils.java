@@ -8,6 +8,8 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import lombok.SneakyThrows;
@@ -17,6 +19,9 @@ import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * JSON 工具类
@@ -26,8 +31,30 @@ import java.util.List;
 @Slf4j
 public class JsonUtils {
 
+    /**
+     * 每类缓存的最大数量，超过后不再缓存，避免动态构造的类型撑满内存
+     */
+    private static final int MAX_CACHE_SIZE = 4096;
+
     private static ObjectMapper objectMapper = new ObjectMapper();
 
+    /**
+     * 是否按类型缓存 ObjectReader、ObjectWriter
+     */
+    private static volatile boolean cacheEnabled = false;
+    /**
+     * 按类型缓存的 ObjectReader
+     */
+    private static final Map<Type, ObjectReader> READERS = new ConcurrentHashMap<>();
+    /**
+     * 按元素类型缓存的 List ObjectReader
+     */
+    private static final Map<Class<?>, ObjectReader> LIST_READERS = new ConcurrentHashMap<>();
+    /**
+     * 按对象类型缓存的 ObjectWriter
+     */
+    private static final Map<Class<?>, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+
     static {
         objectMapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
         objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
@@ -43,17 +70,34 @@ public class JsonUtils {
      * @param objectMapper ObjectMapper 对象
      */
     public static void init(ObjectMapper objectMapper) {
+        init(objectMapper, false);
+    }
+
+    /**
+     * 初始化 objectMapper 属性，并设置是否按类型缓存 ObjectReader、ObjectWriter
+     * <p>
+     * 开启缓存后，每个类型只解析一次序列化器、反序列化器，不再每次调用都通过 TypeFactory 构造类型。
+     * 缓存的 ObjectReader、ObjectWriter 使用创建时 objectMapper 的配置，因此开启缓存后，不应再修改 objectMapper 的配置
+     *
+     * @param objectMapper ObjectMapper 对象
+     * @param cacheEnabled 是否缓存
+     */
+    public static void init(ObjectMapper objectMapper, boolean cacheEnabled) {
         JsonUtils.objectMapper = objectMapper;
+        JsonUtils.cacheEnabled = cacheEnabled;
+        READERS.clear();
+        LIST_READERS.clear();
+        WRITERS.clear();
     }
 
     @SneakyThrows
     public static String toJsonString(Object object) {
-        return objectMapper.writeValueAsString(object);
+        return cacheEnabled ? getWriter(object).writeValueAsString(object) : objectMapper.writeValueAsString(object);
     }
 
     @SneakyThrows
     public static byte[] toJsonByte(Object object) {
-        return objectMapper.writeValueAsBytes(object);
+        return cacheEnabled ? getWriter(object).writeValueAsBytes(object) : objectMapper.writeValueAsBytes(object);
     }
 
     @SneakyThrows
@@ -66,7 +110,7 @@ public class JsonUtils {
             return null;
         }
         try {
-            return objectMapper.readValue(text, clazz);
+            return cacheEnabled ? getReader(clazz).readValue(text) : objectMapper.readValue(text, clazz);
         } catch (IOException e) {
             log.error("json parse err,json:{}", text, e);
             throw new RuntimeException(e);
@@ -80,7 +124,7 @@ public class JsonUtils {
         try {
             JsonNode treeNode = objectMapper.readTree(text);
             JsonNode pathNode = treeNode.path(path);
-            return objectMapper.readValue(pathNode.toString(), clazz);
+            return cacheEnabled ? getReader(clazz).readValue(pathNode.toString()) : objectMapper.readValue(pathNode.toString(), clazz);
         } catch (IOException e) {
             log.error("json parse err,json:{}", text, e);
             throw new RuntimeException(e);
@@ -92,7 +136,8 @@ public class JsonUtils {
             return null;
         }
         try {
-            return objectMapper.readValue(text, objectMapper.getTypeFactory().constructType(type));
+            return cacheEnabled ? getReader(type).readValue(text)
+                    : objectMapper.readValue(text, objectMapper.getTypeFactory().constructType(type));
         } catch (IOException e) {
             log.error("json parse err,json:{}", text, e);
             throw new RuntimeException(e);
@@ -120,7 +165,7 @@ public class JsonUtils {
             return null;
         }
         try {
-            return objectMapper.readValue(bytes, clazz);
+            return cacheEnabled ? getReader(clazz).readValue(bytes) : objectMapper.readValue(bytes, clazz);
         } catch (IOException e) {
             log.error("json parse err,json:{}", bytes, e);
             throw new RuntimeException(e);
@@ -129,7 +174,7 @@ public class JsonUtils {
 
     public static <T> T parseObject(String text, TypeReference<T> typeReference) {
         try {
-            return objectMapper.readValue(text, typeReference);
+            return cacheEnabled ? getReader(typeReference.getType()).readValue(text) : objectMapper.readValue(text, typeReference);
         } catch (IOException e) {
             log.error("json parse err,json:{}", text, e);
             throw new RuntimeException(e);
@@ -145,7 +190,7 @@ public class JsonUtils {
      */
     public static <T> T parseObjectQuietly(String text, TypeReference<T> typeReference) {
         try {
-            return objectMapper.readValue(text, typeReference);
+            return cacheEnabled ? getReader(typeReference.getType()).readValue(text) : objectMapper.readValue(text, typeReference);
         } catch (IOException e) {
             return null;
         }
@@ -156,7 +201,8 @@ public class JsonUtils {
             return new ArrayList<>();
         }
         try {
-            return objectMapper.readValue(text, objectMapper.getTypeFactory().constructCollectionType(List.class, clazz));
+            return cacheEnabled ? getListReader(clazz).readValue(text)
+                    : objectMapper.readValue(text, objectMapper.getTypeFactory().constructCollectionType(List.class, clazz));
         } catch (IOException e) {
             log.error("json parse err,json:{}", text, e);
             throw new RuntimeException(e);
@@ -170,7 +216,8 @@ public class JsonUtils {
         try {
             JsonNode treeNode = objectMapper.readTree(text);
             JsonNode pathNode = treeNode.path(path);
-            return objectMapper.readValue(pathNode.toString(), objectMapper.getTypeFactory().constructCollectionType(List.class, clazz));
+            return cacheEnabled ? getListReader(clazz).readValue(pathNode.toString())
+                    : objectMapper.readValue(pathNode.toString(), objectMapper.getTypeFactory().constructCollectionType(List.class, clazz));
         } catch (IOException e) {
             log.error("json parse err,json:{}", text, e);
             throw new RuntimeException(e);
@@ -195,6 +242,36 @@ public class JsonUtils {
         }
     }
 
+    // ========== ObjectReader、ObjectWriter 缓存 ==========
+
+    private static ObjectWriter getWriter(Object object) {
+        if (object == null) {
+            return objectMapper.writer();
+        }
+        return getCached(WRITERS, object.getClass(), objectMapper::writerFor);
+    }
+
+    private static ObjectReader getReader(Type type) {
+        return getCached(READERS, type, key -> objectMapper.readerFor(objectMapper.getTypeFactory().constructType(key)));
+    }
+
+    private static ObjectReader getListReader(Class<?> clazz) {
+        return getCached(LIST_READERS, clazz,
+                key -> objectMapper.readerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, key)));
+    }
+
+    private static <K, V> V getCached(Map<K, V> cache, K key, Function<K, V> factory) {
+        V value = cache.get(key);
+        if (value != null) {
+            return value;
+        }
+        value = factory.apply(key);
+        if (cache.size() < MAX_CACHE_SIZE) {
+            cache.putIfAbsent(key, value);
+        }
+        return value;
+    }
+
     public static boolean isJson(String text) {
         return JSONUtil.isTypeJSON(text);
     }
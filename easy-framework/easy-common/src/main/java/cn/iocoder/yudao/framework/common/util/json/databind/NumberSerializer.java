@@ -2,7 +2,6 @@ package cn.iocoder.yudao.framework.common.util.json.databind;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.SerializerProvider;
-import com.fasterxml.jackson.databind.annotation.JacksonStdImpl;
 
 import java.io.IOException;
 
@@ -10,10 +9,12 @@ import java.io.IOException;
  * Long 序列化规则
  * <p>
  * 会将超长 long 值转换为 string，解决前端 JavaScript 最大安全整数是 2^53-1 的问题
+ * <p>
+ * 注意，不能声明 {@link com.fasterxml.jackson.databind.annotation.JacksonStdImpl} 注解。
+ * Blackbird、Afterburner 会把声明该注解的序列化器当作默认实现，直接写出 long 值，跳过本序列化器
  *
  * @author 星语
  */
-@JacksonStdImpl
 public class NumberSerializer extends com.fasterxml.jackson.databind.ser.std.NumberSerializer {
 
     private static final long MAX_SAFE_INTEGER = 9007199254740991L;
@@ -28,7 +29,8 @@ public class NumberSerializer extends com.fasterxml.jackson.databind.ser.std.Num
     @Override
     public void serialize(Number value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
         // 超出范围 序列化位字符串
-        if (value.longValue() > MIN_SAFE_INTEGER && value.longValue() < MAX_SAFE_INTEGER) {
+        long longValue = value.longValue();
+        if (longValue > MIN_SAFE_INTEGER && longValue < MAX_SAFE_INTEGER) {
             super.serialize(value, gen, serializers);
         } else {
             gen.writeString(value.toString());
@@ -7,6 +7,7 @@ import cn.hutool.core.util.StrUtil;
 import cn.hutool.extra.spring.SpringUtil;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.context.ApplicationContext;
 import org.springframework.context.expression.BeanFactoryResolver;
 import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.ParameterNameDiscoverer;
@@ -97,12 +98,37 @@ public class SpringExpressionUtils {
      * @return 执行界面
      */
     public static Object parseExpression(String expressionString) {
+        return getExpressionValue(compileExpression(expressionString));
+    }
+
+    /**
+     * 预先解析 EL 表达式，配合 {@link #getExpressionValue(Expression)} 使用，避免每次执行时重复解析
+     *
+     * @param expressionString EL 表达式
+     * @return 解析后的表达式，expressionString 为空时返回 null
+     */
+    public static Expression compileExpression(String expressionString) {
         if (StrUtil.isBlank(expressionString)) {
             return null;
         }
-        Expression expression = EXPRESSION_PARSER.parseExpression(expressionString);
+        return EXPRESSION_PARSER.parseExpression(expressionString);
+    }
+
+    /**
+     * 从 Bean 工厂，执行已解析的 EL 表达式
+     *
+     * @param expression 已解析的表达式
+     * @return 执行结果，expression 为空时返回 null
+     */
+    public static Object getExpressionValue(Expression expression) {
+        if (expression == null) {
+            return null;
+        }
         StandardEvaluationContext context = new StandardEvaluationContext();
-        context.setBeanResolver(new BeanFactoryResolver(SpringUtil.getApplicationContext()));
+        ApplicationContext applicationContext = SpringUtil.getApplicationContext();
+        if (applicationContext != null) {
+            context.setBeanResolver(new BeanFactoryResolver(applicationContext));
+        }
         return expression.getValue(context);
     }
 
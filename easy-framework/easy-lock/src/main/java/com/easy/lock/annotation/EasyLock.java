@@ -1,5 +1,7 @@
 package com.easy.lock.annotation;
 
+import com.easy.lock.core.LockInfo;
+
 import java.lang.annotation.*;
 import java.util.concurrent.TimeUnit;
 
@@ -13,7 +15,7 @@ public @interface EasyLock {
 
     /**
      * 锁的键
-     * 支持Spring EL表达式
+     * 支持Spring EL表达式，表达式结果为集合或数组时同时锁定其中所有的键
      */
     String key();
 
@@ -22,6 +24,11 @@ public @interface EasyLock {
      */
     String prefix() default "";
 
+    /**
+     * 锁的类型，默认为独占且不可重入的Redis锁
+     */
+    LockInfo.LockType type() default LockInfo.LockType.REDIS;
+
     /**
      * 锁的过期时间，默认30秒
      */
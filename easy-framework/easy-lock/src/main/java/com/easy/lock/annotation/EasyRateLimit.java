@@ -0,0 +1,64 @@
+package com.easy.lock.annotation;
+
+import java.lang.annotation.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分布式限流注解
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface EasyRateLimit {
+
+    /**
+     * 限流的键
+     * 支持Spring EL表达式
+     */
+    String key();
+
+    /**
+     * 限流的前缀
+     */
+    String prefix() default "";
+
+    /**
+     * 每个周期的许可数量
+     */
+    int rate();
+
+    /**
+     * 周期，默认1秒
+     */
+    long period() default 1L;
+
+    /**
+     * 周期单位，默认秒
+     */
+    TimeUnit timeUnit() default TimeUnit.SECONDS;
+
+    /**
+     * 空闲后最多累积的许可数量，默认等于 rate
+     */
+    int burst() default 0;
+
+    /**
+     * 每次执行占用的许可数量
+     */
+    int permits() default 1;
+
+    /**
+     * 每次从Redis预取的许可数量，大于 permits 时开启本地预取，0表示不预取
+     */
+    int prefetch() default 0;
+
+    /**
+     * 被限流时的最长等待时间（毫秒），0表示不等待
+     */
+    long timeout() default 0L;
+
+    /**
+     * 被限流时的处理方式
+     */
+    EasyLock.FailStrategy failStrategy() default EasyLock.FailStrategy.EXCEPTION;
+}
@@ -0,0 +1,59 @@
+package com.easy.lock.annotation;
+
+import java.lang.annotation.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分布式信号量注解，限制方法对同一资源的并发执行数量
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface EasySemaphore {
+
+    /**
+     * 信号量的键
+     * 支持Spring EL表达式
+     */
+    String key();
+
+    /**
+     * 信号量的前缀
+     */
+    String prefix() default "";
+
+    /**
+     * 信号量的许可总数，即最大并发数
+     */
+    int maxPermits();
+
+    /**
+     * 每次执行占用的许可数量
+     */
+    int permits() default 1;
+
+    /**
+     * 许可的租约时间，默认30秒，持有者宕机后许可在租约到期时归还；未启用看门狗时执行时间不能超过租约时间
+     */
+    long leaseTime() default 30000L;
+
+    /**
+     * 租约时间单位，默认毫秒
+     */
+    TimeUnit timeUnit() default TimeUnit.MILLISECONDS;
+
+    /**
+     * 获取许可失败时的重试次数
+     */
+    int retryCount() default 3;
+
+    /**
+     * 获取许可失败时的重试间隔（毫秒）
+     */
+    long retryInterval() default 100L;
+
+    /**
+     * 获取许可失败时的处理方式
+     */
+    EasyLock.FailStrategy failStrategy() default EasyLock.FailStrategy.EXCEPTION;
+}
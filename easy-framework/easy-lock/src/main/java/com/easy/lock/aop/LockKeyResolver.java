@@ -0,0 +1,310 @@
+package com.easy.lock.aop;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 锁键解析器
+ * <p>
+ * 按方法缓存注解、参数名与编译后的表达式，常见的锁键写法不经过 SpEL：
+ * <ul>
+ *     <li>不含 # 的字面量锁键，拼接前缀后直接复用</li>
+ *     <li>{@code #param} 与 {@code 'literal' + #param}，直接读取对应位置的参数</li>
+ * </ul>
+ * 其他表达式以 {@link SpelCompilerMode#MIXED} 模式解析，多次执行后编译为字节码。
+ * 锁、信号量、限流注解共用同一套解析规则，各自通过注解属性提供锁键与前缀。
+ *
+ * @param <A> 注解类型
+ */
+@Slf4j
+public class LockKeyResolver<A extends Annotation> {
+
+    /**
+     * 直接引用参数的表达式，例如 #orderId
+     */
+    private static final Pattern PARAM_PATTERN = Pattern.compile("^#([A-Za-z_$][\\w$]*)$");
+
+    /**
+     * 字面量拼接参数的表达式，例如 'order:' + #orderId
+     */
+    private static final Pattern LITERAL_PARAM_PATTERN = Pattern.compile("^'([^']*)'\\s*\\+\\s*#([A-Za-z_$][\\w$]*)$");
+
+    /**
+     * 上下文中的内置变量，同名参数会被覆盖，不能走参数直读
+     */
+    private static final List<String> BUILTIN_VARIABLES = Arrays.asList("method", "class", "target");
+
+    /**
+     * SpEL表达式解析器，混合编译模式
+     */
+    private final SpelExpressionParser parser = new SpelExpressionParser(
+            new SpelParserConfiguration(SpelCompilerMode.MIXED, LockKeyResolver.class.getClassLoader()));
+
+    /**
+     * 方法参数名发现器
+     */
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+
+    /**
+     * 方法元数据缓存
+     */
+    private final Map<Method, LockMetadata<A>> metadataCache = new ConcurrentHashMap<>(64);
+
+    /**
+     * 注解类型
+     */
+    private final Class<A> annotationType;
+
+    /**
+     * 读取注解中的锁键表达式
+     */
+    private final Function<A, String> keyAttribute;
+
+    /**
+     * 读取注解中的锁键前缀
+     */
+    private final Function<A, String> prefixAttribute;
+
+    /**
+     * 构造函数
+     *
+     * @param annotationType  注解类型
+     * @param keyAttribute    读取注解中的锁键表达式
+     * @param prefixAttribute 读取注解中的锁键前缀
+     */
+    public LockKeyResolver(Class<A> annotationType, Function<A, String> keyAttribute,
+                           Function<A, String> prefixAttribute) {
+        this.annotationType = annotationType;
+        this.keyAttribute = keyAttribute;
+        this.prefixAttribute = prefixAttribute;
+    }
+
+    /**
+     * 获取方法的锁元数据
+     *
+     * @param method 方法
+     * @return 锁元数据，方法没有对应注解时返回null
+     */
+    public LockMetadata<A> getMetadata(Method method) {
+        LockMetadata<A> metadata = metadataCache.get(method);
+        if (metadata == null) {
+            A annotation = method.getAnnotation(annotationType);
+            if (annotation == null) {
+                return null;
+            }
+            metadata = metadataCache.computeIfAbsent(method, m -> createMetadata(m, annotation));
+        }
+        return metadata;
+    }
+
+    /**
+     * 解析锁键
+     *
+     * @param method 方法
+     * @param target 目标对象
+     * @param args   方法参数
+     * @return 完整的锁键列表，表达式结果为集合或数组时包含多个锁键
+     */
+    public List<String> resolveKeys(Method method, Object target, Object[] args) {
+        return resolveKeys(getMetadata(method), method, target, args);
+    }
+
+    /**
+     * 解析锁键
+     *
+     * @param metadata 锁元数据
+     * @param method   方法
+     * @param target   目标对象
+     * @param args     方法参数
+     * @return 完整的锁键列表，表达式结果为集合或数组时包含多个锁键
+     */
+    public List<String> resolveKeys(LockMetadata<A> metadata, Method method, Object target, Object[] args) {
+        switch (metadata.keyKind) {
+            case LITERAL:
+                return metadata.literalKeys;
+            case PARAM:
+                return toKeys(metadata.keyPrefix, args[metadata.paramIndex]);
+            case LITERAL_PARAM:
+                return Collections.singletonList(metadata.keyPrefix + metadata.literal + args[metadata.paramIndex]);
+            default:
+                return toKeys(metadata.keyPrefix, evaluate(metadata, method, target, args));
+        }
+    }
+
+    private Object evaluate(LockMetadata<A> metadata, Method method, Object target, Object[] args) {
+        try {
+            StandardEvaluationContext context = new StandardEvaluationContext();
+            String[] paramNames = metadata.paramNames;
+            if (paramNames != null) {
+                for (int i = 0; i < paramNames.length; i++) {
+                    context.setVariable(paramNames[i], args[i]);
+                }
+            }
+            context.setVariable("method", method.getName());
+            context.setVariable("class", method.getDeclaringClass().getSimpleName());
+            context.setVariable("target", target);
+
+            Object value = metadata.expression.getValue(context);
+            return value == null ? "" : value;
+        } catch (Exception e) {
+            log.error("解析SpEL表达式失败：{}", metadata.key, e);
+            return metadata.key;
+        }
+    }
+
+    private LockMetadata<A> createMetadata(Method method, A annotation) {
+        String key = keyAttribute.apply(annotation);
+        String prefix = prefixAttribute.apply(annotation);
+        LockMetadata<A> metadata = new LockMetadata<>(annotation, key, prefix,
+                parameterNameDiscoverer.getParameterNames(method));
+        if (!key.contains("#")) {
+            metadata.keyKind = KeyKind.LITERAL;
+            metadata.literalKeys = Collections.singletonList(metadata.keyPrefix + key);
+            return metadata;
+        }
+
+        Matcher matcher = PARAM_PATTERN.matcher(key);
+        if (matcher.matches() && bindParam(metadata, matcher.group(1))) {
+            metadata.keyKind = KeyKind.PARAM;
+            return metadata;
+        }
+        matcher = LITERAL_PARAM_PATTERN.matcher(key);
+        if (matcher.matches() && bindParam(metadata, matcher.group(2))) {
+            metadata.keyKind = KeyKind.LITERAL_PARAM;
+            metadata.literal = matcher.group(1);
+            return metadata;
+        }
+
+        metadata.keyKind = KeyKind.EXPRESSION;
+        try {
+            metadata.expression = parser.parseExpression(key);
+        } catch (Exception e) {
+            log.error("解析SpEL表达式失败：{}", key, e);
+            // 与运行时解析失败一致，使用原始字符串作为锁键
+            metadata.keyKind = KeyKind.LITERAL;
+            metadata.literalKeys = Collections.singletonList(metadata.keyPrefix + key);
+        }
+        return metadata;
+    }
+
+    private static boolean bindParam(LockMetadata<?> metadata, String name) {
+        if (metadata.paramNames == null || BUILTIN_VARIABLES.contains(name)) {
+            return false;
+        }
+        int index = Arrays.asList(metadata.paramNames).indexOf(name);
+        if (index < 0) {
+            return false;
+        }
+        metadata.paramIndex = index;
+        return true;
+    }
+
+    private static List<String> toKeys(String keyPrefix, Object value) {
+        if (value instanceof Collection) {
+            return toKeys(keyPrefix, (Collection<?>) value);
+        }
+        if (value instanceof Object[]) {
+            return toKeys(keyPrefix, Arrays.asList((Object[]) value));
+        }
+        return Collections.singletonList(keyPrefix + (value == null ? "" : value.toString()));
+    }
+
+    private static List<String> toKeys(String keyPrefix, Collection<?> values) {
+        List<String> keys = new ArrayList<>(values.size());
+        for (Object item : values) {
+            keys.add(keyPrefix + (item == null ? "" : item.toString()));
+        }
+        return keys;
+    }
+
+    /**
+     * 锁键写法
+     */
+    private enum KeyKind {
+        /**
+         * 字面量
+         */
+        LITERAL,
+
+        /**
+         * 直接引用参数
+         */
+        PARAM,
+
+        /**
+         * 字面量拼接参数
+         */
+        LITERAL_PARAM,
+
+        /**
+         * 其他SpEL表达式
+         */
+        EXPRESSION
+    }
+
+    /**
+     * 方法的锁元数据
+     *
+     * @param <A> 注解类型
+     */
+    public static final class LockMetadata<A extends Annotation> {
+
+        /**
+         * 方法上的注解
+         */
+        @Getter
+        private final A annotation;
+
+        /**
+         * 锁键表达式
+         */
+        private final String key;
+
+        /**
+         * 方法参数名
+         */
+        private final String[] paramNames;
+
+        /**
+         * 锁前缀与分隔符，没有前缀时为空字符串
+         */
+        private final String keyPrefix;
+
+        private KeyKind keyKind;
+
+        private List<String> literalKeys;
+
+        private String literal;
+
+        private int paramIndex;
+
+        private Expression expression;
+
+        private LockMetadata(A annotation, String key, String prefix, String[] paramNames) {
+            this.annotation = annotation;
+            this.key = key;
+            this.paramNames = paramNames;
+            this.keyPrefix = prefix.isEmpty() ? "" : prefix + ":";
+        }
+    }
+}
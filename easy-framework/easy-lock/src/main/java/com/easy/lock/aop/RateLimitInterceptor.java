@@ -0,0 +1,54 @@
+package com.easy.lock.aop;
+
+import com.easy.lock.annotation.EasyLock;
+import com.easy.lock.annotation.EasyRateLimit;
+import com.easy.lock.exception.LockException;
+import com.easy.lock.template.RateLimiterTemplate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+
+import java.lang.reflect.Method;
+
+/**
+ * 限流注解拦截器
+ */
+@Slf4j
+@Aspect
+@RequiredArgsConstructor
+public class RateLimitInterceptor {
+
+    private final RateLimiterTemplate rateLimiterTemplate;
+
+    /**
+     * 限流键解析器，按方法缓存注解与表达式
+     */
+    private final LockKeyResolver<EasyRateLimit> keyResolver =
+            new LockKeyResolver<>(EasyRateLimit.class, EasyRateLimit::key, EasyRateLimit::prefix);
+
+    /**
+     * 环绕通知处理限流注解
+     */
+    @Around("@annotation(com.easy.lock.annotation.EasyRateLimit)")
+    public Object around(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        LockKeyResolver.LockMetadata<EasyRateLimit> metadata = keyResolver.getMetadata(method);
+        EasyRateLimit annotation = metadata.getAnnotation();
+        String key = String.join(",", keyResolver.resolveKeys(metadata, method, joinPoint.getTarget(), joinPoint.getArgs()));
+
+        boolean acquired = rateLimiterTemplate.tryAcquire(key, annotation.rate(),
+                annotation.timeUnit().toMillis(annotation.period()), annotation.burst(), annotation.permits(),
+                annotation.prefetch(), annotation.timeout());
+        if (!acquired) {
+            log.warn("请求被限流，方法：{}，键：{}", method.getName(), key);
+            if (annotation.failStrategy() == EasyLock.FailStrategy.EXCEPTION) {
+                throw new LockException("请求过于频繁，key = " + key);
+            }
+            log.warn("忽略限流，继续执行，方法：{}，键：{}", method.getName(), key);
+        }
+        return joinPoint.proceed();
+    }
+}
@@ -0,0 +1,59 @@
+package com.easy.lock.aop;
+
+import com.easy.lock.annotation.EasyLock;
+import com.easy.lock.annotation.EasySemaphore;
+import com.easy.lock.core.PermitInfo;
+import com.easy.lock.exception.LockException;
+import com.easy.lock.template.SemaphoreTemplate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+
+import java.lang.reflect.Method;
+
+/**
+ * 信号量注解拦截器
+ */
+@Slf4j
+@Aspect
+@RequiredArgsConstructor
+public class SemaphoreInterceptor {
+
+    private final SemaphoreTemplate semaphoreTemplate;
+
+    /**
+     * 信号量键解析器，按方法缓存注解与表达式
+     */
+    private final LockKeyResolver<EasySemaphore> keyResolver =
+            new LockKeyResolver<>(EasySemaphore.class, EasySemaphore::key, EasySemaphore::prefix);
+
+    /**
+     * 环绕通知处理信号量注解
+     */
+    @Around("@annotation(com.easy.lock.annotation.EasySemaphore)")
+    public Object around(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        LockKeyResolver.LockMetadata<EasySemaphore> metadata = keyResolver.getMetadata(method);
+        EasySemaphore annotation = metadata.getAnnotation();
+        String key = String.join(",", keyResolver.resolveKeys(metadata, method, joinPoint.getTarget(), joinPoint.getArgs()));
+
+        PermitInfo permitInfo = semaphoreTemplate.tryAcquire(key, annotation.maxPermits(), annotation.permits(),
+                annotation.timeUnit().toMillis(annotation.leaseTime()), annotation.retryCount(), annotation.retryInterval());
+        if (permitInfo == null) {
+            log.warn("获取信号量许可失败，方法：{}，键：{}", method.getName(), key);
+            if (annotation.failStrategy() == EasyLock.FailStrategy.EXCEPTION) {
+                throw new LockException("获取信号量许可失败，key = " + key);
+            }
+            log.warn("忽略信号量许可获取失败，继续执行，方法：{}，键：{}", method.getName(), key);
+            return joinPoint.proceed();
+        }
+        try {
+            return joinPoint.proceed();
+        } finally {
+            semaphoreTemplate.release(permitInfo);
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package com.easy.lock.config;
 
 import com.easy.redis.autoconfigure.YudaoRedisAutoConfiguration;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -9,14 +14,42 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
 import com.easy.lock.aop.LockInterceptor;
+import com.easy.lock.aop.RateLimitInterceptor;
+import com.easy.lock.aop.SemaphoreInterceptor;
 import com.easy.lock.core.Lock;
+import com.easy.lock.core.LocalKeyLocks;
+import com.easy.lock.core.LockInfo;
+import com.easy.lock.core.LockReleaseNotifier;
+import com.easy.lock.core.LockWatchdog;
+import com.easy.lock.core.MonitoredAbstractLock;
+import com.easy.lock.core.RedLock;
+import com.easy.lock.core.RedisFairLock;
 import com.easy.lock.core.RedisLock;
+import com.easy.lock.core.RedisReadLock;
+import com.easy.lock.core.RedisReentrantLock;
+import com.easy.lock.core.RedisWriteLock;
+import com.easy.lock.core.executor.RateLimitExecutor;
+import com.easy.lock.core.executor.RedLockExecutor;
+import com.easy.lock.core.executor.RedisFairLockExecutor;
 import com.easy.lock.core.executor.RedisLockExecutor;
+import com.easy.lock.core.executor.RedisRateLimitExecutor;
+import com.easy.lock.core.executor.RedisReadWriteLockExecutor;
+import com.easy.lock.core.executor.RedisReentrantLockExecutor;
+import com.easy.lock.core.executor.RedisSemaphoreExecutor;
+import com.easy.lock.core.executor.SemaphoreExecutor;
+import com.easy.lock.monitor.LockMetrics;
 import com.easy.lock.monitor.LockMonitor;
 import com.easy.lock.template.LockTemplate;
+import com.easy.lock.template.RateLimiterTemplate;
+import com.easy.lock.template.SemaphoreTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * 分布式锁自动配置类
@@ -29,8 +62,30 @@ public class EasyLockAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public LockMonitor lockMonitor() {
-        return new LockMonitor();
+    public LockMonitor lockMonitor(EasyLockProperties properties) {
+        return new LockMonitor(properties.getMonitorTopKeys(), properties.getMonitorWindow());
+    }
+
+    /**
+     * 存在 Micrometer 时导出锁监控指标
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterBinder.class)
+    @ConditionalOnProperty(prefix = "easy.lock", name = "monitor-enabled", havingValue = "true", matchIfMissing = true)
+    static class LockMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public LockMetrics lockMetrics(LockMonitor lockMonitor) {
+            return new LockMetrics(lockMonitor);
+        }
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "easy.lock", name = "watchdog-enabled", havingValue = "true")
+    public LockWatchdog lockWatchdog(EasyLockProperties properties) {
+        return new LockWatchdog(properties.getWatchdogInterval());
     }
 
     @Bean
@@ -40,18 +95,92 @@ public class EasyLockAutoConfiguration {
         return new RedisLockExecutor(redisTemplate);
     }
 
+    /**
+     * Redlock 执行器，为每个独立节点创建一个客户端
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "easy.lock", name = "redlock-enabled", havingValue = "true")
+    public RedLockExecutor redLockExecutor(EasyLockProperties properties) {
+        if (properties.getRedlockNodes().isEmpty()) {
+            throw new IllegalStateException("easy.lock.redlock-nodes must not be empty when redlock is enabled");
+        }
+        List<RedissonClient> clients = new ArrayList<>(properties.getRedlockNodes().size());
+        for (String node : properties.getRedlockNodes()) {
+            Config config = new Config();
+            config.useSingleServer()
+                    .setAddress(node)
+                    .setPassword(properties.getRedlockPassword())
+                    .setDatabase(properties.getRedlockDatabase())
+                    .setTimeout((int) properties.getRedlockTimeout());
+            clients.add(Redisson.create(config));
+        }
+        return new RedLockExecutor(clients, properties.getRedlockDriftFactor(), properties.getRedlockTimeout());
+    }
+
+    @Bean
+    @ConditionalOnBean(StringRedisTemplate.class)
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "easy.lock", name = "release-notify-enabled", havingValue = "true")
+    public LockReleaseNotifier lockReleaseNotifier() {
+        return new LockReleaseNotifier(RedisLockExecutor.RELEASE_CHANNEL_PREFIX);
+    }
+
+    /**
+     * 锁释放通知的订阅，进程内所有锁共用一个模式订阅，并复用已有的订阅容器
+     */
+    @Bean
+    @ConditionalOnBean(LockReleaseNotifier.class)
+    public LockReleaseListenerRegistrar lockReleaseListenerRegistrar(ObjectProvider<RedisMessageListenerContainer> listenerContainers,
+                                                                     StringRedisTemplate redisTemplate,
+                                                                     LockReleaseNotifier lockReleaseNotifier) {
+        return new LockReleaseListenerRegistrar(listenerContainers, redisTemplate.getRequiredConnectionFactory(),
+                lockReleaseNotifier);
+    }
+
     @Bean
     @ConditionalOnBean(RedisLockExecutor.class)
     @ConditionalOnMissingBean(RedisLock.class)
-    public RedisLock redisLock(RedisLockExecutor redisLockExecutor) {
-        return new RedisLock(redisLockExecutor);
+    public RedisLock redisLock(RedisLockExecutor redisLockExecutor, EasyLockProperties properties,
+                               ObjectProvider<LockMonitor> lockMonitor,
+                               ObjectProvider<LockWatchdog> lockWatchdog,
+                               ObjectProvider<LockReleaseNotifier> lockReleaseNotifier) {
+        RedisLock redisLock = configureLock(new RedisLock(redisLockExecutor), properties,
+                lockMonitor, lockWatchdog, lockReleaseNotifier);
+        if (properties.isLocalLockEnabled()) {
+            redisLock.setLocalKeyLocks(new LocalKeyLocks());
+        }
+        return redisLock;
     }
 
     @Bean
     @ConditionalOnBean(Lock.class)
     @ConditionalOnMissingBean(LockTemplate.class)
-    public LockTemplate lockTemplate(Lock lock) {
-        return new LockTemplate(lock);
+    public LockTemplate lockTemplate(Lock lock, EasyLockProperties properties,
+                                     ObjectProvider<StringRedisTemplate> redisTemplate,
+                                     ObjectProvider<RedLockExecutor> redLockExecutor,
+                                     ObjectProvider<LockMonitor> lockMonitor,
+                                     ObjectProvider<LockWatchdog> lockWatchdog,
+                                     ObjectProvider<LockReleaseNotifier> lockReleaseNotifier) {
+        LockTemplate lockTemplate = new LockTemplate(lock);
+        // 注册基于Redis的可重入锁、读写锁、公平锁，通过 @EasyLock(type = ...) 选择
+        redisTemplate.ifAvailable(template -> {
+            lockTemplate.registerLock(LockInfo.LockType.REENTRANT, configureLock(
+                    new RedisReentrantLock(new RedisReentrantLockExecutor(template)),
+                    properties, lockMonitor, lockWatchdog, lockReleaseNotifier));
+            lockTemplate.registerLock(LockInfo.LockType.READ, configureLock(
+                    new RedisReadLock(new RedisReadWriteLockExecutor(template, RedisReadWriteLockExecutor.Mode.READ)),
+                    properties, lockMonitor, lockWatchdog, lockReleaseNotifier));
+            lockTemplate.registerLock(LockInfo.LockType.WRITE, configureLock(
+                    new RedisWriteLock(new RedisReadWriteLockExecutor(template, RedisReadWriteLockExecutor.Mode.WRITE)),
+                    properties, lockMonitor, lockWatchdog, lockReleaseNotifier));
+            lockTemplate.registerLock(LockInfo.LockType.FAIR, configureLock(
+                    new RedisFairLock(new RedisFairLockExecutor(template, properties.getFairWaiterTimeout())),
+                    properties, lockMonitor, lockWatchdog, lockReleaseNotifier));
+        });
+        redLockExecutor.ifAvailable(executor -> lockTemplate.registerLock(LockInfo.LockType.REDLOCK,
+                configureLock(new RedLock(executor), properties, lockMonitor, lockWatchdog, lockReleaseNotifier)));
+        return lockTemplate;
     }
 
     @Bean
@@ -60,4 +189,71 @@ public class EasyLockAutoConfiguration {
     public LockInterceptor lockInterceptor(LockTemplate lockTemplate) {
         return new LockInterceptor(lockTemplate);
     }
+
+    @Bean
+    @ConditionalOnBean(StringRedisTemplate.class)
+    @ConditionalOnMissingBean(SemaphoreExecutor.class)
+    public RedisSemaphoreExecutor redisSemaphoreExecutor(StringRedisTemplate redisTemplate) {
+        return new RedisSemaphoreExecutor(redisTemplate);
+    }
+
+    /**
+     * 信号量模板，许可释放时复用锁的释放通知唤醒等待者
+     */
+    @Bean
+    @ConditionalOnBean(SemaphoreExecutor.class)
+    @ConditionalOnMissingBean(SemaphoreTemplate.class)
+    public SemaphoreTemplate semaphoreTemplate(SemaphoreExecutor semaphoreExecutor,
+                                               ObjectProvider<LockReleaseNotifier> lockReleaseNotifier,
+                                               ObjectProvider<LockWatchdog> lockWatchdog) {
+        SemaphoreTemplate semaphoreTemplate = new SemaphoreTemplate(semaphoreExecutor);
+        lockReleaseNotifier.ifAvailable(semaphoreTemplate::setReleaseNotifier);
+        lockWatchdog.ifAvailable(semaphoreTemplate::setLockWatchdog);
+        return semaphoreTemplate;
+    }
+
+    @Bean
+    @ConditionalOnBean(SemaphoreTemplate.class)
+    @ConditionalOnMissingBean(SemaphoreInterceptor.class)
+    public SemaphoreInterceptor semaphoreInterceptor(SemaphoreTemplate semaphoreTemplate) {
+        return new SemaphoreInterceptor(semaphoreTemplate);
+    }
+
+    @Bean
+    @ConditionalOnBean(StringRedisTemplate.class)
+    @ConditionalOnMissingBean(RateLimitExecutor.class)
+    public RedisRateLimitExecutor redisRateLimitExecutor(StringRedisTemplate redisTemplate) {
+        return new RedisRateLimitExecutor(redisTemplate);
+    }
+
+    @Bean
+    @ConditionalOnBean(RateLimitExecutor.class)
+    @ConditionalOnMissingBean(RateLimiterTemplate.class)
+    public RateLimiterTemplate rateLimiterTemplate(RateLimitExecutor rateLimitExecutor, EasyLockProperties properties) {
+        RateLimiterTemplate rateLimiterTemplate = new RateLimiterTemplate(rateLimitExecutor);
+        rateLimiterTemplate.setFailOpen(properties.isRateLimitFailOpen());
+        return rateLimiterTemplate;
+    }
+
+    @Bean
+    @ConditionalOnBean(RateLimiterTemplate.class)
+    @ConditionalOnMissingBean(RateLimitInterceptor.class)
+    public RateLimitInterceptor rateLimitInterceptor(RateLimiterTemplate rateLimiterTemplate) {
+        return new RateLimitInterceptor(rateLimiterTemplate);
+    }
+
+    /**
+     * 为锁设置监控器、看门狗与释放通知器
+     */
+    private static <T extends MonitoredAbstractLock> T configureLock(T lock, EasyLockProperties properties,
+                                                                     ObjectProvider<LockMonitor> lockMonitor,
+                                                                     ObjectProvider<LockWatchdog> lockWatchdog,
+                                                                     ObjectProvider<LockReleaseNotifier> lockReleaseNotifier) {
+        if (properties.isMonitorEnabled()) {
+            lockMonitor.ifAvailable(lock::setLockMonitor);
+        }
+        lockWatchdog.ifAvailable(lock::setLockWatchdog);
+        lockReleaseNotifier.ifAvailable(lock::setReleaseNotifier);
+        return lock;
+    }
 }
\ No newline at end of file
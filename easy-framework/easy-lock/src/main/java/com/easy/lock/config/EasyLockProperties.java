@@ -3,6 +3,9 @@ package com.easy.lock.config;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * 分布式锁配置属性
  */
@@ -39,4 +42,74 @@ public class EasyLockProperties {
      * 是否启用锁监控
      */
     private boolean monitorEnabled = true;
+
+    /**
+     * 锁监控保留的争用最多的锁键数量，其余锁键只保留估算的计数
+     */
+    private int monitorTopKeys = 100;
+
+    /**
+     * 锁监控等待时间与持有时间分布的统计窗口（毫秒），百分位只反映最近一个窗口内的数据
+     */
+    private long monitorWindow = 60000;
+
+    /**
+     * 是否启用看门狗，持有锁期间自动续期，默认关闭，锁在过期时间后自动失效
+     */
+    private boolean watchdogEnabled = false;
+
+    /**
+     * 看门狗检查间隔（毫秒），锁在剩余有效期不足2/3时续期，应明显小于最短的锁过期时间
+     */
+    private long watchdogInterval = 1000;
+
+    /**
+     * 是否启用锁释放通知，启用后等待者订阅释放消息并立即重试，否则按重试间隔轮询，默认关闭
+     */
+    private boolean releaseNotifyEnabled = false;
+
+    /**
+     * 公平锁排队者心跳超时时间（毫秒），超时未重试的排队者会被移出队列，应大于重试间隔
+     */
+    private long fairWaiterTimeout = 5000;
+
+    /**
+     * 是否启用本地锁键锁，进程内竞争同一锁键的线程先在本地排队，只有本地胜出者访问Redis，默认关闭
+     */
+    private boolean localLockEnabled = false;
+
+    /**
+     * 是否启用 Redlock 多实例仲裁锁，通过 @EasyLock(type = LockType.REDLOCK) 使用
+     */
+    private boolean redlockEnabled = false;
+
+    /**
+     * Redlock 各独立Redis节点地址，例如 redis://192.168.1.1:6379，建议为奇数个
+     */
+    private List<String> redlockNodes = new ArrayList<>();
+
+    /**
+     * Redlock 节点密码，各节点相同
+     */
+    private String redlockPassword;
+
+    /**
+     * Redlock 节点数据库
+     */
+    private int redlockDatabase = 0;
+
+    /**
+     * Redlock 时钟漂移系数，锁的有效期需扣除 过期时间 * 漂移系数 + 2毫秒
+     */
+    private double redlockDriftFactor = 0.01;
+
+    /**
+     * Redlock 单节点响应超时时间（毫秒），同时作为释放、查询与续期等待多数节点响应的上限
+     */
+    private long redlockTimeout = 3000;
+
+    /**
+     * 限流访问Redis异常时是否放行请求，默认不放行，抛出异常
+     */
+    private boolean rateLimitFailOpen = false;
 } 
\ No newline at end of file
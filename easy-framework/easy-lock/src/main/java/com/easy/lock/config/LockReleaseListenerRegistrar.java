@@ -0,0 +1,72 @@
+package com.easy.lock.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import com.easy.lock.core.LockReleaseNotifier;
+
+/**
+ * 锁释放通知的订阅注册器
+ * <p>
+ * 优先复用容器中已有的 {@link RedisMessageListenerContainer}（例如 easy-mq、easy-cache 定义的），
+ * 避免每个模块各建一个订阅连接；不存在时才自行创建一个容器，且不注册为 Bean，避免按类型注入时出现歧义。
+ */
+@Slf4j
+public class LockReleaseListenerRegistrar implements SmartInitializingSingleton, DisposableBean {
+
+    private final ObjectProvider<RedisMessageListenerContainer> listenerContainers;
+
+    private final RedisConnectionFactory connectionFactory;
+
+    private final LockReleaseNotifier lockReleaseNotifier;
+
+    /**
+     * 自行创建的容器，复用已有容器时为 null
+     */
+    private RedisMessageListenerContainer ownContainer;
+
+    public LockReleaseListenerRegistrar(ObjectProvider<RedisMessageListenerContainer> listenerContainers,
+                                        RedisConnectionFactory connectionFactory,
+                                        LockReleaseNotifier lockReleaseNotifier) {
+        this.listenerContainers = listenerContainers;
+        this.connectionFactory = connectionFactory;
+        this.lockReleaseNotifier = lockReleaseNotifier;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        RedisMessageListenerContainer container = listenerContainers.orderedStream().findFirst().orElse(null);
+        if (container != null) {
+            container.addMessageListener(lockReleaseNotifier, lockReleaseNotifier.getTopic());
+            log.debug("[afterSingletonsInstantiated][锁释放通知复用已有的订阅容器]");
+            return;
+        }
+        ownContainer = new RedisMessageListenerContainer();
+        ownContainer.setConnectionFactory(connectionFactory);
+        ownContainer.addMessageListener(lockReleaseNotifier, lockReleaseNotifier.getTopic());
+        ownContainer.afterPropertiesSet();
+        ownContainer.start();
+        log.debug("[afterSingletonsInstantiated][不存在订阅容器，锁释放通知创建独立的订阅容器]");
+    }
+
+    /**
+     * 是否自行创建了订阅容器
+     *
+     * @return 是否自行创建
+     */
+    public boolean isOwnContainer() {
+        return ownContainer != null;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (ownContainer != null) {
+            ownContainer.destroy();
+        }
+    }
+
+}
@@ -1,8 +1,14 @@
 package com.easy.lock.core;
 
 import com.easy.lock.core.executor.LockExecutor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
 import java.util.UUID;
 
 /**
@@ -11,6 +17,29 @@ import java.util.UUID;
 @Slf4j
 public abstract class AbstractLock implements Lock {
 
+    /**
+     * 当前进程的实例标识，与线程编号组成可重入锁的持有者标识
+     */
+    private static final String INSTANCE_ID = UUID.randomUUID().toString();
+
+    /**
+     * 锁看门狗，为空时不自动续期
+     */
+    @Setter
+    private LockWatchdog lockWatchdog;
+
+    /**
+     * 锁释放通知器，为空时按重试间隔轮询
+     */
+    @Setter
+    private LockReleaseNotifier releaseNotifier;
+
+    /**
+     * 本地锁键锁，为空时每个线程直接竞争分布式锁，只对不可重入锁生效
+     */
+    @Setter
+    private LocalKeyLocks localKeyLocks;
+
     /**
      * 获取锁执行器
      *
@@ -25,9 +54,126 @@ public abstract class AbstractLock implements Lock {
      */
     protected abstract LockInfo.LockType getLockType();
 
+    /**
+     * 是否为可重入锁，可重入锁以 进程实例 + 线程 作为锁值，同一线程可重复获取
+     *
+     * @return 是否可重入
+     */
+    protected boolean isReentrant() {
+        return false;
+    }
+
+    /**
+     * 生成锁值
+     *
+     * @return 锁值
+     */
+    protected String generateLockValue() {
+        if (isReentrant()) {
+            return INSTANCE_ID + ":" + Thread.currentThread().getId();
+        }
+        return UUID.randomUUID().toString();
+    }
+
     @Override
     public LockInfo tryLock(String key, long expireTime, int retryCount, long retryInterval) {
-        String value = UUID.randomUUID().toString();
+        if (localKeyLocks == null || isReentrant()) {
+            return tryLockRemote(key, expireTime, retryCount, retryInterval);
+        }
+
+        // 先在本地按锁键排队，只有本地胜出者才去竞争分布式锁
+        LocalKeyLocks.KeyLock keyLock = localKeyLocks.reference(key);
+        long waitTime = retryCount * retryInterval;
+        long startTime = System.currentTimeMillis();
+        boolean locked;
+        try {
+            locked = keyLock.lock(waitTime);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("获取本地锁过程被中断，key='{}'", key);
+            locked = false;
+        }
+        if (!locked) {
+            if (!Thread.currentThread().isInterrupted()) {
+                log.warn("获取本地锁超时，key={}", key);
+            }
+            // 本地等待者全部超时后，前一持有者留下的租约可能已无人接手
+            reclaimOrphanLease(keyLock);
+            keyLock.dereference();
+            return null;
+        }
+
+        LockInfo lockInfo;
+        try {
+            LockInfo lease = keyLock.takeLease();
+            if (lease != null) {
+                LockInfo handedOff = handOff(lease, expireTime);
+                if (handedOff != null) {
+                    return handedOff;
+                }
+                releaseRemote(lease);
+            }
+            // 本地排队已消耗的时间从分布式锁的重试次数中扣除
+            long remaining = waitTime - (System.currentTimeMillis() - startTime);
+            int remainingRetries = retryInterval > 0 ? (int) Math.max(0, remaining / retryInterval) : retryCount;
+            lockInfo = tryLockRemote(key, expireTime, remainingRetries, retryInterval);
+        } catch (RuntimeException e) {
+            unlockKey(keyLock);
+            throw e;
+        }
+        if (lockInfo == null) {
+            unlockKey(keyLock);
+        }
+        return lockInfo;
+    }
+
+    /**
+     * 接手本地移交的租约
+     * <p>
+     * 看门狗仍在续期时直接沿用；否则先在分布式锁上续期，使新持有者获得完整的过期时间，续期失败时不接手
+     *
+     * @param lease      移交的租约
+     * @param expireTime 新持有者要求的过期时间（毫秒）
+     * @return 新持有者的锁信息，不能接手时返回null
+     */
+    private LockInfo handOff(LockInfo lease, long expireTime) {
+        if (lease.getExpireTime() != expireTime || !isLeaseValid(lease)) {
+            return null;
+        }
+        boolean watched = lockWatchdog != null && lockWatchdog.isWatched(lease);
+        if (!watched && !renewQuietly(lease)) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        return new LockInfo()
+                .setKey(lease.getKey())
+                .setValue(lease.getValue())
+                .setExpireTime(expireTime)
+                .setLeaseStartTime(now)
+                .setAcquireTime(now)
+                .setState(LockInfo.LockState.LOCKED)
+                .setType(getLockType());
+    }
+
+    /**
+     * 在分布式锁上续期租约，异常视为续期失败
+     */
+    private boolean renewQuietly(LockInfo lease) {
+        try {
+            List<Boolean> renewed = getLockExecutor().renew(Collections.singletonList(lease.getKey()),
+                    Collections.singletonList(lease.getValue()), Collections.singletonList(lease.getExpireTime()));
+            return !renewed.isEmpty() && Boolean.TRUE.equals(renewed.get(0));
+        } catch (Exception e) {
+            log.warn("移交租约时续期失败，key={}", lease.getKey(), e);
+            return false;
+        }
+    }
+
+    /**
+     * 直接竞争分布式锁
+     */
+    private LockInfo tryLockRemote(String key, long expireTime, int retryCount, long retryInterval) {
+        String value = generateLockValue();
         LockExecutor lockExecutor = getLockExecutor();
 
         // 尝试获取锁
@@ -35,24 +181,17 @@ public abstract class AbstractLock implements Lock {
         Exception exception = null;
 
         try {
-            acquired = lockExecutor.acquire(key, value, expireTime);
-
-            // 如果第一次获取锁失败，则重试指定次数
-            for (int i = 0; !acquired && i < retryCount; i++) {
-                log.debug("获取锁失败，进行第{}次重试，key='{}'", (i + 1), key);
-                try {
-                    Thread.sleep(retryInterval);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    log.warn("获取锁过程被中断，key='{}'", key);
-                    return null;
-                }
-                acquired = lockExecutor.acquire(key, value, expireTime);
-            }
-            
+            acquired = AcquireRetrier.acquire(() -> lockExecutor.acquire(key, value, expireTime), releaseNotifier,
+                    Collections.singletonList(key), retryCount, retryInterval);
+
             if (!acquired) {
                 log.warn("获取锁失败，已重试{}次，key='{}'，重试间隔={}ms", retryCount, key, retryInterval);
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("获取锁过程被中断，key='{}'", key);
+            cancelQuietly(lockExecutor, key, value);
+            return null;
         } catch (Exception e) {
             log.error("获取锁时发生异常，key='{}'", key, e);
             exception = e;
@@ -61,15 +200,21 @@ public abstract class AbstractLock implements Lock {
         // 如果获取锁成功，构建并返回锁信息
         if (acquired) {
             long acquireTime = System.currentTimeMillis();
-            return new LockInfo()
+            LockInfo lockInfo = new LockInfo()
                     .setKey(key)
                     .setValue(value)
                     .setExpireTime(expireTime)
                     .setAcquireTime(acquireTime)
+                    .setLeaseStartTime(acquireTime)
                     .setState(LockInfo.LockState.LOCKED)
                     .setType(getLockType());
+            if (lockWatchdog != null) {
+                lockWatchdog.watch(lockExecutor, lockInfo);
+            }
+            return lockInfo;
         }
 
+        cancelQuietly(lockExecutor, key, value);
         if (exception != null) {
             log.warn("获取锁失败并发生异常，key={}", key, exception);
         } else {
@@ -79,11 +224,160 @@ public abstract class AbstractLock implements Lock {
         return null;
     }
 
+    @Override
+    public LockInfo tryLockAll(Collection<String> keys, long expireTime, int retryCount, long retryInterval) {
+        // 按锁键排序，逐个获取的执行器也不会与其他批量加锁互相等待
+        List<String> sortedKeys = new ArrayList<>(new TreeSet<>(keys));
+        String groupKey = String.join(",", sortedKeys);
+        String value = generateLockValue();
+        LockExecutor lockExecutor = getLockExecutor();
+
+        boolean acquired = false;
+        try {
+            acquired = AcquireRetrier.acquire(() -> lockExecutor.acquireAll(sortedKeys, value, expireTime),
+                    releaseNotifier, sortedKeys, retryCount, retryInterval);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("批量获取锁过程被中断，keys='{}'", groupKey);
+            return null;
+        } catch (Exception e) {
+            log.error("批量获取锁时发生异常，keys='{}'", groupKey, e);
+        }
+
+        if (!acquired) {
+            log.warn("批量获取锁失败，已重试{}次，keys='{}'，重试间隔={}ms", retryCount, groupKey, retryInterval);
+            return null;
+        }
+
+        long acquireTime = System.currentTimeMillis();
+        LockInfo lockInfo = new LockInfo()
+                .setKey(groupKey)
+                .setKeys(sortedKeys)
+                .setValue(value)
+                .setExpireTime(expireTime)
+                .setAcquireTime(acquireTime)
+                .setLeaseStartTime(acquireTime)
+                .setState(LockInfo.LockState.LOCKED)
+                .setType(getLockType());
+        if (lockWatchdog != null) {
+            // 看门狗按单个锁键续期
+            for (String key : sortedKeys) {
+                lockWatchdog.watch(lockExecutor, memberOf(lockInfo, key));
+            }
+        }
+        return lockInfo;
+    }
+
+    /**
+     * 构建组锁中单个锁键的锁信息
+     */
+    private static LockInfo memberOf(LockInfo group, String key) {
+        return new LockInfo()
+                .setKey(key)
+                .setValue(group.getValue())
+                .setExpireTime(group.getExpireTime())
+                .setAcquireTime(group.getAcquireTime())
+                .setLeaseStartTime(group.getLeaseStartTime())
+                .setState(group.getState())
+                .setType(group.getType());
+    }
+
+    /**
+     * 放弃获取锁，清理排队等状态，异常不影响加锁结果
+     */
+    private void cancelQuietly(LockExecutor lockExecutor, String key, String value) {
+        try {
+            lockExecutor.cancel(key, value);
+        } catch (Exception e) {
+            log.warn("放弃获取锁时发生异常，key={}", key, e);
+        }
+    }
+
     @Override
     public boolean releaseLock(LockInfo lockInfo) {
         if (lockInfo == null || LockInfo.LockState.UNLOCKED.equals(lockInfo.getState())) {
             return false;
         }
+        if (lockInfo.getKeys() != null) {
+            return releaseAllRemote(lockInfo);
+        }
+        if (localKeyLocks == null || isReentrant()) {
+            return releaseRemote(lockInfo);
+        }
+
+        LocalKeyLocks.KeyLock keyLock = localKeyLocks.get(lockInfo.getKey());
+        if (keyLock == null) {
+            return releaseRemote(lockInfo);
+        }
+        try {
+            // 仍有本地线程等待同一锁键且租约有效时，直接移交租约，不释放分布式锁
+            if (keyLock.hasWaiters() && isLeaseValid(lockInfo)) {
+                keyLock.parkLease(lockInfo);
+                lockInfo.setReleaseTime(System.currentTimeMillis());
+                lockInfo.setState(LockInfo.LockState.UNLOCKED);
+                return true;
+            }
+            return releaseRemote(lockInfo);
+        } finally {
+            unlockKey(keyLock);
+        }
+    }
+
+    /**
+     * 租约是否仍可移交：看门狗仍在续期，或距租约起始未超过过期时间的三分之二
+     */
+    private boolean isLeaseValid(LockInfo lockInfo) {
+        if (lockWatchdog != null && lockWatchdog.isWatched(lockInfo)) {
+            return true;
+        }
+        return System.currentTimeMillis() - lockInfo.getLeaseStartTime() < lockInfo.getExpireTime() * 2 / 3;
+    }
+
+    /**
+     * 释放本地锁并减少持有者的引用
+     * <p>
+     * 先释放本地锁再检查租约：移交租约后、释放本地锁前超时离开的等待者无法取回租约，由这里归还
+     */
+    private void unlockKey(LocalKeyLocks.KeyLock keyLock) {
+        keyLock.unlock();
+        try {
+            reclaimOrphanLease(keyLock);
+        } finally {
+            keyLock.dereference();
+        }
+    }
+
+    /**
+     * 归还已无本地等待者的租约
+     * <p>
+     * 本地锁被其他线程持有时直接返回，由该线程释放本地锁时再次检查
+     */
+    private void reclaimOrphanLease(LocalKeyLocks.KeyLock keyLock) {
+        while (keyLock.hasLease() && !keyLock.hasWaiters()) {
+            if (!keyLock.tryLock()) {
+                return;
+            }
+            LockInfo orphan;
+            try {
+                orphan = keyLock.hasWaiters() ? null : keyLock.takeLease();
+            } finally {
+                keyLock.unlock();
+            }
+            if (orphan != null) {
+                releaseRemote(orphan);
+                return;
+            }
+        }
+    }
+
+    /**
+     * 释放分布式锁
+     */
+    private boolean releaseRemote(LockInfo lockInfo) {
+        // 先停止续期，再释放锁
+        if (lockWatchdog != null) {
+            lockWatchdog.unwatch(lockInfo);
+        }
 
         try {
             boolean released = getLockExecutor().release(lockInfo.getKey(), lockInfo.getValue());
@@ -99,6 +393,30 @@ public abstract class AbstractLock implements Lock {
         return false;
     }
 
+    /**
+     * 释放组锁
+     */
+    private boolean releaseAllRemote(LockInfo lockInfo) {
+        if (lockWatchdog != null) {
+            for (String key : lockInfo.getKeys()) {
+                lockWatchdog.unwatch(memberOf(lockInfo, key));
+            }
+        }
+
+        try {
+            boolean released = getLockExecutor().releaseAll(lockInfo.getKeys(), lockInfo.getValue());
+            if (released) {
+                lockInfo.setReleaseTime(System.currentTimeMillis());
+                lockInfo.setState(LockInfo.LockState.UNLOCKED);
+                return true;
+            }
+        } catch (Exception e) {
+            log.error("批量释放锁时发生异常，keys={}", lockInfo.getKey(), e);
+        }
+
+        return false;
+    }
+
     @Override
     public boolean isLocked(String key) {
         try {
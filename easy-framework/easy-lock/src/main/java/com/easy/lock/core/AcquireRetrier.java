@@ -0,0 +1,89 @@
+package com.easy.lock.core;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 获取锁与信号量许可的重试等待
+ * <p>
+ * 设置了释放通知器时，收到任一键的释放通知后立即重试，未收到通知时（例如锁或租约自然过期）最多等待一个重试间隔后兜底重试；
+ * 否则按重试间隔轮询。两种方式的总等待时间一致（重试次数 * 重试间隔）。
+ */
+@Slf4j
+public final class AcquireRetrier {
+
+    private AcquireRetrier() {
+    }
+
+    /**
+     * 尝试获取，失败时按重试参数等待后重试
+     *
+     * @param attempt         一次获取尝试
+     * @param releaseNotifier 释放通知器，为空时按重试间隔轮询
+     * @param keys            等待释放的键
+     * @param retryCount      重试次数
+     * @param retryInterval   重试间隔（毫秒）
+     * @return 是否获取成功
+     * @throws InterruptedException 等待过程被中断
+     */
+    public static boolean acquire(BooleanSupplier attempt, LockReleaseNotifier releaseNotifier, Collection<String> keys,
+                                  int retryCount, long retryInterval) throws InterruptedException {
+        if (releaseNotifier != null && retryCount > 0) {
+            return acquireOnRelease(attempt, releaseNotifier, keys, retryCount, retryInterval);
+        }
+        return acquireWithRetry(attempt, keys, retryCount, retryInterval);
+    }
+
+    /**
+     * 按固定间隔轮询获取
+     */
+    private static boolean acquireWithRetry(BooleanSupplier attempt, Collection<String> keys, int retryCount,
+                                            long retryInterval) throws InterruptedException {
+        boolean acquired = attempt.getAsBoolean();
+
+        // 如果第一次获取失败，则重试指定次数
+        for (int i = 0; !acquired && i < retryCount; i++) {
+            log.debug("获取失败，进行第{}次重试，key='{}'", (i + 1), keys);
+            Thread.sleep(retryInterval);
+            acquired = attempt.getAsBoolean();
+        }
+        return acquired;
+    }
+
+    /**
+     * 等待释放通知后获取
+     */
+    private static boolean acquireOnRelease(BooleanSupplier attempt, LockReleaseNotifier releaseNotifier,
+                                            Collection<String> keys, int retryCount, long retryInterval)
+            throws InterruptedException {
+        // 先订阅再尝试，避免错过尝试与等待之间发出的释放通知
+        Semaphore semaphore = new Semaphore(0);
+        for (String key : keys) {
+            releaseNotifier.subscribe(key, semaphore);
+        }
+        try {
+            long deadline = System.currentTimeMillis() + retryCount * retryInterval;
+            boolean acquired = attempt.getAsBoolean();
+            while (!acquired) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                semaphore.tryAcquire(Math.min(remaining, retryInterval), TimeUnit.MILLISECONDS);
+                // 合并等待期间收到的多次通知，一次尝试即可
+                semaphore.drainPermits();
+                log.debug("等待释放后重试，key='{}'", keys);
+                acquired = attempt.getAsBoolean();
+            }
+            return true;
+        } finally {
+            for (String key : keys) {
+                releaseNotifier.unsubscribe(key, semaphore);
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.easy.lock.core;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 本地锁键锁
+ * <p>
+ * 进程内竞争同一锁键的线程先在本地排队，只有本地胜出者才去竞争分布式锁，
+ * 本地持有者释放时若仍有本地线程等待同一锁键，则把仍然有效的分布式租约直接移交给下一个本地等待者，
+ * 省去一次释放与重新获取的往返。
+ * <p>
+ * 每个锁键对应一个本地锁，不同锁键之间互不阻塞。本地锁按引用计数管理：等待者、持有者与待移交的租约各持有一个引用，
+ * 引用归零时移除，锁键数量不会无限增长。
+ */
+public class LocalKeyLocks {
+
+    private final ConcurrentHashMap<String, KeyLock> locks = new ConcurrentHashMap<>();
+
+    /**
+     * 获取锁键的本地锁并增加一个引用，使用完毕后需调用 {@link KeyLock#dereference()}
+     *
+     * @param key 锁键
+     * @return 本地锁
+     */
+    public KeyLock reference(String key) {
+        return locks.compute(key, (k, lock) -> {
+            KeyLock keyLock = lock != null ? lock : new KeyLock(k);
+            keyLock.references++;
+            return keyLock;
+        });
+    }
+
+    /**
+     * 获取锁键当前的本地锁，不增加引用
+     * <p>
+     * 持有者持有引用，因此持有期间一定存在
+     *
+     * @param key 锁键
+     * @return 本地锁，不存在时返回null
+     */
+    public KeyLock get(String key) {
+        return locks.get(key);
+    }
+
+    /**
+     * 当前的本地锁数量
+     *
+     * @return 本地锁数量
+     */
+    public int size() {
+        return locks.size();
+    }
+
+    /**
+     * 单个锁键的本地锁
+     * <p>
+     * 使用公平信号量而不是 ReentrantLock，使分布式锁可以在获取线程之外的线程释放
+     */
+    public final class KeyLock {
+
+        private final String key;
+
+        /**
+         * 公平信号量，本地等待者按顺序获取
+         */
+        private final Semaphore permit = new Semaphore(1, true);
+
+        /**
+         * 正在等待的本地线程数
+         */
+        private final AtomicInteger waiters = new AtomicInteger();
+
+        /**
+         * 引用计数，只在 {@link ConcurrentHashMap#compute} 中访问
+         */
+        private int references;
+
+        /**
+         * 移交给下一个本地等待者的分布式租约，只在持有本地锁时修改
+         */
+        private volatile LockInfo lease;
+
+        private KeyLock(String key) {
+            this.key = key;
+        }
+
+        /**
+         * 在本地锁上排队
+         *
+         * @param timeout 等待时间（毫秒）
+         * @return 是否获取到本地锁
+         */
+        public boolean lock(long timeout) throws InterruptedException {
+            waiters.incrementAndGet();
+            try {
+                return permit.tryAcquire(timeout, TimeUnit.MILLISECONDS);
+            } finally {
+                waiters.decrementAndGet();
+            }
+        }
+
+        /**
+         * 不等待地获取本地锁
+         *
+         * @return 是否获取成功
+         */
+        public boolean tryLock() {
+            return permit.tryAcquire();
+        }
+
+        /**
+         * 释放本地锁，可以在获取线程之外的线程调用
+         */
+        public void unlock() {
+            permit.release();
+        }
+
+        /**
+         * 是否有本地线程正在等待
+         *
+         * @return 是否有等待者
+         */
+        public boolean hasWaiters() {
+            return waiters.get() > 0;
+        }
+
+        /**
+         * 是否有待移交的租约
+         *
+         * @return 是否有租约
+         */
+        public boolean hasLease() {
+            return lease != null;
+        }
+
+        /**
+         * 存放待移交的分布式租约，需持有本地锁；租约持有一个引用，直到被取走
+         *
+         * @param lockInfo 租约
+         */
+        public void parkLease(LockInfo lockInfo) {
+            reference(key);
+            lease = lockInfo;
+        }
+
+        /**
+         * 取走待移交的租约，需持有本地锁
+         *
+         * @return 租约，没有时返回null
+         */
+        public LockInfo takeLease() {
+            LockInfo lockInfo = lease;
+            if (lockInfo != null) {
+                lease = null;
+                dereference();
+            }
+            return lockInfo;
+        }
+
+        /**
+         * 减少一个引用，引用归零时移除本地锁
+         */
+        public void dereference() {
+            locks.computeIfPresent(key, (k, lock) -> lock != this || --references > 0 ? lock : null);
+        }
+    }
+}
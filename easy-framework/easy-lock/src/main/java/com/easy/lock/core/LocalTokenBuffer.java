@@ -0,0 +1,110 @@
+package com.easy.lock.core;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 本地预取的限流许可
+ * <p>
+ * 限流时一次从Redis取回一批许可，之后的请求在本地扣减，用完或失效后再访问Redis。
+ * 一批许可只在其产生所需的时间窗口内有效，失效的许可直接丢弃，不会使全局速率超过限流值。
+ * 只保存仍有效的批次，内存占用与活跃的限流键数量相关。
+ */
+public class LocalTokenBuffer {
+
+    private final Map<String, Batch> batches = new ConcurrentHashMap<>();
+
+    /**
+     * 尝试从本地扣减许可
+     *
+     * @param key     限流键
+     * @param permits 许可数量
+     * @return 是否扣减成功
+     */
+    public boolean tryTake(String key, int permits) {
+        while (true) {
+            Batch batch = batches.get(key);
+            if (batch == null) {
+                return false;
+            }
+            if (batch.isExpired()) {
+                batches.remove(key, batch);
+                return false;
+            }
+            if (batch.take(permits)) {
+                return true;
+            }
+            // 批次在扣减期间被合并替换时，到新批次上重试
+            if (batches.get(key) == batch) {
+                if (batch.remaining.get() == 0) {
+                    batches.remove(key, batch);
+                }
+                return false;
+            }
+        }
+    }
+
+    /**
+     * 放入从Redis预取的许可，与该键仍有效的剩余许可合并
+     *
+     * @param key     限流键
+     * @param permits 许可数量
+     * @param window  许可的有效时间（毫秒）
+     */
+    public void put(String key, int permits, long window) {
+        if (permits <= 0) {
+            return;
+        }
+        long expireAt = System.currentTimeMillis() + window;
+        batches.compute(key, (k, old) -> {
+            if (old == null || old.isExpired()) {
+                return new Batch(permits, expireAt);
+            }
+            // 取走旧批次的剩余许可，正在扣减旧批次的线程会失败后重新查找
+            return new Batch(old.remaining.getAndSet(0) + permits, Math.max(old.expireAt, expireAt));
+        });
+    }
+
+    /**
+     * 获取本地剩余的许可数量
+     *
+     * @param key 限流键
+     * @return 剩余许可数量
+     */
+    public int getRemaining(String key) {
+        Batch batch = batches.get(key);
+        return batch == null || batch.isExpired() ? 0 : batch.remaining.get();
+    }
+
+    /**
+     * 一批预取的许可
+     */
+    private static class Batch {
+
+        private final AtomicInteger remaining;
+
+        private final long expireAt;
+
+        private Batch(int permits, long expireAt) {
+            this.remaining = new AtomicInteger(permits);
+            this.expireAt = expireAt;
+        }
+
+        private boolean take(int permits) {
+            while (true) {
+                int current = remaining.get();
+                if (current < permits) {
+                    return false;
+                }
+                if (remaining.compareAndSet(current, current - permits)) {
+                    return true;
+                }
+            }
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() >= expireAt;
+        }
+    }
+}
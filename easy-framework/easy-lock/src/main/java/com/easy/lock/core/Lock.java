@@ -1,5 +1,9 @@
 package com.easy.lock.core;
 
+import com.easy.lock.exception.LockException;
+
+import java.util.Collection;
+
 /**
  * 分布式锁接口
  */
@@ -16,6 +20,19 @@ public interface Lock {
      */
     LockInfo tryLock(String key, long expireTime, int retryCount, long retryInterval);
 
+    /**
+     * 同时获取多个锁，全部获取成功或全部不获取，返回的锁信息代表整组锁，通过 {@link #releaseLock(LockInfo)} 一并释放
+     *
+     * @param keys          锁定的资源标识集合
+     * @param expireTime    锁的过期时间(毫秒)
+     * @param retryCount    重试次数
+     * @param retryInterval 重试间隔(毫秒)
+     * @return 组锁信息，加锁失败时返回null
+     */
+    default LockInfo tryLockAll(Collection<String> keys, long expireTime, int retryCount, long retryInterval) {
+        throw new LockException("当前锁实现不支持批量加锁：" + getClass().getSimpleName());
+    }
+
     /**
      * 释放锁
      *
@@ -3,6 +3,8 @@ package com.easy.lock.core;
 import lombok.Data;
 import lombok.experimental.Accessors;
 
+import java.util.List;
+
 /**
  * 锁信息
  */
@@ -20,6 +22,11 @@ public class LockInfo {
      */
     private String key;
 
+    /**
+     * 组锁包含的锁键（已排序），单个锁为空；组锁的 key 为这些锁键以逗号拼接
+     */
+    private List<String> keys;
+
     /**
      * 锁的值，用于解锁验证
      */
@@ -35,6 +42,11 @@ public class LockInfo {
      */
     private long acquireTime;
 
+    /**
+     * 分布式租约的起始时间，本地移交时重置为移交时间，并在分布式锁上续期
+     */
+    private long leaseStartTime;
+
     /**
      * 释放锁的时间
      */
@@ -55,10 +67,35 @@ public class LockInfo {
      */
     public enum LockType {
         /**
-         * Redis实现
+         * Redis实现，独占且不可重入
          */
         REDIS,
 
+        /**
+         * Redis可重入锁，同一线程可重复获取
+         */
+        REENTRANT,
+
+        /**
+         * Redis读锁，可被多个读者同时持有，与写锁互斥
+         */
+        READ,
+
+        /**
+         * Redis写锁，与读锁、其他写锁互斥，可重入
+         */
+        WRITE,
+
+        /**
+         * Redis公平锁，按排队顺序获取，可重入
+         */
+        FAIR,
+
+        /**
+         * Redlock 多实例仲裁锁，在多数独立Redis节点上加锁成功才算成功，独占且不可重入
+         */
+        REDLOCK,
+
         /**
          * ZooKeeper实现
          */
@@ -0,0 +1,103 @@
+package com.easy.lock.core;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.Topic;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 锁释放通知器
+ * <p>
+ * 锁释放时解锁脚本会向 频道前缀 + 锁键 发布消息，本通知器以一个模式订阅接收进程内所有锁的释放消息，
+ * 并唤醒等待对应锁的线程，避免等待者以固定间隔轮询。
+ */
+@Slf4j
+public class LockReleaseNotifier implements MessageListener {
+
+    /**
+     * 释放通知频道前缀
+     */
+    @Getter
+    private final String channelPrefix;
+
+    /**
+     * 各锁键的等待者
+     */
+    private final Map<String, Set<Semaphore>> waiters = new ConcurrentHashMap<>();
+
+    public LockReleaseNotifier(String channelPrefix) {
+        this.channelPrefix = channelPrefix;
+    }
+
+    /**
+     * 获取订阅的主题，所有锁共用一个模式订阅
+     *
+     * @return 订阅主题
+     */
+    public Topic getTopic() {
+        return new PatternTopic(channelPrefix + "*");
+    }
+
+    /**
+     * 订阅锁的释放通知
+     * <p>
+     * 应在尝试获取锁之前订阅，避免错过尝试与等待之间发出的通知
+     *
+     * @param key 锁键
+     * @return 等待信号，收到释放通知时会释放一个许可
+     */
+    public Semaphore subscribe(String key) {
+        Semaphore semaphore = new Semaphore(0);
+        subscribe(key, semaphore);
+        return semaphore;
+    }
+
+    /**
+     * 以指定的等待信号订阅锁的释放通知，同时等待多个锁时可共用一个等待信号
+     *
+     * @param key       锁键
+     * @param semaphore 等待信号，收到释放通知时会释放一个许可
+     */
+    public void subscribe(String key, Semaphore semaphore) {
+        waiters.compute(key, (k, set) -> {
+            if (set == null) {
+                set = ConcurrentHashMap.newKeySet();
+            }
+            set.add(semaphore);
+            return set;
+        });
+    }
+
+    /**
+     * 取消订阅锁的释放通知
+     *
+     * @param key       锁键
+     * @param semaphore 订阅时返回的等待信号
+     */
+    public void unsubscribe(String key, Semaphore semaphore) {
+        waiters.computeIfPresent(key, (k, set) -> {
+            set.remove(semaphore);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
+        if (!channel.startsWith(channelPrefix)) {
+            return;
+        }
+        Set<Semaphore> set = waiters.get(channel.substring(channelPrefix.length()));
+        if (set != null) {
+            set.forEach(Semaphore::release);
+        }
+    }
+}
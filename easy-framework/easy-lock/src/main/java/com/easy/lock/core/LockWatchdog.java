@@ -0,0 +1,187 @@
+package com.easy.lock.core;
+
+import com.easy.lock.core.executor.LeaseRenewer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 锁看门狗
+ * <p>
+ * 持有锁期间周期性地为锁续期，使锁可以使用较短的过期时间：持有者存活时锁不会过期，
+ * 持有者所在节点宕机后锁在一个较短的过期时间后即可被其他节点获取。
+ * <p>
+ * 整个进程共用一个调度线程，每次检查时将同一续期器下所有需要续期的锁合并为一次批量续期调用。
+ * 看门狗只依赖 {@link LeaseRenewer}，信号量许可的租约也通过它续期。
+ * 锁在剩余有效期不足 2/3 时续期，因此检查间隔应明显小于最短的锁过期时间。
+ */
+@Slf4j
+public class LockWatchdog {
+
+    /**
+     * 被监视的锁，键为 锁键 + 锁值
+     */
+    private final Map<String, WatchEntry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * 续期调度线程
+     */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * 构造函数
+     *
+     * @param checkInterval 检查间隔（毫秒）
+     */
+    public LockWatchdog(long checkInterval) {
+        if (checkInterval <= 0) {
+            throw new IllegalArgumentException("checkInterval must be positive");
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "easy-lock-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::renewExpiringLocks, checkInterval, checkInterval, TimeUnit.MILLISECONDS);
+        log.info("LockWatchdog initialized with checkInterval: {}ms", checkInterval);
+    }
+
+    /**
+     * 开始监视锁
+     * <p>
+     * 可重入锁重复获取时锁键与锁值相同，只记录持有次数，全部释放后才停止监视
+     *
+     * @param leaseRenewer 租约续期器，通常为锁执行器
+     * @param lockInfo     锁信息
+     */
+    public void watch(LeaseRenewer leaseRenewer, LockInfo lockInfo) {
+        entries.compute(entryId(lockInfo), (id, entry) -> {
+            if (entry == null) {
+                return new WatchEntry(leaseRenewer, lockInfo);
+            }
+            entry.holdCount++;
+            return entry;
+        });
+    }
+
+    /**
+     * 停止监视锁
+     *
+     * @param lockInfo 锁信息
+     */
+    public void unwatch(LockInfo lockInfo) {
+        entries.computeIfPresent(entryId(lockInfo), (id, entry) -> --entry.holdCount > 0 ? entry : null);
+    }
+
+    /**
+     * 锁是否仍在续期中，续期失败的锁会被移出监视
+     *
+     * @param lockInfo 锁信息
+     * @return 是否在续期中
+     */
+    public boolean isWatched(LockInfo lockInfo) {
+        return entries.containsKey(entryId(lockInfo));
+    }
+
+    /**
+     * 当前被监视的锁数量
+     *
+     * @return 锁数量
+     */
+    public int getWatchedCount() {
+        return entries.size();
+    }
+
+    /**
+     * 关闭看门狗
+     */
+    public void shutdown() {
+        scheduler.shutdownNow();
+        entries.clear();
+    }
+
+    /**
+     * 为剩余有效期不足的锁批量续期
+     */
+    void renewExpiringLocks() {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            // 按续期器分组，每个续期器一次批量调用
+            Map<LeaseRenewer, List<WatchEntry>> dueEntries = new IdentityHashMap<>();
+            for (WatchEntry entry : entries.values()) {
+                if (now - entry.lastRenewTime >= entry.lockInfo.getExpireTime() / 3) {
+                    dueEntries.computeIfAbsent(entry.leaseRenewer, k -> new ArrayList<>()).add(entry);
+                }
+            }
+            for (Map.Entry<LeaseRenewer, List<WatchEntry>> group : dueEntries.entrySet()) {
+                renew(group.getKey(), group.getValue(), now);
+            }
+        } catch (Exception e) {
+            // 调度任务不能抛出异常，否则后续不会再执行
+            log.error("锁续期时发生异常", e);
+        }
+    }
+
+    private void renew(LeaseRenewer leaseRenewer, List<WatchEntry> group, long now) {
+        List<String> keys = new ArrayList<>(group.size());
+        List<String> values = new ArrayList<>(group.size());
+        List<Long> expires = new ArrayList<>(group.size());
+        for (WatchEntry entry : group) {
+            keys.add(entry.lockInfo.getKey());
+            values.add(entry.lockInfo.getValue());
+            expires.add(entry.lockInfo.getExpireTime());
+        }
+
+        List<Boolean> renewed = leaseRenewer.renew(keys, values, expires);
+        for (int i = 0; i < group.size(); i++) {
+            WatchEntry entry = group.get(i);
+            if (i < renewed.size() && Boolean.TRUE.equals(renewed.get(i))) {
+                entry.lastRenewTime = now;
+            } else {
+                // 锁已过期或已被他人持有，不再续期
+                entries.remove(entryId(entry.lockInfo), entry);
+                log.warn("锁续期失败，锁可能已过期，key={}", entry.lockInfo.getKey());
+            }
+        }
+    }
+
+    private static String entryId(LockInfo lockInfo) {
+        return lockInfo.getKey() + ":" + lockInfo.getValue();
+    }
+
+    /**
+     * 被监视的锁
+     */
+    private static class WatchEntry {
+
+        private final LeaseRenewer leaseRenewer;
+
+        private final LockInfo lockInfo;
+
+        /**
+         * 最近一次续期（或获取）的时间
+         */
+        private volatile long lastRenewTime;
+
+        /**
+         * 持有次数，仅在 compute 中修改
+         */
+        private int holdCount = 1;
+
+        WatchEntry(LeaseRenewer leaseRenewer, LockInfo lockInfo) {
+            this.leaseRenewer = leaseRenewer;
+            this.lockInfo = lockInfo;
+            this.lastRenewTime = lockInfo.getAcquireTime();
+        }
+    }
+}
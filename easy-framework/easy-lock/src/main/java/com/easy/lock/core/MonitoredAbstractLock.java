@@ -4,6 +4,9 @@ import com.easy.lock.monitor.LockMonitor;
 
 import lombok.Setter;
 
+import java.util.Collection;
+import java.util.TreeSet;
+
 /**
  * 带监控功能的抽象锁实现
  */
@@ -22,12 +25,31 @@ public abstract class MonitoredAbstractLock extends AbstractLock {
 
         // 如果有监控器，记录锁操作结果
         if (lockMonitor != null) {
+            long waitTime = System.currentTimeMillis() - startTime;
             if (lockInfo != null) {
                 // 获取锁成功
-                lockMonitor.recordSuccess(key);
+                lockMonitor.recordSuccess(key, waitTime);
             } else {
                 // 获取锁失败
-                lockMonitor.recordFail(key);
+                lockMonitor.recordFail(key, waitTime);
+            }
+        }
+
+        return lockInfo;
+    }
+
+    @Override
+    public LockInfo tryLockAll(Collection<String> keys, long expireTime, int retryCount, long retryInterval) {
+        long startTime = System.currentTimeMillis();
+        LockInfo lockInfo = super.tryLockAll(keys, expireTime, retryCount, retryInterval);
+
+        // 整组锁按一个资源记录，资源键为排序后的锁键以逗号拼接
+        if (lockMonitor != null) {
+            long waitTime = System.currentTimeMillis() - startTime;
+            if (lockInfo != null) {
+                lockMonitor.recordSuccess(lockInfo.getKey(), waitTime);
+            } else {
+                lockMonitor.recordFail(String.join(",", new TreeSet<>(keys)), waitTime);
             }
         }
 
@@ -0,0 +1,37 @@
+package com.easy.lock.core;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * 信号量许可信息
+ */
+@Data
+@Accessors(chain = true)
+public class PermitInfo {
+
+    /**
+     * 信号量键
+     */
+    private String key;
+
+    /**
+     * 许可标识，用于释放与续期
+     */
+    private String permitId;
+
+    /**
+     * 持有的许可数量
+     */
+    private int permits;
+
+    /**
+     * 租约时间（毫秒）
+     */
+    private long leaseTime;
+
+    /**
+     * 获取许可的时间
+     */
+    private long acquireTime;
+}
@@ -0,0 +1,40 @@
+package com.easy.lock.core;
+
+import lombok.Getter;
+
+/**
+ * 限流结果
+ */
+@Getter
+public class RateLimitResult {
+
+    /**
+     * 获得的许可数量，获取失败时为0
+     */
+    private final int permits;
+
+    /**
+     * 获取失败时，距离可获得所需许可的等待时间（毫秒）
+     */
+    private final long retryAfter;
+
+    /**
+     * 获得的许可在多长时间（毫秒）内产生，本地预取的许可在此时间后失效
+     */
+    private final long window;
+
+    public RateLimitResult(int permits, long retryAfter, long window) {
+        this.permits = permits;
+        this.retryAfter = retryAfter;
+        this.window = window;
+    }
+
+    /**
+     * 是否获取成功
+     *
+     * @return 是否获取成功
+     */
+    public boolean isAcquired() {
+        return permits > 0;
+    }
+}
@@ -0,0 +1,25 @@
+package com.easy.lock.core;
+
+import com.easy.lock.core.executor.LockExecutor;
+import com.easy.lock.core.executor.RedLockExecutor;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Redlock 多实例仲裁锁实现
+ */
+@RequiredArgsConstructor
+public class RedLock extends MonitoredAbstractLock {
+
+    private final RedLockExecutor lockExecutor;
+
+    @Override
+    protected LockExecutor getLockExecutor() {
+        return lockExecutor;
+    }
+
+    @Override
+    protected LockInfo.LockType getLockType() {
+        return LockInfo.LockType.REDLOCK;
+    }
+}
@@ -0,0 +1,30 @@
+package com.easy.lock.core;
+
+import com.easy.lock.core.executor.LockExecutor;
+import com.easy.lock.core.executor.RedisFairLockExecutor;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Redis公平锁实现
+ */
+@RequiredArgsConstructor
+public class RedisFairLock extends MonitoredAbstractLock {
+
+    private final RedisFairLockExecutor lockExecutor;
+
+    @Override
+    protected LockExecutor getLockExecutor() {
+        return lockExecutor;
+    }
+
+    @Override
+    protected LockInfo.LockType getLockType() {
+        return LockInfo.LockType.FAIR;
+    }
+
+    @Override
+    protected boolean isReentrant() {
+        return true;
+    }
+}
@@ -0,0 +1,30 @@
+package com.easy.lock.core;
+
+import com.easy.lock.core.executor.LockExecutor;
+import com.easy.lock.core.executor.RedisReadWriteLockExecutor;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Redis读锁实现，与同一锁键的写锁互斥
+ */
+@RequiredArgsConstructor
+public class RedisReadLock extends MonitoredAbstractLock {
+
+    private final RedisReadWriteLockExecutor lockExecutor;
+
+    @Override
+    protected LockExecutor getLockExecutor() {
+        return lockExecutor;
+    }
+
+    @Override
+    protected LockInfo.LockType getLockType() {
+        return LockInfo.LockType.READ;
+    }
+
+    @Override
+    protected boolean isReentrant() {
+        return true;
+    }
+}
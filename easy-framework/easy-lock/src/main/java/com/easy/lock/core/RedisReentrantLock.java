@@ -0,0 +1,30 @@
+package com.easy.lock.core;
+
+import com.easy.lock.core.executor.LockExecutor;
+import com.easy.lock.core.executor.RedisReentrantLockExecutor;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Redis可重入锁实现
+ */
+@RequiredArgsConstructor
+public class RedisReentrantLock extends MonitoredAbstractLock {
+
+    private final RedisReentrantLockExecutor lockExecutor;
+
+    @Override
+    protected LockExecutor getLockExecutor() {
+        return lockExecutor;
+    }
+
+    @Override
+    protected LockInfo.LockType getLockType() {
+        return LockInfo.LockType.REENTRANT;
+    }
+
+    @Override
+    protected boolean isReentrant() {
+        return true;
+    }
+}
@@ -0,0 +1,22 @@
+package com.easy.lock.core.executor;
+
+import java.util.List;
+
+/**
+ * 租约续期接口
+ * <p>
+ * 看门狗只依赖该接口，锁与信号量许可的租约都通过它批量续期
+ */
+public interface LeaseRenewer {
+
+    /**
+     * 批量续期租约，只有租约值匹配（仍由当前持有者持有）的租约才会被续期
+     *
+     * @param keys    租约键列表
+     * @param values  租约值列表，与租约键一一对应
+     * @param expires 续期后的过期时间列表（毫秒），与租约键一一对应
+     * @return 每个租约是否续期成功，与租约键一一对应
+     */
+    List<Boolean> renew(List<String> keys, List<String> values, List<Long> expires);
+
+}
@@ -1,9 +1,13 @@
 package com.easy.lock.core.executor;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * 锁执行器接口
  */
-public interface LockExecutor {
+public interface LockExecutor extends LeaseRenewer {
 
     /**
      * 尝试获取锁
@@ -32,4 +36,71 @@ public interface LockExecutor {
      */
     boolean isLocked(String key);
 
+    /**
+     * 同时获取多个锁，全部获取成功或全部不获取
+     * <p>
+     * 默认实现按给定顺序逐个获取，任一失败时释放已获取的锁；调用方应传入排好序的锁键以避免死锁
+     *
+     * @param keys   锁键列表
+     * @param value  锁值，所有锁共用
+     * @param expire 获取锁超时时间
+     * @return 全部获取成功返回true，否则返回false
+     */
+    default boolean acquireAll(List<String> keys, String value, long expire) {
+        List<String> acquired = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            if (!acquire(key, value, expire)) {
+                for (int i = acquired.size() - 1; i >= 0; i--) {
+                    release(acquired.get(i), value);
+                }
+                return false;
+            }
+            acquired.add(key);
+        }
+        return true;
+    }
+
+    /**
+     * 同时释放多个锁
+     * <p>
+     * 默认实现逐个释放
+     *
+     * @param keys  锁键列表
+     * @param value 锁值
+     * @return 全部释放成功返回true，否则返回false
+     */
+    default boolean releaseAll(List<String> keys, String value) {
+        boolean released = true;
+        for (String key : keys) {
+            released &= release(key, value);
+        }
+        return released;
+    }
+
+    /**
+     * 放弃获取锁，在重试结束仍未获取到锁时调用，用于清理排队等状态
+     * <p>
+     * 默认实现无需清理
+     *
+     * @param key   锁键
+     * @param value 锁值
+     */
+    default void cancel(String key, String value) {
+    }
+
+    /**
+     * 批量续期锁，只有锁值匹配（仍由当前持有者持有）的锁才会被续期
+     * <p>
+     * 默认实现不支持续期，所有锁均视为续期失败
+     *
+     * @param keys    锁键列表
+     * @param values  锁值列表，与锁键一一对应
+     * @param expires 续期后的过期时间列表（毫秒），与锁键一一对应
+     * @return 每个锁是否续期成功，与锁键一一对应
+     */
+    @Override
+    default List<Boolean> renew(List<String> keys, List<String> values, List<Long> expires) {
+        return Collections.nCopies(keys.size(), Boolean.FALSE);
+    }
+
 }
\ No newline at end of file
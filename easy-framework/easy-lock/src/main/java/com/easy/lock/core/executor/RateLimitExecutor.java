@@ -0,0 +1,27 @@
+package com.easy.lock.core.executor;
+
+import com.easy.lock.core.RateLimitResult;
+
+/**
+ * 限流执行器接口
+ * <p>
+ * 按 GCRA（通用信元速率算法）计算许可：每 emissionInterval 毫秒产生一个许可，
+ * 空闲时最多累积 burst 个许可。
+ */
+public interface RateLimitExecutor {
+
+    /**
+     * 尝试获取许可
+     * <p>
+     * 可用许可不少于 minPermits 时获取成功，并在不超过 maxPermits 的前提下尽量多地获取，
+     * 用于本地预取时一次取回一批许可。
+     *
+     * @param key              限流键
+     * @param emissionInterval 产生一个许可的间隔（毫秒），可为小数
+     * @param burst            最多累积的许可数量
+     * @param minPermits       至少获取的许可数量
+     * @param maxPermits       至多获取的许可数量
+     * @return 获取结果
+     */
+    RateLimitResult acquire(String key, double emissionInterval, int burst, int minPermits, int maxPermits);
+}
@@ -0,0 +1,237 @@
+package com.easy.lock.core.executor;
+
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RFuture;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redlock 多实例仲裁锁执行器实现
+ * <p>
+ * 向 N 个相互独立的 Redis 节点并行发送加锁命令，在锁的有效期内获得多数节点（N/2 + 1）确认才算加锁成功，
+ * 加锁耗时约为一次往返而不是 N 次。有效期扣除加锁耗时与时钟漂移（过期时间 * 漂移系数 + 2毫秒）后必须仍为正数，
+ * 加锁失败时在所有节点上释放，避免残留的少数派锁阻塞后续加锁。
+ * <p>
+ * 单个节点故障或主从切换时，只要多数节点仍然可用就不会重复授予同一把锁。
+ */
+@Slf4j
+public class RedLockExecutor implements LockExecutor {
+
+    /**
+     * 默认时钟漂移系数
+     */
+    public static final double DEFAULT_DRIFT_FACTOR = 0.01;
+
+    /**
+     * 默认单节点响应超时时间（毫秒），与 Redisson 默认的命令超时一致
+     */
+    public static final long DEFAULT_NODE_TIMEOUT = 3000;
+
+    // 加锁的Lua脚本
+    private static final String LOCK_SCRIPT = "if redis.call('set', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2]) then " +
+            "return 1 " +
+            "end " +
+            "return 0";
+
+    // 解锁的Lua脚本，与单节点锁一致，释放成功后发布释放通知
+    private static final String UNLOCK_SCRIPT = "if redis.call('get', KEYS[1]) == ARGV[1] then " +
+            "redis.call('del', KEYS[1]) " +
+            "redis.call('publish', ARGV[2], 'unlock') " +
+            "return 1 " +
+            "end " +
+            "return 0";
+
+    // 续期的Lua脚本，ARGV按 [锁值, 过期时间] 成对传入，返回每个锁是否续期成功
+    private static final String RENEW_SCRIPT = "local result = {} " +
+            "for i = 1, #KEYS do " +
+            "if redis.call('get', KEYS[i]) == ARGV[i * 2 - 1] then " +
+            "redis.call('pexpire', KEYS[i], ARGV[i * 2]) " +
+            "result[i] = 1 " +
+            "else " +
+            "result[i] = 0 " +
+            "end " +
+            "end " +
+            "return result";
+
+    private static final String EXISTS_SCRIPT = "return redis.call('exists', KEYS[1])";
+
+    /**
+     * 各Redis节点
+     */
+    private final List<RedissonClient> clients;
+
+    /**
+     * 获得多数确认所需的节点数
+     */
+    private final int quorum;
+
+    /**
+     * 时钟漂移系数
+     */
+    private final double driftFactor;
+
+    /**
+     * 释放、查询与续期时等待各节点响应的最长时间（毫秒），节点并行执行，整体共用一个截止时间
+     */
+    private final long nodeTimeout;
+
+    public RedLockExecutor(List<RedissonClient> clients) {
+        this(clients, DEFAULT_DRIFT_FACTOR);
+    }
+
+    public RedLockExecutor(List<RedissonClient> clients, double driftFactor) {
+        this(clients, driftFactor, DEFAULT_NODE_TIMEOUT);
+    }
+
+    public RedLockExecutor(List<RedissonClient> clients, double driftFactor, long nodeTimeout) {
+        if (clients == null || clients.isEmpty()) {
+            throw new IllegalArgumentException("Redlock requires at least one Redis node");
+        }
+        this.clients = new ArrayList<>(clients);
+        this.quorum = clients.size() / 2 + 1;
+        this.driftFactor = driftFactor;
+        this.nodeTimeout = nodeTimeout;
+    }
+
+    @Override
+    public boolean acquire(String key, String value, long expire) {
+        long startTime = System.currentTimeMillis();
+        List<Object> keys = Collections.singletonList(key);
+        List<CompletableFuture<Object>> futures = evalAll(LOCK_SCRIPT, RScript.ReturnType.INTEGER, keys,
+                value, String.valueOf(expire));
+
+        // 最多等待到锁的有效期结束，超过有效期的确认已没有意义
+        long drift = (long) (expire * driftFactor) + 2;
+        int acquired = countSuccess(futures, startTime + expire - drift);
+
+        long validity = expire - (System.currentTimeMillis() - startTime) - drift;
+        if (acquired >= quorum && validity > 0) {
+            return true;
+        }
+
+        log.debug("Redlock加锁未获得多数确认，key={}，确认节点数={}/{}，剩余有效期={}ms",
+                key, acquired, clients.size(), validity);
+        // 在所有节点上释放，包括可能已加锁但响应超时的节点
+        evalAll(UNLOCK_SCRIPT, RScript.ReturnType.INTEGER, keys, value, RedisLockExecutor.RELEASE_CHANNEL_PREFIX + key);
+        return false;
+    }
+
+    @Override
+    public boolean release(String key, String value) {
+        List<CompletableFuture<Object>> futures = evalAll(UNLOCK_SCRIPT, RScript.ReturnType.INTEGER,
+                Collections.singletonList(key), value, RedisLockExecutor.RELEASE_CHANNEL_PREFIX + key);
+        return countSuccess(futures, System.currentTimeMillis() + nodeTimeout) >= quorum;
+    }
+
+    @Override
+    public boolean isLocked(String key) {
+        List<CompletableFuture<Object>> futures = evalAll(EXISTS_SCRIPT, RScript.ReturnType.INTEGER,
+                Collections.singletonList(key));
+        return countSuccess(futures, System.currentTimeMillis() + nodeTimeout) >= quorum;
+    }
+
+    @Override
+    public List<Boolean> renew(List<String> keys, List<String> values, List<Long> expires) {
+        if (keys.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Object[] args = new Object[keys.size() * 2];
+        for (int i = 0; i < keys.size(); i++) {
+            args[i * 2] = values.get(i);
+            args[i * 2 + 1] = String.valueOf(expires.get(i));
+        }
+        List<CompletableFuture<Object>> futures = evalAll(RENEW_SCRIPT, RScript.ReturnType.MULTI,
+                new ArrayList<>(keys), args);
+
+        // 每个锁在多数节点上续期成功才算续期成功，超时未响应的节点按续期失败计
+        long deadline = System.currentTimeMillis() + nodeTimeout;
+        int[] renewedCount = new int[keys.size()];
+        for (CompletableFuture<Object> future : futures) {
+            Object result = join(future, deadline);
+            if (!(result instanceof List)) {
+                continue;
+            }
+            List<?> flags = (List<?>) result;
+            for (int i = 0; i < keys.size() && i < flags.size(); i++) {
+                Object flag = flags.get(i);
+                if (flag instanceof Number && ((Number) flag).longValue() == 1L) {
+                    renewedCount[i]++;
+                }
+            }
+        }
+        List<Boolean> renewed = new ArrayList<>(keys.size());
+        for (int count : renewedCount) {
+            renewed.add(count >= quorum);
+        }
+        return renewed;
+    }
+
+    /**
+     * 关闭所有节点的连接
+     */
+    public void shutdown() {
+        for (RedissonClient client : clients) {
+            client.shutdown();
+        }
+    }
+
+    /**
+     * 在所有节点上并行执行脚本
+     */
+    private List<CompletableFuture<Object>> evalAll(String script, RScript.ReturnType returnType, List<Object> keys,
+                                                    Object... args) {
+        List<CompletableFuture<Object>> futures = new ArrayList<>(clients.size());
+        for (RedissonClient client : clients) {
+            try {
+                RFuture<Object> future = client.getScript(StringCodec.INSTANCE)
+                        .evalAsync(RScript.Mode.READ_WRITE, script, returnType, keys, args);
+                futures.add(future.toCompletableFuture());
+            } catch (Exception e) {
+                CompletableFuture<Object> failed = new CompletableFuture<>();
+                failed.completeExceptionally(e);
+                futures.add(failed);
+            }
+        }
+        return futures;
+    }
+
+    /**
+     * 统计在截止时间前返回 1 的节点数
+     */
+    private int countSuccess(List<CompletableFuture<Object>> futures, long deadline) {
+        int count = 0;
+        for (CompletableFuture<Object> future : futures) {
+            Object result = join(future, deadline);
+            if (result instanceof Number && ((Number) result).longValue() == 1L) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 等待节点返回结果，超时或节点异常时返回null
+     */
+    private Object join(CompletableFuture<Object> future, long deadline) {
+        try {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0 && !future.isDone()) {
+                return null;
+            }
+            return future.get(Math.max(remaining, 0), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            log.debug("Redlock节点执行失败", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.easy.lock.core.executor;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Redis公平锁执行器实现
+ * <p>
+ * 在可重入锁的基础上增加等待队列：获取失败的持有者按到达顺序进入 ZSET 队列，锁空闲时只有队首可以获取。
+ * 每次重试会刷新排队者的心跳时间，超过等待超时未刷新的队首（已放弃或已宕机）会被移出队列，避免阻塞后续排队者。
+ * 时间统一取 Redis 服务器时间，不受各节点时钟偏差影响。
+ * <p>
+ * 锁、等待队列与排队者心跳三个键使用同一个 hash tag（锁键本身没有 hash tag 时以 "{锁键}" 存储），
+ * 保证在 Redis Cluster 下位于同一个 slot，脚本不会因 CROSSSLOT 失败。释放通知的频道仍为原锁键。
+ */
+public class RedisFairLockExecutor extends RedisReentrantLockExecutor {
+
+    /**
+     * 默认排队者心跳超时时间（毫秒）
+     */
+    public static final long DEFAULT_WAITER_TIMEOUT = 5000L;
+
+    // 公平加锁的Lua脚本
+    // KEYS: [锁, 等待队列, 排队者心跳]  ARGV: [持有者标识, 过期时间, 排队者心跳超时]
+    private static final String LOCK_SCRIPT = "local time = redis.call('time') " +
+            "local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000) " +
+            "local timeout = tonumber(ARGV[3]) " +
+            // 移除已超时的队首排队者
+            "while true do " +
+            "local head = redis.call('zrange', KEYS[2], 0, 0)[1] " +
+            "if head == nil then break end " +
+            "local seen = tonumber(redis.call('hget', KEYS[3], head)) " +
+            "if seen ~= nil and seen + timeout >= now then break end " +
+            "redis.call('zrem', KEYS[2], head) " +
+            "redis.call('hdel', KEYS[3], head) " +
+            "end " +
+            // 重入
+            "if redis.call('hexists', KEYS[1], ARGV[1]) == 1 then " +
+            "redis.call('hincrby', KEYS[1], ARGV[1], 1) " +
+            "redis.call('pexpire', KEYS[1], ARGV[2]) " +
+            "return 1 " +
+            "end " +
+            // 锁空闲且队列为空或自己是队首时获取锁
+            "if redis.call('exists', KEYS[1]) == 0 then " +
+            "local head = redis.call('zrange', KEYS[2], 0, 0)[1] " +
+            "if head == nil or head == ARGV[1] then " +
+            "redis.call('zrem', KEYS[2], ARGV[1]) " +
+            "redis.call('hdel', KEYS[3], ARGV[1]) " +
+            "redis.call('hset', KEYS[1], ARGV[1], 1) " +
+            "redis.call('pexpire', KEYS[1], ARGV[2]) " +
+            "return 1 " +
+            "end " +
+            "end " +
+            // 排队等待并刷新心跳
+            "if redis.call('zscore', KEYS[2], ARGV[1]) == false then " +
+            "redis.call('zadd', KEYS[2], now, ARGV[1]) " +
+            "end " +
+            "redis.call('hset', KEYS[3], ARGV[1], now) " +
+            "redis.call('pexpire', KEYS[2], timeout) " +
+            "redis.call('pexpire', KEYS[3], timeout) " +
+            "return 0";
+
+    // 放弃排队的Lua脚本，锁空闲时发布通知唤醒新的队首
+    // KEYS: [锁, 等待队列, 排队者心跳]  ARGV: [持有者标识, 释放通知频道]
+    private static final String CANCEL_SCRIPT = "if redis.call('zrem', KEYS[2], ARGV[1]) == 0 then " +
+            "return 0 " +
+            "end " +
+            "redis.call('hdel', KEYS[3], ARGV[1]) " +
+            "if redis.call('exists', KEYS[1]) == 0 then " +
+            "redis.call('publish', ARGV[2], 'cancel') " +
+            "end " +
+            "return 1";
+
+    private static final RedisScript<Long> LOCK_REDIS_SCRIPT = new DefaultRedisScript<>(LOCK_SCRIPT, Long.class);
+
+    private static final RedisScript<Long> CANCEL_REDIS_SCRIPT = new DefaultRedisScript<>(CANCEL_SCRIPT, Long.class);
+
+    /**
+     * 排队者心跳超时时间（毫秒），应大于重试间隔
+     */
+    private final long waiterTimeout;
+
+    public RedisFairLockExecutor(StringRedisTemplate redisTemplate) {
+        this(redisTemplate, DEFAULT_WAITER_TIMEOUT);
+    }
+
+    public RedisFairLockExecutor(StringRedisTemplate redisTemplate, long waiterTimeout) {
+        super(redisTemplate);
+        this.waiterTimeout = waiterTimeout;
+    }
+
+    @Override
+    public boolean acquire(String key, String value, long expire) {
+        return executeFlag(LOCK_REDIS_SCRIPT, buildKeys(key), value, String.valueOf(expire), String.valueOf(waiterTimeout));
+    }
+
+    @Override
+    public boolean release(String key, String value) {
+        return super.release(hashTag(key), value, key);
+    }
+
+    @Override
+    public boolean isLocked(String key) {
+        return super.isLocked(hashTag(key));
+    }
+
+    @Override
+    public List<Boolean> renew(List<String> keys, List<String> values, List<Long> expires) {
+        List<String> taggedKeys = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            taggedKeys.add(hashTag(key));
+        }
+        return super.renew(taggedKeys, values, expires);
+    }
+
+    @Override
+    public void cancel(String key, String value) {
+        executeFlag(CANCEL_REDIS_SCRIPT, buildKeys(key), value, RedisLockExecutor.RELEASE_CHANNEL_PREFIX + key);
+    }
+
+    private static List<String> buildKeys(String key) {
+        String lockKey = hashTag(key);
+        return Arrays.asList(lockKey, lockKey + ":fair:queue", lockKey + ":fair:timeout");
+    }
+
+    /**
+     * 获得锁在 Redis 中的键，锁键没有 hash tag 时整体作为 hash tag
+     */
+    static String hashTag(String key) {
+        if (key.indexOf('{') >= 0) {
+            // 已有 hash tag，或含有无效的 hash tag（此时无法保证同一个 slot）
+            return key;
+        }
+        return "{" + key + "}";
+    }
+}
@@ -5,7 +5,9 @@ import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.data.redis.core.script.RedisScript;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -16,9 +18,16 @@ public class RedisLockExecutor implements LockExecutor {
 
     private final StringRedisTemplate redisTemplate;
 
-    // Redis分布式锁的Lua脚本
+    /**
+     * 锁释放通知频道前缀，释放锁时向 前缀 + 锁键 发布消息
+     */
+    public static final String RELEASE_CHANNEL_PREFIX = "easy:lock:release:";
+
+    // Redis分布式锁的Lua脚本，释放成功后发布释放通知唤醒等待者
     private static final String UNLOCK_SCRIPT = "if redis.call('get', KEYS[1]) == ARGV[1] then " +
-            "return redis.call('del', KEYS[1]) " +
+            "redis.call('del', KEYS[1]) " +
+            "redis.call('publish', ARGV[2], 'unlock') " +
+            "return 1 " +
             "else " +
             "return 0 " +
             "end";
@@ -26,6 +35,47 @@ public class RedisLockExecutor implements LockExecutor {
     // 预编译脚本提高性能
     private static final RedisScript<Long> UNLOCK_REDIS_SCRIPT = new DefaultRedisScript<>(UNLOCK_SCRIPT, Long.class);
 
+    // 批量续期的Lua脚本，ARGV按 [锁值, 过期时间] 成对传入，返回每个锁是否续期成功
+    private static final String RENEW_SCRIPT = "local result = {} " +
+            "for i = 1, #KEYS do " +
+            "if redis.call('get', KEYS[i]) == ARGV[i * 2 - 1] then " +
+            "redis.call('pexpire', KEYS[i], ARGV[i * 2]) " +
+            "result[i] = 1 " +
+            "else " +
+            "result[i] = 0 " +
+            "end " +
+            "end " +
+            "return result";
+
+    // 批量加锁的Lua脚本，任一锁已被占用时不获取任何锁
+    private static final String LOCK_ALL_SCRIPT = "for i = 1, #KEYS do " +
+            "if redis.call('exists', KEYS[i]) == 1 then " +
+            "return 0 " +
+            "end " +
+            "end " +
+            "for i = 1, #KEYS do " +
+            "redis.call('set', KEYS[i], ARGV[1], 'px', ARGV[2]) " +
+            "end " +
+            "return 1";
+
+    // 批量解锁的Lua脚本，逐个校验锁值后删除并发布释放通知，返回释放的锁数量
+    private static final String UNLOCK_ALL_SCRIPT = "local released = 0 " +
+            "for i = 1, #KEYS do " +
+            "if redis.call('get', KEYS[i]) == ARGV[1] then " +
+            "redis.call('del', KEYS[i]) " +
+            "redis.call('publish', ARGV[2] .. KEYS[i], 'unlock') " +
+            "released = released + 1 " +
+            "end " +
+            "end " +
+            "return released";
+
+    private static final RedisScript<Long> LOCK_ALL_REDIS_SCRIPT = new DefaultRedisScript<>(LOCK_ALL_SCRIPT, Long.class);
+
+    private static final RedisScript<Long> UNLOCK_ALL_REDIS_SCRIPT = new DefaultRedisScript<>(UNLOCK_ALL_SCRIPT, Long.class);
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> RENEW_REDIS_SCRIPT = new DefaultRedisScript<>(RENEW_SCRIPT, List.class);
+
     @Override
     public boolean acquire(String key, String value, long expire) {
         Boolean success = redisTemplate.opsForValue().setIfAbsent(key, value, expire, TimeUnit.MILLISECONDS);
@@ -38,12 +88,45 @@ public class RedisLockExecutor implements LockExecutor {
         Long result = redisTemplate.execute(
                 UNLOCK_REDIS_SCRIPT,
                 Collections.singletonList(key),
-                value);
+                value, RELEASE_CHANNEL_PREFIX + key);
         return Long.valueOf(1).equals(result);
     }
 
+    @Override
+    public boolean acquireAll(List<String> keys, String value, long expire) {
+        // 所有锁在一次Lua调用中原子获取，集群模式下锁键需使用相同的hash tag
+        Long result = redisTemplate.execute(LOCK_ALL_REDIS_SCRIPT, keys, value, String.valueOf(expire));
+        return Long.valueOf(1).equals(result);
+    }
+
+    @Override
+    public boolean releaseAll(List<String> keys, String value) {
+        Long result = redisTemplate.execute(UNLOCK_ALL_REDIS_SCRIPT, keys, value, RELEASE_CHANNEL_PREFIX);
+        return result != null && result == keys.size();
+    }
+
     @Override
     public boolean isLocked(String key) {
         return Boolean.TRUE.equals(redisTemplate.hasKey(key));
     }
+
+    @Override
+    public List<Boolean> renew(List<String> keys, List<String> values, List<Long> expires) {
+        if (keys.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Object[] args = new Object[keys.size() * 2];
+        for (int i = 0; i < keys.size(); i++) {
+            args[i * 2] = values.get(i);
+            args[i * 2 + 1] = String.valueOf(expires.get(i));
+        }
+        // 所有锁在一次Lua调用中完成续期，避免逐个往返
+        List<?> result = redisTemplate.execute(RENEW_REDIS_SCRIPT, keys, args);
+        List<Boolean> renewed = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            Object flag = result == null || i >= result.size() ? null : result.get(i);
+            renewed.add(flag instanceof Number && ((Number) flag).longValue() == 1L);
+        }
+        return renewed;
+    }
 }
\ No newline at end of file
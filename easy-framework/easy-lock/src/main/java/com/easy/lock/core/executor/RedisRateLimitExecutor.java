@@ -0,0 +1,67 @@
+package com.easy.lock.core.executor;
+
+import com.easy.lock.core.RateLimitResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Redis限流执行器实现
+ * <p>
+ * 每个限流键只保存一个理论到达时间（TAT），获取 n 个许可即把 TAT 推后 n 个产生间隔，
+ * TAT 超出当前时间不能多于 burst 个间隔。无需保存请求记录，内存占用与请求量无关。
+ * 时间统一取 Redis 服务器时间，不受各节点时钟偏差影响。
+ * 限流键统一加上 {@link #KEY_PREFIX} 前缀，避免与同名的锁键数据结构冲突（WRONGTYPE）。
+ */
+@RequiredArgsConstructor
+public class RedisRateLimitExecutor implements RateLimitExecutor {
+
+    /**
+     * 限流键前缀
+     */
+    public static final String KEY_PREFIX = "ratelimit:";
+
+    private final StringRedisTemplate redisTemplate;
+
+    // GCRA 限流的Lua脚本，返回 [获得的许可数, 需等待的毫秒数]
+    // KEYS: [限流键]  ARGV: [产生间隔, 最多累积的许可数, 至少获取的许可数, 至多获取的许可数]
+    private static final String ACQUIRE_SCRIPT = "local time = redis.call('time') " +
+            "local now = tonumber(time[1]) * 1000 + tonumber(time[2]) / 1000 " +
+            "local interval = tonumber(ARGV[1]) " +
+            "local tolerance = interval * tonumber(ARGV[2]) " +
+            "local tat = tonumber(redis.call('get', KEYS[1])) " +
+            "if tat == nil or tat < now then " +
+            "tat = now " +
+            "end " +
+            "local available = math.floor((now + tolerance - tat) / interval + 1e-9) " +
+            "local min = tonumber(ARGV[3]) " +
+            "if available < min then " +
+            "return {0, math.ceil(tat + min * interval - tolerance - now)} " +
+            "end " +
+            "local permits = math.min(available, tonumber(ARGV[4])) " +
+            "tat = tat + permits * interval " +
+            "redis.call('set', KEYS[1], string.format('%.3f', tat), 'px', math.ceil(tat - now) + 1) " +
+            "return {permits, 0}";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> ACQUIRE_REDIS_SCRIPT = new DefaultRedisScript<>(ACQUIRE_SCRIPT, List.class);
+
+    @Override
+    public RateLimitResult acquire(String key, double emissionInterval, int burst, int minPermits, int maxPermits) {
+        List<?> result = redisTemplate.execute(ACQUIRE_REDIS_SCRIPT, Collections.singletonList(KEY_PREFIX + key),
+                String.valueOf(emissionInterval), String.valueOf(burst),
+                String.valueOf(minPermits), String.valueOf(maxPermits));
+        int permits = (int) toLong(result, 0);
+        long retryAfter = toLong(result, 1);
+        return new RateLimitResult(permits, retryAfter, (long) Math.ceil(permits * emissionInterval));
+    }
+
+    private static long toLong(List<?> result, int index) {
+        Object value = result == null || index >= result.size() ? null : result.get(index);
+        return value instanceof Number ? ((Number) value).longValue() : 0L;
+    }
+}
@@ -0,0 +1,108 @@
+package com.easy.lock.core.executor;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.Collections;
+
+/**
+ * Redis读写锁执行器实现
+ * <p>
+ * 读锁与写锁共用同一个 Hash 结构：mode 字段记录当前模式（read/write），其余字段为持有者标识及持有次数。
+ * 读锁可被多个持有者同时持有；写锁独占且可重入，持有写锁的线程也可以再获取读锁。
+ * 最后一个持有者释放时删除锁并发布释放通知。
+ * <p>
+ * 多个读者共用一个过期时间，某个读者宕机后其记录会保留到锁整体过期为止。
+ */
+public class RedisReadWriteLockExecutor extends RedisReentrantLockExecutor {
+
+    // 读锁加锁的Lua脚本，无锁或读模式时直接获取，写模式下只有写锁持有者可以获取
+    private static final String READ_LOCK_SCRIPT = "local mode = redis.call('hget', KEYS[1], 'mode') " +
+            "if mode == false then " +
+            "redis.call('hset', KEYS[1], 'mode', 'read') " +
+            "redis.call('hset', KEYS[1], ARGV[1], 1) " +
+            "redis.call('pexpire', KEYS[1], ARGV[2]) " +
+            "return 1 " +
+            "end " +
+            "if mode == 'read' or redis.call('hexists', KEYS[1], ARGV[1]) == 1 then " +
+            "redis.call('hincrby', KEYS[1], ARGV[1], 1) " +
+            "if redis.call('pttl', KEYS[1]) < tonumber(ARGV[2]) then " +
+            "redis.call('pexpire', KEYS[1], ARGV[2]) " +
+            "end " +
+            "return 1 " +
+            "end " +
+            "return 0";
+
+    // 写锁加锁的Lua脚本，无锁时直接获取，写模式下当前持有者可重入
+    private static final String WRITE_LOCK_SCRIPT = "local mode = redis.call('hget', KEYS[1], 'mode') " +
+            "if mode == false then " +
+            "redis.call('hset', KEYS[1], 'mode', 'write') " +
+            "redis.call('hset', KEYS[1], ARGV[1], 1) " +
+            "redis.call('pexpire', KEYS[1], ARGV[2]) " +
+            "return 1 " +
+            "end " +
+            "if mode == 'write' and redis.call('hexists', KEYS[1], ARGV[1]) == 1 then " +
+            "redis.call('hincrby', KEYS[1], ARGV[1], 1) " +
+            "redis.call('pexpire', KEYS[1], ARGV[2]) " +
+            "return 1 " +
+            "end " +
+            "return 0";
+
+    // 读写锁解锁的Lua脚本，持有者次数减到零时移除，只剩 mode 字段时删除锁并发布释放通知
+    private static final String UNLOCK_SCRIPT = "if redis.call('hexists', KEYS[1], ARGV[1]) == 0 then " +
+            "return 0 " +
+            "end " +
+            "if redis.call('hincrby', KEYS[1], ARGV[1], -1) > 0 then " +
+            "return 1 " +
+            "end " +
+            "redis.call('hdel', KEYS[1], ARGV[1]) " +
+            "if redis.call('hlen', KEYS[1]) <= 1 then " +
+            "redis.call('del', KEYS[1]) " +
+            "redis.call('publish', ARGV[2], 'unlock') " +
+            "end " +
+            "return 1";
+
+    private static final RedisScript<Long> READ_LOCK_REDIS_SCRIPT = new DefaultRedisScript<>(READ_LOCK_SCRIPT, Long.class);
+
+    private static final RedisScript<Long> WRITE_LOCK_REDIS_SCRIPT = new DefaultRedisScript<>(WRITE_LOCK_SCRIPT, Long.class);
+
+    private static final RedisScript<Long> UNLOCK_REDIS_SCRIPT = new DefaultRedisScript<>(UNLOCK_SCRIPT, Long.class);
+
+    /**
+     * 加锁模式
+     */
+    private final Mode mode;
+
+    public RedisReadWriteLockExecutor(StringRedisTemplate redisTemplate, Mode mode) {
+        super(redisTemplate);
+        this.mode = mode;
+    }
+
+    @Override
+    public boolean acquire(String key, String value, long expire) {
+        RedisScript<Long> script = mode == Mode.READ ? READ_LOCK_REDIS_SCRIPT : WRITE_LOCK_REDIS_SCRIPT;
+        return executeFlag(script, Collections.singletonList(key), value, String.valueOf(expire));
+    }
+
+    @Override
+    public boolean release(String key, String value) {
+        return executeFlag(UNLOCK_REDIS_SCRIPT, Collections.singletonList(key),
+                value, RedisLockExecutor.RELEASE_CHANNEL_PREFIX + key);
+    }
+
+    /**
+     * 读写锁加锁模式枚举
+     */
+    public enum Mode {
+        /**
+         * 读锁
+         */
+        READ,
+
+        /**
+         * 写锁
+         */
+        WRITE
+    }
+}
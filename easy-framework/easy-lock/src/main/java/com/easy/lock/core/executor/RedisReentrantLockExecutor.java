@@ -0,0 +1,123 @@
+package com.easy.lock.core.executor;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Redis可重入锁执行器实现
+ * <p>
+ * 锁以 Hash 结构存储，field 为持有者标识，value 为持有次数。同一持有者重复获取时持有次数加一，
+ * 释放时持有次数减一，减到零时删除锁并发布释放通知。
+ */
+public class RedisReentrantLockExecutor implements LockExecutor {
+
+    // 可重入加锁的Lua脚本，锁不存在或由当前持有者持有时持有次数加一
+    private static final String LOCK_SCRIPT = "if redis.call('exists', KEYS[1]) == 0 " +
+            "or redis.call('hexists', KEYS[1], ARGV[1]) == 1 then " +
+            "redis.call('hincrby', KEYS[1], ARGV[1], 1) " +
+            "redis.call('pexpire', KEYS[1], ARGV[2]) " +
+            "return 1 " +
+            "end " +
+            "return 0";
+
+    // 可重入解锁的Lua脚本，持有次数减到零时删除锁并发布释放通知
+    private static final String UNLOCK_SCRIPT = "if redis.call('hexists', KEYS[1], ARGV[1]) == 0 then " +
+            "return 0 " +
+            "end " +
+            "if redis.call('hincrby', KEYS[1], ARGV[1], -1) > 0 then " +
+            "return 1 " +
+            "end " +
+            "redis.call('del', KEYS[1]) " +
+            "redis.call('publish', ARGV[2], 'unlock') " +
+            "return 1";
+
+    // 批量续期的Lua脚本，ARGV按 [持有者标识, 过期时间] 成对传入，返回每个锁是否续期成功
+    private static final String RENEW_SCRIPT = "local result = {} " +
+            "for i = 1, #KEYS do " +
+            "if redis.call('hexists', KEYS[i], ARGV[i * 2 - 1]) == 1 then " +
+            "redis.call('pexpire', KEYS[i], ARGV[i * 2]) " +
+            "result[i] = 1 " +
+            "else " +
+            "result[i] = 0 " +
+            "end " +
+            "end " +
+            "return result";
+
+    private static final RedisScript<Long> LOCK_REDIS_SCRIPT = new DefaultRedisScript<>(LOCK_SCRIPT, Long.class);
+
+    private static final RedisScript<Long> UNLOCK_REDIS_SCRIPT = new DefaultRedisScript<>(UNLOCK_SCRIPT, Long.class);
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> RENEW_REDIS_SCRIPT = new DefaultRedisScript<>(RENEW_SCRIPT, List.class);
+
+    protected final StringRedisTemplate redisTemplate;
+
+    public RedisReentrantLockExecutor(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public boolean acquire(String key, String value, long expire) {
+        return executeFlag(LOCK_REDIS_SCRIPT, Collections.singletonList(key), value, String.valueOf(expire));
+    }
+
+    @Override
+    public boolean release(String key, String value) {
+        return release(key, value, key);
+    }
+
+    /**
+     * 释放锁
+     *
+     * @param redisKey   锁在 Redis 中的键
+     * @param value      持有者标识
+     * @param channelKey 释放通知频道对应的锁键
+     * @return 是否释放成功
+     */
+    protected boolean release(String redisKey, String value, String channelKey) {
+        return executeFlag(UNLOCK_REDIS_SCRIPT, Collections.singletonList(redisKey),
+                value, RedisLockExecutor.RELEASE_CHANNEL_PREFIX + channelKey);
+    }
+
+    @Override
+    public boolean isLocked(String key) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(key));
+    }
+
+    @Override
+    public List<Boolean> renew(List<String> keys, List<String> values, List<Long> expires) {
+        if (keys.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Object[] args = new Object[keys.size() * 2];
+        for (int i = 0; i < keys.size(); i++) {
+            args[i * 2] = values.get(i);
+            args[i * 2 + 1] = String.valueOf(expires.get(i));
+        }
+        List<?> result = redisTemplate.execute(RENEW_REDIS_SCRIPT, keys, args);
+        List<Boolean> renewed = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            Object flag = result == null || i >= result.size() ? null : result.get(i);
+            renewed.add(flag instanceof Number && ((Number) flag).longValue() == 1L);
+        }
+        return renewed;
+    }
+
+    /**
+     * 执行返回 0/1 的脚本
+     *
+     * @param script 脚本
+     * @param keys   键列表
+     * @param args   参数列表
+     * @return 脚本是否返回 1
+     */
+    protected boolean executeFlag(RedisScript<Long> script, List<String> keys, Object... args) {
+        Long result = redisTemplate.execute(script, keys, args);
+        return Long.valueOf(1).equals(result);
+    }
+}
@@ -0,0 +1,158 @@
+package com.easy.lock.core.executor;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Redis信号量执行器实现
+ * <p>
+ * 租约保存在 ZSET 中（许可标识 -> 到期时间），各租约持有的许可数量保存在 HASH 中。
+ * 每次获取前先清理已到期的租约，许可的占用与归还都在一次Lua调用中完成。
+ * 释放时向锁释放通知频道发布消息，等待者可复用锁的释放通知立即重试。
+ * 时间统一取 Redis 服务器时间，不受各节点时钟偏差影响。
+ * 信号量键统一加上 {@link #KEY_PREFIX} 前缀，避免与同名的锁键数据结构冲突（WRONGTYPE）。
+ */
+@RequiredArgsConstructor
+public class RedisSemaphoreExecutor implements SemaphoreExecutor {
+
+    /**
+     * 信号量键前缀
+     */
+    public static final String KEY_PREFIX = "semaphore:";
+
+    private final StringRedisTemplate redisTemplate;
+
+    // 清理到期租约并统计已占用许可数的Lua片段
+    // KEYS: [租约, 许可数量]
+    private static final String PURGE_SCRIPT = "local time = redis.call('time') " +
+            "local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000) " +
+            "local expired = redis.call('zrangebyscore', KEYS[1], '-inf', now) " +
+            "for i = 1, #expired do " +
+            "redis.call('hdel', KEYS[2], expired[i]) " +
+            "end " +
+            "if #expired > 0 then " +
+            "redis.call('zremrangebyscore', KEYS[1], '-inf', now) " +
+            "end " +
+            "local used = 0 " +
+            "for _, permits in ipairs(redis.call('hvals', KEYS[2])) do " +
+            "used = used + tonumber(permits) " +
+            "end ";
+
+    // 获取许可的Lua脚本
+    // KEYS: [租约, 许可数量]  ARGV: [许可标识, 许可数量, 许可总数, 租约时间]
+    private static final String ACQUIRE_SCRIPT = PURGE_SCRIPT +
+            "if used + tonumber(ARGV[2]) > tonumber(ARGV[3]) then " +
+            "return 0 " +
+            "end " +
+            "redis.call('zadd', KEYS[1], now + tonumber(ARGV[4]), ARGV[1]) " +
+            "redis.call('hset', KEYS[2], ARGV[1], ARGV[2]) " +
+            // 信号量键的过期时间不短于最长的租约
+            "if redis.call('pttl', KEYS[1]) < tonumber(ARGV[4]) then " +
+            "redis.call('pexpire', KEYS[1], ARGV[4]) " +
+            "redis.call('pexpire', KEYS[2], ARGV[4]) " +
+            "end " +
+            "return 1";
+
+    // 释放许可的Lua脚本
+    // KEYS: [租约, 许可数量]  ARGV: [许可标识, 释放通知频道]
+    private static final String RELEASE_SCRIPT = "if redis.call('zrem', KEYS[1], ARGV[1]) == 0 then " +
+            "return 0 " +
+            "end " +
+            "redis.call('hdel', KEYS[2], ARGV[1]) " +
+            "redis.call('publish', ARGV[2], 'release') " +
+            "return 1";
+
+    // 批量续期租约的Lua脚本，返回每份租约是否续期成功
+    // KEYS: 按 [租约, 许可数量] 成对传入  ARGV: 按 [许可标识, 租约时间] 成对传入
+    private static final String RENEW_SCRIPT = "local time = redis.call('time') " +
+            "local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000) " +
+            "local result = {} " +
+            "for i = 1, #ARGV / 2 do " +
+            "local leases = KEYS[i * 2 - 1] " +
+            "local leaseTime = tonumber(ARGV[i * 2]) " +
+            "local expireAt = redis.call('zscore', leases, ARGV[i * 2 - 1]) " +
+            "if expireAt == false or tonumber(expireAt) <= now then " +
+            "result[i] = 0 " +
+            "else " +
+            "redis.call('zadd', leases, now + leaseTime, ARGV[i * 2 - 1]) " +
+            "if redis.call('pttl', leases) < leaseTime then " +
+            "redis.call('pexpire', leases, leaseTime) " +
+            "redis.call('pexpire', KEYS[i * 2], leaseTime) " +
+            "end " +
+            "result[i] = 1 " +
+            "end " +
+            "end " +
+            "return result";
+
+    // 查询可用许可数的Lua脚本
+    // KEYS: [租约, 许可数量]  ARGV: [许可总数]
+    private static final String AVAILABLE_SCRIPT = PURGE_SCRIPT +
+            "return math.max(0, tonumber(ARGV[1]) - used)";
+
+    private static final RedisScript<Long> ACQUIRE_REDIS_SCRIPT = new DefaultRedisScript<>(ACQUIRE_SCRIPT, Long.class);
+
+    private static final RedisScript<Long> RELEASE_REDIS_SCRIPT = new DefaultRedisScript<>(RELEASE_SCRIPT, Long.class);
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> RENEW_REDIS_SCRIPT = new DefaultRedisScript<>(RENEW_SCRIPT, List.class);
+
+    private static final RedisScript<Long> AVAILABLE_REDIS_SCRIPT = new DefaultRedisScript<>(AVAILABLE_SCRIPT, Long.class);
+
+    @Override
+    public boolean acquire(String key, String permitId, int permits, int maxPermits, long leaseTime) {
+        Long result = redisTemplate.execute(ACQUIRE_REDIS_SCRIPT, buildKeys(key),
+                permitId, String.valueOf(permits), String.valueOf(maxPermits), String.valueOf(leaseTime));
+        return Long.valueOf(1).equals(result);
+    }
+
+    @Override
+    public boolean release(String key, String permitId) {
+        Long result = redisTemplate.execute(RELEASE_REDIS_SCRIPT, buildKeys(key),
+                permitId, RedisLockExecutor.RELEASE_CHANNEL_PREFIX + key);
+        return Long.valueOf(1).equals(result);
+    }
+
+    @Override
+    public boolean renew(String key, String permitId, long leaseTime) {
+        return renew(Collections.singletonList(key), Collections.singletonList(permitId),
+                Collections.singletonList(leaseTime)).get(0);
+    }
+
+    @Override
+    public List<Boolean> renew(List<String> keys, List<String> permitIds, List<Long> leaseTimes) {
+        if (keys.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> redisKeys = new ArrayList<>(keys.size() * 2);
+        Object[] args = new Object[keys.size() * 2];
+        for (int i = 0; i < keys.size(); i++) {
+            redisKeys.addAll(buildKeys(keys.get(i)));
+            args[i * 2] = permitIds.get(i);
+            args[i * 2 + 1] = String.valueOf(leaseTimes.get(i));
+        }
+        List<?> result = redisTemplate.execute(RENEW_REDIS_SCRIPT, redisKeys, args);
+        List<Boolean> renewed = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            Object flag = result == null || i >= result.size() ? null : result.get(i);
+            renewed.add(flag instanceof Number && ((Number) flag).longValue() == 1L);
+        }
+        return renewed;
+    }
+
+    @Override
+    public int availablePermits(String key, int maxPermits) {
+        Long result = redisTemplate.execute(AVAILABLE_REDIS_SCRIPT, buildKeys(key), String.valueOf(maxPermits));
+        return result == null ? 0 : result.intValue();
+    }
+
+    private static List<String> buildKeys(String key) {
+        return Arrays.asList(KEY_PREFIX + key, KEY_PREFIX + key + ":permits");
+    }
+}
@@ -0,0 +1,63 @@
+package com.easy.lock.core.executor;
+
+import java.util.List;
+
+/**
+ * 信号量执行器接口
+ * <p>
+ * 每次获取以许可标识登记一份租约，租约到期未续期的许可自动归还，持有者宕机不会永久占用许可。
+ * 作为 {@link LeaseRenewer} 时，租约键为信号量键，租约值为许可标识，供看门狗批量续期。
+ */
+public interface SemaphoreExecutor extends LeaseRenewer {
+
+    /**
+     * 尝试获取许可
+     *
+     * @param key        信号量键
+     * @param permitId   许可标识，释放与续期时使用
+     * @param permits    获取的许可数量
+     * @param maxPermits 信号量的许可总数
+     * @param leaseTime  租约时间（毫秒）
+     * @return 是否获取成功
+     */
+    boolean acquire(String key, String permitId, int permits, int maxPermits, long leaseTime);
+
+    /**
+     * 释放许可
+     *
+     * @param key      信号量键
+     * @param permitId 许可标识
+     * @return 是否释放成功，租约已过期时返回false
+     */
+    boolean release(String key, String permitId);
+
+    /**
+     * 续期许可租约
+     *
+     * @param key       信号量键
+     * @param permitId  许可标识
+     * @param leaseTime 租约时间（毫秒）
+     * @return 是否续期成功，租约已过期时返回false
+     */
+    boolean renew(String key, String permitId, long leaseTime);
+
+    /**
+     * 批量续期许可租约
+     *
+     * @param keys       信号量键列表
+     * @param permitIds  许可标识列表，与信号量键一一对应
+     * @param leaseTimes 租约时间列表（毫秒），与信号量键一一对应
+     * @return 每份租约是否续期成功，租约已过期时为false
+     */
+    @Override
+    List<Boolean> renew(List<String> keys, List<String> permitIds, List<Long> leaseTimes);
+
+    /**
+     * 获取可用的许可数量
+     *
+     * @param key        信号量键
+     * @param maxPermits 信号量的许可总数
+     * @return 可用的许可数量
+     */
+    int availablePermits(String key, int maxPermits);
+}
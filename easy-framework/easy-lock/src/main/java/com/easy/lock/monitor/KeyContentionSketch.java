@@ -0,0 +1,184 @@
+package com.easy.lock.monitor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 锁键争用统计
+ * <p>
+ * 用 Count-Min Sketch 估算每个锁键的获取成功、失败次数，内存占用与锁键数量无关，估算值只会偏大不会偏小。
+ * 另外维护失败次数最多的前 K 个锁键，新锁键的失败次数估算值超过其中最小值时替换该锁键。
+ * 计数无锁，只有候选锁键进入前 K 时才加锁。
+ */
+public class KeyContentionSketch {
+
+    /**
+     * 哈希函数个数
+     */
+    private static final int DEPTH = 4;
+
+    /**
+     * 每行计数器个数，必须为2的幂
+     */
+    private static final int WIDTH = 1024;
+
+    private final AtomicLongArray successCounts = new AtomicLongArray(DEPTH * WIDTH);
+
+    private final AtomicLongArray failCounts = new AtomicLongArray(DEPTH * WIDTH);
+
+    /**
+     * 前 K 个失败次数最多的锁键
+     */
+    private final Map<String, Boolean> topKeys = new ConcurrentHashMap<>();
+
+    /**
+     * 保留的锁键数量上限
+     */
+    private final int capacity;
+
+    /**
+     * 前 K 个锁键中最小的失败次数估算值，新锁键不超过该值时无需加锁比较
+     */
+    private volatile long minTopFailCount;
+
+    public KeyContentionSketch(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * 记录获取锁成功
+     *
+     * @param key 锁键
+     */
+    public void recordSuccess(String key) {
+        add(successCounts, key);
+    }
+
+    /**
+     * 记录获取锁失败
+     *
+     * @param key 锁键
+     */
+    public void recordFail(String key) {
+        long failCount = add(failCounts, key);
+        if (topKeys.containsKey(key)) {
+            return;
+        }
+        if (topKeys.size() >= capacity && failCount <= minTopFailCount) {
+            return;
+        }
+        offer(key, failCount);
+    }
+
+    /**
+     * 估算锁键获取成功次数
+     *
+     * @param key 锁键
+     * @return 成功次数估算值
+     */
+    public long estimateSuccessCount(String key) {
+        return estimate(successCounts, key);
+    }
+
+    /**
+     * 估算锁键获取失败次数
+     *
+     * @param key 锁键
+     * @return 失败次数估算值
+     */
+    public long estimateFailCount(String key) {
+        return estimate(failCounts, key);
+    }
+
+    /**
+     * 获取失败次数最多的锁键，按失败次数降序排列
+     *
+     * @return 锁键列表，最多 capacity 个
+     */
+    public List<String> getTopKeys() {
+        List<String> keys = new ArrayList<>(topKeys.keySet());
+        keys.sort((a, b) -> Long.compare(estimateFailCount(b), estimateFailCount(a)));
+        return keys;
+    }
+
+    /**
+     * 重置统计数据
+     */
+    public synchronized void reset() {
+        for (int i = 0; i < DEPTH * WIDTH; i++) {
+            successCounts.set(i, 0);
+            failCounts.set(i, 0);
+        }
+        topKeys.clear();
+        minTopFailCount = 0;
+    }
+
+    private synchronized void offer(String key, long failCount) {
+        if (topKeys.containsKey(key)) {
+            return;
+        }
+        if (topKeys.size() < capacity) {
+            topKeys.put(key, Boolean.TRUE);
+            return;
+        }
+        String minKey = null;
+        long min = Long.MAX_VALUE;
+        for (String candidate : topKeys.keySet()) {
+            long count = estimateFailCount(candidate);
+            if (count < min) {
+                min = count;
+                minKey = candidate;
+            }
+        }
+        if (minKey != null && failCount > min) {
+            topKeys.remove(minKey);
+            topKeys.put(key, Boolean.TRUE);
+        }
+        minTopFailCount = min;
+    }
+
+    /**
+     * 增加计数，返回增加后的估算值
+     */
+    private static long add(AtomicLongArray counts, String key) {
+        int h1 = mix(key.hashCode());
+        int h2 = mix(h1 ^ 0x9E3779B9) | 1;
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < DEPTH; i++) {
+            min = Math.min(min, counts.incrementAndGet(index(i, h1 + i * h2)));
+        }
+        return min;
+    }
+
+    private static long estimate(AtomicLongArray counts, String key) {
+        int h1 = mix(key.hashCode());
+        int h2 = mix(h1 ^ 0x9E3779B9) | 1;
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < DEPTH; i++) {
+            min = Math.min(min, counts.get(index(i, h1 + i * h2)));
+        }
+        return min;
+    }
+
+    private static int index(int row, int hash) {
+        return row * WIDTH + (hash & (WIDTH - 1));
+    }
+
+    /**
+     * MurmurHash3 的末尾混合函数，使哈希值的低位分布均匀
+     */
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -0,0 +1,54 @@
+package com.easy.lock.monitor;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 锁监控指标，导出到 Micrometer
+ * <p>
+ * 计数器直接读取 {@link LockMonitor} 的累计值，等待时间与持有时间按最近一个统计窗口的百分位导出为仪表
+ */
+@RequiredArgsConstructor
+public class LockMetrics implements MeterBinder {
+
+    private static final double[] PERCENTILES = {50.0, 95.0, 99.0, 99.9};
+
+    private final LockMonitor lockMonitor;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("easy.lock.acquire", lockMonitor, LockMonitor::getSuccessCount)
+                .tag("result", "success")
+                .description("获取锁次数")
+                .register(registry);
+        FunctionCounter.builder("easy.lock.acquire", lockMonitor, LockMonitor::getFailCount)
+                .tag("result", "fail")
+                .description("获取锁次数")
+                .register(registry);
+        FunctionCounter.builder("easy.lock.release", lockMonitor, LockMonitor::getReleaseSuccessCount)
+                .tag("result", "success")
+                .description("释放锁次数")
+                .register(registry);
+        FunctionCounter.builder("easy.lock.release", lockMonitor, LockMonitor::getReleaseFailCount)
+                .tag("result", "fail")
+                .description("释放锁次数")
+                .register(registry);
+
+        for (double percentile : PERCENTILES) {
+            String tag = String.valueOf(percentile / 100);
+            Gauge.builder("easy.lock.wait.time", lockMonitor, m -> m.getWaitTimePercentile(percentile))
+                    .tag("quantile", tag)
+                    .baseUnit("milliseconds")
+                    .description("获取锁等待时间")
+                    .register(registry);
+            Gauge.builder("easy.lock.hold.time", lockMonitor, m -> m.getHoldTimePercentile(percentile))
+                    .tag("quantile", tag)
+                    .baseUnit("milliseconds")
+                    .description("锁持有时间")
+                    .register(registry);
+        }
+    }
+}
@@ -1,69 +1,125 @@
 package com.easy.lock.monitor;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
 
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * 锁监控类
+ * <p>
+ * 计数使用 LongAdder，锁键级别的统计使用固定大小的 {@link KeyContentionSketch}，
+ * 等待时间与持有时间使用滑动时间窗口的 HdrHistogram 记录分布，只反映最近一个窗口的数据，
+ * 内存占用与锁键数量、调用次数无关，可在生产环境常开。计数器为累计值，可通过 {@link #reset()} 清零。
  */
 @Slf4j
 public class LockMonitor {
 
+    /**
+     * 默认保留的争用最多的锁键数量
+     */
+    public static final int DEFAULT_TOP_KEY_CAPACITY = 100;
+
+    /**
+     * 默认的时间分布统计窗口（毫秒）
+     */
+    public static final long DEFAULT_WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * 统计窗口划分的桶数量，窗口每经过 1/6 淘汰一次最旧的数据
+     */
+    private static final int WINDOW_BUCKETS = 6;
+
+    /**
+     * 直方图可记录的最大值（毫秒），超过的值按最大值记录
+     */
+    private static final long HIGHEST_TRACKABLE_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    /**
+     * 直方图精度（有效数字位数）
+     */
+    private static final int SIGNIFICANT_DIGITS = 2;
+
     /**
      * 锁成功计数器
      */
-    @Getter
-    private final AtomicLong successCount = new AtomicLong(0);
+    private final LongAdder successCount = new LongAdder();
 
     /**
      * 锁失败计数器
      */
-    @Getter
-    private final AtomicLong failCount = new AtomicLong(0);
+    private final LongAdder failCount = new LongAdder();
 
     /**
      * 释放锁成功计数器
      */
-    @Getter
-    private final AtomicLong releaseSuccessCount = new AtomicLong(0);
+    private final LongAdder releaseSuccessCount = new LongAdder();
 
     /**
      * 释放锁失败计数器
      */
-    @Getter
-    private final AtomicLong releaseFailCount = new AtomicLong(0);
+    private final LongAdder releaseFailCount = new LongAdder();
 
     /**
      * 锁持有时间统计（毫秒）
      */
-    @Getter
-    private final AtomicLong totalLockTime = new AtomicLong(0);
+    private final LongAdder totalLockTime = new LongAdder();
 
     /**
      * 总锁定次数
      */
-    @Getter
-    private final AtomicLong totalLockCount = new AtomicLong(0);
+    private final LongAdder totalLockCount = new LongAdder();
 
     /**
      * 锁定时间最长的记录
      */
-    @Getter
-    private volatile LockRecord maxTimeRecord;
+    private final AtomicReference<LockRecord> maxTimeRecord = new AtomicReference<>();
+
+    /**
+     * 各资源锁定成功、失败次数统计
+     */
+    private final KeyContentionSketch contentionSketch;
+
+    /**
+     * 获取锁等待时间分布（毫秒）
+     */
+    private final WindowedHistogram waitTimeHistogram;
+
+    /**
+     * 锁持有时间分布（毫秒）
+     */
+    private final WindowedHistogram holdTimeHistogram;
+
+    public LockMonitor() {
+        this(DEFAULT_TOP_KEY_CAPACITY);
+    }
 
     /**
-     * 各资源锁定失败次数统计
+     * 构造函数
+     *
+     * @param topKeyCapacity 保留的争用最多的锁键数量
      */
-    private final Map<String, AtomicLong> resourceFailCountMap = new ConcurrentHashMap<>();
+    public LockMonitor(int topKeyCapacity) {
+        this(topKeyCapacity, DEFAULT_WINDOW_MILLIS);
+    }
 
     /**
-     * 各资源锁定成功次数统计
+     * 构造函数
+     *
+     * @param topKeyCapacity 保留的争用最多的锁键数量
+     * @param windowMillis   等待时间与持有时间分布的统计窗口（毫秒）
      */
-    private final Map<String, AtomicLong> resourceSuccessCountMap = new ConcurrentHashMap<>();
+    public LockMonitor(int topKeyCapacity, long windowMillis) {
+        this.contentionSketch = new KeyContentionSketch(topKeyCapacity);
+        this.waitTimeHistogram = newHistogram(windowMillis);
+        this.holdTimeHistogram = newHistogram(windowMillis);
+    }
 
     /**
      * 记录获取锁成功
@@ -71,9 +127,20 @@ public class LockMonitor {
      * @param key 锁定资源
      */
     public void recordSuccess(String key) {
-        successCount.incrementAndGet();
-        totalLockCount.incrementAndGet();
-        resourceSuccessCountMap.computeIfAbsent(key, k -> new AtomicLong(0)).incrementAndGet();
+        successCount.increment();
+        totalLockCount.increment();
+        contentionSketch.recordSuccess(key);
+    }
+
+    /**
+     * 记录获取锁成功及等待时间
+     *
+     * @param key      锁定资源
+     * @param waitTime 等待时间（毫秒）
+     */
+    public void recordSuccess(String key, long waitTime) {
+        recordSuccess(key);
+        record(waitTimeHistogram, waitTime);
     }
 
     /**
@@ -82,22 +149,33 @@ public class LockMonitor {
      * @param key 锁定资源
      */
     public void recordFail(String key) {
-        failCount.incrementAndGet();
-        resourceFailCountMap.computeIfAbsent(key, k -> new AtomicLong(0)).incrementAndGet();
+        failCount.increment();
+        contentionSketch.recordFail(key);
+    }
+
+    /**
+     * 记录获取锁失败及等待时间
+     *
+     * @param key      锁定资源
+     * @param waitTime 等待时间（毫秒）
+     */
+    public void recordFail(String key, long waitTime) {
+        recordFail(key);
+        record(waitTimeHistogram, waitTime);
     }
 
     /**
      * 记录释放锁成功
      */
     public void recordReleaseSuccess() {
-        releaseSuccessCount.incrementAndGet();
+        releaseSuccessCount.increment();
     }
 
     /**
      * 记录释放锁失败
      */
     public void recordReleaseFail() {
-        releaseFailCount.incrementAndGet();
+        releaseFailCount.increment();
     }
 
     /**
@@ -107,25 +185,59 @@ public class LockMonitor {
      * @param lockTime 锁定时间（毫秒）
      */
     public void recordLockTime(String key, long lockTime) {
-        totalLockTime.addAndGet(lockTime);
-
-        // 更新最大锁定时间记录
-        if (maxTimeRecord == null || lockTime > maxTimeRecord.getLockTime()) {
-            maxTimeRecord = new LockRecord(key, lockTime, System.currentTimeMillis());
+        totalLockTime.add(lockTime);
+        record(holdTimeHistogram, lockTime);
+
+        // 更新最大锁定时间记录，只有超过当前最大值时才创建新记录
+        LockRecord current = maxTimeRecord.get();
+        while (current == null || lockTime > current.getLockTime()) {
+            LockRecord record = new LockRecord(key, lockTime, System.currentTimeMillis());
+            if (maxTimeRecord.compareAndSet(current, record)) {
+                break;
+            }
+            current = maxTimeRecord.get();
         }
     }
 
+    public long getSuccessCount() {
+        return successCount.sum();
+    }
+
+    public long getFailCount() {
+        return failCount.sum();
+    }
+
+    public long getReleaseSuccessCount() {
+        return releaseSuccessCount.sum();
+    }
+
+    public long getReleaseFailCount() {
+        return releaseFailCount.sum();
+    }
+
+    public long getTotalLockTime() {
+        return totalLockTime.sum();
+    }
+
+    public long getTotalLockCount() {
+        return totalLockCount.sum();
+    }
+
+    public LockRecord getMaxTimeRecord() {
+        return maxTimeRecord.get();
+    }
+
     /**
      * 获取平均锁定时间（毫秒）
      *
      * @return 平均锁定时间
      */
     public double getAverageLockTime() {
-        long count = totalLockCount.get();
+        long count = totalLockCount.sum();
         if (count == 0) {
             return 0;
         }
-        return totalLockTime.get() / (double) count;
+        return totalLockTime.sum() / (double) count;
     }
 
     /**
@@ -134,33 +246,70 @@ public class LockMonitor {
      * @return 失败比例
      */
     public double getFailRate() {
-        long total = successCount.get() + failCount.get();
+        long fail = failCount.sum();
+        long total = successCount.sum() + fail;
         if (total == 0) {
             return 0;
         }
-        return failCount.get() / (double) total;
+        return fail / (double) total;
+    }
+
+    /**
+     * 获取最近一个统计窗口内等待时间的百分位数（毫秒）
+     *
+     * @param percentile 百分位，例如 99.0
+     * @return 等待时间
+     */
+    public long getWaitTimePercentile(double percentile) {
+        return waitTimeHistogram.getValueAtPercentile(percentile);
     }
 
     /**
-     * 获取资源锁定失败次数
+     * 获取最近一个统计窗口内持有时间的百分位数（毫秒）
+     *
+     * @param percentile 百分位，例如 99.0
+     * @return 持有时间
+     */
+    public long getHoldTimePercentile(double percentile) {
+        return holdTimeHistogram.getValueAtPercentile(percentile);
+    }
+
+    /**
+     * 获取最近一个统计窗口内等待时间分布的快照
+     *
+     * @return 直方图副本
+     */
+    public Histogram getWaitTimeHistogram() {
+        return waitTimeHistogram.snapshot();
+    }
+
+    /**
+     * 获取最近一个统计窗口内持有时间分布的快照
+     *
+     * @return 直方图副本
+     */
+    public Histogram getHoldTimeHistogram() {
+        return holdTimeHistogram.snapshot();
+    }
+
+    /**
+     * 获取资源锁定失败次数，为估算值，可能偏大
      *
      * @param key 资源键
      * @return 失败次数
      */
     public long getResourceFailCount(String key) {
-        AtomicLong count = resourceFailCountMap.get(key);
-        return count == null ? 0 : count.get();
+        return contentionSketch.estimateFailCount(key);
     }
 
     /**
-     * 获取资源锁定成功次数
+     * 获取资源锁定成功次数，为估算值，可能偏大
      *
      * @param key 资源键
      * @return 成功次数
      */
     public long getResourceSuccessCount(String key) {
-        AtomicLong count = resourceSuccessCountMap.get(key);
-        return count == null ? 0 : count.get();
+        return contentionSketch.estimateSuccessCount(key);
     }
 
     /**
@@ -182,24 +331,15 @@ public class LockMonitor {
     }
 
     /**
-     * 获取所有资源的锁定情况
+     * 获取争用最多的资源的锁定情况，按失败次数降序排列
      *
      * @return 资源锁定情况映射
      */
     public Map<String, ResourceStats> getResourceStats() {
-        Map<String, ResourceStats> result = new ConcurrentHashMap<>();
-
-        // 合并两个Map的键集合
-        for (String key : resourceSuccessCountMap.keySet()) {
+        Map<String, ResourceStats> result = new LinkedHashMap<>();
+        for (String key : contentionSketch.getTopKeys()) {
             result.put(key, createResourceStats(key));
         }
-
-        for (String key : resourceFailCountMap.keySet()) {
-            if (!result.containsKey(key)) {
-                result.put(key, createResourceStats(key));
-            }
-        }
-
         return result;
     }
 
@@ -226,15 +366,24 @@ public class LockMonitor {
      * 重置监控数据
      */
     public void reset() {
-        successCount.set(0);
-        failCount.set(0);
-        releaseSuccessCount.set(0);
-        releaseFailCount.set(0);
-        totalLockTime.set(0);
-        totalLockCount.set(0);
-        maxTimeRecord = null;
-        resourceFailCountMap.clear();
-        resourceSuccessCountMap.clear();
+        successCount.reset();
+        failCount.reset();
+        releaseSuccessCount.reset();
+        releaseFailCount.reset();
+        totalLockTime.reset();
+        totalLockCount.reset();
+        maxTimeRecord.set(null);
+        contentionSketch.reset();
+        waitTimeHistogram.reset();
+        holdTimeHistogram.reset();
+    }
+
+    private static WindowedHistogram newHistogram(long windowMillis) {
+        return new WindowedHistogram(windowMillis, WINDOW_BUCKETS, HIGHEST_TRACKABLE_MILLIS, SIGNIFICANT_DIGITS);
+    }
+
+    private static void record(WindowedHistogram histogram, long millis) {
+        histogram.recordValue(Math.min(Math.max(millis, 0), HIGHEST_TRACKABLE_MILLIS));
     }
 
     /**
@@ -305,4 +454,4 @@ public class LockMonitor {
             this.contentionRate = contentionRate;
         }
     }
-}
\ No newline at end of file
+}
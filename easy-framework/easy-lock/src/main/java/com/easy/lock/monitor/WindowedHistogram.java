@@ -0,0 +1,105 @@
+package com.easy.lock.monitor;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * 滑动时间窗口的直方图
+ * <p>
+ * 窗口按时间平均分为若干个桶，每个桶是一个 HdrHistogram，记录时写入当前时间所在的桶，桶过期后在下次写入时清空复用；
+ * 查询时合并仍在窗口内的桶，因此百分位只反映最近一个窗口的数据，旧的异常值会随时间淘汰。
+ * 桶的清空与并发写入之间不加锁，轮换瞬间的少量记录可能丢失，对监控统计可以接受。
+ */
+class WindowedHistogram {
+
+    private final long highestTrackableValue;
+
+    private final int significantDigits;
+
+    /**
+     * 每个桶覆盖的时间（毫秒）
+     */
+    private final long bucketMillis;
+
+    private final Histogram[] buckets;
+
+    /**
+     * 各个桶当前记录的时间段序号，即 时间戳 / bucketMillis
+     */
+    private final AtomicLongArray bucketEpochs;
+
+    /**
+     * 构造函数
+     *
+     * @param windowMillis          窗口时间（毫秒）
+     * @param bucketCount           窗口划分的桶数量
+     * @param highestTrackableValue 可记录的最大值
+     * @param significantDigits     精度（有效数字位数）
+     */
+    WindowedHistogram(long windowMillis, int bucketCount, long highestTrackableValue, int significantDigits) {
+        if (windowMillis < bucketCount || bucketCount <= 0) {
+            throw new IllegalArgumentException("windowMillis must not be less than bucketCount, and bucketCount must be positive");
+        }
+        this.highestTrackableValue = highestTrackableValue;
+        this.significantDigits = significantDigits;
+        this.bucketMillis = windowMillis / bucketCount;
+        this.buckets = new Histogram[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new ConcurrentHistogram(1, highestTrackableValue, significantDigits);
+        }
+        this.bucketEpochs = new AtomicLongArray(bucketCount);
+    }
+
+    /**
+     * 记录一个值
+     *
+     * @param value 值，应在 [0, highestTrackableValue] 范围内
+     */
+    void recordValue(long value) {
+        long epoch = System.currentTimeMillis() / bucketMillis;
+        int index = (int) (epoch % buckets.length);
+        long current = bucketEpochs.get(index);
+        // 桶中是上一轮的数据，由抢到轮换的线程清空；落后的线程不回退序号，直接写入当前桶
+        if (current < epoch && bucketEpochs.compareAndSet(index, current, epoch)) {
+            buckets[index].reset();
+        }
+        buckets[index].recordValue(value);
+    }
+
+    /**
+     * 获取窗口内数据的百分位数
+     *
+     * @param percentile 百分位，例如 99.0
+     * @return 百分位数，窗口内没有数据时为 0
+     */
+    long getValueAtPercentile(double percentile) {
+        return snapshot().getValueAtPercentile(percentile);
+    }
+
+    /**
+     * 合并窗口内的桶
+     *
+     * @return 新的直方图
+     */
+    Histogram snapshot() {
+        long epoch = System.currentTimeMillis() / bucketMillis;
+        Histogram result = new Histogram(1, highestTrackableValue, significantDigits);
+        for (int i = 0; i < buckets.length; i++) {
+            if (epoch - bucketEpochs.get(i) < buckets.length) {
+                result.add(buckets[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 清空所有桶
+     */
+    void reset() {
+        for (Histogram bucket : buckets) {
+            bucket.reset();
+        }
+    }
+}
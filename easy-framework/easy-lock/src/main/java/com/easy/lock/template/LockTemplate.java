@@ -6,6 +6,9 @@ import com.easy.lock.exception.LockException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 /**
@@ -16,6 +19,11 @@ import java.util.function.Supplier;
 public class LockTemplate {
 
     private final Lock lock;
+
+    /**
+     * 按类型注册的锁，未注册的类型使用默认锁
+     */
+    private final Map<LockInfo.LockType, Lock> typedLocks = new ConcurrentHashMap<>();
     
     /**
      * 获取分布式锁的默认超时时间（毫秒）
@@ -83,9 +91,26 @@ public class LockTemplate {
      * @return 操作执行结果
      */
     public <T> T lock(String key, long expireTime, int retryCount, long retryInterval, Supplier<T> supplier) {
+        return lock(key, LockInfo.LockType.REDIS, expireTime, retryCount, retryInterval, supplier);
+    }
+
+    /**
+     * 使用指定类型的锁执行加锁操作
+     *
+     * @param key 锁的键
+     * @param lockType 锁类型
+     * @param expireTime 锁的过期时间
+     * @param retryCount 重试次数
+     * @param retryInterval 重试间隔
+     * @param supplier 获取锁后执行的操作
+     * @param <T> 返回值类型
+     * @return 操作执行结果
+     */
+    public <T> T lock(String key, LockInfo.LockType lockType, long expireTime, int retryCount, long retryInterval,
+                      Supplier<T> supplier) {
         LockInfo lockInfo = null;
         try {
-            lockInfo = lock.tryLock(key, expireTime, retryCount, retryInterval);
+            lockInfo = tryLock(key, lockType, expireTime, retryCount, retryInterval);
             if (lockInfo == null) {
                 throw new LockException("获取锁失败，key = " + key);
             }
@@ -118,6 +143,92 @@ public class LockTemplate {
         return lock.tryLock(key, expireTime, retryCount, retryInterval);
     }
 
+    /**
+     * 仅获取指定类型的锁，自定义参数
+     *
+     * @param key 锁的键
+     * @param lockType 锁类型
+     * @param expireTime 锁的过期时间
+     * @param retryCount 重试次数
+     * @param retryInterval 重试间隔
+     * @return 锁信息，获取失败时返回null
+     */
+    public LockInfo tryLock(String key, LockInfo.LockType lockType, long expireTime, int retryCount, long retryInterval) {
+        return getLock(lockType).tryLock(key, expireTime, retryCount, retryInterval);
+    }
+
+    /**
+     * 使用默认参数同时锁定多个键并执行操作
+     *
+     * @param keys 锁的键集合
+     * @param supplier 获取全部锁后执行的操作
+     * @param <T> 返回值类型
+     * @return 操作执行结果
+     */
+    public <T> T lockAll(Collection<String> keys, Supplier<T> supplier) {
+        return lockAll(keys, DEFAULT_EXPIRE_TIME, DEFAULT_RETRY_COUNT, DEFAULT_RETRY_INTERVAL, supplier);
+    }
+
+    /**
+     * 同时锁定多个键并执行操作
+     *
+     * @param keys 锁的键集合
+     * @param expireTime 锁的过期时间
+     * @param retryCount 重试次数
+     * @param retryInterval 重试间隔
+     * @param supplier 获取全部锁后执行的操作
+     * @param <T> 返回值类型
+     * @return 操作执行结果
+     */
+    public <T> T lockAll(Collection<String> keys, long expireTime, int retryCount, long retryInterval,
+                         Supplier<T> supplier) {
+        return lockAll(keys, LockInfo.LockType.REDIS, expireTime, retryCount, retryInterval, supplier);
+    }
+
+    /**
+     * 使用指定类型的锁同时锁定多个键并执行操作
+     *
+     * @param keys 锁的键集合
+     * @param lockType 锁类型
+     * @param expireTime 锁的过期时间
+     * @param retryCount 重试次数
+     * @param retryInterval 重试间隔
+     * @param supplier 获取全部锁后执行的操作
+     * @param <T> 返回值类型
+     * @return 操作执行结果
+     */
+    public <T> T lockAll(Collection<String> keys, LockInfo.LockType lockType, long expireTime, int retryCount,
+                         long retryInterval, Supplier<T> supplier) {
+        LockInfo lockInfo = null;
+        try {
+            lockInfo = tryLockAll(keys, lockType, expireTime, retryCount, retryInterval);
+            if (lockInfo == null) {
+                throw new LockException("批量获取锁失败，keys = " + keys);
+            }
+            return supplier.get();
+        } finally {
+            unlock(lockInfo);
+        }
+    }
+
+    /**
+     * 仅同时获取多个锁，全部获取成功或全部不获取
+     *
+     * @param keys 锁的键集合
+     * @param lockType 锁类型
+     * @param expireTime 锁的过期时间
+     * @param retryCount 重试次数
+     * @param retryInterval 重试间隔
+     * @return 组锁信息，获取失败时返回null
+     */
+    public LockInfo tryLockAll(Collection<String> keys, LockInfo.LockType lockType, long expireTime, int retryCount,
+                               long retryInterval) {
+        if (keys == null || keys.isEmpty()) {
+            throw new LockException("锁的键集合不能为空");
+        }
+        return getLock(lockType).tryLockAll(keys, expireTime, retryCount, retryInterval);
+    }
+
     /**
      * 释放锁
      *
@@ -128,6 +239,37 @@ public class LockTemplate {
         if (lockInfo == null) {
             return false;
         }
-        return lock.releaseLock(lockInfo);
+        Lock typedLock = lockInfo.getType() == null ? null : typedLocks.get(lockInfo.getType());
+        return (typedLock != null ? typedLock : lock).releaseLock(lockInfo);
+    }
+
+    /**
+     * 注册指定类型的锁
+     *
+     * @param lockType 锁类型
+     * @param typedLock 锁实现
+     */
+    public void registerLock(LockInfo.LockType lockType, Lock typedLock) {
+        typedLocks.put(lockType, typedLock);
+    }
+
+    /**
+     * 获取指定类型的锁
+     *
+     * @param lockType 锁类型，为空或 REDIS 且未单独注册时返回默认锁
+     * @return 锁实现
+     */
+    public Lock getLock(LockInfo.LockType lockType) {
+        if (lockType == null) {
+            return lock;
+        }
+        Lock typedLock = typedLocks.get(lockType);
+        if (typedLock != null) {
+            return typedLock;
+        }
+        if (lockType == LockInfo.LockType.REDIS) {
+            return lock;
+        }
+        throw new LockException("不支持的锁类型：" + lockType);
     }
 }
\ No newline at end of file
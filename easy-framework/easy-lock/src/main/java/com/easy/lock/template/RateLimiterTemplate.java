@@ -0,0 +1,154 @@
+package com.easy.lock.template;
+
+import com.easy.lock.core.LocalTokenBuffer;
+import com.easy.lock.core.RateLimitResult;
+import com.easy.lock.core.executor.RateLimitExecutor;
+import com.easy.lock.exception.LockException;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.function.Supplier;
+
+/**
+ * 分布式限流模板
+ * <p>
+ * 按 GCRA 算法限制每个限流键在一个周期内的许可数量，允许空闲后突发 burst 个请求。
+ * 开启本地预取（prefetch 大于本次所需许可数）时，每次访问Redis取回一批许可，
+ * 之后的请求在本地扣减，高并发接口的大部分请求无需访问Redis。
+ * 预取的许可只在其产生所需的时间内有效，各节点的总通过量不会超过限流值，但节点间的分配可能不均。
+ * 访问Redis异常时默认抛出 {@link LockException}，不与被限流混淆；设置 failOpen 后记录日志并放行请求。
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RateLimiterTemplate {
+
+    private final RateLimitExecutor rateLimitExecutor;
+
+    /**
+     * 本地预取的许可
+     */
+    private final LocalTokenBuffer tokenBuffer = new LocalTokenBuffer();
+
+    /**
+     * 访问Redis异常时是否放行请求，默认不放行，抛出 {@link LockException}
+     */
+    @Setter
+    private boolean failOpen;
+
+    /**
+     * 限流并执行操作，被限流时抛出异常
+     *
+     * @param key 限流键
+     * @param rate 每个周期的许可数量
+     * @param period 周期（毫秒）
+     * @param supplier 获取许可后执行的操作
+     * @param <T> 返回值类型
+     * @return 操作执行结果
+     */
+    public <T> T execute(String key, int rate, long period, Supplier<T> supplier) {
+        return execute(key, rate, period, rate, 1, 0, 0L, supplier);
+    }
+
+    /**
+     * 限流并执行操作，被限流时抛出异常
+     *
+     * @param key 限流键
+     * @param rate 每个周期的许可数量
+     * @param period 周期（毫秒）
+     * @param burst 最多累积的许可数量，不大于0时等于 rate
+     * @param permits 本次需要的许可数量
+     * @param prefetch 每次从Redis预取的许可数量，不大于 permits 时不预取
+     * @param timeout 被限流时的最长等待时间（毫秒），0表示不等待
+     * @param supplier 获取许可后执行的操作
+     * @param <T> 返回值类型
+     * @return 操作执行结果
+     */
+    public <T> T execute(String key, int rate, long period, int burst, int permits, int prefetch, long timeout,
+                         Supplier<T> supplier) {
+        if (!tryAcquire(key, rate, period, burst, permits, prefetch, timeout)) {
+            throw new LockException("请求过于频繁，key = " + key);
+        }
+        return supplier.get();
+    }
+
+    /**
+     * 尝试获取一个许可，不等待
+     *
+     * @param key 限流键
+     * @param rate 每个周期的许可数量
+     * @param period 周期（毫秒）
+     * @return 是否获取成功
+     */
+    public boolean tryAcquire(String key, int rate, long period) {
+        return tryAcquire(key, rate, period, rate, 1, 0, 0L);
+    }
+
+    /**
+     * 尝试获取许可
+     *
+     * @param key 限流键
+     * @param rate 每个周期的许可数量
+     * @param period 周期（毫秒）
+     * @param burst 最多累积的许可数量，不大于0时等于 rate
+     * @param permits 本次需要的许可数量
+     * @param prefetch 每次从Redis预取的许可数量，不大于 permits 时不预取
+     * @param timeout 被限流时的最长等待时间（毫秒），0表示不等待
+     * @return 是否获取成功
+     * @throws LockException 访问Redis异常且未设置 failOpen
+     */
+    public boolean tryAcquire(String key, int rate, long period, int burst, int permits, int prefetch, long timeout) {
+        if (rate <= 0 || period <= 0) {
+            throw new LockException("限流速率与周期应大于0，rate = " + rate + "，period = " + period);
+        }
+        int maxBurst = burst > 0 ? burst : rate;
+        if (permits <= 0 || permits > maxBurst) {
+            throw new LockException("许可数量应在1到突发上限之间，permits = " + permits + "，burst = " + maxBurst);
+        }
+        boolean prefetchEnabled = prefetch > permits;
+        if (prefetchEnabled && tokenBuffer.tryTake(key, permits)) {
+            return true;
+        }
+
+        double emissionInterval = period / (double) rate;
+        long deadline = System.currentTimeMillis() + timeout;
+        try {
+            while (true) {
+                RateLimitResult result = rateLimitExecutor.acquire(key, emissionInterval, maxBurst, permits,
+                        prefetchEnabled ? Math.min(prefetch, maxBurst) : permits);
+                if (result.isAcquired()) {
+                    // 多取回的许可留在本地供后续请求使用
+                    tokenBuffer.put(key, result.getPermits() - permits, result.getWindow());
+                    return true;
+                }
+                long remaining = deadline - System.currentTimeMillis();
+                if (result.getRetryAfter() > remaining) {
+                    log.debug("请求被限流，key='{}'，需等待{}ms", key, result.getRetryAfter());
+                    return false;
+                }
+                Thread.sleep(Math.max(1L, result.getRetryAfter()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("等待限流许可过程被中断，key='{}'", key);
+            return false;
+        } catch (Exception e) {
+            if (failOpen) {
+                log.error("获取限流许可时发生异常，按配置放行请求，key='{}'", key, e);
+                return true;
+            }
+            log.error("获取限流许可时发生异常，key='{}'", key, e);
+            throw new LockException("获取限流许可时发生异常，key = " + key, e);
+        }
+    }
+
+    /**
+     * 获取本地预取的剩余许可数量
+     *
+     * @param key 限流键
+     * @return 剩余许可数量
+     */
+    public int getLocalPermits(String key) {
+        return tokenBuffer.getRemaining(key);
+    }
+}
@@ -0,0 +1,214 @@
+package com.easy.lock.template;
+
+import com.easy.lock.core.AcquireRetrier;
+import com.easy.lock.core.LockInfo;
+import com.easy.lock.core.LockReleaseNotifier;
+import com.easy.lock.core.LockWatchdog;
+import com.easy.lock.core.PermitInfo;
+import com.easy.lock.core.executor.SemaphoreExecutor;
+import com.easy.lock.exception.LockException;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collections;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * 分布式信号量模板
+ * <p>
+ * 限制同一资源的并发持有者数量，每份许可带租约，持有者宕机后许可在租约到期时自动归还。
+ * 设置了释放通知器时，等待者在许可释放后立即重试，否则按重试间隔轮询。
+ * 设置了看门狗时，持有期间按租约时间自动续期（进程内所有许可合并为一次Lua调用），租约时间只决定持有者宕机后许可多久归还；
+ * 未设置时持有时间不能超过租约时间，超过后许可会被归还给其他等待者。
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SemaphoreTemplate {
+
+    private final SemaphoreExecutor semaphoreExecutor;
+
+    /**
+     * 许可释放通知器，为空时按重试间隔轮询
+     */
+    @Setter
+    private LockReleaseNotifier releaseNotifier;
+
+    /**
+     * 锁看门狗，为空时许可不自动续期
+     */
+    @Setter
+    private LockWatchdog lockWatchdog;
+
+    /**
+     * 默认租约时间（毫秒）
+     */
+    private static final long DEFAULT_LEASE_TIME = 30000L;
+
+    /**
+     * 默认重试次数
+     */
+    private static final int DEFAULT_RETRY_COUNT = 3;
+
+    /**
+     * 默认重试间隔（毫秒）
+     */
+    private static final long DEFAULT_RETRY_INTERVAL = 100L;
+
+    /**
+     * 使用默认参数获取一个许可并执行操作
+     *
+     * @param key 信号量键
+     * @param maxPermits 信号量的许可总数
+     * @param supplier 获取许可后执行的操作
+     * @param <T> 返回值类型
+     * @return 操作执行结果
+     */
+    public <T> T execute(String key, int maxPermits, Supplier<T> supplier) {
+        return execute(key, maxPermits, 1, DEFAULT_LEASE_TIME, DEFAULT_RETRY_COUNT, DEFAULT_RETRY_INTERVAL, supplier);
+    }
+
+    /**
+     * 获取许可并执行操作，执行完成后释放许可
+     *
+     * @param key 信号量键
+     * @param maxPermits 信号量的许可总数
+     * @param permits 获取的许可数量
+     * @param leaseTime 租约时间（毫秒）
+     * @param retryCount 重试次数
+     * @param retryInterval 重试间隔（毫秒）
+     * @param supplier 获取许可后执行的操作
+     * @param <T> 返回值类型
+     * @return 操作执行结果
+     */
+    public <T> T execute(String key, int maxPermits, int permits, long leaseTime, int retryCount, long retryInterval,
+                         Supplier<T> supplier) {
+        PermitInfo permitInfo = tryAcquire(key, maxPermits, permits, leaseTime, retryCount, retryInterval);
+        if (permitInfo == null) {
+            throw new LockException("获取信号量许可失败，key = " + key);
+        }
+        try {
+            return supplier.get();
+        } finally {
+            release(permitInfo);
+        }
+    }
+
+    /**
+     * 使用默认参数获取一个许可
+     *
+     * @param key 信号量键
+     * @param maxPermits 信号量的许可总数
+     * @return 许可信息，获取失败时返回null
+     */
+    public PermitInfo tryAcquire(String key, int maxPermits) {
+        return tryAcquire(key, maxPermits, 1, DEFAULT_LEASE_TIME, DEFAULT_RETRY_COUNT, DEFAULT_RETRY_INTERVAL);
+    }
+
+    /**
+     * 获取许可
+     *
+     * @param key 信号量键
+     * @param maxPermits 信号量的许可总数
+     * @param permits 获取的许可数量
+     * @param leaseTime 租约时间（毫秒）
+     * @param retryCount 重试次数
+     * @param retryInterval 重试间隔（毫秒）
+     * @return 许可信息，获取失败时返回null
+     */
+    public PermitInfo tryAcquire(String key, int maxPermits, int permits, long leaseTime, int retryCount,
+                                 long retryInterval) {
+        if (permits <= 0 || permits > maxPermits) {
+            throw new LockException("许可数量应在1到许可总数之间，permits = " + permits + "，maxPermits = " + maxPermits);
+        }
+        String permitId = UUID.randomUUID().toString();
+        boolean acquired;
+        try {
+            acquired = AcquireRetrier.acquire(
+                    () -> semaphoreExecutor.acquire(key, permitId, permits, maxPermits, leaseTime),
+                    releaseNotifier, Collections.singletonList(key), retryCount, retryInterval);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("获取信号量许可过程被中断，key='{}'", key);
+            return null;
+        } catch (Exception e) {
+            log.error("获取信号量许可时发生异常，key='{}'", key, e);
+            return null;
+        }
+
+        if (!acquired) {
+            log.warn("获取信号量许可失败，已重试{}次，key='{}'，许可总数={}", retryCount, key, maxPermits);
+            return null;
+        }
+        PermitInfo permitInfo = new PermitInfo()
+                .setKey(key)
+                .setPermitId(permitId)
+                .setPermits(permits)
+                .setLeaseTime(leaseTime)
+                .setAcquireTime(System.currentTimeMillis());
+        if (lockWatchdog != null) {
+            lockWatchdog.watch(semaphoreExecutor, toLease(permitInfo));
+        }
+        return permitInfo;
+    }
+
+    /**
+     * 释放许可
+     *
+     * @param permitInfo 许可信息
+     * @return 是否释放成功，租约已过期时返回false
+     */
+    public boolean release(PermitInfo permitInfo) {
+        if (permitInfo == null) {
+            return false;
+        }
+        if (lockWatchdog != null) {
+            lockWatchdog.unwatch(toLease(permitInfo));
+        }
+        try {
+            boolean released = semaphoreExecutor.release(permitInfo.getKey(), permitInfo.getPermitId());
+            if (!released) {
+                log.warn("释放信号量许可失败，租约可能已过期，key='{}'", permitInfo.getKey());
+            }
+            return released;
+        } catch (Exception e) {
+            log.error("释放信号量许可时发生异常，key='{}'", permitInfo.getKey(), e);
+            return false;
+        }
+    }
+
+    /**
+     * 续期许可租约
+     *
+     * @param permitInfo 许可信息
+     * @return 是否续期成功
+     */
+    public boolean renew(PermitInfo permitInfo) {
+        return semaphoreExecutor.renew(permitInfo.getKey(), permitInfo.getPermitId(), permitInfo.getLeaseTime());
+    }
+
+    /**
+     * 获取可用的许可数量
+     *
+     * @param key 信号量键
+     * @param maxPermits 信号量的许可总数
+     * @return 可用的许可数量
+     */
+    public int availablePermits(String key, int maxPermits) {
+        return semaphoreExecutor.availablePermits(key, maxPermits);
+    }
+
+    /**
+     * 以锁信息表示许可租约，供看门狗监视
+     */
+    private static LockInfo toLease(PermitInfo permitInfo) {
+        return new LockInfo()
+                .setKey(permitInfo.getKey())
+                .setValue(permitInfo.getPermitId())
+                .setExpireTime(permitInfo.getLeaseTime())
+                .setAcquireTime(permitInfo.getAcquireTime())
+                .setLeaseStartTime(permitInfo.getAcquireTime())
+                .setState(LockInfo.LockState.LOCKED);
+    }
+}
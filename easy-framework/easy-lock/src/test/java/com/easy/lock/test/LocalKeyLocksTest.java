@@ -0,0 +1,229 @@
+package com.easy.lock.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.easy.lock.core.AbstractLock;
+import com.easy.lock.core.LocalKeyLocks;
+import com.easy.lock.core.LockInfo;
+import com.easy.lock.core.executor.LockExecutor;
+
+/**
+ * 本地锁键锁测试类
+ * <p>
+ * 使用内存中的锁执行器，不依赖Redis
+ */
+public class LocalKeyLocksTest {
+
+    /**
+     * 测试进程内竞争同一锁键时串行执行，且租约在本地移交，访问分布式锁的次数少于加锁次数
+     */
+    @Test
+    public void testLocalHandoff() throws Exception {
+        CountingLockExecutor executor = new CountingLockExecutor();
+        TestLock lock = new TestLock(executor);
+        LocalKeyLocks localKeyLocks = new LocalKeyLocks();
+        lock.setLocalKeyLocks(localKeyLocks);
+
+        int threads = 8;
+        int rounds = 20;
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    int acquired = 0;
+                    for (int i = 0; i < rounds; i++) {
+                        LockInfo lockInfo = lock.tryLock("test:local:key", 30000, 100, 50);
+                        if (lockInfo == null) {
+                            continue;
+                        }
+                        acquired++;
+                        maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+                        // 持有锁一段时间，让其他线程在本地排队
+                        Thread.sleep(1);
+                        concurrent.decrementAndGet();
+                        assertTrue(lock.releaseLock(lockInfo), "锁应该被成功释放");
+                    }
+                    return acquired;
+                }));
+            }
+            int total = 0;
+            for (Future<Integer> future : futures) {
+                total += future.get(30, TimeUnit.SECONDS);
+            }
+            assertEquals(threads * rounds, total, "所有线程都应该获取到锁");
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, maxConcurrent.get(), "同一时刻只能有一个线程持有锁");
+        assertTrue(executor.acquireCalls.get() < threads * rounds, "本地移交应减少分布式锁的获取次数");
+        assertEquals(executor.acquireCalls.get(), executor.releaseCalls.get(), "每次分布式获取都应对应一次释放");
+        assertFalse(executor.isLocked("test:local:key"), "全部释放后分布式锁应被释放");
+        assertTrue(executor.renewCalls.get() > 0, "未启用看门狗时，移交租约前应在分布式锁上续期");
+        assertEquals(0, localKeyLocks.size(), "没有线程使用时本地锁应被移除");
+    }
+
+    /**
+     * 测试不同锁键之间互不阻塞
+     */
+    @Test
+    public void testDifferentKeysDoNotBlock() {
+        CountingLockExecutor executor = new CountingLockExecutor();
+        TestLock lock = new TestLock(executor);
+        lock.setLocalKeyLocks(new LocalKeyLocks());
+
+        LockInfo first = lock.tryLock("test:local:a", 30000, 0, 50);
+        assertNotNull(first, "应该能够获取锁");
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < 64; i++) {
+            LockInfo other = lock.tryLock("test:local:b" + i, 30000, 0, 50);
+            assertNotNull(other, "空闲的锁键不应被其他锁键阻塞");
+            assertTrue(lock.releaseLock(other), "锁应该被成功释放");
+        }
+        assertTrue(System.currentTimeMillis() - start < 1000, "获取空闲的锁键不应等待");
+        assertTrue(lock.releaseLock(first), "锁应该被成功释放");
+    }
+
+    /**
+     * 测试本地等待者超时离开后，持有者释放时归还分布式锁，且移交的租约重置起始时间
+     */
+    @Test
+    public void testWaiterTimeoutAndLeaseReset() throws Exception {
+        CountingLockExecutor executor = new CountingLockExecutor();
+        TestLock lock = new TestLock(executor);
+        LocalKeyLocks localKeyLocks = new LocalKeyLocks();
+        lock.setLocalKeyLocks(localKeyLocks);
+
+        LockInfo holder = lock.tryLock("test:local:timeout", 30000, 0, 50);
+        assertNotNull(holder, "应该能够获取锁");
+        // 等待者超时离开
+        assertNull(lock.tryLock("test:local:timeout", 30000, 2, 10), "锁被持有时等待者应超时");
+        assertTrue(lock.releaseLock(holder), "锁应该被成功释放");
+        assertFalse(executor.isLocked("test:local:timeout"), "没有本地等待者时应释放分布式锁");
+        assertEquals(0, localKeyLocks.size(), "没有线程使用时本地锁应被移除");
+
+        // 有等待者时移交租约，新持有者的租约起始时间为移交时间
+        LockInfo first = lock.tryLock("test:local:timeout", 30000, 0, 50);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<LockInfo> waiter = pool.submit(() -> lock.tryLock("test:local:timeout", 30000, 100, 50));
+            while (!localKeyLocks.get("test:local:timeout").hasWaiters()) {
+                Thread.sleep(1);
+            }
+            Thread.sleep(20);
+            assertTrue(lock.releaseLock(first), "锁应该被成功释放");
+            LockInfo second = waiter.get(5, TimeUnit.SECONDS);
+            assertNotNull(second, "等待者应接手租约");
+            assertEquals(first.getValue(), second.getValue(), "应直接移交分布式租约");
+            assertTrue(second.getLeaseStartTime() > first.getLeaseStartTime(), "移交后应重置租约起始时间");
+            assertTrue(lock.releaseLock(second), "锁应该被成功释放");
+        } finally {
+            pool.shutdownNow();
+        }
+        assertFalse(executor.isLocked("test:local:timeout"), "全部释放后分布式锁应被释放");
+    }
+
+    /**
+     * 测试没有本地等待者时直接释放分布式锁
+     */
+    @Test
+    public void testReleaseWithoutWaiters() {
+        CountingLockExecutor executor = new CountingLockExecutor();
+        TestLock lock = new TestLock(executor);
+        lock.setLocalKeyLocks(new LocalKeyLocks());
+
+        LockInfo lockInfo = lock.tryLock("test:local:single", 30000, 0, 50);
+        assertNotNull(lockInfo, "应该能够获取锁");
+        assertNull(lock.tryLock("test:local:single", 30000, 0, 50), "锁被持有时不能再次获取");
+        assertTrue(lock.releaseLock(lockInfo), "锁应该被成功释放");
+        assertFalse(executor.isLocked("test:local:single"), "没有本地等待者时应释放分布式锁");
+    }
+
+    /**
+     * 测试用的不可重入锁
+     */
+    private static class TestLock extends AbstractLock {
+
+        private final LockExecutor lockExecutor;
+
+        TestLock(LockExecutor lockExecutor) {
+            this.lockExecutor = lockExecutor;
+        }
+
+        @Override
+        protected LockExecutor getLockExecutor() {
+            return lockExecutor;
+        }
+
+        @Override
+        protected LockInfo.LockType getLockType() {
+            return LockInfo.LockType.REDIS;
+        }
+    }
+
+    /**
+     * 记录获取与释放次数的锁执行器
+     */
+    private static class CountingLockExecutor implements LockExecutor {
+
+        private final Map<String, String> locks = new ConcurrentHashMap<>();
+
+        private final AtomicInteger acquireCalls = new AtomicInteger();
+
+        private final AtomicInteger releaseCalls = new AtomicInteger();
+
+        private final AtomicInteger renewCalls = new AtomicInteger();
+
+        @Override
+        public boolean acquire(String key, String value, long expire) {
+            boolean acquired = locks.putIfAbsent(key, value) == null;
+            if (acquired) {
+                acquireCalls.incrementAndGet();
+            }
+            return acquired;
+        }
+
+        @Override
+        public boolean release(String key, String value) {
+            boolean released = locks.remove(key, value);
+            if (released) {
+                releaseCalls.incrementAndGet();
+            }
+            return released;
+        }
+
+        @Override
+        public boolean isLocked(String key) {
+            return locks.containsKey(key);
+        }
+
+        @Override
+        public List<Boolean> renew(List<String> keys, List<String> values, List<Long> expires) {
+            List<Boolean> renewed = new ArrayList<>(keys.size());
+            for (int i = 0; i < keys.size(); i++) {
+                renewCalls.incrementAndGet();
+                renewed.add(values.get(i).equals(locks.get(keys.get(i))));
+            }
+            return renewed;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.easy.lock.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.easy.lock.core.LocalTokenBuffer;
+
+/**
+ * 本地预取许可测试类
+ */
+public class LocalTokenBufferTest {
+
+    /**
+     * 测试并发扣减时不会超发
+     */
+    @Test
+    public void testConcurrentTake() throws InterruptedException {
+        LocalTokenBuffer buffer = new LocalTokenBuffer();
+        buffer.put("key", 1000, 60000);
+
+        AtomicInteger taken = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch latch = new CountDownLatch(8);
+        for (int t = 0; t < 8; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 500; i++) {
+                    if (buffer.tryTake("key", 1)) {
+                        taken.incrementAndGet();
+                    }
+                }
+                latch.countDown();
+            });
+        }
+        latch.await(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertEquals(1000, taken.get(), "扣减总量应等于预取数量");
+        assertEquals(0, buffer.getRemaining("key"), "许可应已用完");
+    }
+
+    /**
+     * 测试失效的许可被丢弃，新批次与剩余许可合并
+     */
+    @Test
+    public void testExpiryAndMerge() throws InterruptedException {
+        LocalTokenBuffer buffer = new LocalTokenBuffer();
+        buffer.put("key", 3, 50);
+        Thread.sleep(100);
+        assertFalse(buffer.tryTake("key", 1), "失效的许可不应再被使用");
+
+        buffer.put("key", 2, 60000);
+        buffer.put("key", 3, 60000);
+        assertEquals(5, buffer.getRemaining("key"), "新批次应与剩余许可合并");
+        assertTrue(buffer.tryTake("key", 5), "应能一次扣减多个许可");
+        assertFalse(buffer.tryTake("key", 1), "许可用完后应扣减失败");
+    }
+}
@@ -0,0 +1,152 @@
+package com.easy.lock.test;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import com.easy.lock.annotation.EasyLock;
+import com.easy.lock.aop.LockKeyResolver;
+
+/**
+ * 锁键解析基准测试
+ * <p>
+ * 对比手写拼接、各类锁键写法与改造前每次新建上下文并解释执行 SpEL 的开销，运行 main 方法即可
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LockKeyBenchmark {
+
+    private final LockKeyResolver<EasyLock> resolver =
+            new LockKeyResolver<>(EasyLock.class, EasyLock::key, EasyLock::prefix);
+
+    private final Object target = new OrderService();
+
+    private final Object[] args = {10086L, new Order("SN-10086")};
+
+    private Method literalMethod;
+
+    private Method paramMethod;
+
+    private Method literalParamMethod;
+
+    private Method expressionMethod;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        literalMethod = OrderService.class.getMethod("literal", Long.class, Order.class);
+        paramMethod = OrderService.class.getMethod("param", Long.class, Order.class);
+        literalParamMethod = OrderService.class.getMethod("literalParam", Long.class, Order.class);
+        expressionMethod = OrderService.class.getMethod("expression", Long.class, Order.class);
+    }
+
+    @Benchmark
+    public String handwritten() {
+        return "order:" + args[0];
+    }
+
+    @Benchmark
+    public List<String> literal() {
+        return resolver.resolveKeys(literalMethod, target, args);
+    }
+
+    @Benchmark
+    public List<String> param() {
+        return resolver.resolveKeys(paramMethod, target, args);
+    }
+
+    @Benchmark
+    public List<String> literalParam() {
+        return resolver.resolveKeys(literalParamMethod, target, args);
+    }
+
+    @Benchmark
+    public List<String> expression() {
+        return resolver.resolveKeys(expressionMethod, target, args);
+    }
+
+    /**
+     * 改造前的实现：每次读取注解、发现参数名、新建上下文并解释执行
+     */
+    @Benchmark
+    public String legacyExpression() {
+        EasyLock annotation = expressionMethod.getAnnotation(EasyLock.class);
+        StandardEvaluationContext context = new StandardEvaluationContext();
+        String[] paramNames = LegacyHolder.DISCOVERER.getParameterNames(expressionMethod);
+        for (int i = 0; i < paramNames.length; i++) {
+            context.setVariable(paramNames[i], args[i]);
+        }
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("method", expressionMethod.getName());
+        variables.put("class", expressionMethod.getDeclaringClass().getSimpleName());
+        variables.put("target", target);
+        context.setVariables(variables);
+        Object value = LegacyHolder.PARSER.parseExpression(annotation.key()).getValue(context);
+        return annotation.prefix() + ":" + value;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LockKeyBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private static class LegacyHolder {
+
+        private static final SpelExpressionParser PARSER = new SpelExpressionParser();
+
+        private static final DefaultParameterNameDiscoverer DISCOVERER = new DefaultParameterNameDiscoverer();
+    }
+
+    public static class OrderService {
+
+        @EasyLock(prefix = "order", key = "create")
+        public void literal(Long orderId, Order order) {
+        }
+
+        @EasyLock(prefix = "order", key = "#orderId")
+        public void param(Long orderId, Order order) {
+        }
+
+        @EasyLock(prefix = "order", key = "'create:' + #orderId")
+        public void literalParam(Long orderId, Order order) {
+        }
+
+        @EasyLock(prefix = "order", key = "#order.orderNo + ':' + #orderId")
+        public void expression(Long orderId, Order order) {
+        }
+    }
+
+    public static class Order {
+
+        private final String orderNo;
+
+        public Order(String orderNo) {
+            this.orderNo = orderNo;
+        }
+
+        public String getOrderNo() {
+            return orderNo;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.easy.lock.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import com.easy.lock.annotation.EasyLock;
+import com.easy.lock.aop.LockKeyResolver;
+
+/**
+ * 锁键解析器测试类
+ * <p>
+ * 直读参数的快速路径应与 SpEL 的解析结果一致
+ */
+public class LockKeyResolverTest {
+
+    private final LockKeyResolver<EasyLock> resolver =
+            new LockKeyResolver<>(EasyLock.class, EasyLock::key, EasyLock::prefix);
+
+    private final TestService target = new TestService();
+
+    @Test
+    public void testLiteralKey() throws Exception {
+        assertEquals(Collections.singletonList("order:'create'"), resolve("literal", "1"),
+                "不含#的锁键应原样使用");
+    }
+
+    @Test
+    public void testParamKey() throws Exception {
+        assertEquals(Collections.singletonList("order:1"), resolve("param", "1"), "应直接读取参数");
+        assertEquals(Collections.singletonList("order:"), resolve("param", (Object) null), "参数为空时锁键为空字符串");
+    }
+
+    @Test
+    public void testLiteralParamKey() throws Exception {
+        assertEquals(Collections.singletonList("test:lock:1"), resolve("literalParam", "1"), "应拼接字面量与参数");
+        assertEquals(Collections.singletonList("test:lock:null"), resolve("literalParam", (Object) null),
+                "参数为空时与SpEL字符串拼接结果一致");
+    }
+
+    @Test
+    public void testCollectionKey() throws Exception {
+        assertEquals(Arrays.asList("stock:a", "stock:b"), resolve("collection", Arrays.asList("a", "b")),
+                "参数为集合时应生成多个锁键");
+    }
+
+    @Test
+    public void testExpressionKey() throws Exception {
+        // 多次解析，覆盖编译后的执行路径
+        for (int i = 0; i < 200; i++) {
+            assertEquals(Collections.singletonList("expression:1"), resolve("expression", "1"), "应解析SpEL表达式");
+        }
+    }
+
+    private Object resolve(String methodName, Object arg) throws Exception {
+        Method method = TestService.class.getMethod(methodName, arg instanceof java.util.List ? java.util.List.class : String.class);
+        return resolver.resolveKeys(method, target, new Object[]{arg});
+    }
+
+    public static class TestService {
+
+        @EasyLock(prefix = "order", key = "'create'")
+        public void literal(String id) {
+        }
+
+        @EasyLock(prefix = "order", key = "#id")
+        public void param(String id) {
+        }
+
+        @EasyLock(key = "'test:lock:' + #id")
+        public void literalParam(String id) {
+        }
+
+        @EasyLock(prefix = "stock", key = "#ids")
+        public void collection(java.util.List<String> ids) {
+        }
+
+        @EasyLock(key = "#method + ':' + #id")
+        public void expression(String id) {
+        }
+    }
+}
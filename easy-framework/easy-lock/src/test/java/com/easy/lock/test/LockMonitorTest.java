@@ -0,0 +1,100 @@
+package com.easy.lock.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.easy.lock.monitor.KeyContentionSketch;
+import com.easy.lock.monitor.LockMonitor;
+
+/**
+ * 锁监控测试类
+ */
+public class LockMonitorTest {
+
+    /**
+     * 测试大量不同锁键时资源统计的数量保持有界，且保留争用最多的锁键
+     */
+    @Test
+    public void testResourceStatsAreBounded() {
+        LockMonitor monitor = new LockMonitor(10);
+        for (int i = 0; i < 10000; i++) {
+            monitor.recordSuccess("order:" + i, 1);
+            monitor.recordFail("order:" + i, 1);
+        }
+        for (int i = 0; i < 100; i++) {
+            monitor.recordFail("order:hot", 5);
+        }
+
+        Map<String, LockMonitor.ResourceStats> stats = monitor.getResourceStats();
+        assertTrue(stats.size() <= 10, "资源统计数量应不超过上限");
+        assertEquals("order:hot", stats.keySet().iterator().next(), "争用最多的锁键应排在首位");
+        assertTrue(monitor.getResourceFailCount("order:hot") >= 100, "估算的失败次数不应偏小");
+        assertEquals(10000, monitor.getSuccessCount(), "成功计数应准确");
+        assertEquals(10100, monitor.getFailCount(), "失败计数应准确");
+    }
+
+    /**
+     * 测试持有时间的最大值记录与分布
+     */
+    @Test
+    public void testLockTimeRecord() {
+        LockMonitor monitor = new LockMonitor();
+        for (int i = 1; i <= 100; i++) {
+            monitor.recordSuccess("test:monitor:key", 0);
+            monitor.recordLockTime("test:monitor:key", i);
+        }
+
+        assertEquals(100, monitor.getMaxTimeRecord().getLockTime(), "应记录最长的持有时间");
+        assertEquals(50.5, monitor.getAverageLockTime(), 0.001, "平均持有时间应准确");
+        long p99 = monitor.getHoldTimePercentile(99);
+        assertTrue(p99 >= 98 && p99 <= 100, "持有时间P99应接近99ms");
+
+        monitor.reset();
+        assertEquals(0, monitor.getSuccessCount(), "重置后计数应清零");
+        assertEquals(0, monitor.getHoldTimePercentile(99), "重置后分布应清空");
+    }
+
+    /**
+     * 测试时间分布只保留最近一个统计窗口的数据
+     */
+    @Test
+    public void testLockTimeWindow() throws InterruptedException {
+        LockMonitor monitor = new LockMonitor(10, 300);
+        monitor.recordLockTime("test:monitor:window", 1000);
+        assertTrue(monitor.getHoldTimePercentile(99) >= 990, "窗口内应包含刚记录的持有时间");
+
+        Thread.sleep(400);
+        monitor.recordLockTime("test:monitor:window", 5);
+        assertEquals(5, monitor.getHoldTimePercentile(99), "窗口外的持有时间应被淘汰");
+        assertEquals(1000, monitor.getMaxTimeRecord().getLockTime(), "最大值记录为累计值，不随窗口淘汰");
+    }
+
+    /**
+     * 测试争用统计的前K个锁键按失败次数降序排列
+     */
+    @Test
+    public void testSketchTopKeys() {
+        KeyContentionSketch sketch = new KeyContentionSketch(3);
+        for (int i = 0; i < 5; i++) {
+            sketch.recordFail("a");
+        }
+        for (int i = 0; i < 3; i++) {
+            sketch.recordFail("b");
+        }
+        sketch.recordFail("c");
+        for (int i = 0; i < 4; i++) {
+            sketch.recordFail("d");
+        }
+
+        List<String> topKeys = sketch.getTopKeys();
+        assertEquals(3, topKeys.size(), "应只保留3个锁键");
+        assertEquals("a", topKeys.get(0), "失败次数最多的锁键应排在首位");
+        assertTrue(topKeys.contains("d"), "失败次数更多的新锁键应替换失败次数最少的锁键");
+        assertTrue(!topKeys.contains("c"), "失败次数最少的锁键应被替换");
+    }
+}
@@ -0,0 +1,43 @@
+package com.easy.lock.test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.Topic;
+
+import com.easy.lock.config.LockReleaseListenerRegistrar;
+import com.easy.lock.core.LockReleaseNotifier;
+
+/**
+ * 锁释放通知订阅注册器测试类
+ */
+public class LockReleaseListenerRegistrarTest {
+
+    /**
+     * 测试存在订阅容器时复用，不再创建新的容器
+     */
+    @Test
+    public void testReuseExistingContainer() throws Exception {
+        RedisMessageListenerContainer container = mock(RedisMessageListenerContainer.class);
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("redisMessageListenerContainer", container);
+        LockReleaseNotifier notifier = new LockReleaseNotifier("lock:release:");
+
+        LockReleaseListenerRegistrar registrar = new LockReleaseListenerRegistrar(
+                beanFactory.getBeanProvider(RedisMessageListenerContainer.class),
+                mock(RedisConnectionFactory.class), notifier);
+        registrar.afterSingletonsInstantiated();
+
+        verify(container).addMessageListener(eq(notifier), any(Topic.class));
+        assertFalse(registrar.isOwnContainer());
+        registrar.destroy();
+    }
+
+}
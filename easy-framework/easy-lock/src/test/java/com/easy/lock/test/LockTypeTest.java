@@ -0,0 +1,135 @@
+package com.easy.lock.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import org.redisson.spring.data.connection.RedissonConnectionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.easy.lock.config.EasyLockAutoConfiguration;
+import com.easy.lock.core.LockInfo;
+import com.easy.lock.template.LockTemplate;
+
+/**
+ * 锁类型测试类
+ * <p>
+ * 测试可重入锁、读写锁、公平锁
+ */
+@SpringBootTest(classes = LockTypeTest.TestConfig.class)
+@ActiveProfiles("test")
+public class LockTypeTest {
+
+    /**
+     * 测试配置类，启用自动配置
+     */
+    @Configuration
+    @EnableAutoConfiguration
+    @ImportAutoConfiguration({ RedisAutoConfiguration.class, EasyLockAutoConfiguration.class })
+    public static class TestConfig {
+
+        @Bean
+        public RedisConnectionFactory redisConnectionFactory() {
+            Config config = new Config();
+            config.useSingleServer()
+                    .setAddress("redis://localhost:6379")
+                    .setPassword("123456")
+                    .setDatabase(0);
+
+            RedissonClient redisson = Redisson.create(config);
+            return new RedissonConnectionFactory(redisson);
+        }
+
+        @Bean
+        public StringRedisTemplate stringRedisTemplate(RedisConnectionFactory redisConnectionFactory) {
+            StringRedisTemplate template = new StringRedisTemplate();
+            template.setConnectionFactory(redisConnectionFactory);
+            template.afterPropertiesSet();
+            return template;
+        }
+    }
+
+    @Autowired
+    private LockTemplate lockTemplate;
+
+    /**
+     * 测试可重入锁，同一线程可重复获取，全部释放后其他线程才能获取
+     */
+    @Test
+    public void testReentrantLock() throws Exception {
+        String key = "test:lock:reentrant";
+        LockInfo outer = lockTemplate.tryLock(key, LockInfo.LockType.REENTRANT, 30000, 0, 100);
+        assertNotNull(outer, "应该能够获取锁");
+        LockInfo inner = lockTemplate.tryLock(key, LockInfo.LockType.REENTRANT, 30000, 0, 100);
+        assertNotNull(inner, "同一线程应该能够重复获取锁");
+
+        assertTrue(lockTemplate.unlock(inner), "内层锁应该被成功释放");
+        assertNull(tryLockInOtherThread(key, LockInfo.LockType.REENTRANT), "外层锁未释放时其他线程不能获取锁");
+
+        assertTrue(lockTemplate.unlock(outer), "外层锁应该被成功释放");
+        LockInfo other = tryLockInOtherThread(key, LockInfo.LockType.REENTRANT);
+        assertNotNull(other, "全部释放后其他线程应该能够获取锁");
+        lockTemplate.unlock(other);
+    }
+
+    /**
+     * 测试读写锁，读锁共享，写锁与读锁互斥
+     */
+    @Test
+    public void testReadWriteLock() throws Exception {
+        String key = "test:lock:read-write";
+        LockInfo read = lockTemplate.tryLock(key, LockInfo.LockType.READ, 30000, 0, 100);
+        assertNotNull(read, "应该能够获取读锁");
+
+        LockInfo otherRead = tryLockInOtherThread(key, LockInfo.LockType.READ);
+        assertNotNull(otherRead, "多个读者应该能够同时持有读锁");
+        assertNull(tryLockInOtherThread(key, LockInfo.LockType.WRITE), "持有读锁时不能获取写锁");
+
+        assertTrue(lockTemplate.unlock(read), "读锁应该被成功释放");
+        assertTrue(lockTemplate.unlock(otherRead), "读锁应该被成功释放");
+
+        LockInfo write = tryLockInOtherThread(key, LockInfo.LockType.WRITE);
+        assertNotNull(write, "读锁全部释放后应该能够获取写锁");
+        assertNull(lockTemplate.tryLock(key, LockInfo.LockType.READ, 30000, 0, 100), "持有写锁时其他线程不能获取读锁");
+        lockTemplate.unlock(write);
+    }
+
+    /**
+     * 测试公平锁的基本获取与释放
+     */
+    @Test
+    public void testFairLock() throws Exception {
+        String key = "test:lock:fair";
+        LockInfo lockInfo = lockTemplate.tryLock(key, LockInfo.LockType.FAIR, 30000, 0, 100);
+        assertNotNull(lockInfo, "应该能够获取公平锁");
+        assertEquals(LockInfo.LockType.FAIR, lockInfo.getType(), "锁类型应为公平锁");
+        assertNull(tryLockInOtherThread(key, LockInfo.LockType.FAIR), "公平锁被持有时其他线程不能获取");
+
+        assertTrue(lockTemplate.unlock(lockInfo), "公平锁应该被成功释放");
+        LockInfo other = tryLockInOtherThread(key, LockInfo.LockType.FAIR);
+        assertNotNull(other, "释放后其他线程应该能够获取公平锁");
+        lockTemplate.unlock(other);
+    }
+
+    private LockInfo tryLockInOtherThread(String key, LockInfo.LockType lockType) throws Exception {
+        return CompletableFuture.supplyAsync(() -> lockTemplate.tryLock(key, lockType, 30000, 0, 100))
+                .get(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,117 @@
+package com.easy.lock.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.easy.lock.core.LockInfo;
+import com.easy.lock.core.LockWatchdog;
+import com.easy.lock.core.executor.LockExecutor;
+
+/**
+ * 锁看门狗测试类
+ * <p>
+ * 使用内存中的锁执行器，不依赖Redis
+ */
+public class LockWatchdogTest {
+
+    private final LockWatchdog watchdog = new LockWatchdog(20);
+
+    @AfterEach
+    public void tearDown() {
+        watchdog.shutdown();
+    }
+
+    /**
+     * 测试持有锁期间会批量续期，释放后停止续期
+     */
+    @Test
+    public void testRenewWhileHeld() throws InterruptedException {
+        RecordingLockExecutor executor = new RecordingLockExecutor(true);
+        LockInfo first = newLockInfo("test:watchdog:1");
+        LockInfo second = newLockInfo("test:watchdog:2");
+        watchdog.watch(executor, first);
+        watchdog.watch(executor, second);
+
+        Thread.sleep(300);
+        assertTrue(executor.renewCalls.get() > 0, "持有锁期间应该续期");
+        assertEquals(2, executor.maxBatchSize, "同一执行器的锁应合并为一次续期调用");
+
+        watchdog.unwatch(first);
+        watchdog.unwatch(second);
+        assertEquals(0, watchdog.getWatchedCount(), "释放后应停止监视");
+
+        int calls = executor.renewCalls.get();
+        Thread.sleep(200);
+        assertEquals(calls, executor.renewCalls.get(), "释放后不应再续期");
+    }
+
+    /**
+     * 测试续期失败（锁已丢失）时不再监视该锁
+     */
+    @Test
+    public void testStopWatchingWhenRenewFails() throws InterruptedException {
+        RecordingLockExecutor executor = new RecordingLockExecutor(false);
+        watchdog.watch(executor, newLockInfo("test:watchdog:lost"));
+
+        Thread.sleep(300);
+        assertEquals(0, watchdog.getWatchedCount(), "续期失败的锁应停止监视");
+    }
+
+    private static LockInfo newLockInfo(String key) {
+        return new LockInfo()
+                .setKey(key)
+                .setValue(key + ":value")
+                .setExpireTime(90)
+                .setAcquireTime(System.currentTimeMillis())
+                .setState(LockInfo.LockState.LOCKED);
+    }
+
+    /**
+     * 记录续期调用的锁执行器
+     */
+    private static class RecordingLockExecutor implements LockExecutor {
+
+        private final boolean renewResult;
+
+        private final AtomicInteger renewCalls = new AtomicInteger();
+
+        private volatile int maxBatchSize;
+
+        RecordingLockExecutor(boolean renewResult) {
+            this.renewResult = renewResult;
+        }
+
+        @Override
+        public boolean acquire(String key, String value, long expire) {
+            return true;
+        }
+
+        @Override
+        public boolean release(String key, String value) {
+            return true;
+        }
+
+        @Override
+        public boolean isLocked(String key) {
+            return false;
+        }
+
+        @Override
+        public List<Boolean> renew(List<String> keys, List<String> values, List<Long> expires) {
+            renewCalls.incrementAndGet();
+            maxBatchSize = Math.max(maxBatchSize, keys.size());
+            List<Boolean> result = new ArrayList<>(keys.size());
+            for (int i = 0; i < keys.size(); i++) {
+                result.add(renewResult);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.easy.lock.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import org.redisson.spring.data.connection.RedissonConnectionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.easy.lock.annotation.EasyLock;
+import com.easy.lock.config.EasyLockAutoConfiguration;
+import com.easy.lock.core.LockInfo;
+import com.easy.lock.exception.LockException;
+import com.easy.lock.monitor.LockMonitor;
+import com.easy.lock.template.LockTemplate;
+
+/**
+ * 批量加锁测试类
+ */
+@SpringBootTest(classes = MultiLockTest.TestConfig.class)
+@ActiveProfiles("test")
+public class MultiLockTest {
+
+    /**
+     * 测试配置类，启用自动配置和AOP
+     */
+    @Configuration
+    @EnableAutoConfiguration
+    @EnableAspectJAutoProxy
+    @ImportAutoConfiguration({ RedisAutoConfiguration.class, EasyLockAutoConfiguration.class })
+    public static class TestConfig {
+
+        @Bean
+        public StockService stockService() {
+            return new StockService();
+        }
+
+        @Bean
+        public RedisConnectionFactory redisConnectionFactory() {
+            Config config = new Config();
+            config.useSingleServer()
+                    .setAddress("redis://localhost:6379")
+                    .setPassword("123456")
+                    .setDatabase(0);
+
+            RedissonClient redisson = Redisson.create(config);
+            return new RedissonConnectionFactory(redisson);
+        }
+
+        @Bean
+        public StringRedisTemplate stringRedisTemplate(RedisConnectionFactory redisConnectionFactory) {
+            StringRedisTemplate template = new StringRedisTemplate();
+            template.setConnectionFactory(redisConnectionFactory);
+            template.afterPropertiesSet();
+            return template;
+        }
+    }
+
+    @Autowired
+    private LockTemplate lockTemplate;
+
+    @Autowired
+    private LockMonitor lockMonitor;
+
+    @Autowired
+    private StockService stockService;
+
+    /**
+     * 测试批量加锁全部获取或全部不获取
+     */
+    @Test
+    public void testLockAllIsAtomic() throws Exception {
+        List<String> keys = Arrays.asList("test:multi:b", "test:multi:a", "test:multi:c");
+        LockInfo held = lockTemplate.tryLock("test:multi:c", 30000, 0, 100);
+        assertNotNull(held, "应该能够获取单个锁");
+
+        assertNull(tryLockAllInOtherThread(keys), "任一锁被占用时批量加锁应失败");
+        assertFalse(lockTemplate.getLock(LockInfo.LockType.REDIS).isLocked("test:multi:a"), "批量加锁失败时不应持有任何锁");
+
+        assertTrue(lockTemplate.unlock(held), "单个锁应该被成功释放");
+        LockInfo group = lockTemplate.tryLockAll(keys, LockInfo.LockType.REDIS, 30000, 0, 100);
+        assertNotNull(group, "所有锁空闲时批量加锁应成功");
+        assertEquals(Arrays.asList("test:multi:a", "test:multi:b", "test:multi:c"), group.getKeys(), "锁键应按顺序排列");
+        assertNull(tryLockAllInOtherThread(Arrays.asList("test:multi:a", "test:multi:d")), "已被批量锁定的键不能再次获取");
+
+        assertTrue(lockTemplate.unlock(group), "批量锁应该被成功释放");
+        for (String key : keys) {
+            assertFalse(lockTemplate.getLock(LockInfo.LockType.REDIS).isLocked(key), "批量释放后所有锁都应被释放");
+        }
+    }
+
+    /**
+     * 测试整组锁在监控中按一个资源记录
+     */
+    @Test
+    public void testMonitorRecordsGroup() {
+        lockMonitor.reset();
+        lockTemplate.lockAll(Arrays.asList("test:multi:y", "test:multi:x"), () -> null);
+        assertEquals(1, lockMonitor.getResourceSuccessCount("test:multi:x,test:multi:y"), "整组锁应按一个资源记录");
+        assertEquals(0, lockMonitor.getResourceSuccessCount("test:multi:x"), "不应按单个锁键记录");
+    }
+
+    /**
+     * 测试注解的SpEL表达式返回集合时批量加锁
+     */
+    @Test
+    public void testAnnotationWithCollectionKey() {
+        String result = stockService.transfer("w1", "w2");
+        assertEquals("transferred", result, "批量加锁后应执行方法");
+        assertFalse(lockTemplate.getLock(LockInfo.LockType.REDIS).isLocked("stock:w1"), "方法结束后锁应被释放");
+    }
+
+    /**
+     * 测试注解的SpEL表达式返回空集合时按失败策略处理
+     */
+    @Test
+    public void testAnnotationWithEmptyCollectionKey() {
+        assertEquals(0, stockService.reserveOrIgnore(Collections.emptyList()), "忽略策略下应不加锁执行方法");
+        assertThrows(LockException.class, () -> stockService.reserve(Collections.emptyList()), "异常策略下应抛出锁异常");
+    }
+
+    private LockInfo tryLockAllInOtherThread(List<String> keys) throws Exception {
+        return CompletableFuture.supplyAsync(() -> lockTemplate.tryLockAll(keys, LockInfo.LockType.REDIS, 30000, 0, 100))
+                .get(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 库存服务，调拨时同时锁定两个仓库
+     */
+    public static class StockService {
+
+        @EasyLock(prefix = "stock", key = "{#from, #to}")
+        public String transfer(String from, String to) {
+            return "transferred";
+        }
+
+        @EasyLock(prefix = "stock", key = "#warehouses")
+        public int reserve(List<String> warehouses) {
+            return warehouses.size();
+        }
+
+        @EasyLock(prefix = "stock", key = "#warehouses", failStrategy = EasyLock.FailStrategy.IGNORE)
+        public int reserveOrIgnore(List<String> warehouses) {
+            return warehouses.size();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.easy.lock.test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.Redisson;
+import org.redisson.api.RFuture;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.config.Config;
+
+import com.easy.lock.core.executor.RedLockExecutor;
+
+/**
+ * Redlock 执行器测试类
+ * <p>
+ * 以本地Redis的三个数据库模拟三个独立节点
+ */
+public class RedLockExecutorTest {
+
+    private static final String KEY = "test:redlock:key";
+
+    private final List<RedissonClient> clients = new ArrayList<>();
+
+    private RedLockExecutor executor;
+
+    @BeforeEach
+    public void setUp() {
+        for (int database = 1; database <= 3; database++) {
+            Config config = new Config();
+            config.useSingleServer()
+                    .setAddress("redis://localhost:6379")
+                    .setPassword("123456")
+                    .setDatabase(database);
+            RedissonClient client = Redisson.create(config);
+            client.getBucket(KEY, StringCodec.INSTANCE).delete();
+            clients.add(client);
+        }
+        executor = new RedLockExecutor(clients);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    /**
+     * 测试多数节点加锁成功后互斥，释放后所有节点上的锁都被删除
+     */
+    @Test
+    public void testAcquireAndRelease() {
+        assertTrue(executor.acquire(KEY, "owner-1", 30000), "所有节点空闲时应加锁成功");
+        assertTrue(executor.isLocked(KEY), "加锁后锁应被占用");
+        assertFalse(executor.acquire(KEY, "owner-2", 30000), "锁被持有时其他持有者不能加锁");
+
+        assertTrue(executor.release(KEY, "owner-1"), "持有者应能释放锁");
+        for (RedissonClient client : clients) {
+            assertFalse(client.getBucket(KEY, StringCodec.INSTANCE).isExists(), "释放后所有节点上的锁都应被删除");
+        }
+    }
+
+    /**
+     * 测试只有少数节点可加锁时加锁失败，并在所有节点上回滚
+     */
+    @Test
+    public void testFailWithoutQuorum() {
+        clients.get(0).getBucket(KEY, StringCodec.INSTANCE).set("other", 30, TimeUnit.SECONDS);
+        clients.get(1).getBucket(KEY, StringCodec.INSTANCE).set("other", 30, TimeUnit.SECONDS);
+
+        assertFalse(executor.acquire(KEY, "owner-1", 30000), "未获得多数节点确认时加锁应失败");
+        assertNull(clients.get(2).getBucket(KEY, StringCodec.INSTANCE).get(), "加锁失败时应回滚少数派节点上的锁");
+    }
+
+    /**
+     * 测试一个节点已被占用时仍可获得多数确认
+     */
+    @Test
+    public void testAcquireWithMinorityUnavailable() {
+        clients.get(0).getBucket(KEY, StringCodec.INSTANCE).set("other", 30, TimeUnit.SECONDS);
+
+        assertTrue(executor.acquire(KEY, "owner-1", 30000), "多数节点加锁成功时应加锁成功");
+        assertTrue(executor.release(KEY, "owner-1"), "多数节点释放成功时应释放成功");
+    }
+
+    /**
+     * 测试某个节点一直不响应时，释放、查询与续期最多等待单节点超时时间
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testUnresponsiveNodeDoesNotBlock() {
+        assertTrue(executor.acquire(KEY, "owner-1", 30000), "所有节点空闲时应加锁成功");
+
+        RFuture<Object> pending = mock(RFuture.class);
+        when(pending.toCompletableFuture()).thenReturn(new CompletableFuture<>());
+        RScript script = mock(RScript.class, invocation -> pending);
+        RedissonClient unresponsive = mock(RedissonClient.class, invocation -> script);
+        List<RedissonClient> nodes = new ArrayList<>(clients);
+        nodes.add(unresponsive);
+        RedLockExecutor withUnresponsive = new RedLockExecutor(nodes, RedLockExecutor.DEFAULT_DRIFT_FACTOR, 200);
+
+        long start = System.currentTimeMillis();
+        assertTrue(withUnresponsive.isLocked(KEY), "多数节点确认时锁应被占用");
+        assertTrue(withUnresponsive.renew(Collections.singletonList(KEY),
+                Collections.singletonList("owner-1"),
+                Collections.singletonList(30000L)).get(0), "多数节点续期成功时应续期成功");
+        assertTrue(withUnresponsive.release(KEY, "owner-1"), "多数节点释放成功时应释放成功");
+        assertTrue(System.currentTimeMillis() - start < 2000, "不响应的节点不应无限阻塞");
+    }
+}
@@ -0,0 +1,277 @@
+package com.easy.lock.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import org.redisson.spring.data.connection.RedissonConnectionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.easy.lock.annotation.EasyRateLimit;
+import com.easy.lock.annotation.EasySemaphore;
+import com.easy.lock.config.EasyLockAutoConfiguration;
+import com.easy.lock.core.PermitInfo;
+import com.easy.lock.core.executor.RedisRateLimitExecutor;
+import com.easy.lock.core.executor.RedisSemaphoreExecutor;
+import com.easy.lock.core.executor.SemaphoreExecutor;
+import com.easy.lock.exception.LockException;
+import com.easy.lock.template.RateLimiterTemplate;
+import com.easy.lock.template.SemaphoreTemplate;
+
+/**
+ * 信号量与限流测试类
+ */
+// 看门狗与锁释放通知默认关闭，续期与唤醒相关的用例需要显式开启
+@SpringBootTest(classes = SemaphoreAndRateLimitTest.TestConfig.class,
+        properties = {"easy.lock.watchdog-enabled=true", "easy.lock.release-notify-enabled=true"})
+@ActiveProfiles("test")
+public class SemaphoreAndRateLimitTest {
+
+    /**
+     * 测试配置类，启用自动配置和AOP
+     */
+    @Configuration
+    @EnableAutoConfiguration
+    @EnableAspectJAutoProxy
+    @ImportAutoConfiguration({ RedisAutoConfiguration.class, EasyLockAutoConfiguration.class })
+    public static class TestConfig {
+
+        @Bean
+        public ApiService apiService() {
+            return new ApiService();
+        }
+
+        @Bean
+        public RedisConnectionFactory redisConnectionFactory() {
+            Config config = new Config();
+            config.useSingleServer()
+                    .setAddress("redis://localhost:6379")
+                    .setPassword("123456")
+                    .setDatabase(0);
+
+            RedissonClient redisson = Redisson.create(config);
+            return new RedissonConnectionFactory(redisson);
+        }
+
+        @Bean
+        public StringRedisTemplate stringRedisTemplate(RedisConnectionFactory redisConnectionFactory) {
+            StringRedisTemplate template = new StringRedisTemplate();
+            template.setConnectionFactory(redisConnectionFactory);
+            template.afterPropertiesSet();
+            return template;
+        }
+    }
+
+    @Autowired
+    private SemaphoreTemplate semaphoreTemplate;
+
+    @Autowired
+    private SemaphoreExecutor semaphoreExecutor;
+
+    @Autowired
+    private RateLimiterTemplate rateLimiterTemplate;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private ApiService apiService;
+
+    /**
+     * 测试许可用完后获取失败，释放后可再次获取
+     */
+    @Test
+    public void testSemaphorePermits() {
+        String key = "test:semaphore:" + UUID.randomUUID();
+        PermitInfo first = semaphoreTemplate.tryAcquire(key, 2, 1, 30000, 0, 100);
+        PermitInfo second = semaphoreTemplate.tryAcquire(key, 2, 1, 30000, 0, 100);
+        assertNotNull(first, "许可未用完时应获取成功");
+        assertNotNull(second, "许可未用完时应获取成功");
+        assertNull(semaphoreTemplate.tryAcquire(key, 2, 1, 30000, 0, 100), "许可用完时应获取失败");
+        assertEquals(0, semaphoreTemplate.availablePermits(key, 2), "可用许可数应为0");
+
+        assertTrue(semaphoreTemplate.release(first), "持有者应能释放许可");
+        assertEquals(1, semaphoreTemplate.availablePermits(key, 2), "释放后可用许可数应为1");
+        assertTrue(semaphoreTemplate.release(second), "持有者应能释放许可");
+        assertFalse(semaphoreTemplate.release(second), "重复释放应返回false");
+    }
+
+    /**
+     * 测试未续期的许可在租约到期后自动归还
+     */
+    @Test
+    public void testSemaphoreLeaseExpiry() throws InterruptedException {
+        // 不设置看门狗，模拟持有者宕机后不再续期
+        SemaphoreTemplate unwatched = new SemaphoreTemplate(semaphoreExecutor);
+        String key = "test:semaphore:" + UUID.randomUUID();
+        assertNotNull(unwatched.tryAcquire(key, 1, 1, 200, 0, 100), "应获取成功");
+        assertNull(unwatched.tryAcquire(key, 1, 1, 200, 0, 100), "许可被占用时应获取失败");
+
+        Thread.sleep(300);
+        assertNotNull(unwatched.tryAcquire(key, 1, 1, 200, 0, 100), "租约到期后应能获取许可");
+    }
+
+    /**
+     * 测试看门狗在持有期间为许可续期，且信号量键带有独立前缀
+     */
+    @Test
+    public void testSemaphoreLeaseRenewedByWatchdog() throws InterruptedException {
+        String key = "test:semaphore:" + UUID.randomUUID();
+        PermitInfo holder = semaphoreTemplate.tryAcquire(key, 1, 1, 1500, 0, 100);
+        assertNotNull(holder, "应获取成功");
+        assertTrue(Boolean.TRUE.equals(redisTemplate.hasKey(RedisSemaphoreExecutor.KEY_PREFIX + key)), "信号量键应带有前缀");
+        assertFalse(Boolean.TRUE.equals(redisTemplate.hasKey(key)), "不应占用同名的锁键");
+
+        Thread.sleep(2500);
+        assertNull(semaphoreTemplate.tryAcquire(key, 1, 1, 1500, 0, 100), "续期中的许可不应被归还");
+        assertTrue(semaphoreTemplate.release(holder), "持有者应能释放许可");
+    }
+
+    /**
+     * 测试多份许可租约在一次调用中续期，已释放的租约续期失败
+     */
+    @Test
+    public void testSemaphoreBatchRenew() {
+        String first = "test:semaphore:" + UUID.randomUUID();
+        String second = "test:semaphore:" + UUID.randomUUID();
+        assertTrue(semaphoreExecutor.acquire(first, "permit-1", 1, 1, 30000), "应获取成功");
+        assertTrue(semaphoreExecutor.acquire(second, "permit-2", 1, 1, 30000), "应获取成功");
+        assertTrue(semaphoreExecutor.release(second, "permit-2"), "持有者应能释放许可");
+
+        List<Boolean> renewed = semaphoreExecutor.renew(Arrays.asList(first, second),
+                Arrays.asList("permit-1", "permit-2"), Arrays.asList(60000L, 60000L));
+        assertEquals(Arrays.asList(true, false), renewed, "只有仍持有的租约应续期成功");
+        Long ttl = redisTemplate.getExpire(RedisSemaphoreExecutor.KEY_PREFIX + first, TimeUnit.MILLISECONDS);
+        assertTrue(ttl != null && ttl > 30000, "续期后信号量键的过期时间应延长");
+        assertTrue(semaphoreExecutor.release(first, "permit-1"), "续期后持有者应能释放许可");
+    }
+
+    /**
+     * 测试等待者在许可释放后立即获取成功
+     */
+    @Test
+    public void testSemaphoreWaiterWokenOnRelease() throws Exception {
+        String key = "test:semaphore:" + UUID.randomUUID();
+        PermitInfo holder = semaphoreTemplate.tryAcquire(key, 1, 1, 30000, 0, 100);
+        assertNotNull(holder, "应获取成功");
+
+        CompletableFuture<PermitInfo> waiter = CompletableFuture.supplyAsync(
+                () -> semaphoreTemplate.tryAcquire(key, 1, 1, 30000, 1, 5000));
+        Thread.sleep(200);
+        long releaseTime = System.currentTimeMillis();
+        semaphoreTemplate.release(holder);
+
+        assertNotNull(waiter.get(5, TimeUnit.SECONDS), "许可释放后等待者应获取成功");
+        assertTrue(System.currentTimeMillis() - releaseTime < 2000, "等待者应被释放通知唤醒，而不是等到重试间隔结束");
+    }
+
+    /**
+     * 测试突发上限内的请求通过，超出后被限流
+     */
+    @Test
+    public void testRateLimitBurst() {
+        String key = "test:ratelimit:" + UUID.randomUUID();
+        for (int i = 0; i < 5; i++) {
+            assertTrue(rateLimiterTemplate.tryAcquire(key, 5, 60000), "突发上限内的请求应通过");
+        }
+        assertFalse(rateLimiterTemplate.tryAcquire(key, 5, 60000), "超出突发上限的请求应被限流");
+    }
+
+    /**
+     * 测试被限流时在等待时间内获得新产生的许可
+     */
+    @Test
+    public void testRateLimitWait() {
+        String key = "test:ratelimit:" + UUID.randomUUID();
+        assertTrue(rateLimiterTemplate.tryAcquire(key, 10, 1000, 1, 1, 0, 0), "首个请求应通过");
+        assertFalse(rateLimiterTemplate.tryAcquire(key, 10, 1000, 1, 1, 0, 0), "不等待时应被限流");
+        assertTrue(rateLimiterTemplate.tryAcquire(key, 10, 1000, 1, 1, 0, 500), "等待一个产生间隔后应通过");
+    }
+
+    /**
+     * 测试本地预取：一次访问Redis取回一批许可，总通过量不超过限流值
+     */
+    @Test
+    public void testRateLimitPrefetch() {
+        String key = "test:ratelimit:" + UUID.randomUUID();
+        assertTrue(rateLimiterTemplate.tryAcquire(key, 10, 60000, 10, 1, 5, 0), "首个请求应通过");
+        assertEquals(4, rateLimiterTemplate.getLocalPermits(key), "应在本地保留预取的许可");
+        assertTrue(redisTemplate.hasKey(RedisRateLimitExecutor.KEY_PREFIX + key), "预取应写入带前缀的限流状态");
+        assertFalse(Boolean.TRUE.equals(redisTemplate.hasKey(key)), "不应占用同名的锁键");
+
+        int passed = 1;
+        for (int i = 0; i < 20; i++) {
+            if (rateLimiterTemplate.tryAcquire(key, 10, 60000, 10, 1, 5, 0)) {
+                passed++;
+            }
+        }
+        assertEquals(10, passed, "预取后的总通过量应等于突发上限");
+    }
+
+    /**
+     * 测试访问Redis异常时默认抛出异常，设置 failOpen 后放行
+     */
+    @Test
+    public void testRateLimitExecutorFailure() {
+        RateLimiterTemplate template = new RateLimiterTemplate((key, emissionInterval, burst, minPermits, maxPermits) -> {
+            throw new IllegalStateException("redis unavailable");
+        });
+        assertThrows(LockException.class, () -> template.tryAcquire("test:ratelimit:failure", 5, 60000),
+                "访问Redis异常时不应按被限流处理");
+
+        template.setFailOpen(true);
+        assertTrue(template.tryAcquire("test:ratelimit:failure", 5, 60000), "设置 failOpen 后应放行请求");
+    }
+
+    /**
+     * 测试注解限流与信号量
+     */
+    @Test
+    public void testAnnotations() {
+        String user = UUID.randomUUID().toString();
+        assertEquals("ok", apiService.query(user));
+        assertEquals("ok", apiService.query(user));
+        assertThrows(LockException.class, () -> apiService.query(user), "超出限流值时应抛出异常");
+
+        assertEquals("ok", apiService.export(Arrays.asList(user)));
+    }
+
+    /**
+     * 测试服务
+     */
+    public static class ApiService {
+
+        @EasyRateLimit(prefix = "test:ratelimit:api", key = "#user", rate = 2, period = 1, timeUnit = TimeUnit.MINUTES)
+        public String query(String user) {
+            return "ok";
+        }
+
+        @EasySemaphore(prefix = "test:semaphore:export", key = "#users[0]", maxPermits = 1)
+        public String export(java.util.List<String> users) {
+            return "ok";
+        }
+    }
+}
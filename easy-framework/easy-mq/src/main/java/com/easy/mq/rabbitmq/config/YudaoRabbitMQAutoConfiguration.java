@@ -1,18 +1,37 @@
 package com.easy.mq.rabbitmq.config;
 
+import com.easy.mq.rabbitmq.core.AbstractRabbitMQMessageListener;
+import com.easy.mq.rabbitmq.core.RabbitMQTemplate;
+import com.easy.mq.redis.core.interceptor.RedisMessageInterceptor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListenerConfigurer;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerEndpoint;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.amqp.RabbitAutoConfiguration;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.context.annotation.Bean;
 
+import java.util.List;
+
 /**
  * RabbitMQ 消息队列配置类
  *
+ * 连接、Channel 缓存、publisher confirms 使用 spring.rabbitmq 配置。高吞吐发送时建议：
+ * 1. spring.rabbitmq.publisher-confirm-type=correlated，开启异步确认
+ * 2. spring.rabbitmq.cache.channel.size 不小于并发发送的线程数，并设置 spring.rabbitmq.cache.channel.checkout-timeout，
+ * 使 Channel 缓存成为有上限的池，避免突发流量下不断创建、关闭 Channel
+ *
  * @author 芋道源码
  */
-@AutoConfiguration
+@AutoConfiguration(after = RabbitAutoConfiguration.class)
 @Slf4j
 @ConditionalOnClass(name = "org.springframework.amqp.rabbit.core.RabbitTemplate")
 public class YudaoRabbitMQAutoConfiguration {
@@ -25,4 +44,50 @@ public class YudaoRabbitMQAutoConfiguration {
         return new Jackson2JsonMessageConverter();
     }
 
+    @Bean
+    @ConditionalOnBean(RabbitTemplate.class)
+    public RabbitMQTemplate rabbitMQTemplate(RabbitTemplate rabbitTemplate,
+                                             ObjectProvider<RedisMessageInterceptor> interceptors) {
+        RabbitMQTemplate rabbitMQTemplate = new RabbitMQTemplate(rabbitTemplate);
+        // 添加拦截器，与 RedisMQTemplate 共用
+        interceptors.orderedStream().forEach(rabbitMQTemplate::addInterceptor);
+        if (!rabbitTemplate.getConnectionFactory().isPublisherConfirms()) {
+            log.info("[rabbitMQTemplate][未开启 publisher confirms，发送结果不等待 broker 确认，" +
+                    "可配置 spring.rabbitmq.publisher-confirm-type=correlated 开启]");
+        }
+        return rabbitMQTemplate;
+    }
+
+    /**
+     * 为每个 {@link AbstractRabbitMQMessageListener} 注册监听容器
+     *
+     * 容器工厂以 spring.rabbitmq.listener.simple 配置为基础，再按监听器设置 prefetch、concurrency
+     */
+    @Bean
+    @ConditionalOnBean({RabbitMQTemplate.class, AbstractRabbitMQMessageListener.class})
+    public RabbitListenerConfigurer rabbitMQListenerConfigurer(RabbitMQTemplate rabbitMQTemplate,
+                                                               List<AbstractRabbitMQMessageListener<?>> listeners,
+                                                               SimpleRabbitListenerContainerFactoryConfigurer configurer,
+                                                               ConnectionFactory connectionFactory) {
+        return registrar -> listeners.forEach(listener -> {
+            // 设置 listener 对应的 rabbitMQTemplate
+            listener.setRabbitMQTemplate(rabbitMQTemplate);
+            // 创建 listener 对应的容器工厂
+            SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+            configurer.configure(factory, connectionFactory);
+            if (listener.getPrefetchCount() != null) {
+                factory.setPrefetchCount(listener.getPrefetchCount());
+            }
+            // 注册监听
+            SimpleRabbitListenerEndpoint endpoint = new SimpleRabbitListenerEndpoint();
+            endpoint.setId(listener.getClass().getName());
+            endpoint.setQueueNames(listener.getQueue());
+            endpoint.setMessageListener(listener);
+            endpoint.setConcurrency(listener.getConcurrency());
+            registrar.registerEndpoint(endpoint, factory);
+            log.info("[rabbitMQListenerConfigurer][注册 Queue({}) 对应的监听器({})，prefetch({}) concurrency({})]",
+                    listener.getQueue(), listener.getClass().getName(), listener.getPrefetchCount(), listener.getConcurrency());
+        });
+    }
+
 }
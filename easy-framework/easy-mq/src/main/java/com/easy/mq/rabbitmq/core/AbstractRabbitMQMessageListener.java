@@ -0,0 +1,140 @@
+package com.easy.mq.rabbitmq.core;
+
+import cn.hutool.core.util.TypeUtil;
+import com.easy.mq.rabbitmq.core.message.AbstractRabbitMQMessage;
+import com.easy.mq.redis.core.interceptor.RedisMessageInterceptor;
+import com.easy.mq.redis.core.message.AbstractRedisMessage;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.SneakyThrows;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageListener;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.amqp.support.converter.SmartMessageConverter;
+import org.springframework.core.ParameterizedTypeReference;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * RabbitMQ 监听器抽象类，用于实现集群消费
+ *
+ * 每个监听器对应一个监听容器，prefetch 与 concurrency 默认使用 spring.rabbitmq.listener.simple 配置，
+ * 可通过 {@link #getPrefetchCount()}、{@link #getConcurrency()} 为单个队列单独设置。
+ * 消费抛出异常时，由容器按 spring.rabbitmq.listener.simple.default-requeue-rejected 配置决定是否重新入队。
+ *
+ * @param <T> 消息类型。一定要填写噢，不然会报错
+ * @author 芋道源码
+ */
+public abstract class AbstractRabbitMQMessageListener<T extends AbstractRabbitMQMessage> implements MessageListener {
+
+    /**
+     * 消息类型
+     */
+    private final Class<T> messageType;
+    /**
+     * 消费的队列
+     */
+    @Getter
+    private final String queue;
+    /**
+     * RabbitMQTemplate
+     */
+    @Setter
+    private RabbitMQTemplate rabbitMQTemplate;
+
+    /**
+     * 消费的队列默认为消息的 Routing Key，即通过默认 Exchange 投递的队列
+     */
+    @SneakyThrows
+    protected AbstractRabbitMQMessageListener() {
+        this.messageType = getMessageClass();
+        this.queue = messageType.getDeclaredConstructor().newInstance().getRoutingKey();
+    }
+
+    /**
+     * @param queue 消费的队列
+     */
+    protected AbstractRabbitMQMessageListener(String queue) {
+        this.messageType = getMessageClass();
+        this.queue = queue;
+    }
+
+    /**
+     * 获得每个消费者预取的消息数量，越大吞吐越高，但消费者故障时需要重新投递的消息越多
+     *
+     * @return 预取数量，为 null 时使用 spring.rabbitmq.listener.simple.prefetch 配置
+     */
+    public Integer getPrefetchCount() {
+        return null;
+    }
+
+    /**
+     * 获得并发消费的消费者数量，例如说 "4" 或 "2-8"
+     *
+     * @return 并发数量，为 null 时使用 spring.rabbitmq.listener.simple.concurrency 配置
+     */
+    public String getConcurrency() {
+        return null;
+    }
+
+    @Override
+    public void onMessage(Message message) {
+        T messageObj = convert(message);
+        try {
+            consumeMessageBefore(messageObj);
+            // 消费消息
+            this.onMessage(messageObj);
+        } finally {
+            consumeMessageAfter(messageObj);
+        }
+    }
+
+    /**
+     * 处理消息
+     *
+     * @param message 消息
+     */
+    public abstract void onMessage(T message);
+
+    @SuppressWarnings("unchecked")
+    private T convert(Message message) {
+        MessageConverter converter = rabbitMQTemplate.getRabbitTemplate().getMessageConverter();
+        // 按监听器的消息类型反序列化，不依赖生产者写入的类型头
+        if (converter instanceof SmartMessageConverter) {
+            return (T) ((SmartMessageConverter) converter).fromMessage(message, ParameterizedTypeReference.forType(messageType));
+        }
+        return (T) converter.fromMessage(message);
+    }
+
+    /**
+     * 通过解析类上的泛型，获得消息类型
+     *
+     * @return 消息类型
+     */
+    @SuppressWarnings("unchecked")
+    private Class<T> getMessageClass() {
+        Type type = TypeUtil.getTypeArgument(getClass(), 0);
+        if (type == null) {
+            throw new IllegalStateException(String.format("类型(%s) 需要设置消息类型", getClass().getName()));
+        }
+        return (Class<T>) type;
+    }
+
+    private void consumeMessageBefore(AbstractRedisMessage message) {
+        assert rabbitMQTemplate != null;
+        List<RedisMessageInterceptor> interceptors = rabbitMQTemplate.getInterceptors();
+        // 正序
+        interceptors.forEach(interceptor -> interceptor.consumeMessageBefore(message));
+    }
+
+    private void consumeMessageAfter(AbstractRedisMessage message) {
+        assert rabbitMQTemplate != null;
+        List<RedisMessageInterceptor> interceptors = rabbitMQTemplate.getInterceptors();
+        // 倒序
+        for (int i = interceptors.size() - 1; i >= 0; i--) {
+            interceptors.get(i).consumeMessageAfter(message);
+        }
+    }
+
+}
@@ -0,0 +1,138 @@
+package com.easy.mq.rabbitmq.core;
+
+import com.easy.mq.rabbitmq.core.message.AbstractRabbitMQMessage;
+import com.easy.mq.redis.core.interceptor.RedisMessageInterceptor;
+import com.easy.mq.redis.core.message.AbstractRedisMessage;
+import lombok.Getter;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * RabbitMQ 操作模板类，与 {@link com.easy.mq.redis.core.RedisMQTemplate} 提供一致的发送 API 及拦截器
+ *
+ * 连接工厂开启 correlated 模式的 publisher confirms（spring.rabbitmq.publisher-confirm-type=correlated）时，
+ * 发送返回的 Future 在 broker 确认后完成，发送线程无需同步等待；broker 以 multiple 方式批量确认时，一次确认即可完成多条消息的 Future。
+ * 未开启时，Future 在消息写入 Channel 后立即完成。
+ * 批量发送时，所有消息在同一个 Channel 上发送，避免每条消息从 Channel 缓存中借出、归还。
+ *
+ * @author 芋道源码
+ */
+public class RabbitMQTemplate {
+
+    @Getter
+    private final RabbitTemplate rabbitTemplate;
+    /**
+     * 拦截器数组
+     */
+    @Getter
+    private final List<RedisMessageInterceptor> interceptors = new ArrayList<>();
+
+    public RabbitMQTemplate(RabbitTemplate rabbitTemplate) {
+        this.rabbitTemplate = rabbitTemplate;
+    }
+
+    /**
+     * 发送 RabbitMQ 消息
+     *
+     * @param message 消息
+     * @return 发送结果，broker 确认后完成；未确认或无法路由时以 {@link AmqpException} 异常完成
+     */
+    public <T extends AbstractRabbitMQMessage> CompletableFuture<Void> send(T message) {
+        CorrelationData correlationData = new CorrelationData();
+        try {
+            sendMessageBefore(message);
+            // 发送消息
+            rabbitTemplate.convertAndSend(message.getExchange(), message.getRoutingKey(), message, correlationData);
+        } finally {
+            sendMessageAfter(message);
+        }
+        return toFuture(correlationData);
+    }
+
+    /**
+     * 批量发送 RabbitMQ 消息
+     *
+     * 所有消息在同一个 Channel 上发送，拦截器对每条消息依次调用
+     *
+     * @param messages 消息
+     * @return 发送结果，所有消息被 broker 确认后完成；任一消息未确认或无法路由时以 {@link AmqpException} 异常完成
+     */
+    public <T extends AbstractRabbitMQMessage> CompletableFuture<Void> sendBatch(Collection<T> messages) {
+        if (messages.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        List<T> sent = new ArrayList<>(messages.size());
+        List<CorrelationData> correlations = new ArrayList<>(messages.size());
+        try {
+            for (T message : messages) {
+                sent.add(message);
+                sendMessageBefore(message);
+            }
+            // 发送消息
+            rabbitTemplate.invoke(operations -> {
+                for (T message : sent) {
+                    CorrelationData correlationData = new CorrelationData();
+                    correlations.add(correlationData);
+                    operations.convertAndSend(message.getExchange(), message.getRoutingKey(), message, correlationData);
+                }
+                return null;
+            });
+        } finally {
+            for (int i = sent.size() - 1; i >= 0; i--) {
+                sendMessageAfter(sent.get(i));
+            }
+        }
+        return CompletableFuture.allOf(correlations.stream().map(this::toFuture).toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * 将 broker 的确认结果转换为 Future
+     */
+    private CompletableFuture<Void> toFuture(CorrelationData correlationData) {
+        if (!rabbitTemplate.getConnectionFactory().isPublisherConfirms()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        correlationData.getFuture().addCallback(confirm -> {
+            if (confirm == null || !confirm.isAck()) {
+                future.completeExceptionally(new AmqpException(String.format("消息(%s) 未被 broker 确认，原因：%s",
+                        correlationData.getId(), confirm != null ? confirm.getReason() : null)));
+            } else if (correlationData.getReturned() != null) {
+                // 开启 mandatory 时，无法路由到队列的消息会先退回、再确认
+                future.completeExceptionally(new AmqpException(String.format("消息(%s) 无法路由，原因：%s",
+                        correlationData.getId(), correlationData.getReturned().getReplyText())));
+            } else {
+                future.complete(null);
+            }
+        }, future::completeExceptionally);
+        return future;
+    }
+
+    /**
+     * 添加拦截器
+     *
+     * @param interceptor 拦截器
+     */
+    public void addInterceptor(RedisMessageInterceptor interceptor) {
+        interceptors.add(interceptor);
+    }
+
+    private void sendMessageBefore(AbstractRedisMessage message) {
+        // 正序
+        interceptors.forEach(interceptor -> interceptor.sendMessageBefore(message));
+    }
+
+    private void sendMessageAfter(AbstractRedisMessage message) {
+        // 倒序
+        for (int i = interceptors.size() - 1; i >= 0; i--) {
+            interceptors.get(i).sendMessageAfter(message);
+        }
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.easy.mq.rabbitmq.core.message;
+
+import com.easy.mq.redis.core.message.AbstractRedisMessage;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * RabbitMQ 消息抽象类
+ *
+ * 继承 {@link AbstractRedisMessage}，与 Redis 消息共用消息头及 {@link com.easy.mq.redis.core.interceptor.RedisMessageInterceptor} 拦截器，
+ * 例如说多租户拦截器，无需为 RabbitMQ 重复实现
+ *
+ * @author 芋道源码
+ */
+public abstract class AbstractRabbitMQMessage extends AbstractRedisMessage {
+
+    /**
+     * 获得发送的 Exchange，默认为 RabbitMQ 的默认 Exchange，即按 Routing Key 直接投递到同名队列
+     *
+     * @return Exchange
+     */
+    @JsonIgnore // 避免序列化
+    public String getExchange() {
+        return "";
+    }
+
+    /**
+     * 获得发送的 Routing Key，默认使用类名
+     *
+     * @return Routing Key
+     */
+    @JsonIgnore // 避免序列化
+    public String getRoutingKey() {
+        return getClass().getSimpleName();
+    }
+
+}
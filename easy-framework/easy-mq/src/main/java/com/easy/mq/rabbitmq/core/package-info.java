@@ -1,4 +1,4 @@
 /**
- * 占位符，无特殊逻辑
+ * RabbitMQ 消息队列的核心实现，包括发送模板与监听器
  */
-package com.easy.mq.rabbitmq.core;
\ No newline at end of file
+package com.easy.mq.rabbitmq.core;
@@ -0,0 +1,141 @@
+package com.easy.mq.redis.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Redis 消息队列配置项
+ *
+ * @author 芋道源码
+ */
+@Data
+@ConfigurationProperties(prefix = "easy.mq.redis")
+public class RedisMQProperties {
+
+    /**
+     * 是否启用 pending 消息的重新投递
+     */
+    private boolean pendingResendEnabled = true;
+
+    /**
+     * pending 消息的空闲时间，超过该时间未 ack 的消息才会被认领并重新投递
+     */
+    private Duration pendingIdleTime = Duration.ofMinutes(5);
+
+    /**
+     * 一次 XAUTOCLAIM 认领的最大消息数量
+     */
+    private int pendingClaimBatchSize = 100;
+
+    /**
+     * 消息的最大投递次数，超过后转入死信 Stream 并 ack；小于等于 0 时不限制
+     */
+    private int maxDeliveries = 16;
+
+    /**
+     * 死信 Stream Key 的后缀，死信 Stream Key 的生成规则见 {@link #getDeadLetterKey(String)}
+     */
+    private String deadLetterSuffix = ":dead-letter";
+
+    /**
+     * 各 Stream 的最大长度，key 为 Stream Key，发送消息时以 MAXLEN ~ 近似裁剪
+     *
+     * 注意：Stream Key 含有冒号等特殊字符时，需要写成 "[order:stream]" 的形式
+     */
+    private Map<String, Long> streamMaxLen = new LinkedHashMap<>();
+
+    /**
+     * 是否创建缓冲发送器 {@link com.easy.mq.redis.core.RedisMQBufferedProducer}
+     */
+    private boolean bufferedProducerEnabled = false;
+
+    /**
+     * 缓冲发送器累积多少条消息后立即提交
+     */
+    private int bufferedProducerBatchSize = 500;
+
+    /**
+     * 缓冲发送器定时提交的间隔
+     */
+    private Duration bufferedProducerFlushInterval = Duration.ofMillis(50);
+
+    /**
+     * 发送消息使用的编码，可选 json、smile、cbor、avro，或自定义 {@link com.easy.mq.redis.core.codec.RedisMessageCodec} 的名称
+     *
+     * 消费端可识别所有已注册的编码，因此切换编码前需先确保消费端已注册该编码
+     */
+    private String codec = "json";
+
+    /**
+     * 消息体达到该字节数时使用 Deflate 压缩，小于等于 0 时不压缩
+     */
+    private int compressThreshold = 0;
+
+    /**
+     * 是否创建延迟消息的转移器 {@link com.easy.mq.redis.core.RedisDelayedMessageMover}
+     *
+     * 多个实例中只有一个 leader 执行转移。默认关闭，避免不发送延迟消息的服务也轮询 ZSET；
+     * 发送延迟消息的服务中至少要有一个实例开启，否则延迟消息不会被投递
+     */
+    private boolean delayedEnabled = false;
+
+    /**
+     * 延迟消息的分片数量
+     */
+    private int delayedShards = 16;
+
+    /**
+     * 一批转移的最大延迟消息数量
+     */
+    private int delayedBatchSize = 500;
+
+    /**
+     * 延迟消息转移器的最长休眠时间，其它实例发送的延迟消息最多延迟该时间被投递，也是非 leader 实例尝试成为 leader 的间隔
+     */
+    private Duration delayedPollInterval = Duration.ofMillis(100);
+
+    /**
+     * 是否开启 Stream 监听器的消息去重 {@link com.easy.mq.redis.core.dedup.RedisMessageDeduplicator}
+     */
+    private boolean dedupEnabled = false;
+
+    /**
+     * 去重记录保留的时间，应大于消息可能重复投递的间隔，例如 pending 消息的空闲时间
+     */
+    private Duration dedupWindow = Duration.ofMinutes(30);
+
+    /**
+     * 进程内去重过滤器每个桶预期写入的记录数量，写满时提前轮换，记录保留的时间随之缩短；小于等于 0 时不使用进程内过滤器
+     *
+     * 开启后，进程内过滤器未命中的消息不再查询 Redis，无法识别其它实例消费过的消息，仅适合每个消费者分组只有一个实例的场景
+     */
+    private int dedupLocalExpectedInsertions = 0;
+
+    /**
+     * 进程内去重过滤器的误判率，误判的消息需多查询一次 Redis 确认
+     */
+    private double dedupLocalFalsePositiveRate = 1e-9;
+
+    /**
+     * 获得 Stream 对应的死信 Stream Key
+     *
+     * 死信 Stream 与原 Stream 需在同一个 slot，才能在一个 Lua 脚本中操作（Redis Cluster）：
+     * 原 Stream Key 带有 hash tag 时直接拼接后缀，否则把原 Stream Key 整体作为 hash tag，例如 order-stream 对应 {order-stream}:dead-letter
+     *
+     * @param streamKey Stream Key
+     * @return 死信 Stream Key
+     */
+    public String getDeadLetterKey(String streamKey) {
+        int start = streamKey.indexOf('{');
+        if (start < 0) {
+            return "{" + streamKey + "}" + deadLetterSuffix;
+        }
+        // 已有 hash tag，或含有无效的 hash tag（此时无法保证同一个 slot）
+        return streamKey + deadLetterSuffix;
+    }
+
+}
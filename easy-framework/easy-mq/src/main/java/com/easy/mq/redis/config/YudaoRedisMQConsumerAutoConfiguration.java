@@ -1,34 +1,50 @@
 package com.easy.mq.redis.config;
 
+import cn.hutool.core.comparator.VersionComparator;
 import cn.hutool.core.map.MapUtil;
 import cn.hutool.core.util.StrUtil;
 import cn.hutool.system.SystemUtil;
 import cn.iocoder.yudao.framework.common.enums.DocumentEnum;
 import com.easy.mq.redis.core.RedisMQTemplate;
+import com.easy.mq.redis.core.dedup.RedisMessageDeduplicator;
 import com.easy.mq.redis.core.job.RedisPendingMessageResendJob;
 import com.easy.mq.redis.core.pubsub.AbstractRedisChannelMessageListener;
+import com.easy.mq.redis.core.pubsub.RedisChannelMessageMetrics;
+import com.easy.mq.redis.core.stream.AbstractRedisStreamBatchMessageListener;
 import com.easy.mq.redis.core.stream.AbstractRedisStreamMessageListener;
+import com.easy.mq.redis.core.stream.RedisStreamBatchMessageListenerContainer;
 import com.easy.redis.autoconfigure.YudaoRedisAutoConfiguration;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RedissonClient;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ConfigurationCondition;
 import org.springframework.data.redis.connection.RedisServerCommands;
 import org.springframework.data.redis.connection.stream.Consumer;
-import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.connection.stream.MapRecord;
 import org.springframework.data.redis.connection.stream.ReadOffset;
 import org.springframework.data.redis.connection.stream.StreamOffset;
 import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.stream.StreamMessageListenerContainer;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 import java.util.List;
 import java.util.Properties;
+import java.util.stream.Collectors;
 
 /**
  * Redis 消息队列 Consumer 配置类
@@ -38,6 +54,7 @@ import java.util.Properties;
 @Slf4j
 @EnableScheduling // 启用定时任务，用于 RedisPendingMessageResendJob 重发消息
 @AutoConfiguration(after = YudaoRedisAutoConfiguration.class)
+@EnableConfigurationProperties(RedisMQProperties.class)
 public class YudaoRedisMQConsumerAutoConfiguration {
 
     /**
@@ -56,23 +73,54 @@ public class YudaoRedisMQConsumerAutoConfiguration {
         listeners.forEach(listener -> {
             listener.setRedisMQTemplate(redisMQTemplate);
             container.addMessageListener(listener, new ChannelTopic(listener.getChannel()));
-            log.info("[redisMessageListenerContainer][注册 Channel({}) 对应的监听器({})]",
-                    listener.getChannel(), listener.getClass().getName());
+            log.info("[redisMessageListenerContainer][注册 Channel({}) 对应的监听器({})，concurrency({}) overflowPolicy({})]",
+                    listener.getChannel(), listener.getClass().getName(), listener.getConcurrency(), listener.getOverflowPolicy());
         });
         return container;
     }
 
+    /**
+     * 存在 Micrometer 时导出 Redis Pub/Sub 监听器的监控指标
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterBinder.class)
+    @ConditionalOnBean(AbstractRedisChannelMessageListener.class)
+    static class RedisChannelMessageMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public RedisChannelMessageMetrics redisChannelMessageMetrics(List<AbstractRedisChannelMessageListener<?>> listeners) {
+            return new RedisChannelMessageMetrics(listeners);
+        }
+    }
+
+    /**
+     * 创建 Redis Stream 消息的去重器
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "easy.mq.redis", name = "dedup-enabled", havingValue = "true")
+    public RedisMessageDeduplicator redisMessageDeduplicator(RedisMQTemplate redisMQTemplate,
+                                                             RedisMQProperties redisMQProperties) {
+        return new RedisMessageDeduplicator(redisMQTemplate.getRedisTemplate(), redisMQProperties.getDedupWindow(),
+                redisMQProperties.getDedupLocalExpectedInsertions(), redisMQProperties.getDedupLocalFalsePositiveRate());
+    }
+
     /**
      * 创建 Redis Stream 重新消费的任务
      */
     @Bean
-    @ConditionalOnBean(AbstractRedisStreamMessageListener.class)
-    // 只有 AbstractStreamMessageListener 存在的时候，才需要注册 Redis pubsub 监听
-    public RedisPendingMessageResendJob redisPendingMessageResendJob(List<AbstractRedisStreamMessageListener<?>> listeners,
+    @Conditional(OnStreamListenerCondition.class)
+    @ConditionalOnProperty(prefix = "easy.mq.redis", name = "pending-resend-enabled", havingValue = "true", matchIfMissing = true)
+    // 只有 Stream 监听器存在的时候，才需要重新投递 pending 消息
+    public RedisPendingMessageResendJob redisPendingMessageResendJob(ObjectProvider<AbstractRedisStreamMessageListener<?>> listeners,
+                                                                     ObjectProvider<AbstractRedisStreamBatchMessageListener<?>> batchListeners,
                                                                      RedisMQTemplate redisTemplate,
-                                                                     @Value("${spring.application.name}") String groupName,
-                                                                     RedissonClient redissonClient) {
-        return new RedisPendingMessageResendJob(listeners, redisTemplate, groupName, redissonClient);
+                                                                     RedissonClient redissonClient,
+                                                                     RedisMQProperties redisMQProperties) {
+        return new RedisPendingMessageResendJob(listeners.orderedStream().collect(Collectors.toList()),
+                batchListeners.orderedStream().collect(Collectors.toList()),
+                redisTemplate, buildConsumerName(), redissonClient, redisMQProperties,
+                isAutoClaimSupported(redisTemplate.getRedisTemplate()));
     }
 
     /**
@@ -83,19 +131,21 @@ public class YudaoRedisMQConsumerAutoConfiguration {
     @Bean(initMethod = "start", destroyMethod = "stop")
     @ConditionalOnBean(AbstractRedisStreamMessageListener.class)
     // 只有 AbstractStreamMessageListener 存在的时候，才需要注册 Redis pubsub 监听
-    public StreamMessageListenerContainer<String, ObjectRecord<String, String>> redisStreamMessageListenerContainer(
-            RedisMQTemplate redisMQTemplate, List<AbstractRedisStreamMessageListener<?>> listeners) {
+    public StreamMessageListenerContainer<String, MapRecord<String, String, byte[]>> redisStreamMessageListenerContainer(
+            RedisMQTemplate redisMQTemplate, List<AbstractRedisStreamMessageListener<?>> listeners,
+            ObjectProvider<RedisMessageDeduplicator> deduplicator) {
         RedisTemplate<String, ?> redisTemplate = redisMQTemplate.getRedisTemplate();
         checkRedisVersion(redisTemplate);
         // 第一步，创建 StreamMessageListenerContainer 容器
         // 创建 options 配置
-        StreamMessageListenerContainer.StreamMessageListenerContainerOptions<String, ObjectRecord<String, String>> containerOptions =
+        StreamMessageListenerContainer.StreamMessageListenerContainerOptions<String, MapRecord<String, String, byte[]>> containerOptions =
                 StreamMessageListenerContainer.StreamMessageListenerContainerOptions.builder()
                         .batchSize(10) // 一次性最多拉取多少条消息
-                        .targetType(String.class) // 目标类型。统一使用 String，通过自己封装的 AbstractStreamMessageListener 去反序列化
+                        // 消息内容统一按字节读取，通过自己封装的 AbstractStreamMessageListener 使用 RedisMessageConverter 解码
+                        .<String, byte[]>hashValueSerializer(RedisSerializer.byteArray())
                         .build();
         // 创建 container 对象
-        StreamMessageListenerContainer<String, ObjectRecord<String, String>> container =
+        StreamMessageListenerContainer<String, MapRecord<String, String, byte[]>> container =
                 StreamMessageListenerContainer.create(redisMQTemplate.getRedisTemplate().getRequiredConnectionFactory(), containerOptions);
 
         // 第二步，注册监听器，消费对应的 Stream 主题
@@ -108,8 +158,9 @@ public class YudaoRedisMQConsumerAutoConfiguration {
                 redisTemplate.opsForStream().createGroup(listener.getStreamKey(), listener.getGroup());
             } catch (Exception ignore) {
             }
-            // 设置 listener 对应的 redisTemplate
+            // 设置 listener 对应的 redisTemplate、去重器
             listener.setRedisMQTemplate(redisMQTemplate);
+            listener.setDeduplicator(deduplicator.getIfAvailable());
             // 创建 Consumer 对象
             Consumer consumer = Consumer.from(listener.getGroup(), consumerName);
             // 设置 Consumer 消费进度，以最小消费进度为准
@@ -126,6 +177,37 @@ public class YudaoRedisMQConsumerAutoConfiguration {
         return container;
     }
 
+    /**
+     * 创建 Redis Stream 批量消费的容器
+     * <p>
+     * 每个批量监听器按自己的 batchSize、pollTimeout 拉取消息，整批处理后一次 XACK
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnBean(AbstractRedisStreamBatchMessageListener.class)
+    // 只有 AbstractRedisStreamBatchMessageListener 存在的时候，才需要创建批量消费的容器
+    public RedisStreamBatchMessageListenerContainer redisStreamBatchMessageListenerContainer(
+            RedisMQTemplate redisMQTemplate, List<AbstractRedisStreamBatchMessageListener<?>> listeners,
+            ObjectProvider<RedisMessageDeduplicator> deduplicator) {
+        RedisTemplate<String, ?> redisTemplate = redisMQTemplate.getRedisTemplate();
+        checkRedisVersion(redisTemplate);
+        RedisStreamBatchMessageListenerContainer container =
+                new RedisStreamBatchMessageListenerContainer(redisTemplate, buildConsumerName());
+        listeners.forEach(listener -> {
+            // 创建 listener 对应的消费者分组
+            try {
+                redisTemplate.opsForStream().createGroup(listener.getStreamKey(), listener.getGroup());
+            } catch (Exception ignore) {
+            }
+            // 设置 listener 对应的 redisTemplate、去重器
+            listener.setRedisMQTemplate(redisMQTemplate);
+            listener.setDeduplicator(deduplicator.getIfAvailable());
+            container.register(listener);
+            log.info("[redisStreamBatchMessageListenerContainer][完成注册 StreamKey({}) 对应的批量监听器({})，batchSize({}) pollTimeout({})]",
+                    listener.getStreamKey(), listener.getClass().getName(), listener.getBatchSize(), listener.getPollTimeout());
+        });
+        return container;
+    }
+
     /**
      * 构建消费者名字，使用本地 IP + 进程编号的方式。
      * 参考自 RocketMQ clientId 的实现
@@ -141,8 +223,7 @@ public class YudaoRedisMQConsumerAutoConfiguration {
      */
     private static void checkRedisVersion(RedisTemplate<String, ?> redisTemplate) {
         // 获得 Redis 版本
-        Properties info = redisTemplate.execute((RedisCallback<Properties>) RedisServerCommands::info);
-        String version = MapUtil.getStr(info, "redis_version");
+        String version = getRedisVersion(redisTemplate);
         // 校验最低版本必须大于等于 5.0.0
         int majorVersion = Integer.parseInt(StrUtil.subBefore(version, '.', false));
         if (majorVersion < 5) {
@@ -151,4 +232,43 @@ public class YudaoRedisMQConsumerAutoConfiguration {
         }
     }
 
+    /**
+     * 判断 Redis 版本号，是否支持 pending 消息认领使用的 XAUTOCLAIM 命令（6.2.0 以上版本）
+     *
+     * 不支持时降级为 XPENDING + XCLAIM 认领，不影响 5.0 以上版本的使用
+     */
+    private static boolean isAutoClaimSupported(RedisTemplate<String, ?> redisTemplate) {
+        String version = getRedisVersion(redisTemplate);
+        if (VersionComparator.INSTANCE.compare(version, "6.2.0") >= 0) {
+            return true;
+        }
+        log.warn("[isAutoClaimSupported][当前 Redis 版本为 {}，不支持 XAUTOCLAIM 命令，pending 消息改用 XPENDING + XCLAIM 认领，" +
+                "建议升级到 6.2.0 以上版本]", version);
+        return false;
+    }
+
+    private static String getRedisVersion(RedisTemplate<String, ?> redisTemplate) {
+        Properties info = redisTemplate.execute((RedisCallback<Properties>) RedisServerCommands::info);
+        return MapUtil.getStr(info, "redis_version");
+    }
+
+    /**
+     * 存在逐条消费或批量消费的 Stream 监听器
+     */
+    static class OnStreamListenerCondition extends AnyNestedCondition {
+
+        OnStreamListenerCondition() {
+            super(ConfigurationCondition.ConfigurationPhase.REGISTER_BEAN);
+        }
+
+        @ConditionalOnBean(AbstractRedisStreamMessageListener.class)
+        static class OnStreamMessageListener {
+        }
+
+        @ConditionalOnBean(AbstractRedisStreamBatchMessageListener.class)
+        static class OnStreamBatchMessageListener {
+        }
+
+    }
+
 }
@@ -1,13 +1,28 @@
 package com.easy.mq.redis.config;
 
+import com.easy.mq.redis.core.RedisDelayedMessageMover;
+import com.easy.mq.redis.core.RedisMQBufferedProducer;
 import com.easy.mq.redis.core.RedisMQTemplate;
+import com.easy.mq.redis.core.codec.AvroRedisMessageCodec;
+import com.easy.mq.redis.core.codec.CborRedisMessageCodec;
+import com.easy.mq.redis.core.codec.JsonRedisMessageCodec;
+import com.easy.mq.redis.core.codec.RedisMessageCodec;
+import com.easy.mq.redis.core.codec.RedisMessageConverter;
+import com.easy.mq.redis.core.codec.SmileRedisMessageCodec;
 import com.easy.mq.redis.core.interceptor.RedisMessageInterceptor;
 import com.easy.redis.autoconfigure.YudaoRedisAutoConfiguration;
 import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.util.ClassUtils;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -17,15 +32,76 @@ import java.util.List;
  */
 @Slf4j
 @AutoConfiguration(after = YudaoRedisAutoConfiguration.class)
+@EnableConfigurationProperties(RedisMQProperties.class)
 public class YudaoRedisMQProducerAutoConfiguration {
 
+    /**
+     * 创建 Redis 消息转换器，注册内置及自定义的编解码器，并按 easy.mq.redis.codec 选择发送使用的编码
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public RedisMessageConverter redisMessageConverter(RedisMQProperties redisMQProperties,
+                                                       ObjectProvider<RedisMessageCodec> customCodecs) {
+        List<RedisMessageCodec> codecs = new ArrayList<>();
+        codecs.add(new JsonRedisMessageCodec());
+        // 二进制编码依赖的 jackson-dataformat-* 为可选依赖，引入后才注册
+        ClassLoader classLoader = getClass().getClassLoader();
+        if (ClassUtils.isPresent("com.fasterxml.jackson.dataformat.smile.SmileFactory", classLoader)) {
+            codecs.add(new SmileRedisMessageCodec());
+        }
+        if (ClassUtils.isPresent("com.fasterxml.jackson.dataformat.cbor.CBORFactory", classLoader)) {
+            codecs.add(new CborRedisMessageCodec());
+        }
+        if (ClassUtils.isPresent("com.fasterxml.jackson.dataformat.avro.AvroMapper", classLoader)) {
+            codecs.add(new AvroRedisMessageCodec());
+        }
+        customCodecs.orderedStream().forEach(codecs::add);
+        // 选择发送使用的编码
+        RedisMessageCodec codec = codecs.stream()
+                .filter(item -> item.getName().equalsIgnoreCase(redisMQProperties.getCodec()))
+                .reduce((first, second) -> second) // 同名时，自定义的编码优先
+                .orElseThrow(() -> new IllegalStateException(String.format("未找到名称为(%s) 的 Redis 消息编码，" +
+                        "请检查 easy.mq.redis.codec 配置项，或引入对应的 jackson-dataformat 依赖", redisMQProperties.getCodec())));
+        log.info("[redisMessageConverter][发送消息使用编码({})，压缩阈值({})]", codec.getName(), redisMQProperties.getCompressThreshold());
+        return new RedisMessageConverter(codec, codecs, redisMQProperties.getCompressThreshold());
+    }
+
     @Bean
     public RedisMQTemplate redisMQTemplate(StringRedisTemplate redisTemplate,
-                                           List<RedisMessageInterceptor> interceptors) {
-        RedisMQTemplate redisMQTemplate = new RedisMQTemplate(redisTemplate);
+                                           List<RedisMessageInterceptor> interceptors,
+                                           RedisMQProperties redisMQProperties,
+                                           RedisMessageConverter redisMessageConverter) {
+        RedisMQTemplate redisMQTemplate = new RedisMQTemplate(redisTemplate, redisMessageConverter);
         // 添加拦截器
         interceptors.forEach(redisMQTemplate::addInterceptor);
+        // 设置 Stream 的最大长度
+        redisMQProperties.getStreamMaxLen().forEach(redisMQTemplate::setStreamMaxLen);
+        // 设置延迟消息的分片数量
+        redisMQTemplate.setDelayedShards(redisMQProperties.getDelayedShards());
         return redisMQTemplate;
     }
 
+    /**
+     * 创建 Redis Stream 消息的缓冲发送器，适合一次产生大量消息的场景
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "easy.mq.redis", name = "buffered-producer-enabled", havingValue = "true")
+    public RedisMQBufferedProducer redisMQBufferedProducer(RedisMQTemplate redisMQTemplate,
+                                                           RedisMQProperties redisMQProperties) {
+        return new RedisMQBufferedProducer(redisMQTemplate, redisMQProperties.getBufferedProducerBatchSize(),
+                redisMQProperties.getBufferedProducerFlushInterval());
+    }
+
+    /**
+     * 创建延迟消息的转移器，将到期的延迟消息转移到目标 Stream
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(prefix = "easy.mq.redis", name = "delayed-enabled", havingValue = "true")
+    public RedisDelayedMessageMover redisDelayedMessageMover(RedisMQTemplate redisMQTemplate,
+                                                             RedissonClient redissonClient,
+                                                             RedisMQProperties redisMQProperties) {
+        return new RedisDelayedMessageMover(redisMQTemplate, redissonClient, redisMQProperties.getDelayedBatchSize(),
+                redisMQProperties.getDelayedPollInterval());
+    }
+
 }
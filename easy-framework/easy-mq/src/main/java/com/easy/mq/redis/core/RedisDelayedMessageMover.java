@@ -0,0 +1,160 @@
+package com.easy.mq.redis.core;
+
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+
+import java.time.Duration;
+
+/**
+ * 延迟消息的转移器，将到期的延迟消息转移到目标 Stream
+ *
+ * 多个实例通过 Redisson 锁选举出一个 leader，只有 leader 执行转移，锁由 Redisson 看门狗续期，leader 宕机后其它实例接替。
+ * leader 按批次取出各分片到期的消息，XADD 到目标 Stream 后再从 ZSET 删除（见 {@link RedisMQTemplate#moveDueDelayedMessages(int, long, int)}），
+ * 支持 Redis Cluster，消息不会丢失，leader 在写入与删除之间宕机时会重复转移。
+ * 每轮转移后休眠到最早的下一条消息到期，最长不超过 pollInterval；本实例发送更早到期的消息时立即唤醒，
+ * 其它实例发送的消息最多延迟 pollInterval 被发现。
+ *
+ * @author 芋道源码
+ */
+@Slf4j
+public class RedisDelayedMessageMover {
+
+    private static final String LOCK_KEY = "redis:mq:delayed:lock";
+
+    private final RedisMQTemplate redisMQTemplate;
+    private final RedissonClient redissonClient;
+    /**
+     * 一批转移的最大消息数量
+     */
+    private final int batchSize;
+    /**
+     * 最长的休眠时间，也是非 leader 实例尝试成为 leader 的间隔
+     */
+    private final long pollIntervalMillis;
+
+    private final Object monitor = new Object();
+    /**
+     * 当前休眠到的时间，毫秒时间戳；转移期间为 Long.MAX_VALUE，此时有新消息都需要唤醒
+     */
+    private volatile long wakeupTime = Long.MAX_VALUE;
+    /**
+     * 是否有唤醒请求，避免转移期间的唤醒丢失
+     */
+    private boolean wakeupRequested;
+    private volatile boolean running;
+    private Thread thread;
+
+    public RedisDelayedMessageMover(RedisMQTemplate redisMQTemplate, RedissonClient redissonClient,
+                                    int batchSize, Duration pollInterval) {
+        this.redisMQTemplate = redisMQTemplate;
+        this.redissonClient = redissonClient;
+        this.batchSize = batchSize;
+        this.pollIntervalMillis = pollInterval.toMillis();
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "redis-delayed-mover");
+        thread.setDaemon(true);
+        thread.start();
+        redisMQTemplate.setDelayedMessageMover(this);
+    }
+
+    public synchronized void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        redisMQTemplate.setDelayedMessageMover(null);
+        synchronized (monitor) {
+            monitor.notifyAll();
+        }
+        thread.join(pollIntervalMillis * 10);
+    }
+
+    /**
+     * 有新的延迟消息时调用，早于当前休眠到的时间时唤醒转移线程
+     *
+     * @param deliverTime 投递时间，毫秒时间戳
+     */
+    public void wakeup(long deliverTime) {
+        if (deliverTime < wakeupTime) {
+            synchronized (monitor) {
+                wakeupRequested = true;
+                monitor.notifyAll();
+            }
+        }
+    }
+
+    private void run() {
+        RLock lock = redissonClient.getLock(LOCK_KEY);
+        try {
+            while (running) {
+                long nextTime = System.currentTimeMillis() + pollIntervalMillis;
+                try {
+                    // 尝试成为 leader，锁由看门狗续期
+                    if (lock.isHeldByCurrentThread() || lock.tryLock()) {
+                        long nextDeliverTime = moveDueMessages();
+                        if (nextDeliverTime >= 0) {
+                            nextTime = Math.min(nextTime, nextDeliverTime);
+                        }
+                    }
+                } catch (Exception ex) {
+                    log.error("[run][转移延迟消息异常]", ex);
+                }
+                await(nextTime);
+            }
+        } finally {
+            if (lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 转移所有分片中到期的消息
+     *
+     * @return 最早的下一条消息的投递时间，没有时为 -1
+     */
+    long moveDueMessages() {
+        long nextDeliverTime = -1;
+        for (int shard = 0; shard < redisMQTemplate.getDelayedShards(); shard++) {
+            long shardNextTime;
+            // 一批转移满时，继续转移，直到没有到期的消息
+            while (true) {
+                long now = System.currentTimeMillis();
+                shardNextTime = redisMQTemplate.moveDueDelayedMessages(shard, now, batchSize);
+                if (shardNextTime < 0 || shardNextTime > now) {
+                    break;
+                }
+                log.debug("[moveDueMessages][分片({}) 转移 {} 条到期的延迟消息，继续转移]", shard, batchSize);
+            }
+            if (shardNextTime >= 0 && (nextDeliverTime < 0 || shardNextTime < nextDeliverTime)) {
+                nextDeliverTime = shardNextTime;
+            }
+        }
+        return nextDeliverTime;
+    }
+
+    private void await(long nextTime) {
+        synchronized (monitor) {
+            wakeupTime = nextTime;
+            long waitMillis = nextTime - System.currentTimeMillis();
+            if (waitMillis > 0 && running && !wakeupRequested) {
+                try {
+                    monitor.wait(waitMillis);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    running = false;
+                }
+            }
+            wakeupRequested = false;
+            wakeupTime = Long.MAX_VALUE;
+        }
+    }
+
+}
@@ -0,0 +1,181 @@
+package com.easy.mq.redis.core;
+
+import com.easy.mq.redis.core.stream.AbstractRedisStreamMessage;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.connection.stream.RecordId;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis Stream 消息的缓冲发送器
+ *
+ * 消息先放入缓冲区，累积到 batchSize 条时由发送线程直接提交，否则每隔 flushInterval 由后台线程提交，
+ * 每次提交通过 {@link RedisMQTemplate#sendBatch(java.util.Collection)} 在一次 pipelining 往返中完成。
+ * 消息按 {@link #send(AbstractRedisStreamMessage)} 的调用顺序写入 Stream；提交失败时对应的 CompletableFuture 以异常结束，由调用方决定是否重试。
+ *
+ * @author 芋道源码
+ */
+@Slf4j
+public class RedisMQBufferedProducer implements DisposableBean {
+
+    private final RedisMQTemplate redisMQTemplate;
+    /**
+     * 累积多少条消息后立即提交
+     */
+    @Getter
+    private final int batchSize;
+    /**
+     * 定时提交的间隔
+     */
+    @Getter
+    private final Duration flushInterval;
+    /**
+     * 定时提交的线程
+     */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * 缓冲区锁，只保护缓冲区的读写
+     */
+    private final Object bufferLock = new Object();
+    /**
+     * 提交锁，保证各批消息按顺序提交
+     */
+    private final Object flushLock = new Object();
+    private List<PendingMessage> buffer;
+    /**
+     * 是否已关闭，在缓冲区锁内读写，保证关闭后不会再有消息进入缓冲区
+     */
+    private boolean closed;
+
+    /**
+     * @param redisMQTemplate RedisMQTemplate
+     * @param batchSize       累积多少条消息后立即提交
+     * @param flushInterval   定时提交的间隔
+     */
+    public RedisMQBufferedProducer(RedisMQTemplate redisMQTemplate, int batchSize, Duration flushInterval) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize 必须大于 0");
+        }
+        if (flushInterval.isNegative() || flushInterval.isZero()) {
+            throw new IllegalArgumentException("flushInterval 必须大于 0");
+        }
+        this.redisMQTemplate = redisMQTemplate;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.buffer = new ArrayList<>(batchSize);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "redis-mq-buffered-producer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = Math.max(1, flushInterval.toMillis());
+        this.scheduler.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 缓冲发送 Redis 消息，基于 Redis Stream 实现
+     *
+     * @param message 消息
+     * @return 消息记录的编号对象，提交后完成
+     * @throws IllegalStateException 发送器已关闭
+     */
+    public <T extends AbstractRedisStreamMessage> CompletableFuture<RecordId> send(T message) {
+        CompletableFuture<RecordId> future = new CompletableFuture<>();
+        boolean full;
+        synchronized (bufferLock) {
+            // 与 destroy 在同一把锁内判断，关闭前进入缓冲区的消息都会被最后一次提交带走
+            if (closed) {
+                throw new IllegalStateException("RedisMQBufferedProducer 已关闭");
+            }
+            buffer.add(new PendingMessage(message, future));
+            full = buffer.size() >= batchSize;
+        }
+        // 缓冲区已满，由发送线程直接提交，同时起到背压的作用
+        if (full) {
+            flush();
+        }
+        return future;
+    }
+
+    /**
+     * 立即提交缓冲区中的消息
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            List<PendingMessage> batch;
+            synchronized (bufferLock) {
+                if (buffer.isEmpty()) {
+                    return;
+                }
+                batch = buffer;
+                buffer = new ArrayList<>(batchSize);
+            }
+            List<AbstractRedisStreamMessage> messages = new ArrayList<>(batch.size());
+            batch.forEach(pending -> messages.add(pending.message));
+            try {
+                List<RecordId> recordIds = redisMQTemplate.sendBatch(messages);
+                for (int i = 0; i < batch.size(); i++) {
+                    batch.get(i).future.complete(i < recordIds.size() ? recordIds.get(i) : null);
+                }
+            } catch (Exception ex) {
+                log.error("[flush][{} 条消息发送失败]", batch.size(), ex);
+                batch.forEach(pending -> pending.future.completeExceptionally(ex));
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Throwable ex) {
+            // 异常不能抛出，否则定时任务会停止
+            log.error("[flushQuietly][定时提交异常]", ex);
+        }
+    }
+
+    /**
+     * 获得缓冲区中尚未提交的消息数量
+     *
+     * @return 消息数量
+     */
+    public int getBufferedCount() {
+        synchronized (bufferLock) {
+            return buffer.size();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        synchronized (bufferLock) {
+            closed = true;
+        }
+        scheduler.shutdown();
+        // 提交剩余的消息
+        flush();
+    }
+
+    /**
+     * 待提交的消息
+     */
+    private static final class PendingMessage {
+
+        private final AbstractRedisStreamMessage message;
+        private final CompletableFuture<RecordId> future;
+
+        private PendingMessage(AbstractRedisStreamMessage message, CompletableFuture<RecordId> future) {
+            this.message = message;
+            this.future = future;
+        }
+
+    }
+
+}
@@ -1,27 +1,64 @@
 package com.easy.mq.redis.core;
 
-import cn.iocoder.yudao.framework.common.util.json.JsonUtils;
+import cn.hutool.core.util.IdUtil;
+import com.easy.mq.redis.core.codec.RedisMessageConverter;
 import com.easy.mq.redis.core.interceptor.RedisMessageInterceptor;
 import com.easy.mq.redis.core.message.AbstractRedisMessage;
 import com.easy.mq.redis.core.pubsub.AbstractRedisChannelMessage;
 import com.easy.mq.redis.core.stream.AbstractRedisStreamMessage;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.RedisZSetCommands.Tuple;
+import org.springframework.data.redis.connection.stream.ByteRecord;
 import org.springframework.data.redis.connection.stream.RecordId;
 import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Redis MQ 操作模板类
  *
+ * 批量发送时，所有消息的 XADD、PUBLISH 通过 Redis pipelining 在一次往返中提交，适合导入任务等一次产生大量消息的场景。
+ * 通过 {@link #setStreamMaxLen(String, long)} 为 Stream 设置 MAXLEN ~ 近似裁剪，避免 Stream 无限增长。
+ * 消息通过 {@link RedisMessageConverter} 编码为字节，Stream 消息以二进制值写入 {@link #PAYLOAD_FIELD} 字段。
+ * 延迟消息按投递时间写入分片的 ZSET，到期后由 {@link RedisDelayedMessageMover} 转移到目标 Stream。
+ *
  * @author 芋道源码
  */
-@AllArgsConstructor
 public class RedisMQTemplate {
 
+    /**
+     * Stream 消息内容所在的字段，与 {@link StreamRecords#objectBacked(Object)} 写入简单类型时使用的字段一致
+     */
+    public static final String PAYLOAD_FIELD = "payload";
+    private static final byte[] PAYLOAD_FIELD_BYTES = PAYLOAD_FIELD.getBytes(StandardCharsets.UTF_8);
+    /**
+     * 延迟消息 ZSET 的 Key 前缀，拼接分片编号
+     */
+    public static final String DELAYED_KEY_PREFIX = "redis:mq:delayed:";
+    /**
+     * 延迟消息 ZSET 成员中，Stream Key、消息编号、消息内容之间的分隔符
+     */
+    public static final byte DELAYED_MEMBER_SEPARATOR = '\n';
+    /**
+     * 默认的延迟消息分片数量
+     */
+    private static final int DEFAULT_DELAYED_SHARDS = 16;
+
     @Getter
     private final RedisTemplate<String, ?> redisTemplate;
     /**
@@ -29,6 +66,34 @@ public class RedisMQTemplate {
      */
     @Getter
     private final List<RedisMessageInterceptor> interceptors = new ArrayList<>();
+    /**
+     * 各 Stream 的最大长度，key 为 Stream Key
+     */
+    private final Map<String, Long> streamMaxLens = new ConcurrentHashMap<>();
+    /**
+     * 消息转换器
+     */
+    @Getter
+    private final RedisMessageConverter messageConverter;
+    /**
+     * 延迟消息的分片数量
+     */
+    @Getter
+    private volatile int delayedShards = DEFAULT_DELAYED_SHARDS;
+    /**
+     * 延迟消息的转移器，发送延迟消息时唤醒，保证投递时间的精度
+     */
+    @Setter
+    private volatile RedisDelayedMessageMover delayedMessageMover;
+
+    public RedisMQTemplate(RedisTemplate<String, ?> redisTemplate) {
+        this(redisTemplate, new RedisMessageConverter());
+    }
+
+    public RedisMQTemplate(RedisTemplate<String, ?> redisTemplate, RedisMessageConverter messageConverter) {
+        this.redisTemplate = redisTemplate;
+        this.messageConverter = messageConverter;
+    }
 
     /**
      * 发送 Redis 消息，基于 Redis pub/sub 实现
@@ -39,7 +104,9 @@ public class RedisMQTemplate {
         try {
             sendMessageBefore(message);
             // 发送消息
-            redisTemplate.convertAndSend(message.getChannel(), JsonUtils.toJsonString(message));
+            byte[] channel = serialize(redisTemplate.getStringSerializer(), message.getChannel());
+            byte[] content = messageConverter.write(message);
+            redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(channel, content));
         } finally {
             sendMessageAfter(message);
         }
@@ -55,14 +122,260 @@ public class RedisMQTemplate {
         try {
             sendMessageBefore(message);
             // 发送消息
-            return redisTemplate.opsForStream().add(StreamRecords.newRecord()
-                    .ofObject(JsonUtils.toJsonString(message)) // 设置内容
-                    .withStreamKey(message.getStreamKey())); // 设置 stream key
+            String streamKey = message.getStreamKey();
+            ByteRecord record = buildStreamRecord(streamKey, messageConverter.write(message));
+            return redisTemplate.execute((RedisCallback<RecordId>) connection -> connection.streamCommands()
+                    .xAdd(record, buildAddOptions(streamKey)));
         } finally {
             sendMessageAfter(message);
         }
     }
 
+    /**
+     * 批量发送 Redis 消息，基于 Redis Stream 实现
+     *
+     * 所有消息的 XADD 通过 pipelining 在一次往返中提交，拦截器对每条消息依次调用
+     *
+     * @param messages 消息
+     * @return 消息记录的编号对象，与 messages 的顺序一致
+     */
+    public <T extends AbstractRedisStreamMessage> List<RecordId> sendBatch(Collection<T> messages) {
+        if (messages.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<T> sent = new ArrayList<>(messages.size());
+        try {
+            List<ByteRecord> records = new ArrayList<>(messages.size());
+            for (T message : messages) {
+                sent.add(message);
+                sendMessageBefore(message);
+                records.add(buildStreamRecord(message.getStreamKey(), messageConverter.write(message)));
+            }
+            // 发送消息
+            List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (int i = 0; i < records.size(); i++) {
+                    connection.streamCommands().xAdd(records.get(i), buildAddOptions(sent.get(i).getStreamKey()));
+                }
+                return null;
+            });
+            List<RecordId> recordIds = new ArrayList<>(results.size());
+            results.forEach(result -> recordIds.add((RecordId) result));
+            return recordIds;
+        } finally {
+            for (int i = sent.size() - 1; i >= 0; i--) {
+                sendMessageAfter(sent.get(i));
+            }
+        }
+    }
+
+    /**
+     * 批量发送 Redis 消息，基于 Redis pub/sub 实现
+     *
+     * 所有消息的 PUBLISH 通过 pipelining 在一次往返中提交，拦截器对每条消息依次调用
+     *
+     * @param messages 消息
+     */
+    public <T extends AbstractRedisChannelMessage> void sendChannelBatch(Collection<T> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        List<T> sent = new ArrayList<>(messages.size());
+        try {
+            List<byte[]> channels = new ArrayList<>(messages.size());
+            List<byte[]> contents = new ArrayList<>(messages.size());
+            for (T message : messages) {
+                sent.add(message);
+                sendMessageBefore(message);
+                channels.add(serialize(redisTemplate.getStringSerializer(), message.getChannel()));
+                contents.add(messageConverter.write(message));
+            }
+            // 发送消息
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (int i = 0; i < channels.size(); i++) {
+                    connection.publish(channels.get(i), contents.get(i));
+                }
+                return null;
+            });
+        } finally {
+            for (int i = sent.size() - 1; i >= 0; i--) {
+                sendMessageAfter(sent.get(i));
+            }
+        }
+    }
+
+    /**
+     * 发送延迟消息，基于 Redis Stream 实现
+     *
+     * 消息先按投递时间写入随机分片的 ZSET，到期后转移到目标 Stream，转移时生成新的消息记录编号。
+     * 需开启 {@link com.easy.mq.redis.config.RedisMQProperties#isDelayedEnabled()}，由 {@link RedisDelayedMessageMover} 执行转移
+     *
+     * @param message 消息
+     * @param delay   延迟时间
+     */
+    public <T extends AbstractRedisStreamMessage> void sendDelayed(T message, Duration delay) {
+        sendAt(message, System.currentTimeMillis() + Math.max(0, delay.toMillis()));
+    }
+
+    /**
+     * 发送定时消息，基于 Redis Stream 实现
+     *
+     * @param message     消息
+     * @param deliverTime 投递时间，毫秒时间戳
+     */
+    public <T extends AbstractRedisStreamMessage> void sendAt(T message, long deliverTime) {
+        try {
+            sendMessageBefore(message);
+            // 写入延迟消息的 ZSET，成员为 Stream Key + 消息编号 + 消息内容，消息编号保证内容相同的消息不会被合并
+            byte[] key = serialize(redisTemplate.getKeySerializer(),
+                    getDelayedKey(ThreadLocalRandom.current().nextInt(delayedShards)));
+            byte[] member = buildDelayedMember(message.getStreamKey(), messageConverter.write(message));
+            redisTemplate.execute((RedisCallback<Boolean>) connection -> connection.zSetCommands()
+                    .zAdd(key, deliverTime, member));
+        } finally {
+            sendMessageAfter(message);
+        }
+        RedisDelayedMessageMover mover = delayedMessageMover;
+        if (mover != null) {
+            mover.wakeup(deliverTime);
+        }
+    }
+
+    /**
+     * 设置延迟消息的分片数量，分片越多单个 ZSET 越小，转移时的竞争越少
+     *
+     * 注意：只会转移编号小于分片数量的分片，减小分片数量前需确保多出的分片中没有未投递的消息
+     *
+     * @param delayedShards 分片数量
+     */
+    public void setDelayedShards(int delayedShards) {
+        if (delayedShards <= 0) {
+            throw new IllegalArgumentException(String.format("延迟消息的分片数量(%d) 必须大于 0", delayedShards));
+        }
+        this.delayedShards = delayedShards;
+    }
+
+    /**
+     * 获得延迟消息 ZSET 的 Key
+     *
+     * @param shard 分片编号
+     * @return Key
+     */
+    public static String getDelayedKey(int shard) {
+        return DELAYED_KEY_PREFIX + shard;
+    }
+
+    private static byte[] buildDelayedMember(String streamKey, byte[] content) {
+        byte[] key = streamKey.getBytes(StandardCharsets.UTF_8);
+        byte[] id = IdUtil.fastSimpleUUID().getBytes(StandardCharsets.UTF_8);
+        byte[] member = new byte[key.length + id.length + content.length + 2];
+        System.arraycopy(key, 0, member, 0, key.length);
+        member[key.length] = DELAYED_MEMBER_SEPARATOR;
+        System.arraycopy(id, 0, member, key.length + 1, id.length);
+        member[key.length + 1 + id.length] = DELAYED_MEMBER_SEPARATOR;
+        System.arraycopy(content, 0, member, key.length + id.length + 2, content.length);
+        return member;
+    }
+
+    /**
+     * 将一个分片中到期的延迟消息转移到目标 Stream，由 {@link RedisDelayedMessageMover} 的 leader 调用
+     *
+     * 先读取最早的 count + 1 条消息，通过 pipelining 将其中到期的消息 XADD 到目标 Stream（与 {@link #send(AbstractRedisStreamMessage)}
+     * 一样按 MAXLEN ~ 裁剪），全部写入成功后再从 ZSET 删除。XADD 与 ZREM 各自按 Key 路由，目标 Stream 与 ZSET 不需要在同一个 slot（Redis Cluster）；
+     * 写入与删除之间失败或 leader 宕机时，消息会被重复转移，但不会丢失。
+     *
+     * @param shard 分片编号
+     * @param now   当前时间，毫秒时间戳
+     * @param count 转移的最大消息数量
+     * @return 最早的下一条消息的投递时间，没有时为 -1；不大于 now 时表示还有到期的消息未转移
+     */
+    long moveDueDelayedMessages(int shard, long now, int count) {
+        byte[] key = serialize(redisTemplate.getKeySerializer(), getDelayedKey(shard));
+        // 多取一条，用于判断是否还有到期的消息，以及得到下一条消息的投递时间
+        Set<Tuple> tuples = redisTemplate.execute((RedisCallback<Set<Tuple>>) connection -> connection.zSetCommands()
+                .zRangeWithScores(key, 0, count));
+        if (tuples == null || tuples.isEmpty()) {
+            return -1;
+        }
+        List<byte[]> members = new ArrayList<>(tuples.size());
+        List<String> streamKeys = new ArrayList<>(tuples.size());
+        List<ByteRecord> records = new ArrayList<>(tuples.size());
+        long nextDeliverTime = -1;
+        for (Tuple tuple : tuples) {
+            long deliverTime = tuple.getScore().longValue();
+            if (deliverTime > now || members.size() >= count) {
+                nextDeliverTime = deliverTime;
+                break;
+            }
+            byte[] member = tuple.getValue();
+            members.add(member);
+            // 格式错误的成员不转移，直接删除
+            int keyEnd = indexOf(member, 0);
+            int idEnd = keyEnd < 0 ? -1 : indexOf(member, keyEnd + 1);
+            if (idEnd < 0) {
+                continue;
+            }
+            String streamKey = new String(member, 0, keyEnd, StandardCharsets.UTF_8);
+            streamKeys.add(streamKey);
+            records.add(buildStreamRecord(streamKey, Arrays.copyOfRange(member, idEnd + 1, member.length)));
+        }
+        if (members.isEmpty()) {
+            return nextDeliverTime;
+        }
+        if (!records.isEmpty()) {
+            // 任一 XADD 失败时抛出异常，不删除 ZSET 中的消息，下一轮重新转移
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (int i = 0; i < records.size(); i++) {
+                    connection.streamCommands().xAdd(records.get(i), buildAddOptions(streamKeys.get(i)));
+                }
+                return null;
+            });
+        }
+        byte[][] removed = members.toArray(new byte[0][]);
+        redisTemplate.execute((RedisCallback<Long>) connection -> connection.zSetCommands().zRem(key, removed));
+        return nextDeliverTime;
+    }
+
+    private static int indexOf(byte[] member, int fromIndex) {
+        for (int i = fromIndex; i < member.length; i++) {
+            if (member[i] == DELAYED_MEMBER_SEPARATOR) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 设置 Stream 的最大长度，发送消息时以 MAXLEN ~ 近似裁剪，实际长度可能略大于该值
+     *
+     * @param streamKey Stream Key
+     * @param maxLen    最大长度，小于等于 0 时不裁剪
+     */
+    public void setStreamMaxLen(String streamKey, long maxLen) {
+        if (maxLen > 0) {
+            streamMaxLens.put(streamKey, maxLen);
+        } else {
+            streamMaxLens.remove(streamKey);
+        }
+    }
+
+    /**
+     * 构建 Stream 记录，消息内容以二进制值写入 {@link #PAYLOAD_FIELD} 字段
+     */
+    private ByteRecord buildStreamRecord(String streamKey, byte[] content) {
+        return StreamRecords.rawBytes(Collections.singletonMap(PAYLOAD_FIELD_BYTES, content))
+                .withStreamKey(serialize(redisTemplate.getKeySerializer(), streamKey));
+    }
+
+    private XAddOptions buildAddOptions(String streamKey) {
+        Long maxLen = streamMaxLens.get(streamKey);
+        return maxLen != null ? XAddOptions.maxlen(maxLen).approximateTrimming(true) : XAddOptions.none();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static byte[] serialize(RedisSerializer<?> serializer, Object value) {
+        return ((RedisSerializer<Object>) serializer).serialize(value);
+    }
+
     /**
      * 添加拦截器
      *
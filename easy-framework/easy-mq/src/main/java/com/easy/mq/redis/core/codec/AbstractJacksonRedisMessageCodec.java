@@ -0,0 +1,70 @@
+package com.easy.mq.redis.core.codec;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.SneakyThrows;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 基于 Jackson 二进制格式的编解码器抽象类
+ *
+ * ObjectMapper 的配置与 {@link cn.iocoder.yudao.framework.common.util.json.JsonUtils} 保持一致，
+ * 并按消息类型缓存 ObjectReader、ObjectWriter，避免每次编解码时查找序列化器。
+ *
+ * @author 芋道源码
+ */
+public abstract class AbstractJacksonRedisMessageCodec implements RedisMessageCodec {
+
+    protected final ObjectMapper objectMapper;
+
+    private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    protected AbstractJacksonRedisMessageCodec(ObjectMapper objectMapper) {
+        objectMapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL); // 忽略 null 值
+        objectMapper.registerModules(new JavaTimeModule()); // 解决 LocalDateTime 的序列化
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    @SneakyThrows
+    public byte[] encode(Object message) {
+        return writers.computeIfAbsent(message.getClass(), this::createWriter).writeValueAsBytes(message);
+    }
+
+    @Override
+    @SneakyThrows
+    public <T> T decode(byte[] data, Class<T> type) {
+        return readers.computeIfAbsent(type, this::createReader).readValue(data);
+    }
+
+    /**
+     * 创建消息类型对应的 ObjectWriter
+     *
+     * @param type 消息类型
+     * @return ObjectWriter
+     */
+    protected ObjectWriter createWriter(Class<?> type) {
+        return objectMapper.writerFor(type);
+    }
+
+    /**
+     * 创建消息类型对应的 ObjectReader
+     *
+     * @param type 消息类型
+     * @return ObjectReader
+     */
+    protected ObjectReader createReader(Class<?> type) {
+        return objectMapper.readerFor(type);
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.easy.mq.redis.core.codec;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.avro.AvroMapper;
+import com.fasterxml.jackson.dataformat.avro.AvroSchema;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Avro 编解码器，需要引入 jackson-dataformat-avro
+ *
+ * 按消息类生成 Avro Schema，消息中只写字段值、不写字段名，体积最小。
+ * 发送端与消费端需使用相同结构的消息类，字段增删时应先升级消费端，或为该消息换用其他编码。
+ *
+ * @author 芋道源码
+ */
+public class AvroRedisMessageCodec extends AbstractJacksonRedisMessageCodec {
+
+    public static final byte ID = 3;
+
+    public static final String NAME = "avro";
+
+    private final Map<Class<?>, AvroSchema> schemas = new ConcurrentHashMap<>();
+
+    public AvroRedisMessageCodec() {
+        super(new AvroMapper());
+        // Avro 按 Schema 顺序写入全部字段，null 值也需要写入
+        objectMapper.setSerializationInclusion(JsonInclude.Include.ALWAYS);
+    }
+
+    @Override
+    public byte getId() {
+        return ID;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    protected ObjectWriter createWriter(Class<?> type) {
+        return objectMapper.writerFor(type).with(getSchema(type));
+    }
+
+    @Override
+    protected ObjectReader createReader(Class<?> type) {
+        return objectMapper.readerFor(type).with(getSchema(type));
+    }
+
+    private AvroSchema getSchema(Class<?> type) {
+        return schemas.computeIfAbsent(type, clazz -> {
+            try {
+                return ((AvroMapper) objectMapper).schemaFor(clazz);
+            } catch (JsonMappingException ex) {
+                throw new IllegalArgumentException(String.format("消息类型(%s) 无法生成 Avro Schema", clazz.getName()), ex);
+            }
+        });
+    }
+
+}
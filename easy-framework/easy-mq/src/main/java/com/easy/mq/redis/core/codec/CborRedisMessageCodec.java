@@ -0,0 +1,30 @@
+package com.easy.mq.redis.core.codec;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+/**
+ * CBOR 编解码器，需要引入 jackson-dataformat-cbor
+ *
+ * @author 芋道源码
+ */
+public class CborRedisMessageCodec extends AbstractJacksonRedisMessageCodec {
+
+    public static final byte ID = 2;
+
+    public static final String NAME = "cbor";
+
+    public CborRedisMessageCodec() {
+        super(new CBORMapper());
+    }
+
+    @Override
+    public byte getId() {
+        return ID;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+}
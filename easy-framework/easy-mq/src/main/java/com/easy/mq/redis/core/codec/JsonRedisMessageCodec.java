@@ -0,0 +1,38 @@
+package com.easy.mq.redis.core.codec;
+
+import cn.iocoder.yudao.framework.common.util.json.JsonUtils;
+
+/**
+ * JSON 编解码器，默认使用
+ *
+ * 基于 {@link JsonUtils}，与引入编解码器之前的消息格式完全一致
+ *
+ * @author 芋道源码
+ */
+public class JsonRedisMessageCodec implements RedisMessageCodec {
+
+    public static final byte ID = 0;
+
+    public static final String NAME = "json";
+
+    @Override
+    public byte getId() {
+        return ID;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] encode(Object message) {
+        return JsonUtils.toJsonByte(message);
+    }
+
+    @Override
+    public <T> T decode(byte[] data, Class<T> type) {
+        return JsonUtils.parseObject(data, type);
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.easy.mq.redis.core.codec;
+
+/**
+ * Redis 消息编解码器
+ *
+ * 编码标识写入消息头，消费端按标识选择解码器，因此发送端切换编码后，消费端仍能解码切换前发送的消息。
+ * 自定义编解码器声明为 Spring Bean 即可注册，编码标识 0 ~ 15 保留给内置实现。
+ *
+ * @author 芋道源码
+ */
+public interface RedisMessageCodec {
+
+    /**
+     * 获得编码标识，写入消息头
+     *
+     * @return 编码标识
+     */
+    byte getId();
+
+    /**
+     * 获得编码名称，用于 easy.mq.redis.codec 配置项
+     *
+     * @return 编码名称
+     */
+    String getName();
+
+    /**
+     * 编码消息
+     *
+     * @param message 消息
+     * @return 编码后的字节
+     */
+    byte[] encode(Object message);
+
+    /**
+     * 解码消息
+     *
+     * @param data 编码后的字节
+     * @param type 消息类型
+     * @return 消息
+     */
+    <T> T decode(byte[] data, Class<T> type);
+
+}
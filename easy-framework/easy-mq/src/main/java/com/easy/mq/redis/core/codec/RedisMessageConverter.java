@@ -0,0 +1,178 @@
+package com.easy.mq.redis.core.codec;
+
+import lombok.Getter;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Redis 消息转换器，负责消息与 Redis 中存储的字节之间的转换
+ *
+ * 消息格式为 4 字节的消息头加消息体，消息头依次为：魔数 0x00、格式版本、编码标识、标志位（是否压缩）。
+ * 使用 JSON 编码且未压缩的消息不加消息头，与引入编解码器之前的格式完全一致，新旧版本的生产者、消费者可以混合部署。
+ * JSON 文本不会以 0x00 开头，因此消费端可以据此区分两种格式。
+ *
+ * @author 芋道源码
+ */
+public class RedisMessageConverter {
+
+    /**
+     * 消息头的魔数
+     */
+    private static final byte MAGIC = 0;
+    /**
+     * 消息格式的版本
+     */
+    private static final byte VERSION = 1;
+    /**
+     * 标志位：消息体使用 Deflate 压缩
+     */
+    private static final byte FLAG_DEFLATE = 1;
+    /**
+     * 消息头的长度
+     */
+    private static final int HEADER_LENGTH = 4;
+
+    /**
+     * 发送时使用的编解码器
+     */
+    @Getter
+    private final RedisMessageCodec codec;
+    /**
+     * 已注册的编解码器，下标为编码标识
+     */
+    private final RedisMessageCodec[] codecs = new RedisMessageCodec[256];
+    /**
+     * 消息体达到该字节数时压缩，小于等于 0 时不压缩
+     */
+    @Getter
+    private final int compressThreshold;
+
+    /**
+     * 使用 JSON 编码、不压缩
+     */
+    public RedisMessageConverter() {
+        this(new JsonRedisMessageCodec(), Collections.emptyList(), 0);
+    }
+
+    /**
+     * @param codec             发送时使用的编解码器
+     * @param codecs            消费时可识别的编解码器，JSON 编解码器总是可识别
+     * @param compressThreshold 消息体达到该字节数时压缩，小于等于 0 时不压缩
+     */
+    public RedisMessageConverter(RedisMessageCodec codec, Collection<RedisMessageCodec> codecs, int compressThreshold) {
+        register(new JsonRedisMessageCodec());
+        codecs.forEach(this::register);
+        register(codec);
+        this.codec = codec;
+        this.compressThreshold = compressThreshold;
+    }
+
+    private void register(RedisMessageCodec codec) {
+        codecs[codec.getId() & 0xFF] = codec;
+    }
+
+    /**
+     * 将消息转换为字节
+     *
+     * @param message 消息
+     * @return 字节
+     */
+    public byte[] write(Object message) {
+        byte[] body = codec.encode(message);
+        byte flags = 0;
+        if (compressThreshold > 0 && body.length >= compressThreshold) {
+            byte[] compressed = deflate(body);
+            // 压缩后没有变小时，不压缩
+            if (compressed.length < body.length) {
+                body = compressed;
+                flags |= FLAG_DEFLATE;
+            }
+        }
+        if (flags == 0 && codec.getId() == JsonRedisMessageCodec.ID) {
+            return body;
+        }
+        byte[] data = new byte[HEADER_LENGTH + body.length];
+        data[0] = MAGIC;
+        data[1] = VERSION;
+        data[2] = codec.getId();
+        data[3] = flags;
+        System.arraycopy(body, 0, data, HEADER_LENGTH, body.length);
+        return data;
+    }
+
+    /**
+     * 将字节转换为消息
+     *
+     * @param data 字节
+     * @param type 消息类型
+     * @return 消息，data 为空时返回 null
+     */
+    public <T> T read(byte[] data, Class<T> type) {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+        // 没有消息头，为 JSON 消息
+        if (data[0] != MAGIC) {
+            return codecs[JsonRedisMessageCodec.ID].decode(data, type);
+        }
+        if (data.length < HEADER_LENGTH) {
+            throw new IllegalArgumentException(String.format("消息长度(%d) 小于消息头长度", data.length));
+        }
+        if (data[1] > VERSION) {
+            throw new IllegalStateException(String.format("不支持的消息格式版本(%d)，请升级消费端", data[1]));
+        }
+        RedisMessageCodec messageCodec = codecs[data[2] & 0xFF];
+        if (messageCodec == null) {
+            throw new IllegalStateException(String.format("未注册编码标识为(%d) 的编解码器", data[2]));
+        }
+        byte[] body = Arrays.copyOfRange(data, HEADER_LENGTH, data.length);
+        if ((data[3] & FLAG_DEFLATE) != 0) {
+            body = inflate(body);
+        }
+        return messageCodec.decode(body, type);
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("压缩的消息体不完整");
+                }
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException ex) {
+            throw new IllegalArgumentException("压缩的消息体格式错误", ex);
+        } finally {
+            inflater.end();
+        }
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.easy.mq.redis.core.codec;
+
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+/**
+ * Smile 编解码器，JSON 的二进制形式，字段名等重复字符串只写一次，需要引入 jackson-dataformat-smile
+ *
+ * @author 芋道源码
+ */
+public class SmileRedisMessageCodec extends AbstractJacksonRedisMessageCodec {
+
+    public static final byte ID = 1;
+
+    public static final String NAME = "smile";
+
+    public SmileRedisMessageCodec() {
+        super(new SmileMapper());
+    }
+
+    @Override
+    public byte getId() {
+        return ID;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+}
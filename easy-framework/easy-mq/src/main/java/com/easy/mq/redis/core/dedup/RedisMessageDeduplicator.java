@@ -0,0 +1,183 @@
+package com.easy.mq.redis.core.dedup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stream 消息的去重器，记录最近 window 时间内消费成功的消息，用于跳过重复投递的消息
+ *
+ * Redis 中按 window 对时间分桶，每个桶为一个 SET，查询当前桶与上一个桶，桶的过期时间为 2 * window，
+ * 查询、写入都在一次 Lua 调用中完成，批量消息也只需一次往返。Redis 中的记录是精确的，只有 Redis 确认过的消息才会被判定为重复。
+ * 同一 Stream、消费者分组的桶使用相同的 hash tag，保证 Redis Cluster 下位于同一个 slot，可以在一次 Lua 调用中访问。
+ *
+ * localExpectedInsertions 大于 0 时，先查询进程内的 {@link TimeBucketedBloomFilter}：未命中一定不是本实例消费过的消息，
+ * 直接判定为未消费，不访问 Redis；命中时可能是误判，仍需查询 Redis 确认，因此误判只会多一次 Redis 查询，不会丢失消息。
+ * 进程内过滤器只记录本实例消费过的消息，其它实例消费过的消息（例如 pending 消息被其它实例认领）、重启前消费过的消息都无法识别，
+ * 仅适合每个消费者分组只有一个实例的场景；默认不开启，每条消息都查询 Redis。
+ *
+ * 注意：消费成功后才写入记录，因此同一条消息同时在两个消费者中处理时，无法去重。
+ *
+ * @author 芋道源码
+ */
+@Slf4j
+public class RedisMessageDeduplicator {
+
+    private static final String KEY_PREFIX = "redis:mq:dedup:";
+
+    /**
+     * 查询消息是否已消费的 Lua 脚本
+     *
+     * KEYS: [当前桶, 上一个桶]
+     * ARGV: [记录 1, 记录 2, ...]
+     * 返回: [已消费的记录, ...]
+     */
+    private static final String CONTAINS_SCRIPT = "local result = {} " +
+            "for _, key in ipairs(ARGV) do " +
+            "if redis.call('SISMEMBER', KEYS[1], key) == 1 or redis.call('SISMEMBER', KEYS[2], key) == 1 then " +
+            "result[#result + 1] = key " +
+            "end " +
+            "end " +
+            "return result";
+    /**
+     * 记录消息已消费的 Lua 脚本
+     *
+     * KEYS: [当前桶]
+     * ARGV: [过期时间（毫秒）, 记录 1, 记录 2, ...]
+     */
+    private static final String ADD_SCRIPT = "redis.call('SADD', KEYS[1], unpack(ARGV, 2)) " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[1]) " +
+            "return 1";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> CONTAINS_REDIS_SCRIPT = new DefaultRedisScript<>(CONTAINS_SCRIPT, List.class);
+    private static final RedisScript<Long> ADD_REDIS_SCRIPT = new DefaultRedisScript<>(ADD_SCRIPT, Long.class);
+
+    private final RedisTemplate<String, ?> redisTemplate;
+    private final long windowMillis;
+    private final int localExpectedInsertions;
+    private final double localFalsePositiveRate;
+
+    /**
+     * 各 Stream、消费者分组的进程内过滤器，key 为 Redis Key 的前缀
+     */
+    private final Map<String, TimeBucketedBloomFilter> localFilters = new ConcurrentHashMap<>();
+
+    /**
+     * @param redisTemplate           RedisTemplate
+     * @param window                  记录保留的时间，应大于消息可能重复投递的间隔
+     * @param localExpectedInsertions 进程内过滤器每个桶预期写入的记录数量，小于等于 0 时不使用进程内过滤器
+     * @param localFalsePositiveRate  进程内过滤器的误判率
+     */
+    public RedisMessageDeduplicator(RedisTemplate<String, ?> redisTemplate, Duration window,
+                                    int localExpectedInsertions, double localFalsePositiveRate) {
+        this.redisTemplate = redisTemplate;
+        this.windowMillis = window.toMillis();
+        this.localExpectedInsertions = localExpectedInsertions;
+        this.localFalsePositiveRate = localFalsePositiveRate;
+    }
+
+    /**
+     * 查询消息是否已消费
+     *
+     * @param streamKey Stream Key
+     * @param group     消费者分组
+     * @param key       消息编号或业务键
+     * @return 是否已消费
+     */
+    public boolean isConsumed(String streamKey, String group, String key) {
+        return !findConsumed(streamKey, group, Collections.singletonList(key)).isEmpty();
+    }
+
+    /**
+     * 批量查询消息是否已消费
+     *
+     * @param streamKey Stream Key
+     * @param group     消费者分组
+     * @param keys      消息编号或业务键
+     * @return 已消费的消息
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Set<String> findConsumed(String streamKey, String group, Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return Collections.emptySet();
+        }
+        String prefix = buildKeyPrefix(streamKey, group);
+        Collection<String> candidates = keys;
+        TimeBucketedBloomFilter localFilter = getLocalFilter(prefix);
+        if (localFilter != null) {
+            // 进程内过滤器未命中的消息一定未被本实例消费，只有命中的消息需要到 Redis 确认
+            List<String> mightConsumed = new ArrayList<>();
+            for (String key : keys) {
+                if (localFilter.mightContain(key)) {
+                    mightConsumed.add(key);
+                }
+            }
+            if (mightConsumed.isEmpty()) {
+                return Collections.emptySet();
+            }
+            candidates = mightConsumed;
+        }
+        long bucket = System.currentTimeMillis() / windowMillis;
+        List<String> reply = (List<String>) redisTemplate.execute(CONTAINS_REDIS_SCRIPT, RedisSerializer.string(),
+                (RedisSerializer) RedisSerializer.string(), Arrays.asList(prefix + bucket, prefix + (bucket - 1)), candidates.toArray());
+        return reply != null ? new HashSet<>(reply) : Collections.emptySet();
+    }
+
+    /**
+     * 记录消息已消费
+     *
+     * @param streamKey Stream Key
+     * @param group     消费者分组
+     * @param keys      消息编号或业务键
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void markConsumed(String streamKey, String group, Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        String prefix = buildKeyPrefix(streamKey, group);
+        TimeBucketedBloomFilter localFilter = getLocalFilter(prefix);
+        if (localFilter != null) {
+            keys.forEach(localFilter::put);
+        }
+        Object[] args = new Object[keys.size() + 1];
+        args[0] = String.valueOf(windowMillis * 2);
+        int i = 1;
+        for (String key : keys) {
+            args[i++] = key;
+        }
+        redisTemplate.execute(ADD_REDIS_SCRIPT, RedisSerializer.string(), (RedisSerializer) RedisSerializer.string(),
+                Collections.singletonList(prefix + System.currentTimeMillis() / windowMillis), args);
+    }
+
+    private TimeBucketedBloomFilter getLocalFilter(String prefix) {
+        if (localExpectedInsertions <= 0) {
+            return null;
+        }
+        return localFilters.computeIfAbsent(prefix, key -> {
+            TimeBucketedBloomFilter filter = new TimeBucketedBloomFilter(Duration.ofMillis(windowMillis),
+                    localExpectedInsertions, localFalsePositiveRate);
+            log.info("[getLocalFilter][创建({}) 的去重过滤器，每个桶 {} 字节]", key, filter.getBucketBytes());
+            return filter;
+        });
+    }
+
+    static String buildKeyPrefix(String streamKey, String group) {
+        return KEY_PREFIX + "{" + streamKey + ":" + group + "}:";
+    }
+
+}
@@ -0,0 +1,140 @@
+package com.easy.mq.redis.core.dedup;
+
+import cn.hutool.core.lang.hash.MurmurHash;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 按时间分桶的布隆过滤器，用于在进程内记录最近消费过的消息
+ *
+ * 由当前桶与上一个桶组成，写入当前桶，查询两个桶。当前桶存在超过 window 或写入数量达到 expectedInsertions 时轮换，
+ * 丢弃上一个桶，因此记录至少保留 window（写入过快时例外），误判率始终不超过 falsePositiveRate。
+ * 每条记录约占 -ln(falsePositiveRate) / (ln2)^2 位，误判率为 1e-9 时约 5.4 字节。
+ *
+ * @author 芋道源码
+ */
+public class TimeBucketedBloomFilter {
+
+    private final long windowMillis;
+    private final int expectedInsertions;
+    /**
+     * 每个桶的位数
+     */
+    private final long bitSize;
+    /**
+     * 每条记录的哈希函数个数
+     */
+    private final int hashFunctions;
+
+    private volatile Bucket current;
+    private volatile Bucket previous;
+
+    /**
+     * @param window             记录保留的时间
+     * @param expectedInsertions 每个桶预期写入的记录数量
+     * @param falsePositiveRate  误判率
+     */
+    public TimeBucketedBloomFilter(Duration window, int expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("expectedInsertions 必须大于 0，falsePositiveRate 必须在 (0, 1) 之间");
+        }
+        this.windowMillis = window.toMillis();
+        this.expectedInsertions = expectedInsertions;
+        this.bitSize = Math.max(64, (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+        this.current = new Bucket(bitSize, System.currentTimeMillis());
+        this.previous = new Bucket(bitSize, 0);
+    }
+
+    /**
+     * 是否可能包含该记录，返回 false 时一定不包含
+     *
+     * @param key 记录
+     * @return 是否可能包含
+     */
+    public boolean mightContain(String key) {
+        long[] hash = hash(key);
+        return current.mightContain(hash) || previous.mightContain(hash);
+    }
+
+    /**
+     * 写入记录
+     *
+     * @param key 记录
+     */
+    public void put(String key) {
+        long[] hash = hash(key);
+        rotateIfNecessary().put(hash);
+    }
+
+    /**
+     * @return 每个桶占用的字节数
+     */
+    public long getBucketBytes() {
+        return bitSize / 8;
+    }
+
+    private Bucket rotateIfNecessary() {
+        Bucket bucket = current;
+        long now = System.currentTimeMillis();
+        if (now - bucket.startTime < windowMillis && bucket.insertions.get() < expectedInsertions) {
+            return bucket;
+        }
+        synchronized (this) {
+            if (current == bucket) {
+                previous = bucket;
+                current = new Bucket(bitSize, now);
+            }
+            return current;
+        }
+    }
+
+    private static long[] hash(String key) {
+        return MurmurHash.hash128(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private class Bucket {
+
+        private final AtomicLongArray bits;
+        private final long startTime;
+        private final AtomicInteger insertions = new AtomicInteger();
+
+        private Bucket(long bitSize, long startTime) {
+            this.bits = new AtomicLongArray((int) ((bitSize + 63) >>> 6));
+            this.startTime = startTime;
+        }
+
+        private boolean mightContain(long[] hash) {
+            // 双重哈希模拟 k 个哈希函数
+            long combined = hash[0];
+            for (int i = 0; i < hashFunctions; i++) {
+                combined += hash[1];
+                long index = (combined & Long.MAX_VALUE) % bitSize;
+                if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void put(long[] hash) {
+            long combined = hash[0];
+            for (int i = 0; i < hashFunctions; i++) {
+                combined += hash[1];
+                long index = (combined & Long.MAX_VALUE) % bitSize;
+                int word = (int) (index >>> 6);
+                long mask = 1L << index;
+                long value;
+                do {
+                    value = bits.get(word);
+                } while ((value & mask) == 0 && !bits.compareAndSet(word, value, value | mask));
+            }
+            insertions.incrementAndGet();
+        }
+
+    }
+
+}
@@ -1,23 +1,37 @@
 package com.easy.mq.redis.core.job;
 
-import cn.hutool.core.collection.CollUtil;
+import com.easy.mq.redis.config.RedisMQProperties;
 import com.easy.mq.redis.core.RedisMQTemplate;
+import com.easy.mq.redis.core.stream.AbstractRedisStreamBatchMessageListener;
 import com.easy.mq.redis.core.stream.AbstractRedisStreamMessageListener;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
-import org.springframework.data.domain.Range;
-import org.springframework.data.redis.connection.stream.*;
-import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.scheduling.annotation.Scheduled;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * 这个任务用于处理，crash 之后的消费者未消费完的消息
+ *
+ * 通过 XAUTOCLAIM 分批认领空闲超过 {@link RedisMQProperties#getPendingIdleTime()} 的 pending 消息，认领到当前消费者后直接交给监听器消费，
+ * 消息 ID 与内容保持不变。每次认领都会增加消息的投递次数，超过 {@link RedisMQProperties#getMaxDeliveries()} 的消息
+ * 转入死信 Stream 并 ack，避免无法消费的消息被无限重投。认领、死信转移在一次 Lua 调用中完成。
+ *
+ * Redis 6.2 以下版本不支持 XAUTOCLAIM，改用 XPENDING 分页 + XCLAIM 逐条认领，语义一致。
+ * 死信 Stream 与原 Stream 使用相同的 hash tag（见 {@link RedisMQProperties#getDeadLetterKey(String)}），Redis Cluster 下也可执行。
  */
 @Slf4j
 @AllArgsConstructor
@@ -26,17 +40,104 @@ public class RedisPendingMessageResendJob {
     private static final String LOCK_KEY = "redis:pending:msg:lock";
 
     /**
-     * 消息超时时间，默认 5 分钟
+     * 认领游标的起始值，返回该值时表示已遍历完 pending 列表
+     */
+    private static final String CURSOR_START = "0-0";
+
+    /**
+     * 认领单条消息的 Lua 片段，XAUTOCLAIM 与 XCLAIM 两种方式共用
+     *
+     * 已删除的消息：Redis 7.0 之前仍留在 pending 列表中，XCLAIM 返回 nil，直接 ack；7.0 起已移出 pending 列表，XCLAIM 不返回
+     */
+    private static final String CLAIM_ENTRY_SCRIPT = "local maxDeliveries = tonumber(ARGV[6]) " +
+            "local reply = {'0-0', '0'} " +
+            "local dead = 0 " +
+            "local function claim(id, minIdle) " +
+            "local entry = redis.call('XCLAIM', KEYS[1], ARGV[1], ARGV[2], minIdle, id)[1] " +
+            "if entry == nil then return end " +
+            "if not entry then " +
+            "redis.call('XACK', KEYS[1], ARGV[1], id) " +
+            "return " +
+            "end " +
+            "local fields = entry[2] " +
+            "local deliveries = redis.call('XPENDING', KEYS[1], ARGV[1], id, id, 1)[1][4] " +
+            "if maxDeliveries > 0 and deliveries > maxDeliveries then " +
+            "local args = {} " +
+            "for i = 1, #fields do args[#args + 1] = fields[i] end " +
+            "args[#args + 1] = 'originId' " +
+            "args[#args + 1] = id " +
+            "args[#args + 1] = 'deliveries' " +
+            "args[#args + 1] = tostring(deliveries) " +
+            "redis.call('XADD', KEYS[2], '*', unpack(args)) " +
+            "redis.call('XACK', KEYS[1], ARGV[1], id) " +
+            "dead = dead + 1 " +
+            "return " +
+            "end " +
+            "local payload = '' " +
+            "for i = 1, #fields, 2 do " +
+            "if fields[i] == 'payload' then payload = fields[i + 1] break end " +
+            "end " +
+            "reply[#reply + 1] = id " +
+            "reply[#reply + 1] = payload " +
+            "end ";
+
+    /**
+     * 通过 XAUTOCLAIM 认领 pending 消息的 Lua 脚本，要求 Redis 6.2 以上版本
+     *
+     * 先以 JUSTID 取得空闲消息的 ID（包括 Redis 7.0 之前已删除的消息），再逐条 XCLAIM 取得内容并增加投递次数
+     *
+     * KEYS: [Stream, 死信 Stream]
+     * ARGV: [消费者分组, 消费者, 最小空闲时间（毫秒）, 游标, 认领数量, 最大投递次数]
+     * 返回: [下一个游标, 转入死信的数量, 消息 ID 1, 消息内容 1, 消息 ID 2, 消息内容 2, ...]
+     */
+    private static final String AUTO_CLAIM_SCRIPT = CLAIM_ENTRY_SCRIPT +
+            "local claimed = redis.call('XAUTOCLAIM', KEYS[1], ARGV[1], ARGV[2], ARGV[3], ARGV[4], 'COUNT', ARGV[5], 'JUSTID') " +
+            "reply[1] = claimed[1] " +
+            "for _, id in ipairs(claimed[2]) do claim(id, 0) end " +
+            "reply[2] = tostring(dead) " +
+            "return reply";
+
+    /**
+     * 通过 XPENDING + XCLAIM 认领 pending 消息的 Lua 脚本，用于 Redis 6.2 以下版本，参数与返回值同 {@link #AUTO_CLAIM_SCRIPT}
      *
-     * 1. 超时的消息才会被重新投递
-     * 2. 由于定时任务 1 分钟一次，消息超时后不会被立即重投，极端情况下消息5分钟过期后，再等 1 分钟才会被扫瞄到
+     * 多取一条 pending 消息，其 ID 作为下一个游标（包含），与 XAUTOCLAIM 的游标语义一致
      */
-    private static final int EXPIRE_TIME = 5 * 60;
+    private static final String PENDING_CLAIM_SCRIPT = CLAIM_ENTRY_SCRIPT +
+            "local count = tonumber(ARGV[5]) " +
+            "local minIdle = tonumber(ARGV[3]) " +
+            "local pending = redis.call('XPENDING', KEYS[1], ARGV[1], ARGV[4], '+', count + 1) " +
+            "for i = 1, math.min(#pending, count) do " +
+            "if pending[i][3] >= minIdle then claim(pending[i][1], ARGV[3]) end " +
+            "end " +
+            "if #pending > count then reply[1] = pending[count + 1][1] end " +
+            "reply[2] = tostring(dead) " +
+            "return reply";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> AUTO_CLAIM_REDIS_SCRIPT = new DefaultRedisScript<>(AUTO_CLAIM_SCRIPT, List.class);
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> PENDING_CLAIM_REDIS_SCRIPT = new DefaultRedisScript<>(PENDING_CLAIM_SCRIPT, List.class);
 
+    /**
+     * 逐条消费的监听器
+     */
     private final List<AbstractRedisStreamMessageListener<?>> listeners;
+    /**
+     * 批量消费的监听器
+     */
+    private final List<AbstractRedisStreamBatchMessageListener<?>> batchListeners;
     private final RedisMQTemplate redisTemplate;
-    private final String groupName;
+    /**
+     * 当前实例的消费者名字，认领的消息归属到该消费者
+     */
+    private final String consumerName;
     private final RedissonClient redissonClient;
+    private final RedisMQProperties properties;
+    /**
+     * Redis 是否支持 XAUTOCLAIM 命令（6.2 以上版本），不支持时使用 XPENDING + XCLAIM
+     */
+    private final boolean autoClaimSupported;
 
     /**
      * 一分钟执行一次,这里选择每分钟的35秒执行，是为了避免整点任务过多的问题
@@ -57,44 +158,77 @@ public class RedisPendingMessageResendJob {
     }
 
     /**
-     * 执行清理逻辑
+     * 执行认领逻辑
      *
      * @see <a href="https://gitee.com/zhijiantianya/ruoyi-vue-pro/pulls/480/files">讨论</a>
      */
     private void execute() {
-        StreamOperations<String, Object, Object> ops = redisTemplate.getRedisTemplate().opsForStream();
-        listeners.forEach(listener -> {
-            PendingMessagesSummary pendingMessagesSummary = Objects.requireNonNull(ops.pending(listener.getStreamKey(), groupName));
-            // 每个消费者的 pending 队列消息数量
-            Map<String, Long> pendingMessagesPerConsumer = pendingMessagesSummary.getPendingMessagesPerConsumer();
-            pendingMessagesPerConsumer.forEach((consumerName, pendingMessageCount) -> {
-                log.info("[processPendingMessage][消费者({}) 消息数量({})]", consumerName, pendingMessageCount);
-                // 每个消费者的 pending消息的详情信息
-                PendingMessages pendingMessages = ops.pending(listener.getStreamKey(), Consumer.from(groupName, consumerName), Range.unbounded(), pendingMessageCount);
-                if (pendingMessages.isEmpty()) {
-                    return;
-                }
-                pendingMessages.forEach(pendingMessage -> {
-                    // 获取消息上一次传递到 consumer 的时间,
-                    long lastDelivery = pendingMessage.getElapsedTimeSinceLastDelivery().getSeconds();
-                    if (lastDelivery < EXPIRE_TIME){
-                        return;
+        listeners.forEach(listener -> claimPendingMessages(listener.getStreamKey(), listener.getGroup(),
+                records -> records.forEach(record -> {
+                    try {
+                        listener.onMessage(record);
+                    } catch (Exception ex) {
+                        // 消费失败的消息留在 pending 列表中，等待下次认领
+                        log.error("[execute][StreamKey({}) 消息({}) 重新消费失败]", listener.getStreamKey(), record.getId(), ex);
                     }
-                    // 获取指定 id 的消息体
-                    List<MapRecord<String, Object, Object>> records = ops.range(listener.getStreamKey(),
-                            Range.of(Range.Bound.inclusive(pendingMessage.getIdAsString()), Range.Bound.inclusive(pendingMessage.getIdAsString())));
-                    if (CollUtil.isEmpty(records)) {
-                        return;
+                })));
+        batchListeners.forEach(listener -> claimPendingMessages(listener.getStreamKey(), listener.getGroup(),
+                records -> {
+                    try {
+                        listener.consume(records);
+                    } catch (Exception ex) {
+                        log.error("[execute][StreamKey({}) {} 条消息重新消费失败]", listener.getStreamKey(), records.size(), ex);
                     }
-                    // 重新投递消息
-                    redisTemplate.getRedisTemplate().opsForStream().add(StreamRecords.newRecord()
-                            .ofObject(records.get(0).getValue()) // 设置内容
-                            .withStreamKey(listener.getStreamKey()));
-                    // ack 消息消费完成
-                    redisTemplate.getRedisTemplate().opsForStream().acknowledge(groupName, records.get(0));
-                    log.info("[processPendingMessage][消息({})重新投递成功]", records.get(0).getId());
-                });
-            });
-        });
+                }));
+    }
+
+    /**
+     * 分批认领 Stream 的 pending 消息，直到遍历完 pending 列表
+     *
+     * @param streamKey Stream Key
+     * @param group     消费者分组
+     * @param consumer  认领到的消息的处理逻辑
+     */
+    private void claimPendingMessages(String streamKey, String group, Consumer<List<MapRecord<String, String, byte[]>>> consumer) {
+        String cursor = CURSOR_START;
+        do {
+            List<byte[]> reply = claim(streamKey, group, cursor);
+            if (reply.size() < 2) {
+                return;
+            }
+            cursor = toString(reply.get(0));
+            int deadCount = Integer.parseInt(toString(reply.get(1)));
+            if (deadCount > 0) {
+                log.warn("[claimPendingMessages][StreamKey({}) {} 条消息超过最大投递次数({})，已转入死信 Stream({})]",
+                        streamKey, deadCount, properties.getMaxDeliveries(), properties.getDeadLetterKey(streamKey));
+            }
+            if (reply.size() == 2) {
+                continue;
+            }
+            List<MapRecord<String, String, byte[]>> records = new ArrayList<>((reply.size() - 2) / 2);
+            for (int i = 2; i + 1 < reply.size(); i += 2) {
+                records.add(StreamRecords.newRecord().in(streamKey).withId(RecordId.of(toString(reply.get(i))))
+                        .ofMap(Collections.singletonMap(RedisMQTemplate.PAYLOAD_FIELD, reply.get(i + 1))));
+            }
+            log.info("[claimPendingMessages][StreamKey({}) 认领 {} 条消息，重新投递到消费者({})]", streamKey, records.size(), consumerName);
+            consumer.accept(records);
+        } while (!CURSOR_START.equals(cursor));
     }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private List<byte[]> claim(String streamKey, String group, String cursor) {
+        // 返回值统一按字节读取，消息内容由 RedisMessageConverter 解码
+        List<byte[]> reply = (List<byte[]>) redisTemplate.getRedisTemplate().execute(
+                autoClaimSupported ? AUTO_CLAIM_REDIS_SCRIPT : PENDING_CLAIM_REDIS_SCRIPT,
+                RedisSerializer.string(), (RedisSerializer) RedisSerializer.byteArray(),
+                Arrays.asList(streamKey, properties.getDeadLetterKey(streamKey)),
+                group, consumerName, String.valueOf(properties.getPendingIdleTime().toMillis()), cursor,
+                String.valueOf(properties.getPendingClaimBatchSize()), String.valueOf(properties.getMaxDeliveries()));
+        return reply != null ? reply : Collections.emptyList();
+    }
+
+    private static String toString(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
 }
@@ -1,25 +1,58 @@
 package com.easy.mq.redis.core.pubsub;
 
 import cn.hutool.core.util.TypeUtil;
-import cn.iocoder.yudao.framework.common.util.json.JsonUtils;
 import com.easy.mq.redis.core.RedisMQTemplate;
 import com.easy.mq.redis.core.interceptor.RedisMessageInterceptor;
 import com.easy.mq.redis.core.message.AbstractRedisMessage;
+import lombok.Getter;
 import lombok.Setter;
 import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.data.redis.connection.Message;
 import org.springframework.data.redis.connection.MessageListener;
 
 import java.lang.reflect.Type;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Redis Pub/Sub 监听器抽象类，用于实现广播消费
  *
+ * 默认在 {@link org.springframework.data.redis.listener.RedisMessageListenerContainer} 的分发线程中消费。
+ * 设置 concurrency 大于 0 时，每个监听器使用独立的消费线程池，消息的解码与处理都在线程池中执行，
+ * 处理慢的监听器不会拖慢其它 Channel；等待队列已满时按 {@link ChannelOverflowPolicy} 处理。
+ *
  * @param <T> 消息类型。一定要填写噢，不然会报错
  * @author 芋道源码
  */
-public abstract class AbstractRedisChannelMessageListener<T extends AbstractRedisChannelMessage> implements MessageListener {
+@Slf4j
+public abstract class AbstractRedisChannelMessageListener<T extends AbstractRedisChannelMessage>
+        implements MessageListener, DisposableBean {
+
+    /**
+     * 默认的等待队列长度
+     */
+    private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    /**
+     * 停止时等待在途消息处理完成的时间
+     */
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+    /**
+     * 丢弃消息时，每丢弃多少条打印一次日志，避免日志刷屏
+     */
+    private static final long DROP_LOG_INTERVAL = 1000;
+    /**
+     * BLOCK 策略下每次等待队列空位的时间，等待期间检查线程池是否已停止，单位：毫秒
+     */
+    private static final long BLOCK_OFFER_INTERVAL_MILLIS = 100;
 
     /**
      * 消息类型
@@ -29,16 +62,61 @@ public abstract class AbstractRedisChannelMessageListener<T extends AbstractRedi
      * Redis Channel
      */
     private final String channel;
+    /**
+     * 消费线程数，为 0 时在容器的分发线程中消费
+     */
+    @Getter
+    private final int concurrency;
+    /**
+     * 等待队列长度
+     */
+    @Getter
+    private final int queueCapacity;
+    /**
+     * 等待队列已满时的处理策略
+     */
+    @Getter
+    private final ChannelOverflowPolicy overflowPolicy;
+    /**
+     * 消费线程池，首次消费时创建
+     */
+    private volatile ThreadPoolExecutor executor;
+    /**
+     * COALESCE 策略下等待处理的消息
+     */
+    private final AtomicReference<PendingMessage> pending = new AtomicReference<>();
+
+    private final LongAdder receivedCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+    /**
+     * 最近一条消息从到达到开始处理的耗时，单位：毫秒
+     */
+    @Getter
+    private volatile long lagMillis;
+
     /**
      * RedisMQTemplate
      */
     @Setter
     private RedisMQTemplate redisMQTemplate;
 
-    @SneakyThrows
     protected AbstractRedisChannelMessageListener() {
+        this(0, 0, ChannelOverflowPolicy.BLOCK);
+    }
+
+    /**
+     * @param concurrency    消费线程数，为 0 时在容器的分发线程中消费
+     * @param queueCapacity  等待队列长度，小于等于 0 时为 1024
+     * @param overflowPolicy 等待队列已满时的处理策略
+     */
+    @SneakyThrows
+    protected AbstractRedisChannelMessageListener(int concurrency, int queueCapacity, ChannelOverflowPolicy overflowPolicy) {
         this.messageType = getMessageClass();
         this.channel = messageType.getDeclaredConstructor().newInstance().getChannel();
+        this.concurrency = Math.max(0, concurrency);
+        this.queueCapacity = queueCapacity > 0 ? queueCapacity : DEFAULT_QUEUE_CAPACITY;
+        this.overflowPolicy = overflowPolicy;
     }
 
     /**
@@ -52,7 +130,81 @@ public abstract class AbstractRedisChannelMessageListener<T extends AbstractRedi
 
     @Override
     public final void onMessage(Message message, byte[] bytes) {
-        T messageObj = JsonUtils.parseObject(message.getBody(), messageType);
+        receivedCount.increment();
+        long receiveTime = System.currentTimeMillis();
+        byte[] body = message.getBody();
+        if (concurrency == 0) {
+            consume(body, receiveTime);
+            return;
+        }
+        // 合并消息：已有消息等待处理时，替换为最新的消息，无需再提交
+        if (overflowPolicy == ChannelOverflowPolicy.COALESCE) {
+            if (pending.getAndSet(new PendingMessage(body, receiveTime)) != null) {
+                coalescedCount.increment();
+                return;
+            }
+            submit(() -> {
+                PendingMessage pendingMessage = pending.getAndSet(null);
+                if (pendingMessage != null) {
+                    consumeQuietly(pendingMessage.body, pendingMessage.receiveTime);
+                }
+            });
+            return;
+        }
+        submit(() -> consumeQuietly(body, receiveTime));
+    }
+
+    private void submit(Runnable task) {
+        ThreadPoolExecutor executor = getExecutor();
+        try {
+            executor.execute(task);
+            return;
+        } catch (RejectedExecutionException ex) {
+            // 等待队列已满，按策略处理
+        }
+        if (overflowPolicy == ChannelOverflowPolicy.BLOCK && offerUntilShutdown(executor, task)) {
+            return;
+        }
+        if (overflowPolicy == ChannelOverflowPolicy.COALESCE) {
+            pending.set(null);
+        }
+        droppedCount.increment();
+        if (droppedCount.sum() % DROP_LOG_INTERVAL == 1) {
+            log.warn("[submit][Channel({}) 等待队列已满({})，已累计丢弃 {} 条消息]", channel, queueCapacity, droppedCount.sum());
+        }
+    }
+
+    /**
+     * 等待队列有空位后放入任务，线程池停止或线程被中断时放弃
+     *
+     * @return 是否放入成功
+     */
+    private static boolean offerUntilShutdown(ThreadPoolExecutor executor, Runnable task) {
+        try {
+            while (!executor.isShutdown()) {
+                // 核心线程已预先启动，直接放入队列即可被消费
+                if (executor.getQueue().offer(task, BLOCK_OFFER_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    // 放入后线程池才停止的，工作线程可能已退出，取回任务按丢弃处理
+                    return !executor.isShutdown() || !executor.getQueue().remove(task);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    private void consumeQuietly(byte[] body, long receiveTime) {
+        try {
+            consume(body, receiveTime);
+        } catch (Exception ex) {
+            log.error("[consumeQuietly][Channel({}) 消息消费失败]", channel, ex);
+        }
+    }
+
+    private void consume(byte[] body, long receiveTime) {
+        lagMillis = System.currentTimeMillis() - receiveTime;
+        T messageObj = redisMQTemplate.getMessageConverter().read(body, messageType);
         try {
             consumeMessageBefore(messageObj);
             // 消费消息
@@ -69,6 +221,72 @@ public abstract class AbstractRedisChannelMessageListener<T extends AbstractRedi
      */
     public abstract void onMessage(T message);
 
+    /**
+     * 获得等待处理的消息数量
+     *
+     * @return 消息数量
+     */
+    public int getQueueSize() {
+        if (overflowPolicy == ChannelOverflowPolicy.COALESCE) {
+            return pending.get() != null ? 1 : 0;
+        }
+        ThreadPoolExecutor executor = this.executor;
+        return executor != null ? executor.getQueue().size() : 0;
+    }
+
+    public long getReceivedCount() {
+        return receivedCount.sum();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    public long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    /**
+     * 创建消费的线程工厂，运行在 JDK 21 以上时可重写为 Thread.ofVirtual().factory() 使用虚拟线程
+     *
+     * @return 线程工厂
+     */
+    protected ThreadFactory createThreadFactory() {
+        AtomicInteger index = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "redis-channel-" + channel + "-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        ThreadPoolExecutor executor = this.executor;
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            log.warn("[destroy][Channel({}) 仍有 {} 条消息未处理完成]", channel, executor.getQueue().size());
+            executor.shutdownNow();
+        }
+    }
+
+    private ThreadPoolExecutor getExecutor() {
+        if (executor == null) {
+            synchronized (this) {
+                if (executor == null) {
+                    ThreadPoolExecutor newExecutor = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                            new ArrayBlockingQueue<>(queueCapacity), createThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+                    newExecutor.prestartAllCoreThreads();
+                    executor = newExecutor;
+                }
+            }
+        }
+        return executor;
+    }
+
     /**
      * 通过解析类上的泛型，获得消息类型
      *
@@ -99,4 +317,19 @@ public abstract class AbstractRedisChannelMessageListener<T extends AbstractRedi
         }
     }
 
+    /**
+     * COALESCE 策略下等待处理的消息
+     */
+    private static class PendingMessage {
+
+        private final byte[] body;
+        private final long receiveTime;
+
+        private PendingMessage(byte[] body, long receiveTime) {
+            this.body = body;
+            this.receiveTime = receiveTime;
+        }
+
+    }
+
 }
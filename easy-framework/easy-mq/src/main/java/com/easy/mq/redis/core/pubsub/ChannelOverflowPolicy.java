@@ -0,0 +1,25 @@
+package com.easy.mq.redis.core.pubsub;
+
+/**
+ * Redis Pub/Sub 监听器的等待队列已满时的处理策略
+ *
+ * @author 芋道源码
+ */
+public enum ChannelOverflowPolicy {
+
+    /**
+     * 阻塞容器的分发线程，直到队列有空位，不丢失消息；监听器停止后不再阻塞，此时到达的消息按丢弃处理
+     */
+    BLOCK,
+    /**
+     * 丢弃新到达的消息
+     */
+    DROP,
+    /**
+     * 合并未处理的消息，最多只有一条消息等待处理，新到达的消息替换等待中的消息
+     *
+     * 适用于缓存刷新等幂等的通知类消息，只需处理最新的一条
+     */
+    COALESCE
+
+}
@@ -0,0 +1,53 @@
+package com.easy.mq.redis.core.pubsub;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Redis Pub/Sub 监听器的监控指标，导出到 Micrometer
+ * <p>
+ * 按 Channel 导出等待队列长度、消费延迟，以及接收、丢弃、合并的消息数量
+ *
+ * @author 芋道源码
+ */
+@RequiredArgsConstructor
+public class RedisChannelMessageMetrics implements MeterBinder {
+
+    private final List<AbstractRedisChannelMessageListener<?>> listeners;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (AbstractRedisChannelMessageListener<?> listener : listeners) {
+            String channel = listener.getChannel();
+            Gauge.builder("easy.mq.redis.channel.queue.size", listener, AbstractRedisChannelMessageListener::getQueueSize)
+                    .tag("channel", channel)
+                    .description("等待处理的消息数量")
+                    .register(registry);
+            Gauge.builder("easy.mq.redis.channel.lag", listener, AbstractRedisChannelMessageListener::getLagMillis)
+                    .tag("channel", channel)
+                    .baseUnit("milliseconds")
+                    .description("最近一条消息从到达到开始处理的耗时")
+                    .register(registry);
+            FunctionCounter.builder("easy.mq.redis.channel.messages", listener, AbstractRedisChannelMessageListener::getReceivedCount)
+                    .tag("channel", channel)
+                    .tag("result", "received")
+                    .description("消息数量")
+                    .register(registry);
+            FunctionCounter.builder("easy.mq.redis.channel.messages", listener, AbstractRedisChannelMessageListener::getDroppedCount)
+                    .tag("channel", channel)
+                    .tag("result", "dropped")
+                    .description("消息数量")
+                    .register(registry);
+            FunctionCounter.builder("easy.mq.redis.channel.messages", listener, AbstractRedisChannelMessageListener::getCoalescedCount)
+                    .tag("channel", channel)
+                    .tag("result", "coalesced")
+                    .description("消息数量")
+                    .register(registry);
+        }
+    }
+}
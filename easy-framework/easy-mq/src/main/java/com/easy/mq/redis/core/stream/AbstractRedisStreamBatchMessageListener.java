@@ -0,0 +1,216 @@
+package com.easy.mq.redis.core.stream;
+
+import cn.hutool.core.util.TypeUtil;
+import com.easy.mq.redis.core.RedisMQTemplate;
+import com.easy.mq.redis.core.dedup.RedisMessageDeduplicator;
+import com.easy.mq.redis.core.interceptor.RedisMessageInterceptor;
+import com.easy.mq.redis.core.message.AbstractRedisMessage;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Redis Stream 批量监听器抽象类，用于实现集群消费
+ *
+ * 与 {@link AbstractRedisStreamMessageListener} 逐条消费、逐条 ack 不同，一次拉取最多 batchSize 条消息，
+ * 整批交给 {@link #onMessages(List)} 处理，成功后以一次 XACK 确认整批消息，适合日志采集等吞吐量大的场景。
+ * 处理失败时整批消息都不 ack，留在 pending 列表中由 {@link com.easy.mq.redis.core.job.RedisPendingMessageResendJob} 重新投递。
+ * 设置 {@link RedisMessageDeduplicator} 后，整批消息以一次查询去重，已消费过的消息不再交给 {@link #onMessages(List)}，随整批一起 ack。
+ *
+ * 注意：拦截器对批次中的每条消息依次调用，基于线程上下文的拦截器（例如多租户）只会保留最后一条消息的上下文，
+ * 需要按消息区分上下文时，应在 {@link #onMessages(List)} 中自行处理。
+ *
+ * @param <T> 消息类型。一定要填写噢，不然会报错
+ * @author 芋道源码
+ */
+@Slf4j
+public abstract class AbstractRedisStreamBatchMessageListener<T extends AbstractRedisStreamMessage> {
+
+    /**
+     * 默认一次拉取的最大消息数量
+     */
+    public static final int DEFAULT_BATCH_SIZE = 100;
+    /**
+     * 默认没有消息时阻塞等待的时间
+     */
+    public static final Duration DEFAULT_POLL_TIMEOUT = Duration.ofSeconds(2);
+
+    /**
+     * 消息类型
+     */
+    private final Class<T> messageType;
+    /**
+     * Redis Channel
+     */
+    @Getter
+    private final String streamKey;
+    /**
+     * 一次拉取的最大消息数量
+     */
+    @Getter
+    private final int batchSize;
+    /**
+     * 没有消息时阻塞等待的时间
+     */
+    @Getter
+    private final Duration pollTimeout;
+
+    /**
+     * Redis 消费者分组，默认使用 spring.application.name 名字
+     */
+    @Value("${spring.application.name}")
+    @Getter
+    private String group;
+    /**
+     * RedisMQTemplate
+     */
+    @Setter
+    private RedisMQTemplate redisMQTemplate;
+    /**
+     * 消息去重器，为 null 时不去重
+     */
+    @Setter
+    private RedisMessageDeduplicator deduplicator;
+
+    protected AbstractRedisStreamBatchMessageListener() {
+        this(DEFAULT_BATCH_SIZE, DEFAULT_POLL_TIMEOUT);
+    }
+
+    /**
+     * @param batchSize   一次拉取的最大消息数量
+     * @param pollTimeout 没有消息时阻塞等待的时间
+     */
+    @SneakyThrows
+    protected AbstractRedisStreamBatchMessageListener(int batchSize, Duration pollTimeout) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize 必须大于 0");
+        }
+        this.messageType = getMessageClass();
+        this.streamKey = messageType.getDeclaredConstructor().newInstance().getStreamKey();
+        this.batchSize = batchSize;
+        this.pollTimeout = pollTimeout;
+    }
+
+    /**
+     * 消费一批拉取到的消息，处理成功后以一次 XACK 确认整批消息
+     *
+     * @param records 消息记录
+     */
+    public void consume(List<MapRecord<String, String, byte[]>> records) {
+        List<T> messages = new ArrayList<>(records.size());
+        List<String> deduplicationKeys = new ArrayList<>(records.size());
+        RecordId[] recordIds = new RecordId[records.size()];
+        for (int i = 0; i < records.size(); i++) {
+            MapRecord<String, String, byte[]> record = records.get(i);
+            recordIds[i] = record.getId();
+            T message = parseMessage(record);
+            if (message != null) {
+                messages.add(message);
+                deduplicationKeys.add(message.getDeduplicationKey() != null ? message.getDeduplicationKey() : record.getId().getValue());
+            }
+        }
+        if (deduplicator != null) {
+            removeConsumed(messages, deduplicationKeys);
+        }
+        try {
+            messages.forEach(this::consumeMessageBefore);
+            // 消费消息
+            if (!messages.isEmpty()) {
+                this.onMessages(messages);
+            }
+            // 记录消息已消费，用于去重
+            if (deduplicator != null) {
+                deduplicator.markConsumed(streamKey, getGroup(), deduplicationKeys);
+            }
+            // ack 整批消息消费完成
+            redisMQTemplate.getRedisTemplate().opsForStream().acknowledge(getStreamKey(), getGroup(), recordIds);
+        } finally {
+            for (int i = messages.size() - 1; i >= 0; i--) {
+                consumeMessageAfter(messages.get(i));
+            }
+        }
+    }
+
+    /**
+     * 移除已消费过的消息，以及批次内去重键重复的消息
+     */
+    private void removeConsumed(List<T> messages, List<String> deduplicationKeys) {
+        Set<String> seen = new HashSet<>(deduplicator.findConsumed(streamKey, getGroup(), deduplicationKeys));
+        Iterator<T> messageIterator = messages.iterator();
+        Iterator<String> keyIterator = deduplicationKeys.iterator();
+        int skipped = 0;
+        while (keyIterator.hasNext()) {
+            messageIterator.next();
+            if (!seen.add(keyIterator.next())) {
+                messageIterator.remove();
+                keyIterator.remove();
+                skipped++;
+            }
+        }
+        if (skipped > 0) {
+            log.info("[removeConsumed][StreamKey({}) 跳过 {} 条已消费的消息]", streamKey, skipped);
+        }
+    }
+
+    /**
+     * 解析消息，无法解析的消息重试也不会成功，返回 null 随整批一起 ack，避免一直留在 pending 列表中
+     */
+    private T parseMessage(MapRecord<String, String, byte[]> record) {
+        try {
+            return redisMQTemplate.getMessageConverter().read(record.getValue().get(RedisMQTemplate.PAYLOAD_FIELD), messageType);
+        } catch (Exception ex) {
+            log.error("[parseMessage][StreamKey({}) 消息({}) 解析失败]", streamKey, record.getId(), ex);
+            return null;
+        }
+    }
+
+    /**
+     * 处理一批消息
+     *
+     * @param messages 消息列表，按消息在 Stream 中的顺序排列
+     */
+    public abstract void onMessages(List<T> messages);
+
+    /**
+     * 通过解析类上的泛型，获得消息类型
+     *
+     * @return 消息类型
+     */
+    @SuppressWarnings("unchecked")
+    private Class<T> getMessageClass() {
+        Type type = TypeUtil.getTypeArgument(getClass(), 0);
+        if (type == null) {
+            throw new IllegalStateException(String.format("类型(%s) 需要设置消息类型", getClass().getName()));
+        }
+        return (Class<T>) type;
+    }
+
+    private void consumeMessageBefore(AbstractRedisMessage message) {
+        assert redisMQTemplate != null;
+        List<RedisMessageInterceptor> interceptors = redisMQTemplate.getInterceptors();
+        // 正序
+        interceptors.forEach(interceptor -> interceptor.consumeMessageBefore(message));
+    }
+
+    private void consumeMessageAfter(AbstractRedisMessage message) {
+        assert redisMQTemplate != null;
+        List<RedisMessageInterceptor> interceptors = redisMQTemplate.getInterceptors();
+        // 倒序
+        for (int i = interceptors.size() - 1; i >= 0; i--) {
+            interceptors.get(i).consumeMessageAfter(message);
+        }
+    }
+
+}
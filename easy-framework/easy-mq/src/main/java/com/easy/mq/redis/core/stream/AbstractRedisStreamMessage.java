@@ -20,4 +20,28 @@ public abstract class AbstractRedisStreamMessage extends AbstractRedisMessage {
         return getClass().getSimpleName();
     }
 
+    /**
+     * 获得分区键，监听器并发消费时，分区键相同的消息按发送顺序依次处理，例如订单编号
+     *
+     * 默认为 null，即不保证消费顺序
+     *
+     * @return 分区键
+     */
+    @JsonIgnore // 避免序列化
+    public Object getShardingKey() {
+        return null;
+    }
+
+    /**
+     * 获得去重键，开启去重时，去重键相同的消息只消费一次，例如订单编号 + 事件类型
+     *
+     * 默认为 null，即使用消息记录的编号去重，只能识别 pending 消息重新投递等同一条记录的重复消费
+     *
+     * @return 去重键
+     */
+    @JsonIgnore // 避免序列化
+    public String getDeduplicationKey() {
+        return null;
+    }
+
 }
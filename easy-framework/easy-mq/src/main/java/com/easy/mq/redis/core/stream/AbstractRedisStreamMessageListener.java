@@ -1,28 +1,50 @@
 package com.easy.mq.redis.core.stream;
 
 import cn.hutool.core.util.TypeUtil;
-import cn.iocoder.yudao.framework.common.util.json.JsonUtils;
 import com.easy.mq.redis.core.RedisMQTemplate;
+import com.easy.mq.redis.core.dedup.RedisMessageDeduplicator;
 import com.easy.mq.redis.core.interceptor.RedisMessageInterceptor;
 import com.easy.mq.redis.core.message.AbstractRedisMessage;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.connection.stream.MapRecord;
 import org.springframework.data.redis.stream.StreamListener;
 
 import java.lang.reflect.Type;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Redis Stream 监听器抽象类，用于实现集群消费
  *
+ * 默认在容器的拉取线程中逐条消费。设置 concurrency 大于 1 时，消息分发到 {@link OrderedStreamWorkerPool} 并发消费：
+ * 分区键（{@link AbstractRedisStreamMessage#getShardingKey()}）相同的消息按顺序处理，在途消息达到 maxInFlight 时拉取线程阻塞；
+ * 每条消息处理成功后才 ack，失败的消息留在 pending 列表中等待重新投递。
+ * 设置 {@link RedisMessageDeduplicator} 后，按 {@link AbstractRedisStreamMessage#getDeduplicationKey()} 或消息记录编号去重，
+ * 已消费过的消息直接 ack，不再调用 {@link #onMessage(AbstractRedisStreamMessage)}。
+ *
  * @param <T> 消息类型。一定要填写噢，不然会报错
  * @author 芋道源码
  */
+@Slf4j
 public abstract class AbstractRedisStreamMessageListener<T extends AbstractRedisStreamMessage>
-        implements StreamListener<String, ObjectRecord<String, String>> {
+        implements StreamListener<String, MapRecord<String, String, byte[]>>, DisposableBean {
+
+    /**
+     * 每个消费线程默认的在途消息数量
+     */
+    private static final int DEFAULT_IN_FLIGHT_PER_WORKER = 16;
+    /**
+     * 停止时等待在途消息处理完成的时间
+     */
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
 
     /**
      * 消息类型
@@ -33,6 +55,20 @@ public abstract class AbstractRedisStreamMessageListener<T extends AbstractRedis
      */
     @Getter
     private final String streamKey;
+    /**
+     * 并发消费的线程数，为 1 时在容器的拉取线程中逐条消费
+     */
+    @Getter
+    private final int concurrency;
+    /**
+     * 已拉取但未处理完成的消息上限
+     */
+    @Getter
+    private final int maxInFlight;
+    /**
+     * 并发消费的线程池，首次消费时创建
+     */
+    private volatile OrderedStreamWorkerPool workerPool;
 
     /**
      * Redis 消费者分组，默认使用 spring.application.name 名字
@@ -45,28 +81,65 @@ public abstract class AbstractRedisStreamMessageListener<T extends AbstractRedis
      */
     @Setter
     private RedisMQTemplate redisMQTemplate;
+    /**
+     * 消息去重器，为 null 时不去重
+     */
+    @Setter
+    private RedisMessageDeduplicator deduplicator;
 
-    @SneakyThrows
     protected AbstractRedisStreamMessageListener() {
+        this(1, 0);
+    }
+
+    /**
+     * @param concurrency 并发消费的线程数
+     * @param maxInFlight 已拉取但未处理完成的消息上限，小于等于 0 时为 concurrency * 16
+     */
+    @SneakyThrows
+    protected AbstractRedisStreamMessageListener(int concurrency, int maxInFlight) {
         this.messageType = getMessageClass();
         this.streamKey = messageType.getDeclaredConstructor().newInstance().getStreamKey();
+        this.concurrency = Math.max(1, concurrency);
+        this.maxInFlight = maxInFlight > 0 ? maxInFlight : this.concurrency * DEFAULT_IN_FLIGHT_PER_WORKER;
     }
 
     @Override
-    public void onMessage(ObjectRecord<String, String> message) {
-        // 消费消息
-        T messageObj = JsonUtils.parseObject(message.getValue(), messageType);
+    public void onMessage(MapRecord<String, String, byte[]> message) {
+        T messageObj = redisMQTemplate.getMessageConverter().read(message.getValue().get(RedisMQTemplate.PAYLOAD_FIELD), messageType);
+        if (concurrency <= 1) {
+            consume(message, messageObj);
+            return;
+        }
+        // 分发到分区键对应的消费线程，在途消息达到上限时阻塞拉取线程
+        try {
+            getWorkerPool().execute(messageObj.getShardingKey(), () -> consume(message, messageObj));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            log.warn("[onMessage][StreamKey({}) 消息({}) 分发被中断，将由 pending 重新投递]", streamKey, message.getId());
+        }
+    }
+
+    private void consume(MapRecord<String, String, byte[]> message, T messageObj) {
+        String deduplicationKey = getDeduplicationKey(message, messageObj);
+        if (deduplicationKey != null && deduplicator.isConsumed(streamKey, getGroup(), deduplicationKey)) {
+            log.info("[consume][StreamKey({}) 消息({}) 去重键({}) 已消费，跳过]", streamKey, message.getId(), deduplicationKey);
+            redisMQTemplate.getRedisTemplate().opsForStream().acknowledge(getGroup(), message);
+            return;
+        }
         try {
             consumeMessageBefore(messageObj);
             // 消费消息
             this.onMessage(messageObj);
+            // 记录消息已消费，用于去重
+            if (deduplicationKey != null) {
+                deduplicator.markConsumed(streamKey, getGroup(), Collections.singletonList(deduplicationKey));
+            }
             // ack 消息消费完成
-            redisMQTemplate.getRedisTemplate().opsForStream().acknowledge(group, message);
+            redisMQTemplate.getRedisTemplate().opsForStream().acknowledge(getGroup(), message);
             // TODO 芋艿：需要额外考虑以下几个点：
             // 1. 处理异常的情况
             // 2. 发送日志；以及事务的结合
-            // 3. 消费日志；以及通用的幂等性
-            // 4. 消费失败的重试，https://zhuanlan.zhihu.com/p/60501638
+            // 3. 消费失败的重试，https://zhuanlan.zhihu.com/p/60501638
         } finally {
             consumeMessageAfter(messageObj);
         }
@@ -79,6 +152,46 @@ public abstract class AbstractRedisStreamMessageListener<T extends AbstractRedis
      */
     public abstract void onMessage(T message);
 
+    private String getDeduplicationKey(MapRecord<String, String, byte[]> message, T messageObj) {
+        if (deduplicator == null) {
+            return null;
+        }
+        String key = messageObj.getDeduplicationKey();
+        return key != null ? key : message.getId().getValue();
+    }
+
+    /**
+     * 创建并发消费的线程工厂，运行在 JDK 21 以上时可重写为 Thread.ofVirtual().factory() 使用虚拟线程
+     *
+     * @return 线程工厂
+     */
+    protected ThreadFactory createThreadFactory() {
+        AtomicInteger index = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "redis-stream-" + streamKey + "-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Override
+    public void destroy() {
+        if (workerPool != null) {
+            workerPool.shutdown(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    private OrderedStreamWorkerPool getWorkerPool() {
+        if (workerPool == null) {
+            synchronized (this) {
+                if (workerPool == null) {
+                    workerPool = new OrderedStreamWorkerPool(concurrency, maxInFlight, createThreadFactory());
+                }
+            }
+        }
+        return workerPool;
+    }
+
     /**
      * 通过解析类上的泛型，获得消息类型
      *
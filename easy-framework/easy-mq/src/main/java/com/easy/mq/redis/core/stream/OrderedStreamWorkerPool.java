@@ -0,0 +1,121 @@
+package com.easy.mq.redis.core.stream;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 按分区键保序的消费线程池
+ *
+ * 由 concurrency 个单线程的执行通道组成，分区键相同的任务总是进入同一通道，按提交顺序执行；
+ * 没有分区键的任务轮询分配到各通道。所有通道共享一个在途任务上限，达到上限时 {@link #execute} 阻塞，
+ * 使拉取线程暂停拉取，形成背压。
+ *
+ * @author 芋道源码
+ */
+@Slf4j
+public class OrderedStreamWorkerPool {
+
+    private final List<ExecutorService> lanes;
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+    private final AtomicInteger roundRobin = new AtomicInteger();
+
+    /**
+     * @param concurrency   执行通道数量
+     * @param maxInFlight   已提交但未执行完成的任务上限
+     * @param threadFactory 线程工厂，运行在 JDK 21 以上时可传入虚拟线程工厂
+     */
+    public OrderedStreamWorkerPool(int concurrency, int maxInFlight, ThreadFactory threadFactory) {
+        if (concurrency <= 0 || maxInFlight <= 0) {
+            throw new IllegalArgumentException("concurrency 与 maxInFlight 必须大于 0");
+        }
+        this.inFlight = new Semaphore(maxInFlight);
+        this.maxInFlight = maxInFlight;
+        this.lanes = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            // 队列长度不会超过 maxInFlight，由信号量限制
+            lanes.add(new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(), threadFactory));
+        }
+    }
+
+    /**
+     * 提交任务，在途任务达到上限时阻塞
+     *
+     * @param shardingKey 分区键，为 null 时不保证顺序
+     * @param task        任务
+     * @throws InterruptedException 等待期间被中断
+     */
+    public void execute(Object shardingKey, Runnable task) throws InterruptedException {
+        inFlight.acquire();
+        try {
+            lane(shardingKey).execute(() -> {
+                try {
+                    task.run();
+                } catch (Throwable ex) {
+                    log.error("[execute][分区键({}) 任务执行异常]", shardingKey, ex);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RuntimeException ex) {
+            inFlight.release();
+            throw ex;
+        }
+    }
+
+    /**
+     * 停止接收任务，并等待已提交的任务执行完成
+     *
+     * @param timeout 最长等待时间
+     * @param unit    时间单位
+     */
+    public void shutdown(long timeout, TimeUnit unit) {
+        lanes.forEach(ExecutorService::shutdown);
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (ExecutorService lane : lanes) {
+            try {
+                if (!lane.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    log.warn("[shutdown][等待消费任务完成超时，未完成的消息将由 pending 重新投递]");
+                    lanes.forEach(ExecutorService::shutdownNow);
+                    return;
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                lanes.forEach(ExecutorService::shutdownNow);
+                return;
+            }
+        }
+    }
+
+    /**
+     * 获得在途任务数量
+     *
+     * @return 在途任务数量
+     */
+    public int getInFlightCount() {
+        return maxInFlight - inFlight.availablePermits();
+    }
+
+    private ExecutorService lane(Object shardingKey) {
+        int index;
+        if (shardingKey == null) {
+            index = roundRobin.getAndIncrement();
+        } else {
+            int hash = shardingKey.hashCode();
+            // 打散哈希值的高位，避免连续的数字键集中在少数通道
+            index = hash ^ (hash >>> 16);
+        }
+        return lanes.get(Math.floorMod(index, lanes.size()));
+    }
+
+}
@@ -0,0 +1,128 @@
+package com.easy.mq.redis.core.stream;
+
+import cn.hutool.core.collection.CollUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.stream.ByteRecord;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis Stream 批量消费的容器
+ *
+ * Spring Data Redis 的 {@link org.springframework.data.redis.stream.StreamMessageListenerContainer} 虽然批量拉取，
+ * 但逐条回调监听器。本容器为每个 {@link AbstractRedisStreamBatchMessageListener} 启动一个拉取线程，
+ * 以 XREADGROUP COUNT batchSize BLOCK pollTimeout 拉取消息，并将整批消息交给监听器处理。
+ * 消息内容以字节读取，由 {@link com.easy.mq.redis.core.codec.RedisMessageConverter} 解码。
+ *
+ * @author 芋道源码
+ */
+@Slf4j
+public class RedisStreamBatchMessageListenerContainer {
+
+    /**
+     * 拉取或消费异常后的等待时间，避免 Redis 不可用时空转
+     */
+    private static final long ERROR_BACKOFF_MILLIS = 1000L;
+
+    private final RedisTemplate<String, ?> redisTemplate;
+    private final String consumerName;
+    private final List<AbstractRedisStreamBatchMessageListener<?>> listeners = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+
+    private volatile boolean running;
+
+    public RedisStreamBatchMessageListenerContainer(RedisTemplate<String, ?> redisTemplate, String consumerName) {
+        this.redisTemplate = redisTemplate;
+        this.consumerName = consumerName;
+    }
+
+    /**
+     * 注册监听器，需在 {@link #start()} 之前调用
+     *
+     * @param listener 监听器
+     */
+    public void register(AbstractRedisStreamBatchMessageListener<?> listener) {
+        listeners.add(listener);
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        listeners.forEach(listener -> {
+            Thread worker = new Thread(() -> poll(listener), "redis-stream-batch-" + listener.getStreamKey());
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        });
+    }
+
+    public synchronized void stop() {
+        running = false;
+        // 拉取线程最多阻塞一个 pollTimeout 后退出
+        for (Thread worker : workers) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        workers.clear();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void poll(AbstractRedisStreamBatchMessageListener<?> listener) {
+        Consumer consumer = Consumer.from(listener.getGroup(), consumerName);
+        StreamReadOptions readOptions = StreamReadOptions.empty()
+                .count(listener.getBatchSize())
+                .block(listener.getPollTimeout());
+        StreamOffset<byte[]> streamOffset = StreamOffset.create(
+                listener.getStreamKey().getBytes(StandardCharsets.UTF_8), ReadOffset.lastConsumed());
+        while (running) {
+            try {
+                List<ByteRecord> records = redisTemplate.execute((RedisCallback<List<ByteRecord>>) connection ->
+                        connection.streamCommands().xReadGroup(consumer, readOptions, streamOffset));
+                if (CollUtil.isNotEmpty(records)) {
+                    listener.consume(deserialize(records));
+                }
+            } catch (Exception ex) {
+                // 消费失败的消息未 ack，留在 pending 列表中等待重新投递
+                log.error("[poll][StreamKey({}) 监听器({}) 消费异常]", listener.getStreamKey(),
+                        listener.getClass().getName(), ex);
+                sleepQuietly();
+            }
+        }
+    }
+
+    private static List<MapRecord<String, String, byte[]>> deserialize(List<ByteRecord> records) {
+        List<MapRecord<String, String, byte[]>> result = new ArrayList<>(records.size());
+        records.forEach(record -> result.add(
+                record.deserialize(RedisSerializer.string(), RedisSerializer.string(), RedisSerializer.byteArray())));
+        return result;
+    }
+
+    private static void sleepQuietly() {
+        try {
+            Thread.sleep(ERROR_BACKOFF_MILLIS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
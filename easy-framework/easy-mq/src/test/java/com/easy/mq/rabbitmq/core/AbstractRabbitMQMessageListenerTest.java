@@ -0,0 +1,103 @@
+package com.easy.mq.rabbitmq.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import com.easy.mq.rabbitmq.core.message.AbstractRabbitMQMessage;
+import com.easy.mq.redis.core.interceptor.RedisMessageInterceptor;
+
+/**
+ * RabbitMQ消息监听器测试类
+ */
+class AbstractRabbitMQMessageListenerTest {
+
+    private TestRabbitMQMessageListener listener;
+
+    @Mock
+    private RabbitMQTemplate rabbitMQTemplate;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private RedisMessageInterceptor interceptor;
+
+    private final Jackson2JsonMessageConverter messageConverter = new Jackson2JsonMessageConverter();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(rabbitMQTemplate.getRabbitTemplate()).thenReturn(rabbitTemplate);
+        when(rabbitMQTemplate.getInterceptors()).thenReturn(Collections.singletonList(interceptor));
+        when(rabbitTemplate.getMessageConverter()).thenReturn(messageConverter);
+
+        listener = new TestRabbitMQMessageListener();
+        listener.setRabbitMQTemplate(rabbitMQTemplate);
+    }
+
+    @Test
+    void testOnMessage() {
+        TestRabbitMQMessage message = new TestRabbitMQMessage();
+        message.setContent("test-message");
+        message.addHeader("tenant-id", "1");
+        Message amqpMessage = messageConverter.toMessage(message, new MessageProperties());
+
+        listener.onMessage(amqpMessage);
+
+        verify(interceptor).consumeMessageBefore(any(TestRabbitMQMessage.class));
+        verify(interceptor).consumeMessageAfter(any(TestRabbitMQMessage.class));
+        assertEquals("test-message", listener.getReceived().getContent());
+        assertEquals("1", listener.getReceived().getHeader("tenant-id"));
+    }
+
+    @Test
+    void testQueueDefaultsToRoutingKey() {
+        assertEquals("TestRabbitMQMessage", listener.getQueue());
+    }
+
+    /**
+     * 测试用的消息类
+     */
+    public static class TestRabbitMQMessage extends AbstractRabbitMQMessage {
+
+        private String content;
+
+        public String getContent() {
+            return content;
+        }
+
+        public void setContent(String content) {
+            this.content = content;
+        }
+    }
+
+    /**
+     * 测试用的监听器类
+     */
+    static class TestRabbitMQMessageListener extends AbstractRabbitMQMessageListener<TestRabbitMQMessage> {
+
+        private TestRabbitMQMessage received;
+
+        @Override
+        public void onMessage(TestRabbitMQMessage message) {
+            received = message;
+        }
+
+        public TestRabbitMQMessage getReceived() {
+            return received;
+        }
+    }
+}
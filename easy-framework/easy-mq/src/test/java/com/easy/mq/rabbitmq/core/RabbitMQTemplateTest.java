@@ -0,0 +1,137 @@
+package com.easy.mq.rabbitmq.core;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import com.easy.mq.rabbitmq.core.message.AbstractRabbitMQMessage;
+import com.easy.mq.redis.core.interceptor.RedisMessageInterceptor;
+
+/**
+ * RabbitMQ操作模板测试类
+ */
+class RabbitMQTemplateTest {
+
+    private RabbitMQTemplate rabbitMQTemplate;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private ConnectionFactory connectionFactory;
+
+    @Mock
+    private RedisMessageInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(rabbitTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+        when(connectionFactory.isPublisherConfirms()).thenReturn(true);
+        // 批量发送时，在同一个 Channel 上执行回调
+        doAnswer(invocation -> invocation.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(rabbitTemplate))
+                .when(rabbitTemplate).invoke(any());
+
+        rabbitMQTemplate = new RabbitMQTemplate(rabbitTemplate);
+        rabbitMQTemplate.addInterceptor(interceptor);
+    }
+
+    /**
+     * 测试发送后等待 broker 确认
+     */
+    @Test
+    void testSendWaitsForConfirm() throws Exception {
+        TestRabbitMQMessage message = new TestRabbitMQMessage();
+
+        CompletableFuture<Void> future = rabbitMQTemplate.send(message);
+
+        verify(interceptor).sendMessageBefore(message);
+        verify(interceptor).sendMessageAfter(message);
+        CorrelationData correlationData = captureCorrelations(1).get(0);
+        assertFalse(future.isDone(), "broker 确认前不应完成");
+
+        correlationData.getFuture().set(new CorrelationData.Confirm(true, null));
+
+        assertTrue(future.isDone());
+        future.get();
+    }
+
+    /**
+     * 测试 broker 未确认时以异常完成
+     */
+    @Test
+    void testSendNack() {
+        CompletableFuture<Void> future = rabbitMQTemplate.send(new TestRabbitMQMessage());
+
+        captureCorrelations(1).get(0).getFuture().set(new CorrelationData.Confirm(false, "queue full"));
+
+        ExecutionException ex = assertThrows(ExecutionException.class, future::get);
+        assertTrue(ex.getCause() instanceof AmqpException);
+    }
+
+    /**
+     * 测试未开启 publisher confirms 时立即完成
+     */
+    @Test
+    void testSendWithoutConfirms() {
+        when(connectionFactory.isPublisherConfirms()).thenReturn(false);
+
+        CompletableFuture<Void> future = rabbitMQTemplate.send(new TestRabbitMQMessage());
+
+        assertTrue(future.isDone());
+    }
+
+    /**
+     * 测试批量发送在同一个 Channel 上完成，全部确认后完成
+     */
+    @Test
+    void testSendBatch() throws Exception {
+        List<TestRabbitMQMessage> messages = Arrays.asList(new TestRabbitMQMessage(), new TestRabbitMQMessage(), new TestRabbitMQMessage());
+
+        CompletableFuture<Void> future = rabbitMQTemplate.sendBatch(messages);
+
+        verify(rabbitTemplate, times(1)).invoke(any());
+        verify(interceptor, times(3)).sendMessageBefore(any());
+        verify(interceptor, times(3)).sendMessageAfter(any());
+        List<CorrelationData> correlations = captureCorrelations(3);
+        // broker 以 multiple 方式确认前两条
+        correlations.get(0).getFuture().set(new CorrelationData.Confirm(true, null));
+        correlations.get(1).getFuture().set(new CorrelationData.Confirm(true, null));
+        assertFalse(future.isDone(), "部分消息确认时不应完成");
+
+        correlations.get(2).getFuture().set(new CorrelationData.Confirm(true, null));
+
+        future.get();
+    }
+
+    private List<CorrelationData> captureCorrelations(int count) {
+        ArgumentCaptor<CorrelationData> captor = ArgumentCaptor.forClass(CorrelationData.class);
+        verify(rabbitTemplate, times(count)).convertAndSend(eq(""), eq("TestRabbitMQMessage"), any(Object.class), captor.capture());
+        return captor.getAllValues();
+    }
+
+    /**
+     * 测试用的RabbitMQ消息类
+     */
+    static class TestRabbitMQMessage extends AbstractRabbitMQMessage {
+    }
+}
@@ -0,0 +1,143 @@
+package com.easy.mq.redis;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import org.redisson.spring.data.connection.RedissonConnectionFactory;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.easy.mq.redis.core.RedisMQTemplate;
+import com.easy.mq.redis.core.stream.AbstractRedisStreamMessage;
+import com.github.fppt.jedismock.RedisServer;
+
+/**
+ * Redis Stream 消息发送基准测试
+ * <p>
+ * 对比逐条 XADD 与 pipelining 批量 XADD 发送一批消息的耗时，运行 main 方法即可。
+ * 默认使用 jedis-mock 内嵌的 Redis，两种方式的差异主要来自网络往返次数；
+ * 需要贴近生产的数据时，可通过 -Dredis.address=redis://host:port 指定真实的 Redis
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedisMQTemplateBenchmark {
+
+    private static final String STREAM_KEY = "benchmark:stream";
+
+    @Param({"100", "1000"})
+    private int messageCount;
+
+    /**
+     * 内嵌的 Redis，指定了 redis.address 时为 null
+     */
+    private RedisServer redisServer;
+
+    private RedissonClient redissonClient;
+
+    private StringRedisTemplate redisTemplate;
+
+    private RedisMQTemplate redisMQTemplate;
+
+    private List<BenchmarkMessage> messages;
+
+    @Setup
+    public void setup() throws IOException {
+        String address = System.getProperty("redis.address");
+        if (address == null) {
+            redisServer = RedisServer.newRedisServer().start();
+            address = "redis://" + redisServer.getHost() + ":" + redisServer.getBindPort();
+        }
+        Config config = new Config();
+        config.useSingleServer().setAddress(address);
+        redissonClient = Redisson.create(config);
+        redisTemplate = new StringRedisTemplate(new RedissonConnectionFactory(redissonClient));
+        redisMQTemplate = new RedisMQTemplate(redisTemplate);
+        // 限制 Stream 长度，避免基准测试写满内存
+        redisMQTemplate.setStreamMaxLen(STREAM_KEY, 10000);
+
+        messages = new ArrayList<>(messageCount);
+        for (int i = 0; i < messageCount; i++) {
+            messages.add(new BenchmarkMessage("order-" + i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        redisTemplate.delete(STREAM_KEY);
+        redissonClient.shutdown();
+        if (redisServer != null) {
+            redisServer.stop();
+        }
+    }
+
+    @Benchmark
+    public RecordId sendOneByOne() {
+        RecordId last = null;
+        for (BenchmarkMessage message : messages) {
+            last = redisMQTemplate.send(message);
+        }
+        return last;
+    }
+
+    @Benchmark
+    public List<RecordId> sendBatch() {
+        return redisMQTemplate.sendBatch(messages);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RedisMQTemplateBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * 基准测试用的Stream消息
+     */
+    public static class BenchmarkMessage extends AbstractRedisStreamMessage {
+
+        private String orderNo;
+
+        public BenchmarkMessage() {
+        }
+
+        public BenchmarkMessage(String orderNo) {
+            this.orderNo = orderNo;
+        }
+
+        public String getOrderNo() {
+            return orderNo;
+        }
+
+        public void setOrderNo(String orderNo) {
+            this.orderNo = orderNo;
+        }
+
+        @Override
+        public String getStreamKey() {
+            return STREAM_KEY;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.easy.mq.redis;
+
+import com.easy.mq.redis.RedisIntegrationTest.TestStreamMessage;
+import com.easy.mq.redis.config.RedisTestConfiguration;
+import com.easy.mq.redis.core.RedisMQTemplate;
+import com.github.fppt.jedismock.RedisServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import org.redisson.spring.data.connection.RedissonConnectionFactory;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Stream 消息批量发送的集成测试，使用 jedis-mock 内嵌的 Redis，不依赖本地 Redis
+ */
+class RedisStreamBatchIntegrationTest {
+
+    private static RedisServer redisServer;
+
+    private static RedissonClient redissonClient;
+
+    private static RedisTemplate<String, Object> redisTemplate;
+
+    private static RedisMQTemplate redisMQTemplate;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        redisServer = RedisServer.newRedisServer().start();
+        Config config = new Config();
+        config.useSingleServer().setAddress("redis://" + redisServer.getHost() + ":" + redisServer.getBindPort());
+        redissonClient = Redisson.create(config);
+        redisTemplate = new RedisTestConfiguration().redisTemplate(new RedissonConnectionFactory(redissonClient));
+        redisMQTemplate = new RedisMQTemplate(redisTemplate);
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        redissonClient.shutdown();
+        redisServer.stop();
+    }
+
+    @Test
+    void testStreamMessageSendBatch() {
+        // 批量发送Stream消息
+        List<TestStreamMessage> messages = Arrays.asList(
+                new TestStreamMessage("批量消息1"), new TestStreamMessage("批量消息2"), new TestStreamMessage("批量消息3"));
+        List<RecordId> recordIds = redisMQTemplate.sendBatch(messages);
+
+        // 验证每条消息都返回有效的Stream消息ID，且按发送顺序递增，并全部写入Stream
+        assertEquals(3, recordIds.size(), "应该返回每条消息的Stream消息ID");
+        assertTrue(recordIds.get(0).getTimestamp() <= recordIds.get(2).getTimestamp(), "消息ID应该按发送顺序递增");
+        assertEquals(3L, redisTemplate.opsForStream().size("test:stream"), "批量发送的消息应该全部写入Stream");
+    }
+}
@@ -0,0 +1,91 @@
+package com.easy.mq.redis.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+
+/**
+ * 延迟消息转移器测试类
+ */
+class RedisDelayedMessageMoverTest {
+
+    @Mock
+    private RedisMQTemplate redisMQTemplate;
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RLock lock;
+
+    private RedisDelayedMessageMover mover;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(redisMQTemplate.getDelayedShards()).thenReturn(2);
+        when(redissonClient.getLock(anyString())).thenReturn(lock);
+
+        mover = new RedisDelayedMessageMover(redisMQTemplate, redissonClient, 2, Duration.ofMillis(10));
+    }
+
+    /**
+     * 测试还有到期的消息时继续转移，并返回各分片中最早的下一条消息的投递时间
+     */
+    @Test
+    void testMoveDueMessages() {
+        // 分片 0 第一批之后仍有到期的消息（投递时间为 0）
+        when(redisMQTemplate.moveDueDelayedMessages(eq(0), anyLong(), eq(2))).thenReturn(0L, Long.MAX_VALUE - 1);
+        when(redisMQTemplate.moveDueDelayedMessages(eq(1), anyLong(), eq(2))).thenReturn(Long.MAX_VALUE - 2);
+
+        long nextDeliverTime = mover.moveDueMessages();
+
+        assertEquals(Long.MAX_VALUE - 2, nextDeliverTime);
+        verify(redisMQTemplate, times(2)).moveDueDelayedMessages(eq(0), anyLong(), eq(2));
+        verify(redisMQTemplate, times(1)).moveDueDelayedMessages(eq(1), anyLong(), eq(2));
+    }
+
+    /**
+     * 测试没有延迟消息时返回 -1
+     */
+    @Test
+    void testMoveDueMessagesEmpty() {
+        when(redisMQTemplate.moveDueDelayedMessages(anyInt(), anyLong(), anyInt())).thenReturn(-1L);
+
+        assertEquals(-1, mover.moveDueMessages());
+        verify(redisMQTemplate, times(2)).moveDueDelayedMessages(anyInt(), anyLong(), anyInt());
+    }
+
+    /**
+     * 测试非 leader 实例不转移消息
+     */
+    @Test
+    void testNotLeader() throws Exception {
+        when(lock.tryLock()).thenReturn(false);
+
+        mover.start();
+        Thread.sleep(50);
+        mover.stop();
+
+        verify(lock, atLeastOnce()).tryLock();
+        verify(redisMQTemplate, never()).moveDueDelayedMessages(anyInt(), anyLong(), anyInt());
+        verify(redisMQTemplate).setDelayedMessageMover(mover);
+        verify(redisMQTemplate).setDelayedMessageMover(null);
+    }
+}
@@ -0,0 +1,161 @@
+package com.easy.mq.redis.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.stream.RecordId;
+
+import com.easy.mq.redis.core.stream.AbstractRedisStreamMessage;
+
+/**
+ * Redis Stream消息缓冲发送器测试类
+ */
+class RedisMQBufferedProducerTest {
+
+    private RedisMQTemplate redisMQTemplate;
+
+    private RedisMQBufferedProducer producer;
+
+    @BeforeEach
+    void setUp() {
+        redisMQTemplate = mock(RedisMQTemplate.class);
+        when(redisMQTemplate.sendBatch(anyCollection())).thenAnswer(invocation -> {
+            Collection<?> messages = invocation.getArgument(0);
+            List<RecordId> recordIds = new ArrayList<>();
+            for (int i = 0; i < messages.size(); i++) {
+                recordIds.add(RecordId.of(i + 1 + "-0"));
+            }
+            return recordIds;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (producer != null) {
+            producer.destroy();
+        }
+    }
+
+    /**
+     * 测试缓冲区满时由发送线程立即提交
+     */
+    @Test
+    void testFlushWhenBatchFull() throws Exception {
+        producer = new RedisMQBufferedProducer(redisMQTemplate, 3, Duration.ofHours(1));
+
+        CompletableFuture<RecordId> first = producer.send(new TestStreamMessage());
+        producer.send(new TestStreamMessage());
+        assertFalse(first.isDone(), "未满一批时不应提交");
+        CompletableFuture<RecordId> third = producer.send(new TestStreamMessage());
+
+        assertTrue(third.isDone(), "满一批时应立即提交");
+        assertEquals(RecordId.of("1-0"), first.get());
+        assertEquals(RecordId.of("3-0"), third.get());
+        assertEquals(0, producer.getBufferedCount());
+        verify(redisMQTemplate, times(1)).sendBatch(anyCollection());
+    }
+
+    /**
+     * 测试未满一批时按间隔定时提交
+     */
+    @Test
+    void testFlushOnInterval() throws Exception {
+        producer = new RedisMQBufferedProducer(redisMQTemplate, 100, Duration.ofMillis(20));
+
+        CompletableFuture<RecordId> future = producer.send(new TestStreamMessage());
+
+        assertEquals(RecordId.of("1-0"), future.get(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * 测试提交失败时对应的消息以异常结束
+     */
+    @Test
+    void testFlushFailure() {
+        when(redisMQTemplate.sendBatch(anyCollection())).thenThrow(new IllegalStateException("连接失败"));
+        producer = new RedisMQBufferedProducer(redisMQTemplate, 1, Duration.ofHours(1));
+
+        CompletableFuture<RecordId> future = producer.send(new TestStreamMessage());
+
+        ExecutionException ex = assertThrows(ExecutionException.class, future::get);
+        assertTrue(ex.getCause() instanceof IllegalStateException);
+    }
+
+    /**
+     * 测试关闭时提交剩余消息，关闭后不再接收消息
+     */
+    @Test
+    void testDestroyFlushesRemaining() {
+        producer = new RedisMQBufferedProducer(redisMQTemplate, 100, Duration.ofHours(1));
+        CompletableFuture<RecordId> future = producer.send(new TestStreamMessage());
+        verify(redisMQTemplate, never()).sendBatch(anyCollection());
+
+        producer.destroy();
+
+        assertTrue(future.isDone());
+        assertThrows(IllegalStateException.class, () -> producer.send(new TestStreamMessage()));
+        producer = null;
+    }
+
+    /**
+     * 测试与关闭并发发送时，每条消息要么被拒绝，要么在关闭后已完成，不会丢失
+     */
+    @Test
+    void testConcurrentSendDuringDestroy() throws Exception {
+        producer = new RedisMQBufferedProducer(redisMQTemplate, 100, Duration.ofHours(1));
+        List<CompletableFuture<RecordId>> futures = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 4; i++) {
+            executor.execute(() -> {
+                try {
+                    while (true) {
+                        futures.add(producer.send(new TestStreamMessage()));
+                    }
+                } catch (IllegalStateException ignored) {
+                    // 关闭后拒绝发送
+                }
+            });
+        }
+        Thread.sleep(20);
+        producer.destroy();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertFalse(futures.isEmpty());
+        futures.forEach(future -> assertTrue(future.isDone(), "关闭前接收的消息都应已提交"));
+        producer = null;
+    }
+
+    /**
+     * 测试用的Stream消息类
+     */
+    static class TestStreamMessage extends AbstractRedisStreamMessage {
+
+        @Override
+        public String getStreamKey() {
+            return "test-stream";
+        }
+    }
+}
@@ -1,15 +1,36 @@
 package com.easy.mq.redis.core;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.longThat;
 import static org.mockito.Mockito.*;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.connection.DefaultTuple;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.RedisZSetCommands.Tuple;
+import org.springframework.data.redis.connection.stream.ByteRecord;
 import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
 import com.easy.mq.redis.core.interceptor.RedisMessageInterceptor;
 import com.easy.mq.redis.core.pubsub.AbstractRedisChannelMessage;
@@ -32,6 +53,11 @@ class RedisMQTemplateTest {
     void setUp() {
         MockitoAnnotations.openMocks(this);
         when(redisTemplate.opsForStream()).thenReturn(streamOperations);
+        doReturn(RedisSerializer.string()).when(redisTemplate).getKeySerializer();
+        doReturn(RedisSerializer.string()).when(redisTemplate).getHashKeySerializer();
+        doReturn(RedisSerializer.string()).when(redisTemplate).getHashValueSerializer();
+        doReturn(RedisSerializer.string()).when(redisTemplate).getValueSerializer();
+        doReturn(RedisSerializer.string()).when(redisTemplate).getStringSerializer();
 
         redisMQTemplate = new RedisMQTemplate(redisTemplate);
         redisMQTemplate.addInterceptor(interceptor);
@@ -49,8 +75,8 @@ class RedisMQTemplateTest {
         verify(interceptor).sendMessageBefore(message);
         verify(interceptor).sendMessageAfter(message);
 
-        // 验证Redis模板的convertAndSend方法被调用
-        verify(redisTemplate).convertAndSend(eq("test-channel"), any(String.class));
+        // 验证以编码后的字节直接 PUBLISH
+        verify(redisTemplate).execute(any(RedisCallback.class));
     }
 
     @Test
@@ -59,7 +85,7 @@ class RedisMQTemplateTest {
         TestStreamMessage message = new TestStreamMessage("test-stream-content");
 
         // 模拟Stream操作返回
-        when(streamOperations.add(any())).thenReturn(mock(RecordId.class));
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn(mock(RecordId.class));
 
         // 执行发送
         redisMQTemplate.send(message);
@@ -68,8 +94,117 @@ class RedisMQTemplateTest {
         verify(interceptor).sendMessageBefore(message);
         verify(interceptor).sendMessageAfter(message);
 
-        // 验证Redis Stream操作被调用
-        verify(streamOperations).add(any());
+        // 验证以编码后的字节直接 XADD
+        verify(redisTemplate).execute(any(RedisCallback.class));
+    }
+
+    @Test
+    void testSendBatchStreamMessages() {
+        TestStreamMessage message1 = new TestStreamMessage("content-1");
+        TestStreamMessage message2 = new TestStreamMessage("content-2");
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenReturn(Arrays.asList(RecordId.of("1-0"), RecordId.of("2-0")));
+
+        List<RecordId> recordIds = redisMQTemplate.sendBatch(Arrays.asList(message1, message2));
+
+        // 验证返回的编号与消息顺序一致，且只有一次 pipelining 往返
+        assertEquals(Arrays.asList(RecordId.of("1-0"), RecordId.of("2-0")), recordIds);
+        verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+        verify(streamOperations, never()).add(any());
+        // 验证拦截器对每条消息都被调用，消息的 equals 只比较消息头，因此按引用匹配
+        verify(interceptor).sendMessageBefore(same(message1));
+        verify(interceptor).sendMessageBefore(same(message2));
+        verify(interceptor).sendMessageAfter(same(message1));
+        verify(interceptor).sendMessageAfter(same(message2));
+    }
+
+    @Test
+    void testSendBatchEmpty() {
+        assertTrue(redisMQTemplate.sendBatch(Collections.<TestStreamMessage>emptyList()).isEmpty());
+        redisMQTemplate.sendChannelBatch(Collections.<TestChannelMessage>emptyList());
+
+        verify(redisTemplate, never()).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    void testSendChannelBatch() {
+        TestChannelMessage message1 = new TestChannelMessage("content-1");
+        TestChannelMessage message2 = new TestChannelMessage("content-2");
+
+        redisMQTemplate.sendChannelBatch(Arrays.asList(message1, message2));
+
+        verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+        verify(redisTemplate, never()).convertAndSend(any(), any());
+        verify(interceptor).sendMessageAfter(same(message1));
+        verify(interceptor).sendMessageAfter(same(message2));
+    }
+
+    @Test
+    void testSendStreamMessageWithMaxLen() {
+        redisMQTemplate.setStreamMaxLen("test-stream", 1000);
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn(RecordId.of("1-0"));
+
+        RecordId recordId = redisMQTemplate.send(new TestStreamMessage("test-stream-content"));
+
+        // 需要裁剪的 Stream 直接执行 XADD MAXLEN ~
+        assertEquals(RecordId.of("1-0"), recordId);
+        verify(streamOperations, never()).add(any());
+    }
+
+    @Test
+    void testSendDelayed() {
+        RedisDelayedMessageMover mover = mock(RedisDelayedMessageMover.class);
+        redisMQTemplate.setDelayedMessageMover(mover);
+        TestStreamMessage message = new TestStreamMessage("test-stream-content");
+        long now = System.currentTimeMillis();
+
+        redisMQTemplate.sendDelayed(message, Duration.ofSeconds(30));
+
+        // 验证写入延迟消息的 ZSET，并唤醒转移器
+        verify(redisTemplate).execute(any(RedisCallback.class));
+        verify(streamOperations, never()).add(any());
+        verify(interceptor).sendMessageBefore(message);
+        verify(interceptor).sendMessageAfter(message);
+        verify(mover).wakeup(longThat(deliverTime -> deliverTime >= now + 30000));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testMoveDueDelayedMessages() {
+        redisMQTemplate.setStreamMaxLen("test-stream", 1000);
+        Set<Tuple> tuples = new LinkedHashSet<>(Arrays.asList(
+                new DefaultTuple("test-stream\nid-1\ncontent".getBytes(StandardCharsets.UTF_8), 1000D),
+                new DefaultTuple("malformed".getBytes(StandardCharsets.UTF_8), 2000D),
+                new DefaultTuple("test-stream\nid-2\ncontent".getBytes(StandardCharsets.UTF_8), 5000D)));
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn(tuples, 2L);
+
+        long nextDeliverTime = redisMQTemplate.moveDueDelayedMessages(0, 3000, 10);
+
+        // 返回未到期的下一条消息的投递时间，到期的两条消息（含格式错误的）写入后删除
+        assertEquals(5000, nextDeliverTime);
+        verify(redisTemplate, times(2)).execute(any(RedisCallback.class));
+        ArgumentCaptor<RedisCallback<Object>> captor = ArgumentCaptor.forClass(RedisCallback.class);
+        verify(redisTemplate).executePipelined(captor.capture());
+        // 验证只转移格式正确的消息，且按 MAXLEN ~ 裁剪
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisStreamCommands streamCommands = mock(RedisStreamCommands.class);
+        when(connection.streamCommands()).thenReturn(streamCommands);
+        captor.getValue().doInRedis(connection);
+        verify(streamCommands, times(1)).xAdd(any(ByteRecord.class), argThat((XAddOptions options) ->
+                options.hasMaxlen() && options.getMaxlen() == 1000 && options.isApproximateTrimming()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testMoveDueDelayedMessagesNotDue() {
+        Set<Tuple> tuples = Collections.singleton(
+                new DefaultTuple("test-stream\nid-1\ncontent".getBytes(StandardCharsets.UTF_8), 5000D));
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn(tuples);
+
+        assertEquals(5000, redisMQTemplate.moveDueDelayedMessages(0, 3000, 10));
+        // 没有到期的消息，不写入也不删除
+        verify(redisTemplate, times(1)).execute(any(RedisCallback.class));
+        verify(redisTemplate, never()).executePipelined(any(RedisCallback.class));
     }
 
     // 测试用的Channel消息类
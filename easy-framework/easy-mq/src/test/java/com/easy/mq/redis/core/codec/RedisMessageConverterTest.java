@@ -0,0 +1,121 @@
+package com.easy.mq.redis.core.codec;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import com.easy.mq.redis.core.stream.AbstractRedisStreamMessage;
+
+import cn.iocoder.yudao.framework.common.util.json.JsonUtils;
+
+/**
+ * Redis消息转换器测试类
+ */
+class RedisMessageConverterTest {
+
+    /**
+     * 测试JSON编码不加消息头，与引入编解码器之前的格式一致
+     */
+    @Test
+    void testJsonKeepsLegacyFormat() {
+        RedisMessageConverter converter = new RedisMessageConverter();
+        TestStreamMessage message = newMessage("order-1");
+
+        byte[] data = converter.write(message);
+
+        assertArrayEquals(JsonUtils.toJsonByte(message), data);
+        assertEquals("order-1", converter.read(data, TestStreamMessage.class).getContent());
+    }
+
+    /**
+     * 测试各二进制编码的编解码，以及消费端按消息头选择解码器
+     */
+    @Test
+    void testBinaryCodecs() {
+        RedisMessageConverter reader = new RedisMessageConverter(new JsonRedisMessageCodec(),
+                Arrays.asList(new SmileRedisMessageCodec(), new CborRedisMessageCodec(), new AvroRedisMessageCodec()), 0);
+        for (RedisMessageCodec codec : Arrays.asList(new SmileRedisMessageCodec(), new CborRedisMessageCodec(), new AvroRedisMessageCodec())) {
+            RedisMessageConverter writer = new RedisMessageConverter(codec, Collections.emptyList(), 0);
+            TestStreamMessage message = newMessage("order-" + codec.getName());
+            message.addHeader("tenant-id", "1");
+
+            byte[] data = writer.write(message);
+            TestStreamMessage result = reader.read(data, TestStreamMessage.class);
+
+            assertEquals(0, data[0], codec.getName() + " 编码的消息应带有消息头");
+            assertEquals(codec.getId(), data[2]);
+            assertEquals("order-" + codec.getName(), result.getContent());
+            assertEquals("1", result.getHeader("tenant-id"));
+        }
+        // 消费端仍可读取 JSON 消息
+        assertEquals("order-json", reader.read(JsonUtils.toJsonByte(newMessage("order-json")), TestStreamMessage.class).getContent());
+    }
+
+    /**
+     * 测试消息体达到阈值时压缩
+     */
+    @Test
+    void testCompress() {
+        RedisMessageConverter converter = new RedisMessageConverter(new JsonRedisMessageCodec(), Collections.emptyList(), 64);
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            content.append("order-");
+        }
+        TestStreamMessage message = newMessage(content.toString());
+
+        byte[] data = converter.write(message);
+
+        assertTrue(data.length < JsonUtils.toJsonByte(message).length, "压缩后应变小");
+        assertEquals(1, data[3], "应设置压缩标志");
+        assertEquals(content.toString(), converter.read(data, TestStreamMessage.class).getContent());
+        // 未达到阈值的消息不压缩，仍为 JSON 格式
+        assertArrayEquals(JsonUtils.toJsonByte(newMessage("a")), converter.write(newMessage("a")));
+    }
+
+    /**
+     * 测试未注册的编码与空消息
+     */
+    @Test
+    void testUnknownCodecAndEmpty() {
+        RedisMessageConverter converter = new RedisMessageConverter();
+        byte[] data = new RedisMessageConverter(new SmileRedisMessageCodec(), Collections.emptyList(), 0)
+                .write(newMessage("order-1"));
+
+        assertThrows(IllegalStateException.class, () -> converter.read(data, TestStreamMessage.class));
+        assertNull(converter.read(new byte[0], TestStreamMessage.class));
+    }
+
+    private static TestStreamMessage newMessage(String content) {
+        TestStreamMessage message = new TestStreamMessage();
+        message.setContent(content);
+        return message;
+    }
+
+    /**
+     * 测试用的Stream消息类
+     */
+    public static class TestStreamMessage extends AbstractRedisStreamMessage {
+
+        private String content;
+
+        public String getContent() {
+            return content;
+        }
+
+        public void setContent(String content) {
+            this.content = content;
+        }
+
+        @Override
+        public String getStreamKey() {
+            return "test-stream";
+        }
+    }
+}
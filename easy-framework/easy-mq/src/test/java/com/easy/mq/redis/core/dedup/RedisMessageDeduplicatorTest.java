@@ -0,0 +1,111 @@
+package com.easy.mq.redis.core.dedup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * Stream消息去重器测试类
+ */
+class RedisMessageDeduplicatorTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    private RedisMessageDeduplicator deduplicator;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        deduplicator = new RedisMessageDeduplicator(redisTemplate, Duration.ofMinutes(30), 0, 1e-9);
+    }
+
+    /**
+     * 测试未开启进程内过滤器时，所有消息都查询 Redis
+     */
+    @Test
+    void testFindConsumedFromRedis() {
+        doReturn(Collections.singletonList("2-0")).when(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class),
+                any(RedisSerializer.class), anyList(), eq("1-0"), eq("2-0"));
+
+        Set<String> consumed = deduplicator.findConsumed("test-stream", "test-group", Arrays.asList("1-0", "2-0"));
+
+        assertEquals(Collections.singleton("2-0"), consumed);
+    }
+
+    /**
+     * 测试当前桶与上一个桶使用相同的 hash tag，Redis Cluster 下位于同一个 slot
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testBucketKeysShareHashTag() {
+        ArgumentCaptor<List<String>> keysCaptor = ArgumentCaptor.forClass(List.class);
+        doReturn(Collections.emptyList()).when(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class),
+                any(RedisSerializer.class), keysCaptor.capture(), eq("1-0"));
+
+        deduplicator.findConsumed("test-stream", "test-group", Collections.singletonList("1-0"));
+
+        List<String> keys = keysCaptor.getValue();
+        assertEquals(2, keys.size());
+        for (String key : keys) {
+            assertTrue(key.startsWith("redis:mq:dedup:{test-stream:test-group}:"), key);
+        }
+    }
+
+    /**
+     * 测试进程内过滤器未命中的消息不查询 Redis，命中的消息由 Redis 确认
+     */
+    @Test
+    void testLocalFilter() {
+        RedisMessageDeduplicator localDeduplicator = new RedisMessageDeduplicator(redisTemplate, Duration.ofMinutes(30), 1000, 1e-9);
+        localDeduplicator.markConsumed("test-stream", "test-group", Collections.singletonList("1-0"));
+        doReturn(Collections.singletonList("1-0")).when(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class),
+                any(RedisSerializer.class), anyList(), eq("1-0"));
+
+        Set<String> consumed = localDeduplicator.findConsumed("test-stream", "test-group", Arrays.asList("1-0", "2-0"));
+
+        assertEquals(Collections.singleton("1-0"), consumed);
+        verify(redisTemplate, never()).execute(any(RedisScript.class), any(RedisSerializer.class),
+                any(RedisSerializer.class), anyList(), eq("1-0"), eq("2-0"));
+        // 不同的消费者分组互不影响，未命中时不访问 Redis
+        assertFalse(localDeduplicator.isConsumed("test-stream", "other-group", "1-0"));
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), any(RedisSerializer.class),
+                any(RedisSerializer.class), anyList(), eq("1-0"));
+    }
+
+    /**
+     * 测试进程内过滤器误判时，以 Redis 为准，不会把未消费的消息当作重复消息
+     */
+    @Test
+    void testLocalFilterFalsePositive() {
+        RedisMessageDeduplicator localDeduplicator = new RedisMessageDeduplicator(redisTemplate, Duration.ofMinutes(30), 1000, 1e-9);
+        localDeduplicator.markConsumed("test-stream", "test-group", Collections.singletonList("1-0"));
+        // Redis 中的记录已过期或不存在
+        doReturn(Collections.emptyList()).when(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class),
+                any(RedisSerializer.class), anyList(), eq("1-0"));
+
+        assertFalse(localDeduplicator.isConsumed("test-stream", "test-group", "1-0"));
+    }
+}
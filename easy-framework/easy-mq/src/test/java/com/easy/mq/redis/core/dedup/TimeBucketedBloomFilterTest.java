@@ -0,0 +1,54 @@
+package com.easy.mq.redis.core.dedup;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 按时间分桶的布隆过滤器测试类
+ */
+class TimeBucketedBloomFilterTest {
+
+    /**
+     * 测试写入的记录一定能查到，未写入的记录误判率在预期范围内
+     */
+    @Test
+    void testMightContain() {
+        TimeBucketedBloomFilter filter = new TimeBucketedBloomFilter(Duration.ofMinutes(10), 10000, 1e-6);
+        for (int i = 0; i < 10000; i++) {
+            filter.put("1700000000000-" + i);
+        }
+
+        for (int i = 0; i < 10000; i++) {
+            assertTrue(filter.mightContain("1700000000000-" + i));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100000; i++) {
+            if (filter.mightContain("1800000000000-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives <= 1, "误判数量过多：" + falsePositives);
+    }
+
+    /**
+     * 测试写满一个桶后轮换，只保留当前桶与上一个桶
+     */
+    @Test
+    void testRotateWhenFull() {
+        TimeBucketedBloomFilter filter = new TimeBucketedBloomFilter(Duration.ofMinutes(10), 2, 1e-6);
+        filter.put("a");
+        filter.put("b");
+        filter.put("c"); // 轮换，a、b 进入上一个桶
+        assertTrue(filter.mightContain("a"));
+        filter.put("d");
+        filter.put("e"); // 再次轮换，a、b 被丢弃
+
+        assertFalse(filter.mightContain("a"));
+        assertTrue(filter.mightContain("c"));
+        assertTrue(filter.mightContain("e"));
+    }
+}
@@ -0,0 +1,271 @@
+package com.easy.mq.redis.core.job;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import com.easy.mq.redis.config.RedisMQProperties;
+import com.easy.mq.redis.core.RedisMQTemplate;
+import com.easy.mq.redis.core.codec.RedisMessageConverter;
+import com.easy.mq.redis.core.stream.AbstractRedisStreamBatchMessageListener;
+import com.easy.mq.redis.core.stream.AbstractRedisStreamMessage;
+import com.easy.mq.redis.core.stream.AbstractRedisStreamMessageListener;
+
+/**
+ * Redis Stream pending消息重新投递任务测试类
+ */
+class RedisPendingMessageResendJobTest {
+
+    @Mock
+    private RedisMQTemplate redisMQTemplate;
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private StreamOperations<String, Object, Object> streamOperations;
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RLock lock;
+
+    private TestStreamMessageListener listener;
+
+    private TestStreamBatchMessageListener batchListener;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        doReturn(redisTemplate).when(redisMQTemplate).getRedisTemplate();
+        when(redisMQTemplate.getInterceptors()).thenReturn(Collections.emptyList());
+        when(redisMQTemplate.getMessageConverter()).thenReturn(new RedisMessageConverter());
+        doReturn(streamOperations).when(redisTemplate).opsForStream();
+        when(redissonClient.getLock(anyString())).thenReturn(lock);
+        when(lock.tryLock()).thenReturn(true);
+
+        listener = new TestStreamMessageListener();
+        listener.setRedisMQTemplate(redisMQTemplate);
+        batchListener = new TestStreamBatchMessageListener();
+        batchListener.setRedisMQTemplate(redisMQTemplate);
+    }
+
+    /**
+     * 测试认领的消息保持原消息 ID 直接交给监听器消费，并 ack
+     */
+    @Test
+    void testClaimedMessageDeliveredToListener() {
+        stubClaim("test-stream", "0-0", Arrays.asList("0-0", "0", "1-0", json("a"), "2-0", json("b")));
+
+        newJob(Collections.singletonList(listener), Collections.emptyList()).messageResend();
+
+        assertEquals(Arrays.asList("a", "b"), listener.getContents());
+        verify(streamOperations, times(2)).acknowledge(eq("test-group"), any());
+        verify(lock).unlock();
+    }
+
+    /**
+     * 测试按游标分批认领，直到遍历完 pending 列表
+     */
+    @Test
+    void testClaimInBatchesUntilCursorEnds() {
+        stubClaim("test-batch-stream", "0-0", Arrays.asList("5-0", "0", "1-0", json("a"), "3-0", json("b")));
+        stubClaim("test-batch-stream", "5-0", Arrays.asList("0-0", "1", "6-0", json("c")));
+
+        newJob(Collections.emptyList(), Collections.singletonList(batchListener)).messageResend();
+
+        assertEquals(2, batchListener.getBatches().size(), "每批认领的消息应整批交给批量监听器");
+        assertEquals("c", batchListener.getBatches().get(1).get(0).getContent());
+        verify(streamOperations).acknowledge("test-batch-stream", "test-group", RecordId.of("1-0"), RecordId.of("3-0"));
+        verify(streamOperations).acknowledge("test-batch-stream", "test-group", RecordId.of("6-0"));
+    }
+
+    /**
+     * 测试消费失败的消息不 ack，且不影响后续消息
+     */
+    @Test
+    void testFailedMessageStaysPending() {
+        listener.setFailContent("a");
+        stubClaim("test-stream", "0-0", Arrays.asList("0-0", "0", "1-0", json("a"), "2-0", json("b")));
+
+        newJob(Collections.singletonList(listener), Collections.emptyList()).messageResend();
+
+        assertEquals(Collections.singletonList("b"), listener.getContents());
+        verify(streamOperations, times(1)).acknowledge(eq("test-group"), any());
+    }
+
+    /**
+     * 测试没有需要认领的消息时不调用监听器
+     */
+    @Test
+    void testNothingToClaim() {
+        stubClaim("test-stream", "0-0", Arrays.asList("0-0", "0"));
+
+        newJob(Collections.singletonList(listener), Collections.emptyList()).messageResend();
+
+        assertEquals(0, listener.getContents().size());
+        verify(streamOperations, never()).acknowledge(eq("test-group"), any());
+    }
+
+    /**
+     * 测试 Redis 不支持 XAUTOCLAIM 时改用 XPENDING + XCLAIM 认领，返回值处理一致
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFallbackToPendingClaim() {
+        stubClaim("test-stream", "0-0", Arrays.asList("0-0", "0", "1-0", json("a")));
+
+        new RedisPendingMessageResendJob(Collections.singletonList(listener), Collections.emptyList(), redisMQTemplate,
+                "consumer-1", redissonClient, new RedisMQProperties(), false).messageResend();
+
+        assertEquals(Collections.singletonList("a"), listener.getContents());
+        ArgumentCaptor<RedisScript<?>> script = ArgumentCaptor.forClass(RedisScript.class);
+        verify(redisTemplate).execute(script.capture(), any(RedisSerializer.class), any(RedisSerializer.class),
+                any(List.class), any(), any(), any(), any(), any(), any());
+        assertTrue(script.getValue().getScriptAsString().contains("XCLAIM"));
+        assertFalse(script.getValue().getScriptAsString().contains("XAUTOCLAIM"), "不应使用 XAUTOCLAIM 命令");
+    }
+
+    /**
+     * 测试死信 Stream 与原 Stream 使用相同的 hash tag
+     */
+    @Test
+    void testDeadLetterKeySharesHashTag() {
+        RedisMQProperties properties = new RedisMQProperties();
+        assertEquals("{order-stream}:dead-letter", properties.getDeadLetterKey("order-stream"));
+        assertEquals("order:{stream}:dead-letter", properties.getDeadLetterKey("order:{stream}"));
+    }
+
+    private RedisPendingMessageResendJob newJob(List<AbstractRedisStreamMessageListener<?>> listeners,
+                                                List<AbstractRedisStreamBatchMessageListener<?>> batchListeners) {
+        return new RedisPendingMessageResendJob(listeners, batchListeners, redisMQTemplate,
+                "consumer-1", redissonClient, new RedisMQProperties(), true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubClaim(String streamKey, String cursor, List<String> reply) {
+        List<byte[]> replyBytes = new ArrayList<>(reply.size());
+        reply.forEach(item -> replyBytes.add(item.getBytes(StandardCharsets.UTF_8)));
+        doReturn(replyBytes).when(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                eq(Arrays.asList(streamKey, "{" + streamKey + "}:dead-letter")),
+                eq("test-group"), eq("consumer-1"), eq("300000"), eq(cursor), eq("100"), eq("16"));
+    }
+
+    private static String json(String content) {
+        return "{\"content\":\"" + content + "\"}";
+    }
+
+    /**
+     * 测试用的Stream消息类
+     */
+    public static class TestStreamMessage extends AbstractRedisStreamMessage {
+
+        private String content;
+
+        public String getContent() {
+            return content;
+        }
+
+        public void setContent(String content) {
+            this.content = content;
+        }
+
+        @Override
+        public String getStreamKey() {
+            return "test-stream";
+        }
+    }
+
+    /**
+     * 测试用的批量消费Stream消息类
+     */
+    public static class TestBatchStreamMessage extends TestStreamMessage {
+
+        @Override
+        public String getStreamKey() {
+            return "test-batch-stream";
+        }
+    }
+
+    /**
+     * 测试用的Stream监听器类
+     */
+    static class TestStreamMessageListener extends AbstractRedisStreamMessageListener<TestStreamMessage> {
+
+        private final List<String> contents = new ArrayList<>();
+
+        private String failContent;
+
+        @Override
+        public void onMessage(TestStreamMessage message) {
+            if (message.getContent().equals(failContent)) {
+                throw new IllegalStateException("处理失败");
+            }
+            contents.add(message.getContent());
+        }
+
+        @Override
+        public String getGroup() {
+            return "test-group";
+        }
+
+        public List<String> getContents() {
+            return contents;
+        }
+
+        public void setFailContent(String failContent) {
+            this.failContent = failContent;
+        }
+    }
+
+    /**
+     * 测试用的Stream批量监听器类
+     */
+    static class TestStreamBatchMessageListener extends AbstractRedisStreamBatchMessageListener<TestBatchStreamMessage> {
+
+        private final List<List<TestBatchStreamMessage>> batches = new ArrayList<>();
+
+        @Override
+        public void onMessages(List<TestBatchStreamMessage> messages) {
+            batches.add(messages);
+        }
+
+        @Override
+        public String getGroup() {
+            return "test-group";
+        }
+
+        public List<List<TestBatchStreamMessage>> getBatches() {
+            return batches;
+        }
+    }
+}
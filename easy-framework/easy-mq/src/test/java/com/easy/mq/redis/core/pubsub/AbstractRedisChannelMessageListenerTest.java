@@ -1,13 +1,21 @@
 package com.easy.mq.redis.core.pubsub;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,6 +25,7 @@ import org.springframework.data.redis.connection.Message;
 import org.springframework.data.redis.core.RedisTemplate;
 
 import com.easy.mq.redis.core.RedisMQTemplate;
+import com.easy.mq.redis.core.codec.RedisMessageConverter;
 import com.easy.mq.redis.core.interceptor.RedisMessageInterceptor;
 
 /**
@@ -49,8 +58,9 @@ class AbstractRedisChannelMessageListenerTest {
         List<RedisMessageInterceptor> interceptors = new ArrayList<>();
         interceptors.add(interceptor);
 
-        when(redisMQTemplate.getRedisTemplate()).thenReturn(any());
+        when(redisMQTemplate.getRedisTemplate()).thenReturn(null);
         when(redisMQTemplate.getInterceptors()).thenReturn(interceptors);
+        when(redisMQTemplate.getMessageConverter()).thenReturn(new RedisMessageConverter());
 
         // 设置消息内容
         String jsonContent = "{\"content\":\"test-message\"}";
@@ -73,6 +83,105 @@ class AbstractRedisChannelMessageListenerTest {
         assertTrue(listener.isMessageProcessed());
     }
 
+    /**
+     * 测试设置 concurrency 后在监听器自己的线程池中消费
+     */
+    @Test
+    void testOffThreadDispatch() throws Exception {
+        BlockingChannelMessageListener blockingListener = newBlockingListener(1, 16, ChannelOverflowPolicy.BLOCK);
+        blockingListener.release.countDown();
+
+        blockingListener.onMessage(newMessage("a"), new byte[0]);
+
+        assertTrue(blockingListener.started.await(5, TimeUnit.SECONDS));
+        assertNotEquals(Thread.currentThread().getName(), blockingListener.threadName);
+        assertTrue(blockingListener.threadName.startsWith("redis-channel-test-channel-"));
+        blockingListener.destroy();
+    }
+
+    /**
+     * 测试 DROP 策略下等待队列已满时丢弃新消息
+     */
+    @Test
+    void testDropWhenQueueFull() throws Exception {
+        BlockingChannelMessageListener blockingListener = newBlockingListener(1, 1, ChannelOverflowPolicy.DROP);
+
+        blockingListener.onMessage(newMessage("a"), new byte[0]);
+        assertTrue(blockingListener.started.await(5, TimeUnit.SECONDS));
+        blockingListener.onMessage(newMessage("b"), new byte[0]); // 进入等待队列
+        blockingListener.onMessage(newMessage("c"), new byte[0]); // 等待队列已满，丢弃
+
+        assertEquals(1, blockingListener.getQueueSize());
+        assertEquals(1, blockingListener.getDroppedCount());
+        assertEquals(3, blockingListener.getReceivedCount());
+        blockingListener.release.countDown();
+        blockingListener.destroy();
+        assertEquals(2, blockingListener.contents.size());
+    }
+
+    /**
+     * 测试 BLOCK 策略下阻塞等待队列空位时，线程池停止后不再无限阻塞分发线程
+     */
+    @Test
+    void testBlockGivesUpOnShutdown() throws Exception {
+        BlockingChannelMessageListener blockingListener = newBlockingListener(1, 1, ChannelOverflowPolicy.BLOCK);
+
+        blockingListener.onMessage(newMessage("a"), new byte[0]);
+        assertTrue(blockingListener.started.await(5, TimeUnit.SECONDS));
+        blockingListener.onMessage(newMessage("b"), new byte[0]); // 进入等待队列
+        CompletableFuture<Void> blocked = CompletableFuture.runAsync(
+                () -> blockingListener.onMessage(newMessage("c"), new byte[0])); // 等待队列已满，阻塞
+        Thread.sleep(200);
+        assertFalse(blocked.isDone());
+
+        CompletableFuture<Void> destroying = CompletableFuture.runAsync(() -> {
+            try {
+                blockingListener.destroy();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        blocked.get(2, TimeUnit.SECONDS);
+        assertEquals(1, blockingListener.getDroppedCount());
+        blockingListener.release.countDown();
+        destroying.get(10, TimeUnit.SECONDS);
+        assertEquals(2, blockingListener.contents.size());
+    }
+
+    /**
+     * 测试 COALESCE 策略下只处理最新的一条等待消息
+     */
+    @Test
+    void testCoalesce() throws Exception {
+        BlockingChannelMessageListener blockingListener = newBlockingListener(1, 0, ChannelOverflowPolicy.COALESCE);
+
+        blockingListener.onMessage(newMessage("a"), new byte[0]);
+        assertTrue(blockingListener.started.await(5, TimeUnit.SECONDS));
+        blockingListener.onMessage(newMessage("b"), new byte[0]);
+        blockingListener.onMessage(newMessage("c"), new byte[0]);
+        blockingListener.onMessage(newMessage("d"), new byte[0]);
+
+        assertEquals(1, blockingListener.getQueueSize());
+        assertEquals(2, blockingListener.getCoalescedCount());
+        blockingListener.release.countDown();
+        blockingListener.destroy();
+        assertEquals(2, blockingListener.contents.size());
+        assertEquals("a", blockingListener.contents.get(0));
+        assertEquals("d", blockingListener.contents.get(1));
+    }
+
+    private BlockingChannelMessageListener newBlockingListener(int concurrency, int queueCapacity, ChannelOverflowPolicy policy) {
+        BlockingChannelMessageListener blockingListener = new BlockingChannelMessageListener(concurrency, queueCapacity, policy);
+        blockingListener.setRedisMQTemplate(redisMQTemplate);
+        return blockingListener;
+    }
+
+    private static Message newMessage(String content) {
+        Message message = mock(Message.class);
+        when(message.getBody()).thenReturn(("{\"content\":\"" + content + "\"}").getBytes(StandardCharsets.UTF_8));
+        return message;
+    }
+
     /**
      * 测试用的消息类
      */
@@ -111,4 +220,31 @@ class AbstractRedisChannelMessageListenerTest {
             return messageProcessed;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 测试用的监听器类，首条消息处理时阻塞，直到 release
+     */
+    static class BlockingChannelMessageListener extends AbstractRedisChannelMessageListener<TestChannelMessage> {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final List<String> contents = new CopyOnWriteArrayList<>();
+        private volatile String threadName;
+
+        BlockingChannelMessageListener(int concurrency, int queueCapacity, ChannelOverflowPolicy overflowPolicy) {
+            super(concurrency, queueCapacity, overflowPolicy);
+        }
+
+        @Override
+        public void onMessage(TestChannelMessage message) {
+            threadName = Thread.currentThread().getName();
+            contents.add(message.getContent());
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
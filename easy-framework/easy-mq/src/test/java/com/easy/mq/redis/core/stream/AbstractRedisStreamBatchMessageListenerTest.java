@@ -0,0 +1,172 @@
+package com.easy.mq.redis.core.stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StreamOperations;
+
+import com.easy.mq.redis.core.RedisMQTemplate;
+import com.easy.mq.redis.core.codec.RedisMessageConverter;
+import com.easy.mq.redis.core.interceptor.RedisMessageInterceptor;
+
+/**
+ * Redis Stream批量消息监听器测试类
+ */
+class AbstractRedisStreamBatchMessageListenerTest {
+
+    private TestRedisStreamBatchMessageListener listener;
+
+    @Mock
+    private RedisMQTemplate redisMQTemplate;
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private StreamOperations<String, Object, Object> streamOperations;
+
+    @Mock
+    private RedisMessageInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        listener = new TestRedisStreamBatchMessageListener();
+
+        List<RedisMessageInterceptor> interceptors = new ArrayList<>();
+        interceptors.add(interceptor);
+        doReturn(redisTemplate).when(redisMQTemplate).getRedisTemplate();
+        when(redisMQTemplate.getInterceptors()).thenReturn(interceptors);
+        when(redisMQTemplate.getMessageConverter()).thenReturn(new RedisMessageConverter());
+        doReturn(streamOperations).when(redisTemplate).opsForStream();
+
+        listener.setRedisMQTemplate(redisMQTemplate);
+    }
+
+    /**
+     * 测试整批消息一次处理，并以一次 XACK 确认
+     */
+    @Test
+    void testConsumeBatch() {
+        listener.consume(Arrays.asList(record("1-0", "a"), record("2-0", "b"), record("3-0", "c")));
+
+        assertEquals(1, listener.getBatches().size(), "整批消息应一次交给监听器");
+        assertEquals(3, listener.getBatches().get(0).size());
+        assertEquals("b", listener.getBatches().get(0).get(1).getContent(), "消息应保持 Stream 中的顺序");
+        verify(streamOperations).acknowledge("test-stream", "test-group",
+                RecordId.of("1-0"), RecordId.of("2-0"), RecordId.of("3-0"));
+        verify(interceptor, times(3)).consumeMessageBefore(any(TestStreamMessage.class));
+        verify(interceptor, times(3)).consumeMessageAfter(any(TestStreamMessage.class));
+    }
+
+    /**
+     * 测试处理失败时整批消息都不确认
+     */
+    @Test
+    void testConsumeFailureSkipsAck() {
+        listener.setFail(true);
+
+        assertThrows(IllegalStateException.class,
+                () -> listener.consume(Arrays.asList(record("1-0", "a"), record("2-0", "b"))));
+
+        verifyNoInteractions(streamOperations);
+        verify(interceptor, times(2)).consumeMessageAfter(any(TestStreamMessage.class));
+    }
+
+    /**
+     * 测试无法解析的消息被跳过，但随整批一起确认
+     */
+    @Test
+    void testUnparseableRecordIsAcked() {
+        MapRecord<String, String, byte[]> broken = record("2-0", "not-json".getBytes(StandardCharsets.UTF_8));
+
+        listener.consume(Arrays.asList(record("1-0", "a"), broken));
+
+        assertEquals(1, listener.getBatches().get(0).size(), "无法解析的消息不应交给监听器");
+        verify(streamOperations).acknowledge("test-stream", "test-group", RecordId.of("1-0"), RecordId.of("2-0"));
+    }
+
+    private static MapRecord<String, String, byte[]> record(String id, String content) {
+        return record(id, ("{\"content\":\"" + content + "\"}").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static MapRecord<String, String, byte[]> record(String id, byte[] payload) {
+        return StreamRecords.newRecord()
+                .in("test-stream")
+                .withId(RecordId.of(id))
+                .ofMap(Collections.singletonMap(RedisMQTemplate.PAYLOAD_FIELD, payload));
+    }
+
+    /**
+     * 测试用的Stream消息类
+     */
+    static class TestStreamMessage extends AbstractRedisStreamMessage {
+
+        private String content;
+
+        public String getContent() {
+            return content;
+        }
+
+        public void setContent(String content) {
+            this.content = content;
+        }
+
+        @Override
+        public String getStreamKey() {
+            return "test-stream";
+        }
+    }
+
+    /**
+     * 测试用的Stream批量监听器类
+     */
+    static class TestRedisStreamBatchMessageListener extends AbstractRedisStreamBatchMessageListener<TestStreamMessage> {
+
+        private final List<List<TestStreamMessage>> batches = new ArrayList<>();
+
+        private boolean fail;
+
+        @Override
+        public void onMessages(List<TestStreamMessage> messages) {
+            if (fail) {
+                throw new IllegalStateException("处理失败");
+            }
+            batches.add(messages);
+        }
+
+        @Override
+        public String getGroup() {
+            return "test-group";
+        }
+
+        public List<List<TestStreamMessage>> getBatches() {
+            return batches;
+        }
+
+        public void setFail(boolean fail) {
+            this.fail = fail;
+        }
+    }
+}
@@ -3,22 +3,31 @@ package com.easy.mq.redis.core.stream;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.connection.stream.MapRecord;
 import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StreamOperations;
 
 import com.easy.mq.redis.core.RedisMQTemplate;
+import com.easy.mq.redis.core.codec.RedisMessageConverter;
+import com.easy.mq.redis.core.dedup.RedisMessageDeduplicator;
 import com.easy.mq.redis.core.interceptor.RedisMessageInterceptor;
 
 /**
@@ -51,7 +60,7 @@ class AbstractRedisStreamMessageListenerTest {
         List<RedisMessageInterceptor> interceptors = new ArrayList<>();
         interceptors.add(interceptor);
 
-        when(redisMQTemplate.getRedisTemplate()).thenReturn(any());
+        when(redisMQTemplate.getRedisTemplate()).thenReturn(null);
         when(redisMQTemplate.getInterceptors()).thenReturn(interceptors);
         when(redisTemplate.opsForStream()).thenReturn(streamOperations);
 
@@ -103,6 +112,30 @@ class AbstractRedisStreamMessageListenerTest {
         assertTrue(listener.isMessageProcessed());
     }
 
+    /**
+     * 测试开启去重时，已消费过的消息直接 ack，不再处理
+     */
+    @Test
+    void testDeduplication() {
+        RedisMessageDeduplicator deduplicator = mock(RedisMessageDeduplicator.class);
+        listener.setDeduplicator(deduplicator);
+        doReturn(redisTemplate).when(redisMQTemplate).getRedisTemplate();
+        when(redisMQTemplate.getMessageConverter()).thenReturn(new RedisMessageConverter());
+        MapRecord<String, String, byte[]> record = StreamRecords.newRecord().in("test-stream").withId(RecordId.of("1-0"))
+                .ofMap(Collections.singletonMap(RedisMQTemplate.PAYLOAD_FIELD, "{\"content\":\"a\"}".getBytes(StandardCharsets.UTF_8)));
+        when(deduplicator.isConsumed("test-stream", "test-group", "1-0")).thenReturn(false, true);
+
+        // 第一次投递，正常消费并记录
+        listener.onMessage(record);
+        assertTrue(listener.isMessageProcessed());
+        verify(deduplicator).markConsumed("test-stream", "test-group", Collections.singletonList("1-0"));
+
+        // 重复投递，跳过处理
+        listener.onMessage(record);
+        verify(interceptor, times(1)).consumeMessageBefore(any(TestStreamMessage.class));
+        verify(streamOperations, times(2)).acknowledge(eq("test-group"), eq(record));
+    }
+
     /**
      * 测试用的Stream消息类
      */
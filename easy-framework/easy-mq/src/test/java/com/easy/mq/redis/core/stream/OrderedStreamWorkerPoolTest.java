@@ -0,0 +1,107 @@
+package com.easy.mq.redis.core.stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 按分区键保序的消费线程池测试类
+ */
+class OrderedStreamWorkerPoolTest {
+
+    /**
+     * 测试分区键相同的任务按提交顺序执行，不同分区键并发执行
+     */
+    @Test
+    void testOrderedPerShardingKey() throws Exception {
+        OrderedStreamWorkerPool pool = new OrderedStreamWorkerPool(4, 64, Executors.defaultThreadFactory());
+        Map<Integer, List<Integer>> results = new ConcurrentHashMap<>();
+        Map<String, Boolean> threads = new ConcurrentHashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            int key = i % 10;
+            int seq = i;
+            pool.execute(key, () -> {
+                results.computeIfAbsent(key, k -> Collections.synchronizedList(new ArrayList<>())).add(seq);
+                threads.put(Thread.currentThread().getName(), Boolean.TRUE);
+            });
+        }
+        pool.shutdown(10, TimeUnit.SECONDS);
+
+        for (int key = 0; key < 10; key++) {
+            List<Integer> sequence = results.get(key);
+            assertEquals(100, sequence.size());
+            for (int i = 1; i < sequence.size(); i++) {
+                assertTrue(sequence.get(i - 1) < sequence.get(i), "同一分区键的任务应按提交顺序执行");
+            }
+        }
+        assertTrue(threads.size() > 1, "不同分区键的任务应分布到多个线程");
+    }
+
+    /**
+     * 测试在途任务达到上限时提交阻塞
+     */
+    @Test
+    void testBackpressure() throws Exception {
+        OrderedStreamWorkerPool pool = new OrderedStreamWorkerPool(2, 2, Executors.defaultThreadFactory());
+        CountDownLatch release = new CountDownLatch(1);
+        pool.execute("a", () -> awaitQuietly(release));
+        pool.execute("b", () -> awaitQuietly(release));
+        assertEquals(2, pool.getInFlightCount());
+
+        AtomicBoolean submitted = new AtomicBoolean();
+        Thread producer = new Thread(() -> {
+            try {
+                pool.execute("c", () -> { });
+                submitted.set(true);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        Thread.sleep(200);
+        assertFalse(submitted.get(), "在途任务达到上限时提交应阻塞");
+
+        release.countDown();
+        producer.join(5000);
+        assertTrue(submitted.get(), "在途任务完成后应能继续提交");
+        pool.shutdown(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 测试任务异常不影响同一通道的后续任务
+     */
+    @Test
+    void testFailureDoesNotBlockLane() throws Exception {
+        OrderedStreamWorkerPool pool = new OrderedStreamWorkerPool(1, 8, Executors.defaultThreadFactory());
+        AtomicInteger executed = new AtomicInteger();
+        pool.execute("a", () -> {
+            throw new IllegalStateException("处理失败");
+        });
+        pool.execute("a", executed::incrementAndGet);
+        pool.shutdown(5, TimeUnit.SECONDS);
+
+        assertEquals(1, executed.get());
+        assertEquals(0, pool.getInFlightCount(), "异常的任务也应释放在途名额");
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.easy.web.apilog;
 import org.springframework.scheduling.annotation.Async;
 
 import javax.validation.Valid;
+import java.util.List;
 
 /**
  * API 访问日志的 API 实现类
@@ -28,4 +29,15 @@ public interface ApiAccessLogApi {
         createApiAccessLog(createDTO);
     }
 
+    /**
+     * 批量创建 API 访问日志
+     *
+     * 默认逐条创建，实现类可以覆盖为批量插入
+     *
+     * @param createDTOs 访问日志 DTO 列表
+     */
+    default void createApiAccessLogBatch(List<ApiAccessLogCreateReqDTO> createDTOs) {
+        createDTOs.forEach(this::createApiAccessLog);
+    }
+
 }
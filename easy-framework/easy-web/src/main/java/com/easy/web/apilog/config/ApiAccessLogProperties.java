@@ -0,0 +1,117 @@
+package com.easy.web.apilog.config;
+
+import com.easy.web.apilog.core.enums.AccessLogOverflowPolicyEnum;
+import com.easy.web.apilog.core.sampler.ApiAccessLogSampler;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.Valid;
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * API 访问日志配置
+ *
+ * @author 芋道源码
+ */
+@ConfigurationProperties(prefix = "easy.access-log")
+@Validated
+@Data
+public class ApiAccessLogProperties {
+
+    /**
+     * 是否开启访问日志
+     */
+    private Boolean enable = true;
+
+    /**
+     * 缓冲区容量，向上取整为 2 的幂
+     */
+    @Min(value = 1, message = "缓冲区容量必须大于 0")
+    private Integer bufferSize = 8192;
+    /**
+     * 每批写入的最大数量
+     */
+    @Min(value = 1, message = "每批写入的最大数量必须大于 0")
+    private Integer batchSize = 200;
+    /**
+     * 未攒够一批时的写入间隔
+     */
+    @NotNull(message = "写入间隔不能为空")
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /**
+     * 缓冲区的溢出策略
+     */
+    @NotNull(message = "溢出策略不能为空")
+    private AccessLogOverflowPolicyEnum overflowPolicy = AccessLogOverflowPolicyEnum.DROP;
+    /**
+     * 采样水位，缓冲区使用比例达到该值后开始采样，仅 {@link AccessLogOverflowPolicyEnum#SAMPLE} 时生效
+     */
+    @DecimalMin(value = "0", message = "采样水位不能小于 0")
+    @DecimalMax(value = "1", message = "采样水位不能大于 1")
+    private Double sampleWatermark = 0.5;
+    /**
+     * 采样比例，仅 {@link AccessLogOverflowPolicyEnum#SAMPLE} 时生效
+     */
+    @DecimalMin(value = "0", message = "采样比例不能小于 0")
+    @DecimalMax(value = "1", message = "采样比例不能大于 1")
+    private Double sampleRate = 0.1;
+
+    /**
+     * 请求、响应内容脱敏后的最大长度，超过时截断，小于等于 0 时不限制
+     */
+    private Integer sanitizeMaxLength = 8000;
+    /**
+     * 请求内容最多解析的字节数，超过时只记录前面的部分，小于等于 0 时不限制
+     */
+    private Integer requestBodyMaxCaptureSize = 64 * 1024;
+    /**
+     * 敏感字段的掩码，为空时移除敏感字段
+     */
+    private String sanitizeMask;
+
+    /**
+     * 采样配置
+     */
+    @Valid
+    @NotNull(message = "采样配置不能为空")
+    private Sampling sampling = new Sampling();
+
+    @Data
+    public static class Sampling {
+
+        /**
+         * 默认采样比例，0 表示不记录，1 表示全部记录
+         */
+        @DecimalMin(value = "0", message = "默认采样比例不能小于 0")
+        @DecimalMax(value = "1", message = "默认采样比例不能大于 1")
+        private Double rate = 1.0;
+        /**
+         * 按路径配置的采样规则，按顺序匹配，使用第一个匹配的规则
+         *
+         * 例如说，健康检查、列表接口访问量大，可以配置较低的采样比例
+         */
+        private List<ApiAccessLogSampler.Rule> rules = new ArrayList<>();
+        /**
+         * 是否总是记录失败请求，不参与采样
+         */
+        private Boolean alwaysLogError = true;
+        /**
+         * 慢请求的耗时阈值，耗时达到该值的请求不参与采样，为空时不判断
+         */
+        private Duration slowThreshold;
+        /**
+         * 每秒最大记录数量，小于等于 0 时不限制
+         */
+        private Integer maxPerSecond = 0;
+
+    }
+
+}
@@ -4,13 +4,22 @@ import cn.iocoder.yudao.framework.common.enums.WebFilterOrderEnum;
 import com.easy.web.apilog.ApiAccessLogApi;
 import com.easy.web.apilog.core.filter.ApiAccessLogFilter;
 import com.easy.web.apilog.core.interceptor.ApiAccessLogInterceptor;
+import com.easy.web.apilog.core.sampler.ApiAccessLogSampler;
+import com.easy.web.apilog.core.sanitizer.JsonStreamSanitizer;
+import com.easy.web.apilog.core.writer.ApiAccessLogMetrics;
+import com.easy.web.apilog.core.writer.ApiAccessLogWriter;
 import com.easy.web.web.config.WebProperties;
 import com.easy.web.web.config.EasyWebAutoConfiguration;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -20,8 +29,31 @@ import javax.servlet.Filter;
  * WebMvcConfigurer: 拦截器，过滤器，Servlet 相关的配置
  */
 @AutoConfiguration(after = EasyWebAutoConfiguration.class)
+@EnableConfigurationProperties(ApiAccessLogProperties.class)
 public class EasyApiLogAutoConfiguration implements WebMvcConfigurer {
 
+    /**
+     * 创建 ApiAccessLogWriter Bean，异步批量写入 API 请求日志
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "easy.access-log", value = "enable", matchIfMissing = true)
+    public ApiAccessLogWriter apiAccessLogWriter(ApiAccessLogProperties properties, ApiAccessLogApi apiAccessLogApi) {
+        return new ApiAccessLogWriter(apiAccessLogApi, properties.getBufferSize(), properties.getBatchSize(),
+                properties.getFlushInterval(), properties.getOverflowPolicy(),
+                properties.getSampleWatermark(), properties.getSampleRate());
+    }
+
+    /**
+     * 创建 ApiAccessLogSampler Bean，按采样规则决定是否记录 API 请求日志
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "easy.access-log", value = "enable", matchIfMissing = true)
+    public ApiAccessLogSampler apiAccessLogSampler(ApiAccessLogProperties properties) {
+        ApiAccessLogProperties.Sampling sampling = properties.getSampling();
+        return new ApiAccessLogSampler(sampling.getRate(), sampling.getRules(), sampling.getAlwaysLogError(),
+                sampling.getSlowThreshold(), sampling.getMaxPerSecond());
+    }
+
     /**
      * 创建 ApiAccessLogFilter Bean，记录 API 请求日志
      */
@@ -30,8 +62,14 @@ public class EasyApiLogAutoConfiguration implements WebMvcConfigurer {
     // 允许使用 easy.access-log.enable=false 禁用访问日志
     public FilterRegistrationBean<ApiAccessLogFilter> apiAccessLogFilter(WebProperties webProperties,
                                                                          @Value("${spring.application.name}") String applicationName,
-                                                                         ApiAccessLogApi apiAccessLogApi) {
-        ApiAccessLogFilter filter = new ApiAccessLogFilter(webProperties, applicationName, apiAccessLogApi);
+                                                                         ApiAccessLogWriter apiAccessLogWriter,
+                                                                         ApiAccessLogSampler apiAccessLogSampler,
+                                                                         ApiAccessLogProperties properties,
+                                                                         ObjectMapper objectMapper) {
+        JsonStreamSanitizer sanitizer = new JsonStreamSanitizer(objectMapper, ApiAccessLogFilter.SANITIZE_KEYS,
+                properties.getSanitizeMask(), properties.getSanitizeMaxLength(), properties.getRequestBodyMaxCaptureSize());
+        ApiAccessLogFilter filter = new ApiAccessLogFilter(webProperties, applicationName, apiAccessLogWriter, sanitizer,
+                apiAccessLogSampler);
         return createFilterBean(filter, WebFilterOrderEnum.API_ACCESS_LOG_FILTER);
     }
 
@@ -46,4 +84,20 @@ public class EasyApiLogAutoConfiguration implements WebMvcConfigurer {
         registry.addInterceptor(new ApiAccessLogInterceptor());
     }
 
+    /**
+     * 访问日志写入的监控指标，引入 Micrometer 时生效
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    @ConditionalOnBean({ApiAccessLogWriter.class, ApiAccessLogSampler.class})
+    static class ApiAccessLogMetricsConfiguration {
+
+        @Bean
+        public ApiAccessLogMetrics apiAccessLogMetrics(ApiAccessLogWriter apiAccessLogWriter,
+                                                       ApiAccessLogSampler apiAccessLogSampler) {
+            return new ApiAccessLogMetrics(apiAccessLogWriter, apiAccessLogSampler);
+        }
+
+    }
+
 }
@@ -45,6 +45,13 @@ public @interface ApiAccessLog {
      */
     String[] sanitizeKeys() default {};
 
+    /**
+     * 采样比例，0 表示不记录，1 表示全部记录
+     * <p>
+     * 小于 0 时，使用 easy.access-log.sampling 的配置。失败请求、慢请求不受采样比例影响
+     */
+    double sampleRate() default -1;
+
     // ========== 模块字段 ==========
 
     /**
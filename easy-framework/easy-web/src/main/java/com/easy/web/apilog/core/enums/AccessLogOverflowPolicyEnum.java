@@ -0,0 +1,19 @@
+package com.easy.web.apilog.core.enums;
+
+/**
+ * 访问日志缓冲区的溢出策略
+ *
+ * @author 芋道源码
+ */
+public enum AccessLogOverflowPolicyEnum {
+
+    /**
+     * 缓冲区满时丢弃新的访问日志
+     */
+    DROP,
+    /**
+     * 缓冲区达到采样水位后，成功请求的访问日志按比例采样写入，失败请求的访问日志仍全部写入；缓冲区满时丢弃
+     */
+    SAMPLE
+
+}
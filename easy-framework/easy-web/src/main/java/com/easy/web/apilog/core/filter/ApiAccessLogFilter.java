@@ -12,28 +12,32 @@ import cn.iocoder.yudao.framework.common.pojo.CommonResult;
 import cn.iocoder.yudao.framework.common.util.json.JsonUtils;
 import cn.iocoder.yudao.framework.common.util.monitor.TracerUtils;
 import cn.iocoder.yudao.framework.common.util.servlet.ServletUtils;
-import com.easy.web.apilog.ApiAccessLogApi;
 import com.easy.web.apilog.ApiAccessLogCreateReqDTO;
 import com.easy.web.apilog.core.annotation.ApiAccessLog;
 import com.easy.web.apilog.core.enums.OperateTypeEnum;
+import com.easy.web.apilog.core.sampler.ApiAccessLogSampler;
+import com.easy.web.apilog.core.sanitizer.JsonStreamSanitizer;
+import com.easy.web.apilog.core.writer.ApiAccessLogWriter;
 import com.easy.web.web.config.WebProperties;
 import com.easy.web.web.core.filter.ApiRequestFilter;
+import com.easy.web.web.core.filter.CacheRequestBodyWrapper;
 import com.easy.web.web.core.util.WebFrameworkUtils;
-import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.WebUtils;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.Iterator;
 import java.util.Map;
 
 import static cn.iocoder.yudao.framework.common.util.json.JsonUtils.toJsonString;
@@ -49,16 +53,23 @@ import static com.easy.web.apilog.core.interceptor.ApiAccessLogInterceptor.ATTRI
 @Slf4j
 public class ApiAccessLogFilter extends ApiRequestFilter {
 
-    private static final String[] SANITIZE_KEYS = new String[]{"password", "token", "accessToken", "refreshToken"};
+    public static final String[] SANITIZE_KEYS = new String[]{"password", "token", "accessToken", "refreshToken"};
 
     private final String applicationName;
 
-    private final ApiAccessLogApi apiAccessLogApi;
+    private final ApiAccessLogWriter apiAccessLogWriter;
 
-    public ApiAccessLogFilter(WebProperties webProperties, String applicationName, ApiAccessLogApi apiAccessLogApi) {
+    private final JsonStreamSanitizer sanitizer;
+
+    private final ApiAccessLogSampler sampler;
+
+    public ApiAccessLogFilter(WebProperties webProperties, String applicationName, ApiAccessLogWriter apiAccessLogWriter,
+                              JsonStreamSanitizer sanitizer, ApiAccessLogSampler sampler) {
         super(webProperties);
         this.applicationName = applicationName;
-        this.apiAccessLogApi = apiAccessLogApi;
+        this.apiAccessLogWriter = apiAccessLogWriter;
+        this.sanitizer = sanitizer;
+        this.sampler = sampler;
     }
 
     @Override
@@ -67,53 +78,52 @@ public class ApiAccessLogFilter extends ApiRequestFilter {
             throws ServletException, IOException {
         // 获得开始时间
         LocalDateTime beginTime = LocalDateTime.now();
-        // 提前获得参数，避免 XssFilter 过滤处理
-        Map<String, String> queryString = ServletUtils.getParamMap(request);
-        String requestBody = ServletUtils.isJsonRequest(request) ? ServletUtils.getBody(request) : null;
-
         try {
             // 继续过滤器
             filterChain.doFilter(request, response);
             // 正常执行，记录日志
-            createApiAccessLog(request, beginTime, queryString, requestBody, null);
+            createApiAccessLog(request, beginTime, null);
         } catch (Exception ex) {
             // 异常执行，记录日志
-            createApiAccessLog(request, beginTime, queryString, requestBody, ex);
+            createApiAccessLog(request, beginTime, ex);
             throw ex;
         }
     }
 
-    private void createApiAccessLog(HttpServletRequest request, LocalDateTime beginTime,
-                                    Map<String, String> queryString, String requestBody, Exception ex) {
-        ApiAccessLogCreateReqDTO accessLog = new ApiAccessLogCreateReqDTO();
+    private void createApiAccessLog(HttpServletRequest request, LocalDateTime beginTime, Exception ex) {
+        ApiAccessLogCreateReqDTO accessLog = null;
         try {
-            boolean enable = buildApiAccessLog(accessLog, request, beginTime, queryString, requestBody, ex);
-            if (!enable) {
+            // 判断：是否要记录操作日志
+            HandlerMethod handlerMethod = (HandlerMethod) request.getAttribute(ATTRIBUTE_HANDLER_METHOD);
+            ApiAccessLog accessLogAnnotation = handlerMethod != null ? handlerMethod.getMethodAnnotation(ApiAccessLog.class) : null;
+            if (accessLogAnnotation != null && BooleanUtil.isFalse(accessLogAnnotation.enable())) {
                 return;
             }
-            apiAccessLogApi.createApiAccessLogAsync(accessLog);
+            // 判断：是否被采样，在构建访问日志、复制请求内容之前判断，被采样掉的请求几乎没有额外开销
+            LocalDateTime endTime = LocalDateTime.now();
+            CommonResult<?> result = WebFrameworkUtils.getCommonResult(request);
+            boolean error = ex != null || (result != null && result.isError());
+            long duration = LocalDateTimeUtil.between(beginTime, endTime, ChronoUnit.MILLIS);
+            String pattern = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (!sampler.shouldLog(pattern, request.getRequestURI(), accessLogAnnotation, error, duration)) {
+                return;
+            }
+
+            accessLog = new ApiAccessLogCreateReqDTO();
+            buildApiAccessLog(accessLog, request, handlerMethod, accessLogAnnotation, result, beginTime, endTime, ex);
+            apiAccessLogWriter.write(accessLog);
         } catch (Throwable th) {
             log.error("[createApiAccessLog][url({}) log({}) 发生异常]", request.getRequestURI(), toJsonString(accessLog), th);
         }
     }
 
-    private boolean buildApiAccessLog(ApiAccessLogCreateReqDTO accessLog, HttpServletRequest request, LocalDateTime beginTime,
-                                      Map<String, String> queryString, String requestBody, Exception ex) {
-        // 判断：是否要记录操作日志
-        HandlerMethod handlerMethod = (HandlerMethod) request.getAttribute(ATTRIBUTE_HANDLER_METHOD);
-        ApiAccessLog accessLogAnnotation = null;
-        if (handlerMethod != null) {
-            accessLogAnnotation = handlerMethod.getMethodAnnotation(ApiAccessLog.class);
-            if (accessLogAnnotation != null && BooleanUtil.isFalse(accessLogAnnotation.enable())) {
-                return false;
-            }
-        }
-
+    private void buildApiAccessLog(ApiAccessLogCreateReqDTO accessLog, HttpServletRequest request,
+                                   HandlerMethod handlerMethod, ApiAccessLog accessLogAnnotation, CommonResult<?> result,
+                                   LocalDateTime beginTime, LocalDateTime endTime, Exception ex) throws IOException {
         // 处理用户信息
         accessLog.setUserId(WebFrameworkUtils.getLoginUserId(request))
                 .setUserType(WebFrameworkUtils.getLoginUserType(request));
         // 设置访问结果
-        CommonResult<?> result = WebFrameworkUtils.getCommonResult(request);
         if (result != null) {
             accessLog.setResultCode(result.getCode()).setResultMsg(result.getMsg());
         } else if (ex != null) {
@@ -129,17 +139,24 @@ public class ApiAccessLogFilter extends ApiRequestFilter {
         String[] sanitizeKeys = accessLogAnnotation != null ? accessLogAnnotation.sanitizeKeys() : null;
         Boolean requestEnable = accessLogAnnotation != null ? accessLogAnnotation.requestEnable() : Boolean.TRUE;
         if (!BooleanUtil.isFalse(requestEnable)) { // 默认记录，所以判断 !false
+            // 请求内容已被 CacheRequestBodyFilter 缓存，XssFilter 只包装传给下游的 request，所以此时读取到的仍是原始参数
+            Map<String, String> queryString = ServletUtils.getParamMap(request);
+            CacheRequestBodyWrapper bodyWrapper = WebUtils.getNativeRequest(request, CacheRequestBodyWrapper.class);
+            // 直接读取缓存内容的只读视图，不复制；写入临时文件的内容只读取脱敏器解析的部分，多读一个字节用于判断是否截断
+            int maxInputLength = sanitizer.getMaxInputLength();
+            ByteBuffer requestBody = bodyWrapper != null
+                    ? bodyWrapper.getCachedBody().asReadOnlyBuffer(maxInputLength > 0 ? maxInputLength + 1 : 0) : null;
             Map<String, Object> requestParams = MapUtil.<String, Object>builder()
                     .put("query", sanitizeMap(queryString, sanitizeKeys))
-                    .put("body", sanitizeJson(requestBody, sanitizeKeys)).build();
+                    .put("body", sanitizer.sanitize(requestBody, sanitizeKeys)).build();
             accessLog.setRequestParams(toJsonString(requestParams));
         }
         Boolean responseEnable = accessLogAnnotation != null ? accessLogAnnotation.responseEnable() : Boolean.FALSE;
         if (BooleanUtil.isTrue(responseEnable)) { // 默认不记录，默认强制要求 true
-            accessLog.setResponseBody(sanitizeJson(result, sanitizeKeys));
+            accessLog.setResponseBody(sanitizer.sanitizeResult(result, sanitizeKeys));
         }
         // 持续时间
-        accessLog.setBeginTime(beginTime).setEndTime(LocalDateTime.now())
+        accessLog.setBeginTime(beginTime).setEndTime(endTime)
                 .setDuration((int) LocalDateTimeUtil.between(accessLog.getBeginTime(), accessLog.getEndTime(), ChronoUnit.MILLIS));
 
         // 操作模块
@@ -156,7 +173,6 @@ public class ApiAccessLogFilter extends ApiRequestFilter {
                     accessLogAnnotation.operateType()[0] : parseOperateLogType(request);
             accessLog.setOperateModule(operateModule).setOperateName(operateName).setOperateType(operateType.getType());
         }
-        return true;
     }
 
     // ========== 解析 @ApiAccessLog、@Swagger 注解  ==========
@@ -194,60 +210,4 @@ public class ApiAccessLogFilter extends ApiRequestFilter {
         return JsonUtils.toJsonString(map);
     }
 
-    private static String sanitizeJson(String jsonString, String[] sanitizeKeys) {
-        if (StrUtil.isEmpty(jsonString)) {
-            return null;
-        }
-        try {
-            JsonNode rootNode = JsonUtils.parseTree(jsonString);
-            sanitizeJson(rootNode, sanitizeKeys);
-            return JsonUtils.toJsonString(rootNode);
-        } catch (Exception e) {
-            // 脱敏失败的情况下，直接忽略异常，避免影响用户请求
-            log.error("[sanitizeJson][脱敏({}) 发生异常]", jsonString, e);
-            return jsonString;
-        }
-    }
-
-    private static String sanitizeJson(CommonResult<?> commonResult, String[] sanitizeKeys) {
-        if (commonResult == null) {
-            return null;
-        }
-        String jsonString = toJsonString(commonResult);
-        try {
-            JsonNode rootNode = JsonUtils.parseTree(jsonString);
-            sanitizeJson(rootNode.get("data"), sanitizeKeys); // 只处理 data 字段，不处理 code、msg 字段，避免错误被脱敏掉
-            return JsonUtils.toJsonString(rootNode);
-        } catch (Exception e) {
-            // 脱敏失败的情况下，直接忽略异常，避免影响用户请求
-            log.error("[sanitizeJson][脱敏({}) 发生异常]", jsonString, e);
-            return jsonString;
-        }
-    }
-
-    private static void sanitizeJson(JsonNode node, String[] sanitizeKeys) {
-        // 情况一：数组，遍历处理
-        if (node.isArray()) {
-            for (JsonNode childNode : node) {
-                sanitizeJson(childNode, sanitizeKeys);
-            }
-            return;
-        }
-        // 情况二：非 Object，只是某个值，直接返回
-        if (!node.isObject()) {
-            return;
-        }
-        //  情况三：Object，遍历处理
-        Iterator<Map.Entry<String, JsonNode>> iterator = node.fields();
-        while (iterator.hasNext()) {
-            Map.Entry<String, JsonNode> entry = iterator.next();
-            if (ArrayUtil.contains(sanitizeKeys, entry.getKey())
-                    || ArrayUtil.contains(SANITIZE_KEYS, entry.getKey())) {
-                iterator.remove();
-                continue;
-            }
-            sanitizeJson(entry.getValue(), sanitizeKeys);
-        }
-    }
-
 }
@@ -0,0 +1,57 @@
+package com.easy.web.apilog.core.sampler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 访问日志的令牌桶限流器，限制每秒记录的访问日志数量
+ * <p>
+ * 按 GCRA 算法实现，与容量为 permitsPerSecond、每秒补充 permitsPerSecond 个令牌的令牌桶等价：
+ * 只记录下一个令牌的理论到达时间，通过 CAS 更新，无锁。
+ *
+ * @author 芋道源码
+ */
+public class AccessLogRateLimiter {
+
+    /**
+     * 每个令牌的间隔（纳秒）
+     */
+    private final long intervalNanos;
+    /**
+     * 允许的突发时长（纳秒），即令牌桶的容量
+     */
+    private final long burstNanos;
+    /**
+     * 下一个令牌的理论到达时间
+     */
+    private final AtomicLong theoreticalArrivalTime;
+
+    public AccessLogRateLimiter(int permitsPerSecond) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond 必须大于 0");
+        }
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+        this.burstNanos = intervalNanos * permitsPerSecond;
+        this.theoreticalArrivalTime = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * 尝试获取一个令牌
+     *
+     * @return 是否获取成功
+     */
+    public boolean tryAcquire() {
+        for (;;) {
+            long now = System.nanoTime();
+            long current = theoreticalArrivalTime.get();
+            long next = Math.max(current, now) + intervalNanos;
+            if (next - now > burstNanos) {
+                return false;
+            }
+            if (theoreticalArrivalTime.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+}
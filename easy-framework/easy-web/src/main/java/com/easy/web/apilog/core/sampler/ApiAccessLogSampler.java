@@ -0,0 +1,156 @@
+package com.easy.web.apilog.core.sampler;
+
+import cn.hutool.core.util.StrUtil;
+import com.easy.web.apilog.core.annotation.ApiAccessLog;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * API 访问日志的采样器，决定一次请求是否记录访问日志
+ * <p>
+ * 判断顺序：
+ * 1. 失败请求（开启 alwaysLogError 时）、慢请求（耗时达到 slowThreshold 时）不参与采样
+ * 2. 其它请求按采样比例采样，优先使用 {@link ApiAccessLog#sampleRate()}，其次是第一个匹配路径的规则，最后是默认采样比例
+ * 3. 所有请求都受每秒最大记录数量的限制
+ *
+ * 在构建访问日志、复制请求内容之前调用，被采样掉的请求几乎没有额外开销。
+ *
+ * @author 芋道源码
+ */
+public class ApiAccessLogSampler {
+
+    private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    /**
+     * 默认采样比例
+     */
+    private final double defaultRate;
+    /**
+     * 按路径配置的采样规则
+     */
+    private final List<Rule> rules;
+    /**
+     * 是否总是记录失败请求
+     */
+    private final boolean alwaysLogError;
+    /**
+     * 慢请求的耗时阈值（毫秒），小于等于 0 时不判断
+     */
+    private final long slowThresholdMillis;
+    /**
+     * 每秒最大记录数量的限流器，为 null 时不限制
+     */
+    private final AccessLogRateLimiter rateLimiter;
+
+    /**
+     * 路径模式对应的采样比例的缓存
+     */
+    private final Map<String, Double> patternRates = new ConcurrentHashMap<>();
+
+    private final LongAdder unsampledCount = new LongAdder();
+    private final LongAdder throttledCount = new LongAdder();
+
+    public ApiAccessLogSampler(double defaultRate, List<Rule> rules, boolean alwaysLogError,
+                               Duration slowThreshold, int maxPerSecond) {
+        this.defaultRate = defaultRate;
+        this.rules = rules != null ? rules : Collections.emptyList();
+        this.alwaysLogError = alwaysLogError;
+        this.slowThresholdMillis = slowThreshold != null ? slowThreshold.toMillis() : 0;
+        this.rateLimiter = maxPerSecond > 0 ? new AccessLogRateLimiter(maxPerSecond) : null;
+    }
+
+    /**
+     * 判断是否记录访问日志
+     *
+     * @param pattern    匹配到的路径模式，为空时使用 requestUrl
+     * @param requestUrl 请求地址
+     * @param annotation 访问日志注解，可以为空
+     * @param error      是否失败
+     * @param duration   耗时（毫秒）
+     * @return 是否记录
+     */
+    public boolean shouldLog(String pattern, String requestUrl, ApiAccessLog annotation, boolean error, long duration) {
+        boolean force = (alwaysLogError && error) || (slowThresholdMillis > 0 && duration >= slowThresholdMillis);
+        if (!force && !sample(getRate(pattern, requestUrl, annotation))) {
+            unsampledCount.increment();
+            return false;
+        }
+        if (rateLimiter != null && !rateLimiter.tryAcquire()) {
+            throttledCount.increment();
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean sample(double rate) {
+        return rate >= 1 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private double getRate(String pattern, String requestUrl, ApiAccessLog annotation) {
+        if (annotation != null && annotation.sampleRate() >= 0) {
+            return annotation.sampleRate();
+        }
+        if (rules.isEmpty()) {
+            return defaultRate;
+        }
+        // 路径模式的数量有限，可以缓存；未匹配到路径模式（例如 404）时，按请求地址匹配
+        if (StrUtil.isNotEmpty(pattern)) {
+            return patternRates.computeIfAbsent(pattern, this::matchRate);
+        }
+        return matchRate(requestUrl);
+    }
+
+    private double matchRate(String path) {
+        for (Rule rule : rules) {
+            if (PATH_MATCHER.match(rule.getPath(), path)) {
+                return rule.getRate();
+            }
+        }
+        return defaultRate;
+    }
+
+    /**
+     * 获得未被采样的请求数量
+     */
+    public long getUnsampledCount() {
+        return unsampledCount.sum();
+    }
+
+    /**
+     * 获得超过每秒最大记录数量的请求数量
+     */
+    public long getThrottledCount() {
+        return throttledCount.sum();
+    }
+
+    /**
+     * 按路径配置的采样规则
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Rule {
+
+        /**
+         * 路径，支持 Ant 风格，例如 /admin-api/system/user/**
+         */
+        private String path;
+        /**
+         * 采样比例，0 表示不记录，1 表示全部记录
+         */
+        private double rate;
+
+    }
+
+}
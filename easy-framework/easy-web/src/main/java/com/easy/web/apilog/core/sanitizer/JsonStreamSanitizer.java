@@ -0,0 +1,254 @@
+package com.easy.web.apilog.core.sanitizer;
+
+import cn.hutool.core.util.ArrayUtil;
+import cn.iocoder.yudao.framework.common.pojo.CommonResult;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 流式的 JSON 脱敏器，移除或掩码 password、token 等敏感字段
+ * <p>
+ * 逐个 token 从 {@link JsonParser} 复制到 {@link JsonGenerator}，遇到敏感字段时跳过其值，不构建 JsonNode 树；
+ * 输出达到 maxLength 时停止读取，返回截断后的内容；输入超过 maxInputLength 时只解析前面的部分，返回已脱敏的内容。
+ *
+ * @author 芋道源码
+ */
+@Slf4j
+public class JsonStreamSanitizer {
+
+    /**
+     * {@link CommonResult} 中需要脱敏的字段，code、msg 字段不处理，避免错误被脱敏掉
+     */
+    private static final String RESULT_DATA_FIELD = "data";
+
+    private final ObjectMapper objectMapper;
+    /**
+     * 总是脱敏的字段
+     */
+    private final Set<String> sanitizeKeys;
+    /**
+     * 敏感字段的掩码，为 null 时移除敏感字段
+     */
+    private final String mask;
+    /**
+     * 输出的最大长度，小于等于 0 时不限制
+     */
+    private final int maxLength;
+    /**
+     * 最多解析的输入字节数，小于等于 0 时不限制
+     */
+    @Getter
+    private final int maxInputLength;
+
+    public JsonStreamSanitizer(ObjectMapper objectMapper, String[] sanitizeKeys, String mask,
+                               int maxLength, int maxInputLength) {
+        this.objectMapper = objectMapper;
+        this.sanitizeKeys = new HashSet<>(Arrays.asList(sanitizeKeys));
+        this.mask = mask;
+        this.maxLength = maxLength;
+        this.maxInputLength = maxInputLength;
+    }
+
+    /**
+     * 脱敏 JSON 内容
+     *
+     * @param json      JSON 内容
+     * @param extraKeys 额外需要脱敏的字段
+     * @return 脱敏后的 JSON，解析失败时返回原内容
+     */
+    public String sanitize(byte[] json, String[] extraKeys) {
+        return ArrayUtil.isEmpty(json) ? null : sanitize(ByteBuffer.wrap(json), extraKeys);
+    }
+
+    /**
+     * 脱敏 JSON 内容，直接读取 json 的只读视图，不复制
+     *
+     * @param json      JSON 内容，不修改其读取位置
+     * @param extraKeys 额外需要脱敏的字段
+     * @return 脱敏后的 JSON，解析失败时返回原内容
+     */
+    public String sanitize(ByteBuffer json, String[] extraKeys) {
+        if (json == null || !json.hasRemaining()) {
+            return null;
+        }
+        ByteBuffer input = json.duplicate();
+        boolean truncated = maxInputLength > 0 && input.remaining() > maxInputLength;
+        if (truncated) {
+            // 转为 Buffer 调用，避免在 JDK 9+ 编译后在 Java 8 上运行时找不到 ByteBuffer#limit(int)
+            ((Buffer) input).limit(input.position() + maxInputLength);
+        }
+        try (JsonParser parser = objectMapper.getFactory().createParser(new ByteBufferBackedInputStream(input.duplicate()))) {
+            return copy(parser, extraKeys, null, truncated);
+        } catch (Exception e) {
+            // 脱敏失败的情况下，直接忽略异常，避免影响用户请求
+            String text = StandardCharsets.UTF_8.decode(input).toString();
+            log.error("[sanitize][脱敏({}) 发生异常]", text, e);
+            return truncate(text);
+        }
+    }
+
+    /**
+     * 脱敏 {@link CommonResult}，只处理 data 字段
+     *
+     * @param result    结果
+     * @param extraKeys 额外需要脱敏的字段
+     * @return 脱敏后的 JSON
+     */
+    public String sanitizeResult(CommonResult<?> result, String[] extraKeys) {
+        if (result == null) {
+            return null;
+        }
+        // 序列化为 token 序列后直接读取，避免序列化为字符串后再解析
+        try (TokenBuffer buffer = new TokenBuffer(objectMapper, false)) {
+            objectMapper.writeValue(buffer, result);
+            try (JsonParser parser = buffer.asParser(objectMapper)) {
+                return copy(parser, extraKeys, RESULT_DATA_FIELD, false);
+            }
+        } catch (Exception e) {
+            log.error("[sanitizeResult][脱敏({}) 发生异常]", result, e);
+            return null;
+        }
+    }
+
+    /**
+     * 复制 JSON，跳过敏感字段
+     *
+     * @param parser    JSON 读取器
+     * @param extraKeys 额外需要脱敏的字段
+     * @param rootField 只脱敏根对象的该字段，为 null 时脱敏全部内容
+     * @param truncated 输入是否被截断
+     * @return 脱敏后的 JSON
+     */
+    private String copy(JsonParser parser, String[] extraKeys, String rootField, boolean truncated) throws IOException {
+        LimitedWriter writer = new LimitedWriter(maxLength);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        boolean inScope = rootField == null;
+        int depth = 0;
+        try {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token == JsonToken.FIELD_NAME) {
+                    String name = parser.getCurrentName();
+                    if (rootField != null && depth == 1) {
+                        inScope = rootField.equals(name);
+                    } else if (inScope && isSanitizeKey(name, extraKeys)) {
+                        parser.nextToken();
+                        parser.skipChildren();
+                        if (mask != null) {
+                            generator.writeStringField(name, mask);
+                        }
+                        continue;
+                    }
+                } else if (token.isStructStart()) {
+                    depth++;
+                } else if (token.isStructEnd()) {
+                    depth--;
+                }
+                generator.copyCurrentEvent(parser);
+            }
+            generator.close();
+        } catch (LimitExceededException e) {
+            // 达到最大长度，不再读取，也不关闭 generator，避免再次写入
+        } catch (JsonProcessingException e) {
+            if (!truncated) {
+                throw e;
+            }
+            // 输入被截断，JSON 不完整，返回已脱敏的部分
+            try {
+                generator.flush();
+            } catch (LimitExceededException ignored) {
+            }
+        }
+        return writer.toString();
+    }
+
+    private boolean isSanitizeKey(String name, String[] extraKeys) {
+        return sanitizeKeys.contains(name) || ArrayUtil.contains(extraKeys, name);
+    }
+
+    private String truncate(String text) {
+        return maxLength > 0 && text.length() > maxLength ? text.substring(0, maxLength) : text;
+    }
+
+    /**
+     * 限制长度的 Writer，超过最大长度时抛出 {@link LimitExceededException}
+     */
+    private static class LimitedWriter extends Writer {
+
+        private final StringBuilder builder = new StringBuilder();
+        private final int maxLength;
+
+        LimitedWriter(int maxLength) {
+            this.maxLength = maxLength > 0 ? maxLength : Integer.MAX_VALUE;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws LimitExceededException {
+            int remaining = maxLength - builder.length();
+            if (length > remaining) {
+                builder.append(chars, offset, remaining);
+                throw LimitExceededException.INSTANCE;
+            }
+            builder.append(chars, offset, length);
+        }
+
+        @Override
+        public void write(String str, int offset, int length) throws LimitExceededException {
+            int remaining = maxLength - builder.length();
+            if (length > remaining) {
+                builder.append(str, offset, offset + remaining);
+                throw LimitExceededException.INSTANCE;
+            }
+            builder.append(str, offset, offset + length);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return builder.toString();
+        }
+
+    }
+
+    /**
+     * 输出达到最大长度，不填充堆栈，可复用
+     */
+    private static class LimitExceededException extends IOException {
+
+        static final LimitExceededException INSTANCE = new LimitExceededException();
+
+        private LimitExceededException() {
+            super("超过最大长度");
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.easy.web.apilog.core.writer;
+
+import com.easy.web.apilog.core.sampler.ApiAccessLogSampler;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * API 访问日志写入的监控指标，导出到 Micrometer
+ *
+ * @author 芋道源码
+ */
+@RequiredArgsConstructor
+public class ApiAccessLogMetrics implements MeterBinder {
+
+    private final ApiAccessLogWriter writer;
+    private final ApiAccessLogSampler sampler;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("easy.access-log.queue.size", writer, ApiAccessLogWriter::getQueueSize)
+                .description("等待写入的访问日志数量")
+                .register(registry);
+        Gauge.builder("easy.access-log.queue.capacity", writer, ApiAccessLogWriter::getQueueCapacity)
+                .description("访问日志缓冲区容量")
+                .register(registry);
+        FunctionCounter.builder("easy.access-log.entries", sampler, ApiAccessLogSampler::getUnsampledCount)
+                .tag("result", "unsampled")
+                .description("访问日志数量")
+                .register(registry);
+        FunctionCounter.builder("easy.access-log.entries", sampler, ApiAccessLogSampler::getThrottledCount)
+                .tag("result", "throttled")
+                .description("访问日志数量")
+                .register(registry);
+        FunctionCounter.builder("easy.access-log.entries", writer, ApiAccessLogWriter::getWrittenCount)
+                .tag("result", "written")
+                .description("访问日志数量")
+                .register(registry);
+        FunctionCounter.builder("easy.access-log.entries", writer, ApiAccessLogWriter::getDroppedCount)
+                .tag("result", "dropped")
+                .description("访问日志数量")
+                .register(registry);
+        FunctionCounter.builder("easy.access-log.entries", writer, ApiAccessLogWriter::getSampledOutCount)
+                .tag("result", "sampled_out")
+                .description("访问日志数量")
+                .register(registry);
+        FunctionCounter.builder("easy.access-log.entries", writer, ApiAccessLogWriter::getFailedCount)
+                .tag("result", "failed")
+                .description("访问日志数量")
+                .register(registry);
+    }
+
+}
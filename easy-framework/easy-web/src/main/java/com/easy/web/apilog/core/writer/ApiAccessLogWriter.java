@@ -0,0 +1,186 @@
+package com.easy.web.apilog.core.writer;
+
+import cn.iocoder.yudao.framework.common.exception.enums.GlobalErrorCodeConstants;
+import com.easy.web.apilog.ApiAccessLogApi;
+import com.easy.web.apilog.ApiAccessLogCreateReqDTO;
+import com.easy.web.apilog.core.enums.AccessLogOverflowPolicyEnum;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * API 访问日志的异步批量写入器
+ * <p>
+ * 请求线程只把访问日志写入 {@link BoundedRingBuffer}，不加锁、不阻塞；后台线程攒够 batchSize 条或每隔 flushInterval
+ * 取出一批，通过 {@link ApiAccessLogApi#createApiAccessLogBatch(List)} 批量写入。
+ * 缓冲区的溢出按 {@link AccessLogOverflowPolicyEnum} 处理，被丢弃、采样掉的数量计入监控指标。
+ * 关闭时后台线程在 {@link #flushRemaining()} 中写入剩余的访问日志；与关闭并发写入的请求线程写入缓冲区后会再次检查，
+ * 若已关闭则自己调用 {@link #flushRemaining()}，保证写入缓冲区的访问日志不会遗留。
+ *
+ * @author 芋道源码
+ */
+@Slf4j
+public class ApiAccessLogWriter implements DisposableBean {
+
+    private final ApiAccessLogApi apiAccessLogApi;
+    private final BoundedRingBuffer<ApiAccessLogCreateReqDTO> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final AccessLogOverflowPolicyEnum overflowPolicy;
+    /**
+     * 采样水位，缓冲区中的元素数量达到该值后开始采样
+     */
+    private final int sampleWatermark;
+    /**
+     * 采样比例
+     */
+    private final double sampleRate;
+
+    private final Thread drainThread;
+    private volatile boolean running = true;
+
+    private final LongAdder writtenCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder sampledOutCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+
+    public ApiAccessLogWriter(ApiAccessLogApi apiAccessLogApi, int bufferSize, int batchSize, Duration flushInterval,
+                              AccessLogOverflowPolicyEnum overflowPolicy, double sampleWatermark, double sampleRate) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize 必须大于 0");
+        }
+        this.apiAccessLogApi = apiAccessLogApi;
+        this.buffer = new BoundedRingBuffer<>(bufferSize);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = Math.max(flushInterval.toNanos(), TimeUnit.MILLISECONDS.toNanos(1));
+        this.overflowPolicy = Objects.requireNonNull(overflowPolicy, "overflowPolicy 不能为空");
+        this.sampleWatermark = (int) (buffer.capacity() * sampleWatermark);
+        this.sampleRate = sampleRate;
+        this.drainThread = new Thread(this::drainLoop, "api-access-log-writer");
+        this.drainThread.setDaemon(true);
+        this.drainThread.start();
+    }
+
+    /**
+     * 写入访问日志
+     *
+     * @param accessLog 访问日志
+     * @return 是否写入缓冲区，被丢弃或采样掉时返回 false
+     */
+    public boolean write(ApiAccessLogCreateReqDTO accessLog) {
+        if (!running) {
+            droppedCount.increment();
+            return false;
+        }
+        if (overflowPolicy == AccessLogOverflowPolicyEnum.SAMPLE && buffer.size() >= sampleWatermark
+                && isSuccess(accessLog) && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            sampledOutCount.increment();
+            return false;
+        }
+        if (!buffer.offer(accessLog)) {
+            droppedCount.increment();
+            return false;
+        }
+        // 写入前检查时尚未关闭，但写入后已关闭：后台线程的最后一次写入可能已经结束，由当前线程写入
+        if (!running) {
+            flushRemaining();
+            return true;
+        }
+        // 攒够一批时唤醒后台线程，不等待 flushInterval
+        if (buffer.size() >= batchSize) {
+            LockSupport.unpark(drainThread);
+        }
+        return true;
+    }
+
+    private static boolean isSuccess(ApiAccessLogCreateReqDTO accessLog) {
+        return Objects.equals(accessLog.getResultCode(), GlobalErrorCodeConstants.SUCCESS.getCode());
+    }
+
+    private void drainLoop() {
+        List<ApiAccessLogCreateReqDTO> batch = new ArrayList<>(batchSize);
+        while (running) {
+            if (buffer.size() < batchSize) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+            drain(batch);
+        }
+        flushRemaining();
+    }
+
+    /**
+     * 关闭时写入缓冲区中剩余的访问日志，后台线程与关闭后写入的请求线程互斥执行
+     */
+    private synchronized void flushRemaining() {
+        drain(new ArrayList<>(batchSize));
+    }
+
+    private void drain(List<ApiAccessLogCreateReqDTO> batch) {
+        int count;
+        do {
+            count = buffer.drainTo(batch, batchSize);
+            if (count > 0) {
+                writeBatch(batch);
+                batch.clear();
+            }
+        } while (count == batchSize);
+    }
+
+    private void writeBatch(List<ApiAccessLogCreateReqDTO> batch) {
+        try {
+            apiAccessLogApi.createApiAccessLogBatch(batch);
+            writtenCount.add(batch.size());
+        } catch (Throwable th) {
+            failedCount.add(batch.size());
+            log.error("[writeBatch][{} 条访问日志写入失败]", batch.size(), th);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(drainThread);
+        drainThread.join(TimeUnit.SECONDS.toMillis(10));
+        if (drainThread.isAlive()) {
+            log.warn("[destroy][访问日志写入线程未在 10 秒内结束，剩余 {} 条访问日志未写入]", buffer.size());
+        }
+    }
+
+    // ========== 监控指标 ==========
+
+    /**
+     * 获得缓冲区中等待写入的访问日志数量
+     */
+    public int getQueueSize() {
+        return buffer.size();
+    }
+
+    public int getQueueCapacity() {
+        return buffer.capacity();
+    }
+
+    public long getWrittenCount() {
+        return writtenCount.sum();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    public long getSampledOutCount() {
+        return sampledOutCount.sum();
+    }
+
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+}
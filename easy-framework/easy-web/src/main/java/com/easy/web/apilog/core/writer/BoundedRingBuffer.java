@@ -0,0 +1,134 @@
+package com.easy.web.apilog.core.writer;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 有界的无锁环形缓冲区，支持多生产者、多消费者
+ * <p>
+ * 每个槽位带一个序号：序号等于写入位置时槽位可写，等于写入位置 + 1 时槽位可读，读取后序号推进一圈。
+ * 生产者、消费者分别通过 CAS 抢占写入、读取位置，缓冲区满时 {@link #offer(Object)} 直接返回 false，不阻塞调用方。
+ *
+ * @param <E> 元素类型
+ * @author 芋道源码
+ */
+public class BoundedRingBuffer<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    /**
+     * 下一个写入位置
+     */
+    private final AtomicLong writePosition = new AtomicLong();
+    /**
+     * 下一个读取位置
+     */
+    private final AtomicLong readPosition = new AtomicLong();
+
+    /**
+     * @param capacity 容量，向上取整为 2 的幂
+     */
+    public BoundedRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity 必须大于 0");
+        }
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.elements = new AtomicReferenceArray<>(this.capacity);
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 写入元素
+     *
+     * @param element 元素
+     * @return 缓冲区已满时返回 false
+     */
+    public boolean offer(E element) {
+        long position = writePosition.get();
+        for (;;) {
+            int index = (int) position & mask;
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (writePosition.compareAndSet(position, position + 1)) {
+                    elements.lazySet(index, element);
+                    // 序号的写入对消费者可见时，元素一定可见
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = writePosition.get();
+            } else if (diff < 0) {
+                // 槽位上一圈的元素尚未被读取，缓冲区已满
+                return false;
+            } else {
+                position = writePosition.get();
+            }
+        }
+    }
+
+    /**
+     * 读取元素
+     *
+     * @return 缓冲区为空时返回 null
+     */
+    public E poll() {
+        long position = readPosition.get();
+        for (;;) {
+            int index = (int) position & mask;
+            long diff = sequences.get(index) - (position + 1);
+            if (diff == 0) {
+                if (readPosition.compareAndSet(position, position + 1)) {
+                    E element = elements.get(index);
+                    elements.lazySet(index, null);
+                    sequences.set(index, position + capacity);
+                    return element;
+                }
+                position = readPosition.get();
+            } else if (diff < 0) {
+                return null;
+            } else {
+                position = readPosition.get();
+            }
+        }
+    }
+
+    /**
+     * 读取最多 maxElements 个元素到集合中
+     *
+     * @param collection  集合
+     * @param maxElements 最多读取的数量
+     * @return 读取的数量
+     */
+    public int drainTo(Collection<? super E> collection, int maxElements) {
+        int count = 0;
+        while (count < maxElements) {
+            E element = poll();
+            if (element == null) {
+                break;
+            }
+            collection.add(element);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 获得当前元素数量，并发写入、读取时为近似值
+     */
+    public int size() {
+        long size = writePosition.get() - readPosition.get();
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+}
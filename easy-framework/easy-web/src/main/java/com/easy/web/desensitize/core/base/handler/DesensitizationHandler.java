@@ -3,6 +3,7 @@ package com.easy.web.desensitize.core.base.handler;
 import cn.hutool.core.util.ReflectUtil;
 
 import java.lang.annotation.Annotation;
+import java.util.function.UnaryOperator;
 
 /**
  * 脱敏处理器接口
@@ -20,6 +21,20 @@ public interface DesensitizationHandler<T extends Annotation> {
      */
     String desensitize(String origin, T annotation);
 
+    /**
+     * 根据注解信息，预先构建脱敏规则
+     *
+     * 由 {@link com.easy.web.desensitize.core.base.serializer.StringDesensitizeSerializer} 在每个字段上只调用一次，
+     * 序列化时仅执行返回的脱敏规则。返回的脱敏规则不需要判断是否禁用脱敏，由调用方处理。
+     * 默认每次调用 {@link #desensitize(String, Annotation)} 方法，子类可重写，预先计算注解上的参数
+     *
+     * @param annotation 注解信息
+     * @return 脱敏规则
+     */
+    default UnaryOperator<String> compile(T annotation) {
+        return origin -> desensitize(origin, annotation);
+    }
+
     /**
      * 是否禁用脱敏的 Spring EL 表达式
      *
@@ -2,9 +2,9 @@ package com.easy.web.desensitize.core.base.serializer;
 
 import cn.hutool.core.annotation.AnnotationUtil;
 import cn.hutool.core.lang.Singleton;
-import cn.hutool.core.util.ArrayUtil;
 import cn.hutool.core.util.ReflectUtil;
 import cn.hutool.core.util.StrUtil;
+import cn.iocoder.yudao.framework.common.util.spring.SpringExpressionUtils;
 import com.easy.web.desensitize.core.base.annotation.DesensitizeBy;
 import com.easy.web.desensitize.core.base.handler.DesensitizationHandler;
 import com.fasterxml.jackson.core.JsonGenerator;
@@ -14,16 +14,21 @@ import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.ser.ContextualSerializer;
 import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import lombok.Getter;
-import lombok.Setter;
+import org.springframework.core.ResolvableType;
+import org.springframework.expression.Expression;
 
 import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.util.function.UnaryOperator;
 
 /**
  * 脱敏序列化器
  * <p>
  * 实现 JSON 返回数据时，使用 {@link DesensitizationHandler} 对声明脱敏注解的字段，进行脱敏处理。
+ * <p>
+ * 脱敏注解、处理器、disable 表达式在 {@link #createContextual(SerializerProvider, BeanProperty)} 中按字段解析一次，
+ * Jackson 会缓存每个字段对应的序列化器，序列化时只需执行预先构建的脱敏规则。
  *
  * @author gaibu
  */
@@ -31,62 +36,104 @@ import java.lang.reflect.Field;
 public class StringDesensitizeSerializer extends StdSerializer<String> implements ContextualSerializer {
 
     @Getter
-    @Setter
-    private DesensitizationHandler desensitizationHandler;
+    private final DesensitizationHandler desensitizationHandler;
+    /**
+     * 预先构建的脱敏规则，为空时不脱敏
+     */
+    private final UnaryOperator<String> desensitizer;
+    /**
+     * 预先解析的 disable 表达式，为空时不禁用脱敏
+     */
+    private final Expression disableExpression;
 
     protected StringDesensitizeSerializer() {
+        this(null, null, null);
+    }
+
+    private StringDesensitizeSerializer(DesensitizationHandler desensitizationHandler,
+                                        UnaryOperator<String> desensitizer, Expression disableExpression) {
         super(String.class);
+        this.desensitizationHandler = desensitizationHandler;
+        this.desensitizer = desensitizer;
+        this.disableExpression = disableExpression;
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public JsonSerializer<?> createContextual(SerializerProvider serializerProvider, BeanProperty beanProperty) {
-        DesensitizeBy annotation = beanProperty.getAnnotation(DesensitizeBy.class);
+        if (beanProperty == null) {
+            return this;
+        }
+        DesensitizeBy desensitizeBy = beanProperty.getAnnotation(DesensitizeBy.class);
+        if (desensitizeBy == null) {
+            return this;
+        }
+        // 获得字段上声明的脱敏注解，例如说 @MobileDesensitize
+        Annotation annotation = getDesensitizeAnnotation(beanProperty, desensitizeBy.handler());
         if (annotation == null) {
             return this;
         }
         // 创建一个 StringDesensitizeSerializer 对象，使用 DesensitizeBy 对应的处理器
-        StringDesensitizeSerializer serializer = new StringDesensitizeSerializer();
-        serializer.setDesensitizationHandler(Singleton.get(annotation.handler()));
-        return serializer;
+        DesensitizationHandler handler = Singleton.get(desensitizeBy.handler());
+        return new StringDesensitizeSerializer(handler, handler.compile(annotation),
+                SpringExpressionUtils.compileExpression(handler.getDisable(annotation)));
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public void serialize(String value, JsonGenerator gen, SerializerProvider serializerProvider) throws IOException {
         if (StrUtil.isBlank(value)) {
             gen.writeNull();
             return;
         }
-        // 获取序列化字段
-        Field field = getField(gen);
-
-        // 自定义处理器
-        DesensitizeBy[] annotations = AnnotationUtil.getCombinationAnnotations(field, DesensitizeBy.class);
-        if (ArrayUtil.isEmpty(annotations)) {
+        if (desensitizer == null || isDisable()) {
             gen.writeString(value);
             return;
         }
-        for (Annotation annotation : field.getAnnotations()) {
-            if (AnnotationUtil.hasAnnotation(annotation.annotationType(), DesensitizeBy.class)) {
-                value = this.desensitizationHandler.desensitize(value, annotation);
-                gen.writeString(value);
-                return;
-            }
-        }
-        gen.writeString(value);
+        gen.writeString(desensitizer.apply(value));
+    }
+
+    /**
+     * 判断是否禁用脱敏。表达式可能依赖当前请求，例如说当前用户的权限，所以每次序列化都需要执行
+     *
+     * @return 是否禁用
+     */
+    private boolean isDisable() {
+        return disableExpression != null
+                && Boolean.TRUE.equals(SpringExpressionUtils.getExpressionValue(disableExpression));
     }
 
     /**
-     * 获取字段
+     * 获得字段上声明的脱敏注解
+     * <p>
+     * 优先使用处理器泛型声明的注解类型，从 Jackson 合并后的注解中获取，兼容 getter 方法序列化的情况；
+     * 无法解析泛型时，从字段上查找被 {@link DesensitizeBy} 标记的注解
      *
-     * @param generator JsonGenerator
-     * @return 字段
+     * @param beanProperty 字段
+     * @param handlerClass 处理器类型
+     * @return 脱敏注解
      */
-    private Field getField(JsonGenerator generator) {
-        String currentName = generator.getOutputContext().getCurrentName();
-        Object currentValue = generator.getCurrentValue();
-        Class<?> currentValueClass = currentValue.getClass();
-        return ReflectUtil.getField(currentValueClass, currentName);
+    @SuppressWarnings("unchecked")
+    private static Annotation getDesensitizeAnnotation(BeanProperty beanProperty, Class<? extends DesensitizationHandler> handlerClass) {
+        Class<?> annotationClass = ResolvableType.forClass(handlerClass).as(DesensitizationHandler.class).resolveGeneric(0);
+        if (annotationClass != null && annotationClass.isAnnotation()) {
+            Annotation annotation = beanProperty.getAnnotation((Class<? extends Annotation>) annotationClass);
+            if (annotation != null) {
+                return annotation;
+            }
+        }
+        if (beanProperty.getMember() == null) {
+            return null;
+        }
+        Field field = ReflectUtil.getField(beanProperty.getMember().getDeclaringClass(), beanProperty.getName());
+        if (field == null) {
+            return null;
+        }
+        for (Annotation annotation : field.getAnnotations()) {
+            if (AnnotationUtil.hasAnnotation(annotation.annotationType(), DesensitizeBy.class)) {
+                return annotation;
+            }
+        }
+        return null;
     }
 
 }
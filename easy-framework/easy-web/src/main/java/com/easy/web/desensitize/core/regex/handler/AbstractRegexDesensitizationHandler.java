@@ -4,6 +4,8 @@ import cn.iocoder.yudao.framework.common.util.spring.SpringExpressionUtils;
 import com.easy.web.desensitize.core.base.handler.DesensitizationHandler;
 
 import java.lang.annotation.Annotation;
+import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
 
 /**
  * 正则表达式脱敏处理器抽象类，已实现通用的方法
@@ -22,9 +24,15 @@ public abstract class AbstractRegexDesensitizationHandler<T extends Annotation>
         }
 
         // 2. 执行脱敏
-        String regex = getRegex(annotation);
+        return compile(annotation).apply(origin);
+    }
+
+    @Override
+    public UnaryOperator<String> compile(T annotation) {
+        // 正则表达式只编译一次，等价于 String#replaceAll
+        Pattern pattern = Pattern.compile(getRegex(annotation));
         String replacer = getReplacer(annotation);
-        return origin.replaceAll(regex, replacer);
+        return origin -> pattern.matcher(origin).replaceAll(replacer);
     }
 
     /**
@@ -1,10 +1,11 @@
 package com.easy.web.desensitize.core.slider.handler;
 
-import cn.hutool.core.util.StrUtil;
 import cn.iocoder.yudao.framework.common.util.spring.SpringExpressionUtils;
 import com.easy.web.desensitize.core.base.handler.DesensitizationHandler;
 
 import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.function.UnaryOperator;
 
 /**
  * 滑动脱敏处理器抽象类，已实现通用的方法
@@ -23,32 +24,62 @@ public abstract class AbstractSliderDesensitizationHandler<T extends Annotation>
         }
 
         // 2. 执行脱敏
+        return compile(annotation).apply(origin);
+    }
+
+    @Override
+    public UnaryOperator<String> compile(T annotation) {
         int prefixKeep = getPrefixKeep(annotation);
         int suffixKeep = getSuffixKeep(annotation);
-        String replacer = getReplacer(annotation);
+        char[] replacer = getReplacer(annotation).toCharArray();
+        return origin -> desensitize(origin, prefixKeep, suffixKeep, replacer);
+    }
+
+    /**
+     * 执行脱敏，直接填充到 char 数组中，避免拼接字符串
+     *
+     * @param origin     原始字符串
+     * @param prefixKeep 前缀保留长度
+     * @param suffixKeep 后缀保留长度
+     * @param replacer   替换符
+     * @return 脱敏后的字符串
+     */
+    private static String desensitize(String origin, int prefixKeep, int suffixKeep, char[] replacer) {
         int length = origin.length();
         int interval = length - prefixKeep - suffixKeep;
 
         // 情况一：原始字符串长度小于等于前后缀保留字符串长度，则原始字符串全部替换
         if (interval <= 0) {
-            return buildReplacerByLength(replacer, length);
+            prefixKeep = 0;
+            interval = length;
         }
 
-        // 情况二：原始字符串长度大于前后缀保留字符串长度，则替换中间字符串
-        return origin.substring(0, prefixKeep) +
-                buildReplacerByLength(replacer, interval) +
-                origin.substring(prefixKeep + interval);
+        // 情况二：原始字符串长度大于前后缀保留字符串长度，则替换中间字符串；情况一时，中间字符串即为原始字符串
+        int replacerLength = interval * replacer.length;
+        int suffixStart = prefixKeep + interval;
+        char[] chars = new char[prefixKeep + replacerLength + length - suffixStart];
+        origin.getChars(0, prefixKeep, chars, 0);
+        fillReplacer(chars, prefixKeep, interval, replacer);
+        origin.getChars(suffixStart, length, chars, prefixKeep + replacerLength);
+        return new String(chars);
     }
 
     /**
-     * 根据长度循环构建替换符
+     * 从 offset 开始，循环填充 count 个替换符
      *
+     * @param chars    目标数组
+     * @param offset   开始位置
+     * @param count    替换符个数
      * @param replacer 替换符
-     * @param length   长度
-     * @return 构建后的替换符
      */
-    private String buildReplacerByLength(String replacer, int length) {
-        return StrUtil.repeat(replacer, length);
+    private static void fillReplacer(char[] chars, int offset, int count, char[] replacer) {
+        if (replacer.length == 1) {
+            Arrays.fill(chars, offset, offset + count, replacer[0]);
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            System.arraycopy(replacer, 0, chars, offset + i * replacer.length, replacer.length);
+        }
     }
 
     /**
@@ -0,0 +1,49 @@
+package com.easy.web.jackson.config;
+
+import com.easy.web.jackson.core.enums.JacksonAcceleratorEnum;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Jackson 配置属性
+ *
+ * @author 芋道源码
+ */
+@ConfigurationProperties(prefix = "easy.jackson")
+@Validated
+@Data
+public class EasyJacksonProperties {
+
+    /**
+     * 高性能模式
+     */
+    @Valid
+    private HighPerformance highPerformance = new HighPerformance();
+
+    /**
+     * 高性能模式，开启后注册字节码加速模块，并由 JsonUtils 按类型缓存 ObjectReader、ObjectWriter
+     */
+    @Data
+    public static class HighPerformance {
+
+        /**
+         * 是否开启，默认为 false
+         */
+        private boolean enable = false;
+        /**
+         * 字节码加速模块，默认根据 JDK 版本自动选择，需要引入对应的 jackson-module-blackbird 或 jackson-module-afterburner 依赖
+         */
+        @NotNull(message = "字节码加速模块不能为空")
+        private JacksonAcceleratorEnum accelerator = JacksonAcceleratorEnum.AUTO;
+        /**
+         * 是否在 JsonUtils 中按类型缓存 ObjectReader、ObjectWriter，默认为 true
+         */
+        private boolean cacheReaderWriter = true;
+
+    }
+
+}
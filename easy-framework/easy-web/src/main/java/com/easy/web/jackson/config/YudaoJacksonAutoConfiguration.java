@@ -1,10 +1,13 @@
 package com.easy.web.jackson.config;
 
 import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.util.ReflectUtil;
 import cn.iocoder.yudao.framework.common.util.json.JsonUtils;
 import cn.iocoder.yudao.framework.common.util.json.databind.NumberSerializer;
 import cn.iocoder.yudao.framework.common.util.json.databind.TimestampLocalDateTimeDeserializer;
 import cn.iocoder.yudao.framework.common.util.json.databind.TimestampLocalDateTimeSerializer;
+import com.easy.web.jackson.core.enums.JacksonAcceleratorEnum;
+import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateDeserializer;
@@ -13,7 +16,9 @@ import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalTimeSerializer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.util.ClassUtils;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -21,12 +26,16 @@ import java.time.LocalTime;
 import java.util.List;
 
 @AutoConfiguration
+@EnableConfigurationProperties(EasyJacksonProperties.class)
 @Slf4j
 public class YudaoJacksonAutoConfiguration {
 
+    private static final String BLACKBIRD_MODULE_CLASS = "com.fasterxml.jackson.module.blackbird.BlackbirdModule";
+    private static final String AFTERBURNER_MODULE_CLASS = "com.fasterxml.jackson.module.afterburner.AfterburnerModule";
+
     @Bean
     @SuppressWarnings("InstantiationOfUtilityClass")
-    public JsonUtils jsonUtils(List<ObjectMapper> objectMappers) {
+    public JsonUtils jsonUtils(List<ObjectMapper> objectMappers, EasyJacksonProperties jacksonProperties) {
         // 1.1 创建 SimpleModule 对象
         SimpleModule simpleModule = new SimpleModule();
         simpleModule
@@ -43,10 +52,64 @@ public class YudaoJacksonAutoConfiguration {
         // 1.2 注册到 objectMapper
         objectMappers.forEach(objectMapper -> objectMapper.registerModule(simpleModule));
 
+        // 1.3 开启高性能模式
+        EasyJacksonProperties.HighPerformance highPerformance = jacksonProperties.getHighPerformance();
+        if (highPerformance.isEnable()) {
+            Module acceleratorModule = createAcceleratorModule(highPerformance.getAccelerator());
+            objectMappers.forEach(objectMapper -> configureHighPerformance(objectMapper, acceleratorModule));
+        }
+
         // 2. 设置 objectMapper 到 JsonUtils
-        JsonUtils.init(CollUtil.getFirst(objectMappers));
+        JsonUtils.init(CollUtil.getFirst(objectMappers), highPerformance.isEnable() && highPerformance.isCacheReaderWriter());
         log.info("[init][初始化 JsonUtils 成功]");
         return new JsonUtils();
     }
 
+    /**
+     * 高性能模式下，配置 objectMapper
+     *
+     * @param objectMapper      ObjectMapper 对象
+     * @param acceleratorModule 字节码加速模块，为空时不注册
+     */
+    private static void configureHighPerformance(ObjectMapper objectMapper, Module acceleratorModule) {
+        if (acceleratorModule != null) {
+            objectMapper.registerModule(acceleratorModule);
+        }
+    }
+
+    /**
+     * 创建字节码加速模块
+     * <p>
+     * 依赖是可选的，因此通过反射创建，未引入对应依赖时返回 null
+     *
+     * @param accelerator 字节码加速模块
+     * @return 模块
+     */
+    private static Module createAcceleratorModule(JacksonAcceleratorEnum accelerator) {
+        if (accelerator == JacksonAcceleratorEnum.AUTO) {
+            accelerator = isJava8() ? JacksonAcceleratorEnum.AFTERBURNER : JacksonAcceleratorEnum.BLACKBIRD;
+        }
+        String moduleClass;
+        switch (accelerator) {
+            case BLACKBIRD:
+                moduleClass = BLACKBIRD_MODULE_CLASS;
+                break;
+            case AFTERBURNER:
+                moduleClass = AFTERBURNER_MODULE_CLASS;
+                break;
+            default:
+                return null;
+        }
+        if (!ClassUtils.isPresent(moduleClass, YudaoJacksonAutoConfiguration.class.getClassLoader())) {
+            log.warn("[createAcceleratorModule][未引入 {} 的依赖，跳过注册字节码加速模块]", moduleClass);
+            return null;
+        }
+        log.info("[createAcceleratorModule][注册 Jackson 字节码加速模块 {}]", accelerator);
+        return (Module) ReflectUtil.newInstance(moduleClass);
+    }
+
+    private static boolean isJava8() {
+        return System.getProperty("java.specification.version", "").startsWith("1.");
+    }
+
 }
@@ -0,0 +1,27 @@
+package com.easy.web.jackson.core.enums;
+
+/**
+ * Jackson 字节码加速模块
+ *
+ * @author 芋道源码
+ */
+public enum JacksonAcceleratorEnum {
+
+    /**
+     * 根据 JDK 版本自动选择：JDK 8 使用 Afterburner，JDK 9 及以上使用 Blackbird
+     */
+    AUTO,
+    /**
+     * Blackbird，基于 LambdaMetafactory 生成访问器，适用于 JDK 9 及以上
+     */
+    BLACKBIRD,
+    /**
+     * Afterburner，基于字节码生成访问器，适用于 JDK 8
+     */
+    AFTERBURNER,
+    /**
+     * 不使用字节码加速
+     */
+    NONE
+
+}
@@ -2,6 +2,7 @@ package com.easy.web.web.config;
 
 import cn.iocoder.yudao.framework.common.enums.WebFilterOrderEnum;
 import com.easy.web.web.core.filter.CacheRequestBodyFilter;
+import com.easy.web.web.core.filter.RequestBodyBufferPool;
 import com.easy.web.web.core.filter.DemoFilter;
 import com.easy.web.web.core.handler.GlobalExceptionHandler;
 import com.easy.web.web.core.handler.GlobalResponseBodyHandler;
@@ -99,7 +100,11 @@ public class EasyWebAutoConfiguration implements WebMvcConfigurer {
      */
     @Bean
     public FilterRegistrationBean<CacheRequestBodyFilter> requestBodyCacheFilter() {
-        return createFilterBean(new CacheRequestBodyFilter(), WebFilterOrderEnum.REQUEST_BODY_CACHE_FILTER);
+        WebProperties.RequestBodyCache cache = webProperties.getRequestBodyCache();
+        RequestBodyBufferPool bufferPool = new RequestBodyBufferPool((int) cache.getMemoryThreshold().toBytes(),
+                cache.getBufferPoolSize());
+        return createFilterBean(new CacheRequestBodyFilter(bufferPool, cache.getMaxSize().toBytes()),
+                WebFilterOrderEnum.REQUEST_BODY_CACHE_FILTER);
     }
 
     /**
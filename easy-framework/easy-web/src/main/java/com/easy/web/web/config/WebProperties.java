@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.servlet.config.annotation.PathMatchConfigurer;
 
@@ -24,6 +25,9 @@ public class WebProperties {
     @NotNull(message = "Admin UI 不能为空")
     private Ui adminUi;
 
+    @NotNull(message = "请求内容缓存不能为空")
+    private RequestBodyCache requestBodyCache = new RequestBodyCache();
+
     @Data
     @AllArgsConstructor
     @NoArgsConstructor
@@ -63,4 +67,30 @@ public class WebProperties {
 
     }
 
+    @Data
+    @Valid
+    public static class RequestBodyCache {
+
+        /**
+         * 内存缓存的阈值，超过时写入临时文件
+         */
+        @NotNull(message = "内存缓存的阈值不能为空")
+        private DataSize memoryThreshold = DataSize.ofKilobytes(64);
+
+        /**
+         * 请求内容的最大大小，超过时读取请求内容失败，避免大请求占满临时目录；小于等于 0 时不限制
+         */
+        @NotNull(message = "请求内容的最大大小不能为空")
+        private DataSize maxSize = DataSize.ofMegabytes(100);
+
+        /**
+         * 对象池中最多保留的缓冲区数量
+         *
+         * 只有 Content-Length 未知或不小于内存缓存阈值的请求使用对象池，小请求按实际长度分配
+         */
+        @NotNull(message = "缓冲区数量不能为空")
+        private Integer bufferPoolSize = 64;
+
+    }
+
 }
@@ -3,6 +3,8 @@ package com.easy.web.web.core.filter;
 import cn.iocoder.yudao.framework.common.util.servlet.ServletUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
@@ -16,10 +18,50 @@ import java.io.IOException;
  */
 public class CacheRequestBodyFilter extends OncePerRequestFilter {
 
+    private final RequestBodyBufferPool bufferPool;
+    /**
+     * 请求内容的最大字节数，小于等于 0 时不限制
+     */
+    private final long maxSize;
+
+    public CacheRequestBodyFilter(RequestBodyBufferPool bufferPool, long maxSize) {
+        this.bufferPool = bufferPool;
+        this.maxSize = maxSize;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws IOException, ServletException {
-        filterChain.doFilter(new CacheRequestBodyWrapper(request), response);
+        CacheRequestBodyWrapper wrapper = new CacheRequestBodyWrapper(request, bufferPool, maxSize);
+        try {
+            filterChain.doFilter(wrapper, response);
+        } finally {
+            // 异步请求在完成时释放，其它请求在此释放缓存的内容
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        wrapper.close();
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+
+                });
+            } else {
+                wrapper.close();
+            }
+        }
     }
 
     @Override
@@ -1,68 +1,211 @@
 package com.easy.web.web.core.filter;
 
-import cn.iocoder.yudao.framework.common.util.servlet.ServletUtils;
-
 import javax.servlet.ReadListener;
 import javax.servlet.ServletInputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletRequestWrapper;
 import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
 /**
  *  Request Body 缓存 Wrapper
  *
+ * 第一次读取请求内容时才缓存，每次 {@link #getInputStream()} 都返回一个新的流，共享缓存的内容，不复制；
+ * 写入临时文件的请求内容每次重新打开文件读取。
+ *
  * @author 芋道源码
  */
-public class CacheRequestBodyWrapper extends HttpServletRequestWrapper {
+public class CacheRequestBodyWrapper extends HttpServletRequestWrapper implements Closeable {
+
+    private final RequestBodyBufferPool bufferPool;
+    /**
+     * 请求内容的最大字节数，小于等于 0 时不限制
+     */
+    private final long maxSize;
 
     /**
-     * 缓存的内容
+     * 缓存的内容，第一次读取时初始化
      */
-    private final byte[] body;
+    private CachedRequestBody body;
 
-    public CacheRequestBodyWrapper(HttpServletRequest request) {
+    public CacheRequestBodyWrapper(HttpServletRequest request, RequestBodyBufferPool bufferPool, long maxSize) {
         super(request);
-        body = ServletUtils.getBodyBytes(request);
+        this.bufferPool = bufferPool;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * 获得缓存的请求内容，第一次调用时读取
+     */
+    public CachedRequestBody getCachedBody() throws IOException {
+        if (body == null) {
+            body = CachedRequestBody.read(getRequest().getInputStream(), getRequest().getContentLengthLong(), bufferPool, maxSize);
+        }
+        return body;
     }
 
     @Override
     public BufferedReader getReader() throws IOException {
-        return new BufferedReader(new InputStreamReader(this.getInputStream()));
+        String encoding = getCharacterEncoding();
+        Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+        return new BufferedReader(new InputStreamReader(this.getInputStream(), charset));
     }
 
     @Override
     public ServletInputStream getInputStream() throws IOException {
-        final ByteArrayInputStream inputStream = new ByteArrayInputStream(body);
-        // 返回 ServletInputStream
-        return new ServletInputStream() {
+        CachedRequestBody cachedBody = getCachedBody();
+        if (cachedBody.isSpilled()) {
+            return new FileServletInputStream(cachedBody.openStream());
+        }
+        return new ByteBufferServletInputStream(cachedBody.asReadOnlyBuffer());
+    }
 
-            @Override
-            public int read() {
-                return inputStream.read();
-            }
+    /**
+     * 释放缓存的内容，请求结束时调用
+     */
+    @Override
+    public void close() {
+        if (body != null) {
+            body.close();
+        }
+    }
+
+    /**
+     * 读取 {@link ByteBuffer} 的 ServletInputStream
+     */
+    private static class ByteBufferServletInputStream extends ServletInputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferServletInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
 
-            @Override
-            public boolean isFinished() {
-                return false;
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
             }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            // 转为 Buffer 调用，避免在 JDK 9+ 编译后在 Java 8 上运行时找不到 ByteBuffer#position(int)
+            ((Buffer) buffer).position(buffer.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public boolean isFinished() {
+            return !buffer.hasRemaining();
+        }
 
-            @Override
-            public boolean isReady() {
-                return false;
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            // 内容已全部缓存，直接通知可读、读取完成
+            try {
+                if (buffer.hasRemaining()) {
+                    readListener.onDataAvailable();
+                }
+                readListener.onAllDataRead();
+            } catch (IOException ex) {
+                readListener.onError(ex);
             }
+        }
+
+    }
+
+    /**
+     * 读取临时文件的 ServletInputStream
+     */
+    private static class FileServletInputStream extends ServletInputStream {
+
+        private final InputStream in;
+        private boolean finished;
+
+        FileServletInputStream(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = in.read();
+            finished = value < 0;
+            return value;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            int count = in.read(bytes, offset, length);
+            finished = count < 0;
+            return count;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            return in.skip(n);
+        }
+
+        @Override
+        public int available() throws IOException {
+            return in.available();
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
 
-            @Override
-            public void setReadListener(ReadListener readListener) {}
+        @Override
+        public boolean isReady() {
+            return true;
+        }
 
-            @Override
-            public int available() {
-                return body.length;
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            // 内容已全部缓存，直接通知可读、读取完成
+            try {
+                readListener.onDataAvailable();
+                readListener.onAllDataRead();
+            } catch (IOException ex) {
+                readListener.onError(ex);
             }
+        }
 
-        };
     }
 
 }
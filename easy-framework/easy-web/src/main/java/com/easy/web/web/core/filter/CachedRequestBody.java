@@ -0,0 +1,250 @@
+package com.easy.web.web.core.filter;
+
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 缓存的请求内容
+ * <p>
+ * Content-Length 已知且小于 {@link RequestBodyBufferPool#getBufferSize()} 时按实际长度分配内存缓存，不占用对象池；
+ * 长度未知或超过阈值时使用对象池的缓冲区读取，超过阈值的部分写入临时文件，避免大请求占用堆内存，写入的总字节数不能超过 maxSize。
+ * 缓存在内存中时通过 {@link #asReadOnlyBuffer()} 获得共享的只读视图，不复制内容；写入临时文件时通过 {@link #openStream()} 读取。
+ *
+ * 请求结束时需要调用 {@link #close()} 归还缓冲区、关闭打开的流并删除临时文件，之后不能再使用获得的视图与流。
+ *
+ * @author 芋道源码
+ */
+@Slf4j
+public class CachedRequestBody implements Closeable {
+
+    private static final String TEMP_FILE_PREFIX = "easy-request-body-";
+    /**
+     * 读取临时文件的缓冲区大小
+     */
+    private static final int FILE_READ_BUFFER_SIZE = 8192;
+
+    /**
+     * 内存缓存的内容，写入临时文件时为 null
+     */
+    private final ByteBuffer data;
+    private final RequestBodyBufferPool bufferPool;
+    /**
+     * 内存缓存的缓冲区，不是对象池的缓冲区时归还会被忽略；写入临时文件时为 null
+     */
+    private final byte[] buffer;
+    /**
+     * 临时文件，缓存在内存中时为 null
+     */
+    private final Path file;
+    private final long size;
+    /**
+     * 打开的临时文件的流，关闭时一并关闭
+     */
+    private final List<InputStream> openedStreams = new ArrayList<>();
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private CachedRequestBody(ByteBuffer data, RequestBodyBufferPool bufferPool, byte[] buffer, Path file, long size) {
+        this.data = data != null ? data.asReadOnlyBuffer() : null;
+        this.bufferPool = bufferPool;
+        this.buffer = buffer;
+        this.file = file;
+        this.size = size;
+    }
+
+    /**
+     * 读取并缓存请求内容
+     *
+     * @param in            请求内容
+     * @param contentLength 请求头中的 Content-Length，未知时为 -1
+     * @param bufferPool    缓冲区的对象池
+     * @param maxSize       请求内容的最大字节数，小于等于 0 时不限制
+     * @return 缓存的请求内容
+     * @throws IOException 读取失败，或请求内容超过 maxSize
+     */
+    public static CachedRequestBody read(InputStream in, long contentLength, RequestBodyBufferPool bufferPool,
+                                         long maxSize) throws IOException {
+        checkSize(contentLength, maxSize);
+        // 已知长度的小请求按实际长度分配，对象池只用于长度未知或超过阈值的请求
+        byte[] buffer = contentLength >= 0 && contentLength < bufferPool.getBufferSize()
+                ? new byte[(int) contentLength] : bufferPool.acquire();
+        boolean cached = false;
+        try {
+            int length = 0;
+            while (length < buffer.length) {
+                int count = in.read(buffer, length, buffer.length - length);
+                if (count < 0) {
+                    break;
+                }
+                length += count;
+            }
+            int next = length < buffer.length ? -1 : in.read();
+            if (next < 0) {
+                cached = true;
+                return new CachedRequestBody(ByteBuffer.wrap(buffer, 0, length).slice(), bufferPool, buffer, null, length);
+            }
+            // 超过内存缓存的阈值，或实际内容比 Content-Length 长，写入临时文件
+            return spill(in, buffer, length, next, bufferPool, maxSize);
+        } finally {
+            if (!cached) {
+                bufferPool.release(buffer);
+            }
+        }
+    }
+
+    private static CachedRequestBody spill(InputStream in, byte[] buffer, int length, int next,
+                                           RequestBodyBufferPool bufferPool, long maxSize) throws IOException {
+        Path file = Files.createTempFile(TEMP_FILE_PREFIX, ".tmp");
+        // 按 Content-Length 分配的缓冲区可能很小，改用对象池的缓冲区复制剩余内容
+        byte[] transfer = buffer.length >= bufferPool.getBufferSize() ? buffer : bufferPool.acquire();
+        try {
+            long size = length + 1L;
+            checkSize(size, maxSize);
+            try (OutputStream out = Files.newOutputStream(file)) {
+                out.write(buffer, 0, length);
+                out.write(next);
+                int count;
+                while ((count = in.read(transfer)) >= 0) {
+                    size += count;
+                    checkSize(size, maxSize);
+                    out.write(transfer, 0, count);
+                }
+            }
+            return new CachedRequestBody(null, bufferPool, null, file, size);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(file);
+            throw ex;
+        } finally {
+            if (transfer != buffer) {
+                bufferPool.release(transfer);
+            }
+        }
+    }
+
+    private static void checkSize(long size, long maxSize) throws IOException {
+        if (maxSize > 0 && size > maxSize) {
+            throw new IOException(String.format("请求内容(%d 字节) 超过最大限制(%d 字节)", size, maxSize));
+        }
+    }
+
+    /**
+     * 获得请求内容的只读视图，每次调用返回独立的读取位置，共享同一份内容
+     *
+     * @throws IllegalStateException 已关闭，或请求内容写入了临时文件
+     */
+    public ByteBuffer asReadOnlyBuffer() {
+        checkOpen();
+        if (data == null) {
+            throw new IllegalStateException("请求内容已写入临时文件，需通过 openStream 读取");
+        }
+        return data.duplicate();
+    }
+
+    /**
+     * 获得请求内容前 maxLength 字节的只读视图
+     * <p>
+     * 缓存在内存中时直接返回共享的视图，不复制；写入临时文件时通过 {@link FileChannel} 读取到新的堆内存中。
+     *
+     * @param maxLength 最多读取的字节数，小于等于 0 时读取全部内容
+     * @return 只读视图
+     */
+    public ByteBuffer asReadOnlyBuffer(int maxLength) throws IOException {
+        checkOpen();
+        long length = maxLength > 0 ? Math.min(size, maxLength) : size;
+        // 转为 Buffer 调用，避免在 JDK 9+ 编译后在 Java 8 上运行时找不到 ByteBuffer 的协变方法
+        if (data != null) {
+            ByteBuffer view = data.duplicate();
+            ((Buffer) view).limit((int) length);
+            return view;
+        }
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException(String.format("请求内容(%d 字节) 过大，无法读取到内存", length));
+        }
+        ByteBuffer prefix = ByteBuffer.allocate((int) length);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (prefix.hasRemaining() && channel.read(prefix) >= 0) {
+                // 读满或读到文件末尾为止
+            }
+        }
+        ((Buffer) prefix).flip();
+        return prefix.asReadOnlyBuffer();
+    }
+
+    /**
+     * 打开读取请求内容的流，每次调用返回独立的流
+     */
+    public InputStream openStream() throws IOException {
+        checkOpen();
+        if (data != null) {
+            return new ByteBufferBackedInputStream(data.duplicate());
+        }
+        InputStream in = new BufferedInputStream(Files.newInputStream(file), FILE_READ_BUFFER_SIZE);
+        synchronized (openedStreams) {
+            openedStreams.add(in);
+        }
+        return in;
+    }
+
+    private void checkOpen() {
+        if (closed.get()) {
+            throw new IllegalStateException("请求内容的缓存已关闭");
+        }
+    }
+
+    /**
+     * 获得请求内容的字节数
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * 是否写入了临时文件
+     */
+    public boolean isSpilled() {
+        return file != null;
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        if (buffer != null) {
+            bufferPool.release(buffer);
+        }
+        if (file != null) {
+            synchronized (openedStreams) {
+                for (InputStream in : openedStreams) {
+                    try {
+                        in.close();
+                    } catch (IOException ex) {
+                        log.warn("[close][关闭请求内容的临时文件({}) 的流失败]", file, ex);
+                    }
+                }
+                openedStreams.clear();
+            }
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ex) {
+                log.warn("[close][删除请求内容的临时文件({}) 失败]", file, ex);
+            }
+        }
+    }
+
+}
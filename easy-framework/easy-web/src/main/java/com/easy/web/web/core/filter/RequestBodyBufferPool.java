@@ -0,0 +1,51 @@
+package com.easy.web.web.core.filter;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * 请求内容缓冲区的对象池，复用 {@link CachedRequestBody} 的内存缓冲区
+ * <p>
+ * 只有 Content-Length 未知或不小于 bufferSize 的请求使用对象池，小请求按实际长度分配，不占用池中的缓冲区。
+ * 池中最多保留 maxPooled 个缓冲区，池为空时新建，归还时池已满或大小不一致则丢弃，交给 GC 回收。
+ *
+ * @author 芋道源码
+ */
+public class RequestBodyBufferPool {
+
+    /**
+     * 缓冲区大小，即内存缓存的阈值
+     */
+    private final int bufferSize;
+    private final BlockingQueue<byte[]> buffers;
+
+    public RequestBodyBufferPool(int bufferSize, int maxPooled) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize 必须大于 0");
+        }
+        this.bufferSize = bufferSize;
+        this.buffers = new ArrayBlockingQueue<>(Math.max(maxPooled, 1));
+    }
+
+    /**
+     * 获取缓冲区
+     */
+    public byte[] acquire() {
+        byte[] buffer = buffers.poll();
+        return buffer != null ? buffer : new byte[bufferSize];
+    }
+
+    /**
+     * 归还缓冲区
+     */
+    public void release(byte[] buffer) {
+        if (buffer.length == bufferSize) {
+            buffers.offer(buffer);
+        }
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+}
@@ -5,6 +5,7 @@ import com.easy.web.xss.core.clean.JsoupXssCleaner;
 import com.easy.web.xss.core.clean.XssCleaner;
 import com.easy.web.xss.core.filter.XssFilter;
 import com.easy.web.xss.core.json.XssStringJsonDeserializer;
+import com.easy.web.xss.core.matcher.XssExcludeMatcher;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
@@ -36,6 +37,16 @@ public class YudaoXssAutoConfiguration implements WebMvcConfigurer {
         return new JsoupXssCleaner();
     }
 
+    /**
+     * Xss 白名单 URL 的匹配器
+     *
+     * @return XssExcludeMatcher
+     */
+    @Bean
+    public XssExcludeMatcher xssExcludeMatcher(XssProperties properties, PathMatcher pathMatcher) {
+        return new XssExcludeMatcher(properties.getExcludeUrls(), pathMatcher);
+    }
+
     /**
      * 注册 Jackson 的序列化器，用于处理 json 类型参数的 xss 过滤
      *
@@ -45,11 +56,10 @@ public class YudaoXssAutoConfiguration implements WebMvcConfigurer {
     @ConditionalOnMissingBean(name = "xssJacksonCustomizer")
     @ConditionalOnBean(ObjectMapper.class)
     @ConditionalOnProperty(value = "yudao.xss.enable", havingValue = "true")
-    public Jackson2ObjectMapperBuilderCustomizer xssJacksonCustomizer(XssProperties properties,
-                                                                      PathMatcher pathMatcher,
+    public Jackson2ObjectMapperBuilderCustomizer xssJacksonCustomizer(XssExcludeMatcher xssExcludeMatcher,
                                                                       XssCleaner xssCleaner) {
         // 在反序列化时进行 xss 过滤，可以替换使用 XssStringJsonSerializer，在序列化时进行处理
-        return builder -> builder.deserializerByType(String.class, new XssStringJsonDeserializer(properties, pathMatcher, xssCleaner));
+        return builder -> builder.deserializerByType(String.class, new XssStringJsonDeserializer(xssExcludeMatcher, xssCleaner));
     }
 
     /**
@@ -57,8 +67,9 @@ public class YudaoXssAutoConfiguration implements WebMvcConfigurer {
      */
     @Bean
     @ConditionalOnBean(XssCleaner.class)
-    public FilterRegistrationBean<XssFilter> xssFilter(XssProperties properties, PathMatcher pathMatcher, XssCleaner xssCleaner) {
-        return createFilterBean(new XssFilter(properties, pathMatcher, xssCleaner), WebFilterOrderEnum.XSS_FILTER);
+    public FilterRegistrationBean<XssFilter> xssFilter(XssProperties properties, XssExcludeMatcher xssExcludeMatcher,
+                                                       XssCleaner xssCleaner) {
+        return createFilterBean(new XssFilter(properties, xssExcludeMatcher, xssCleaner), WebFilterOrderEnum.XSS_FILTER);
     }
 
 }
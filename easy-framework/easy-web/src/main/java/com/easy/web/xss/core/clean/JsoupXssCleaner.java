@@ -57,8 +57,53 @@ public class JsoupXssCleaner implements XssCleaner {
 
     @Override
     public String clean(String html) {
+        // 快速路径：不包含 Jsoup 会处理的字符时，清理结果与原内容一致，直接返回
+        if (html == null || !needsClean(html)) {
+            return html;
+        }
+        return cleanWithJsoup(html);
+    }
+
+    /**
+     * 使用 Jsoup 清理，不经过快速路径
+     *
+     * @param html 内容
+     * @return 清理后的内容
+     */
+    String cleanWithJsoup(String html) {
         return Jsoup.clean(html, baseUri, safelist, new Document.OutputSettings().prettyPrint(false));
     }
 
+    /**
+     * 判断内容是否需要清理
+     * <p>
+     * Jsoup 清理纯文本时，只会转义 &lt;、&amp;、&gt;、不间断空格、除制表符、换行符、回车符外的控制字符，以及不成对的代理字符，
+     * 其它字符原样输出。因此不包含这些字符的内容，清理前后一致。
+     * 注意：Jsoup 会把低 16 位落在代理字符区间的增补字符（如 U+1D800）也当作代理字符转义，这里同样交给 Jsoup 处理。
+     *
+     * @param html 内容
+     * @return 是否需要清理
+     */
+    static boolean needsClean(String html) {
+        for (int i = 0, length = html.length(); i < length; i++) {
+            char c = html.charAt(i);
+            if (c < 0x20) {
+                if (c != '\t' && c != '\n' && c != '\r') {
+                    return true;
+                }
+            } else if (c == '<' || c == '&' || c == '>' || c == '\u00a0') {
+                return true;
+            } else if (Character.isSurrogate(c)) {
+                if (!Character.isHighSurrogate(c) || i + 1 >= length || !Character.isLowSurrogate(html.charAt(i + 1))) {
+                    return true;
+                }
+                if (Character.isSurrogate((char) Character.toCodePoint(c, html.charAt(++i)))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
 }
 
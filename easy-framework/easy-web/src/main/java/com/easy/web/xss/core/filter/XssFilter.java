@@ -2,8 +2,8 @@ package com.easy.web.xss.core.filter;
 
 import com.easy.web.xss.config.XssProperties;
 import com.easy.web.xss.core.clean.XssCleaner;
+import com.easy.web.xss.core.matcher.XssExcludeMatcher;
 import lombok.AllArgsConstructor;
-import org.springframework.util.PathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import javax.servlet.FilterChain;
@@ -25,9 +25,9 @@ public class XssFilter extends OncePerRequestFilter {
      */
     private final XssProperties properties;
     /**
-     * 路径匹配器
+     * 白名单 URL 的匹配器
      */
-    private final PathMatcher pathMatcher;
+    private final XssExcludeMatcher excludeMatcher;
 
     private final XssCleaner xssCleaner;
 
@@ -45,8 +45,7 @@ public class XssFilter extends OncePerRequestFilter {
         }
 
         // 如果匹配到无需过滤，则不过滤
-        String uri = request.getRequestURI();
-        return properties.getExcludeUrls().stream().anyMatch(excludeUrl -> pathMatcher.match(excludeUrl, uri));
+        return excludeMatcher.isExcluded(request);
     }
 
 }
@@ -1,15 +1,14 @@
 package com.easy.web.xss.core.json;
 
 import cn.iocoder.yudao.framework.common.util.servlet.ServletUtils;
-import com.easy.web.xss.config.XssProperties;
 import com.easy.web.xss.core.clean.XssCleaner;
+import com.easy.web.xss.core.matcher.XssExcludeMatcher;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.util.PathMatcher;
 
 import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
@@ -25,25 +24,18 @@ import java.io.IOException;
 public class XssStringJsonDeserializer extends StringDeserializer {
 
     /**
-     * 属性
+     * 白名单 URL 的匹配器
      */
-    private final XssProperties properties;
-    /**
-     * 路径匹配器
-     */
-    private final PathMatcher pathMatcher;
+    private final XssExcludeMatcher excludeMatcher;
 
     private final XssCleaner xssCleaner;
 
     @Override
     public String deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
-        // 1. 白名单 URL 的处理
+        // 1. 白名单 URL 的处理，每个请求只匹配一次
         HttpServletRequest request = ServletUtils.getRequest();
-        if (request != null) {
-            String uri = ServletUtils.getRequest().getRequestURI();
-            if (properties.getExcludeUrls().stream().anyMatch(excludeUrl -> pathMatcher.match(excludeUrl, uri))) {
-                return p.getText();
-            }
+        if (request != null && excludeMatcher.isExcluded(request)) {
+            return p.getText();
         }
 
         // 2. 真正使用 xssCleaner 进行过滤
@@ -0,0 +1,123 @@
+package com.easy.web.xss.core.matcher;
+
+import org.springframework.util.PathMatcher;
+import org.springframework.util.StringUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * XSS 白名单 URL 的匹配器
+ * <p>
+ * 启动时把白名单 URL 按开头的固定路径段构建为前缀树，匹配时沿请求地址的路径段向下查找，只有前缀命中的规则才交给
+ * {@link PathMatcher} 精确匹配，匹配结果与逐条匹配一致。每个请求只匹配一次，结果缓存在 request 的属性中，
+ * 供 XssFilter 与 JSON 反序列化时共用。
+ *
+ * @author 芋道源码
+ */
+public class XssExcludeMatcher {
+
+    /**
+     * 缓存匹配结果的 request 属性
+     */
+    public static final String ATTRIBUTE_EXCLUDED = XssExcludeMatcher.class.getName() + ".EXCLUDED";
+
+    private static final String PATH_SEPARATOR = "/";
+
+    private final PathMatcher pathMatcher;
+    private final Node root = new Node();
+    private final boolean empty;
+
+    public XssExcludeMatcher(Collection<String> excludeUrls, PathMatcher pathMatcher) {
+        this.pathMatcher = pathMatcher;
+        excludeUrls.forEach(this::add);
+        this.empty = excludeUrls.isEmpty();
+    }
+
+    private void add(String pattern) {
+        Node node = root;
+        for (String segment : StringUtils.tokenizeToStringArray(pattern, PATH_SEPARATOR)) {
+            // 从第一个包含通配符的路径段开始，交给 PathMatcher 匹配
+            if (pathMatcher.isPattern(segment)) {
+                break;
+            }
+            node = node.children.computeIfAbsent(segment, key -> new Node());
+        }
+        node.patterns.add(pattern);
+    }
+
+    /**
+     * 判断请求是否在白名单中，结果缓存在 request 的属性中
+     *
+     * @param request 请求
+     * @return 是否在白名单中
+     */
+    public boolean isExcluded(HttpServletRequest request) {
+        if (empty) {
+            return false;
+        }
+        Object cached = request.getAttribute(ATTRIBUTE_EXCLUDED);
+        if (cached instanceof Boolean) {
+            return (Boolean) cached;
+        }
+        boolean excluded = match(request.getRequestURI());
+        request.setAttribute(ATTRIBUTE_EXCLUDED, excluded);
+        return excluded;
+    }
+
+    /**
+     * 判断请求地址是否在白名单中
+     *
+     * @param uri 请求地址
+     * @return 是否在白名单中
+     */
+    public boolean match(String uri) {
+        if (empty || uri == null) {
+            return false;
+        }
+        Node node = root;
+        if (matchPatterns(node, uri)) {
+            return true;
+        }
+        for (String segment : StringUtils.tokenizeToStringArray(uri, PATH_SEPARATOR)) {
+            node = node.children.get(segment);
+            if (node == null) {
+                return false;
+            }
+            if (matchPatterns(node, uri)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matchPatterns(Node node, String uri) {
+        for (String pattern : node.patterns) {
+            if (pathMatcher.match(pattern, uri)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 前缀树的节点
+     */
+    private static class Node {
+
+        /**
+         * 子节点，key 为固定的路径段
+         */
+        private final Map<String, Node> children = new HashMap<>();
+        /**
+         * 固定路径前缀为当前节点的规则
+         */
+        private final List<String> patterns = new ArrayList<>();
+
+    }
+
+}
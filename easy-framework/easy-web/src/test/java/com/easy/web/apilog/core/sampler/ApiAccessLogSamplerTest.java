@@ -0,0 +1,84 @@
+package com.easy.web.apilog.core.sampler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import com.easy.web.apilog.core.annotation.ApiAccessLog;
+
+/**
+ * API访问日志采样器测试类
+ */
+class ApiAccessLogSamplerTest {
+
+    /**
+     * 测试按路径规则采样，使用第一个匹配的规则
+     */
+    @Test
+    void testPathRules() {
+        ApiAccessLogSampler sampler = new ApiAccessLogSampler(1, Arrays.asList(
+                new ApiAccessLogSampler.Rule("/actuator/**", 0),
+                new ApiAccessLogSampler.Rule("/admin-api/**", 1),
+                new ApiAccessLogSampler.Rule("/**", 0)), false, null, 0);
+
+        assertFalse(sampler.shouldLog("/actuator/health", "/actuator/health", null, false, 1));
+        assertTrue(sampler.shouldLog("/admin-api/system/user/page", "/admin-api/system/user/page", null, false, 1));
+        // 没有路径模式时，按请求地址匹配
+        assertFalse(sampler.shouldLog(null, "/app-api/list", null, false, 1));
+        assertEquals(2, sampler.getUnsampledCount());
+    }
+
+    /**
+     * 测试注解的采样比例优先于路径规则
+     */
+    @Test
+    void testAnnotationRate() {
+        ApiAccessLogSampler sampler = new ApiAccessLogSampler(1,
+                Collections.singletonList(new ApiAccessLogSampler.Rule("/**", 1)), false, null, 0);
+        ApiAccessLog annotation = mock(ApiAccessLog.class);
+        when(annotation.sampleRate()).thenReturn(0D);
+
+        assertFalse(sampler.shouldLog("/list", "/list", annotation, false, 1));
+        when(annotation.sampleRate()).thenReturn(-1D);
+        assertTrue(sampler.shouldLog("/list", "/list", annotation, false, 1));
+    }
+
+    /**
+     * 测试失败请求、慢请求不参与采样
+     */
+    @Test
+    void testErrorAndSlowRequests() {
+        ApiAccessLogSampler sampler = new ApiAccessLogSampler(0, null, true, Duration.ofMillis(500), 0);
+
+        assertFalse(sampler.shouldLog("/list", "/list", null, false, 10));
+        assertTrue(sampler.shouldLog("/list", "/list", null, true, 10));
+        assertTrue(sampler.shouldLog("/list", "/list", null, false, 500));
+    }
+
+    /**
+     * 测试每秒最大记录数量
+     */
+    @Test
+    void testMaxPerSecond() {
+        ApiAccessLogSampler sampler = new ApiAccessLogSampler(1, null, true, null, 5);
+
+        int logged = 0;
+        for (int i = 0; i < 20; i++) {
+            if (sampler.shouldLog("/list", "/list", null, true, 1)) {
+                logged++;
+            }
+        }
+
+        assertTrue(logged >= 5 && logged <= 6, "每秒记录数量应受限制: " + logged);
+        assertEquals(20 - logged, sampler.getThrottledCount());
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.easy.web.apilog.core.sanitizer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import cn.iocoder.yudao.framework.common.pojo.CommonResult;
+
+/**
+ * JSON流式脱敏器测试类
+ */
+class JsonStreamSanitizerTest {
+
+    private static final String[] SANITIZE_KEYS = {"password", "token"};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * 测试移除嵌套对象、数组中的敏感字段
+     */
+    @Test
+    void testSanitizeRemovesKeys() {
+        JsonStreamSanitizer sanitizer = new JsonStreamSanitizer(objectMapper, SANITIZE_KEYS, null, 0, 0);
+
+        String result = sanitizer.sanitize(bytes("{\"username\":\"admin\",\"password\":{\"a\":[1,2]},"
+                + "\"items\":[{\"token\":\"t\",\"id\":1}],\"secret\":\"s\"}"), new String[]{"secret"});
+
+        assertEquals("{\"username\":\"admin\",\"items\":[{\"id\":1}]}", result);
+    }
+
+    /**
+     * 测试使用掩码替代敏感字段
+     */
+    @Test
+    void testSanitizeMask() {
+        JsonStreamSanitizer sanitizer = new JsonStreamSanitizer(objectMapper, SANITIZE_KEYS, "***", 0, 0);
+
+        assertEquals("{\"username\":\"admin\",\"password\":\"***\"}",
+                sanitizer.sanitize(bytes("{\"username\":\"admin\",\"password\":\"123456\"}"), null));
+    }
+
+    /**
+     * 测试超过最大长度时截断，解析失败时返回原内容
+     */
+    @Test
+    void testSanitizeTruncateAndInvalid() {
+        JsonStreamSanitizer sanitizer = new JsonStreamSanitizer(objectMapper, SANITIZE_KEYS, null, 10, 0);
+
+        assertEquals("{\"username", sanitizer.sanitize(bytes("{\"username\":\"admin\",\"password\":\"1\"}"), null));
+        assertEquals("not json", sanitizer.sanitize(bytes("not json"), null));
+        assertNull(sanitizer.sanitize(new byte[0], null));
+    }
+
+    /**
+     * 测试输入超过最多解析的字节数时，返回已脱敏的部分
+     */
+    @Test
+    void testSanitizeTruncatedInput() {
+        JsonStreamSanitizer sanitizer = new JsonStreamSanitizer(objectMapper, SANITIZE_KEYS, null, 0, 40);
+
+        String result = sanitizer.sanitize(ByteBuffer.wrap(bytes("{\"username\":\"admin\",\"id\":1,\"password\":\"123456\"}")), null);
+
+        assertEquals("{\"username\":\"admin\",\"id\":1", result);
+    }
+
+    /**
+     * 测试只脱敏 CommonResult 的 data 字段
+     */
+    @Test
+    void testSanitizeResult() {
+        JsonStreamSanitizer sanitizer = new JsonStreamSanitizer(objectMapper, SANITIZE_KEYS, null, 0, 0);
+        Map<String, Object> data = new HashMap<>();
+        data.put("token", "t");
+        data.put("id", 1);
+        CommonResult<Map<String, Object>> result = CommonResult.success(data);
+
+        String json = sanitizer.sanitizeResult(result, null);
+
+        assertEquals("{\"code\":0,\"data\":{\"id\":1},\"msg\":\"\"}", json);
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
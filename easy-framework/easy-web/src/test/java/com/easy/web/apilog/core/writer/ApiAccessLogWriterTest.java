@@ -0,0 +1,220 @@
+package com.easy.web.apilog.core.writer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.easy.web.apilog.ApiAccessLogApi;
+import com.easy.web.apilog.ApiAccessLogCreateReqDTO;
+import com.easy.web.apilog.core.enums.AccessLogOverflowPolicyEnum;
+
+/**
+ * API访问日志批量写入器测试类
+ */
+class ApiAccessLogWriterTest {
+
+    /**
+     * 测试环形缓冲区的容量、满时写入失败，以及读取顺序
+     */
+    @Test
+    void testRingBuffer() {
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(3);
+        assertEquals(4, buffer.capacity());
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4), "缓冲区满时应写入失败");
+        assertEquals(0, buffer.poll());
+        assertTrue(buffer.offer(4), "读取后应可再次写入");
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(4, buffer.drainTo(drained, 10));
+        assertEquals(Arrays.asList(1, 2, 3, 4), drained);
+        assertNull(buffer.poll());
+        assertEquals(0, buffer.size());
+    }
+
+    /**
+     * 测试多个生产者并发写入时不丢失、不重复
+     */
+    @Test
+    void testRingBufferConcurrentProducers() throws Exception {
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(1024);
+        int producers = 4;
+        int perProducer = 10000;
+        Set<Integer> received = ConcurrentHashMap.newKeySet();
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.yield();
+                    }
+                }
+                done.countDown();
+            }).start();
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (received.size() < producers * perProducer && System.nanoTime() < deadline) {
+            Integer value = buffer.poll();
+            if (value != null) {
+                assertTrue(received.add(value), "元素不应重复读取");
+            }
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(producers * perProducer, received.size());
+    }
+
+    /**
+     * 测试攒够一批时批量写入
+     */
+    @Test
+    void testWriteBatch() throws Exception {
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        ApiAccessLogWriter writer = new ApiAccessLogWriter(mockApi(batchSizes, latch), 64, 5, Duration.ofHours(1),
+                AccessLogOverflowPolicyEnum.DROP, 0.5, 0.1);
+        for (int i = 0; i < 12; i++) {
+            assertTrue(writer.write(newAccessLog(0)));
+        }
+        // 攒够一批时不等待写入间隔
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        writer.destroy();
+
+        assertEquals(12, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 5), "每批不应超过 batchSize");
+        assertEquals(12, writer.getWrittenCount());
+    }
+
+    /**
+     * 测试未攒够一批时按间隔写入，以及关闭时写入剩余的访问日志
+     */
+    @Test
+    void testFlushIntervalAndDestroy() throws Exception {
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        ApiAccessLogWriter writer = new ApiAccessLogWriter(mockApi(batchSizes, latch), 64, 100, Duration.ofMillis(20),
+                AccessLogOverflowPolicyEnum.DROP, 0.5, 0.1);
+        writer.write(newAccessLog(0));
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+        writer.write(newAccessLog(0));
+        writer.destroy();
+
+        assertEquals(2, writer.getWrittenCount());
+        assertFalse(writer.write(newAccessLog(0)), "关闭后不应再写入");
+        assertEquals(1, writer.getDroppedCount());
+    }
+
+    /**
+     * 测试与关闭并发写入时，每条访问日志要么写入、要么计入丢弃，不会遗留在缓冲区中
+     */
+    @Test
+    void testWriteConcurrentWithDestroy() throws Exception {
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        ApiAccessLogWriter writer = new ApiAccessLogWriter(mockApi(batchSizes, new CountDownLatch(1)), 1 << 16, 100,
+                Duration.ofMillis(1), AccessLogOverflowPolicyEnum.DROP, 0.5, 0.1);
+        int threads = 4;
+        int perThread = 5000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> producers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Thread producer = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int j = 0; j < perThread; j++) {
+                    writer.write(newAccessLog(0));
+                }
+            });
+            producer.start();
+            producers.add(producer);
+        }
+        start.countDown();
+        writer.destroy();
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        assertEquals(0, writer.getQueueSize(), "关闭后缓冲区中不应遗留访问日志");
+        assertEquals(threads * perThread, writer.getWrittenCount() + writer.getDroppedCount());
+        assertEquals(writer.getWrittenCount(), batchSizes.stream().mapToInt(Integer::intValue).sum());
+    }
+
+    /**
+     * 测试缓冲区满时丢弃
+     */
+    @Test
+    void testDropWhenFull() throws Exception {
+        ApiAccessLogWriter writer = new ApiAccessLogWriter(mock(ApiAccessLogApi.class), 4, 100, Duration.ofHours(1),
+                AccessLogOverflowPolicyEnum.DROP, 0.5, 0.1);
+        try {
+            for (int i = 0; i < 6; i++) {
+                writer.write(newAccessLog(0));
+            }
+            assertEquals(4, writer.getQueueSize());
+            assertEquals(2, writer.getDroppedCount());
+        } finally {
+            writer.destroy();
+        }
+    }
+
+    /**
+     * 测试达到采样水位后，成功请求按比例采样，失败请求全部写入
+     */
+    @Test
+    void testSample() throws Exception {
+        ApiAccessLogWriter writer = new ApiAccessLogWriter(mock(ApiAccessLogApi.class), 8, 100, Duration.ofHours(1),
+                AccessLogOverflowPolicyEnum.SAMPLE, 0.5, 0);
+        try {
+            for (int i = 0; i < 4; i++) {
+                assertTrue(writer.write(newAccessLog(0)));
+            }
+            assertFalse(writer.write(newAccessLog(0)), "达到采样水位后，成功请求应被采样掉");
+            assertTrue(writer.write(newAccessLog(500)), "失败请求不应被采样掉");
+            assertEquals(1, writer.getSampledOutCount());
+            assertEquals(5, writer.getQueueSize());
+        } finally {
+            writer.destroy();
+        }
+    }
+
+    private static ApiAccessLogApi mockApi(List<Integer> batchSizes, CountDownLatch latch) {
+        ApiAccessLogApi api = mock(ApiAccessLogApi.class);
+        doAnswer(invocation -> {
+            List<?> batch = invocation.getArgument(0);
+            batchSizes.add(batch.size());
+            latch.countDown();
+            return null;
+        }).when(api).createApiAccessLogBatch(anyList());
+        return api;
+    }
+
+    private static ApiAccessLogCreateReqDTO newAccessLog(int resultCode) {
+        ApiAccessLogCreateReqDTO accessLog = new ApiAccessLogCreateReqDTO();
+        accessLog.setResultCode(resultCode);
+        return accessLog;
+    }
+
+}
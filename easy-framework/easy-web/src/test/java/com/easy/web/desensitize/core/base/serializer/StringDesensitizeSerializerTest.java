@@ -0,0 +1,89 @@
+package com.easy.web.desensitize.core.base.serializer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.easy.web.desensitize.core.regex.annotation.EmailDesensitize;
+import com.easy.web.desensitize.core.slider.annotation.ChineseNameDesensitize;
+import com.easy.web.desensitize.core.slider.annotation.MobileDesensitize;
+import com.easy.web.desensitize.core.slider.annotation.SliderDesensitize;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.Data;
+
+/**
+ * 脱敏序列化器测试类
+ */
+class StringDesensitizeSerializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * 测试各类脱敏注解，通过 getter 序列化时仍能识别字段上的注解
+     */
+    @Test
+    void testDesensitize() throws Exception {
+        DesensitizeDemo demo = new DesensitizeDemo();
+        demo.setMobile("13248765917");
+        demo.setEmail("yudao@iocoder.cn");
+        demo.setName("芋道源码");
+        demo.setShortValue("ab");
+        demo.setMultiReplacer("abcdef");
+        demo.setDisabled("13248765917");
+
+        JsonNode node = objectMapper.readTree(objectMapper.writeValueAsString(demo));
+
+        assertEquals("132****5917", node.get("mobile").asText());
+        assertEquals("y****@iocoder.cn", node.get("email").asText());
+        assertEquals("芋***", node.get("name").asText());
+        // 长度不超过前后缀保留长度时，全部替换
+        assertEquals("**", node.get("shortValue").asText());
+        assertEquals("a#*#*#*#*f", node.get("multiReplacer").asText());
+        assertEquals("13248765917", node.get("disabled").asText());
+    }
+
+    /**
+     * 测试空值与重复序列化，同一字段的脱敏规则可复用
+     */
+    @Test
+    void testBlankAndRepeat() throws Exception {
+        DesensitizeDemo demo = new DesensitizeDemo();
+        demo.setMobile("");
+
+        JsonNode node = objectMapper.readTree(objectMapper.writeValueAsString(demo));
+        assertTrue(node.get("mobile").isNull());
+
+        for (int i = 0; i < 3; i++) {
+            demo.setMobile("1324876591" + i);
+            node = objectMapper.readTree(objectMapper.writeValueAsString(demo));
+            assertEquals("132****591" + i, node.get("mobile").asText());
+        }
+    }
+
+    @Data
+    public static class DesensitizeDemo {
+
+        @MobileDesensitize
+        private String mobile;
+
+        @EmailDesensitize
+        private String email;
+
+        @ChineseNameDesensitize
+        private String name;
+
+        @SliderDesensitize(prefixKeep = 2, suffixKeep = 1)
+        private String shortValue;
+
+        @SliderDesensitize(prefixKeep = 1, suffixKeep = 1, replacer = "#*")
+        private String multiReplacer;
+
+        @MobileDesensitize(disable = "true")
+        private String disabled;
+
+    }
+
+}
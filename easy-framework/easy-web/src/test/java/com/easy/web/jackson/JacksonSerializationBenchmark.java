@@ -0,0 +1,150 @@
+package com.easy.web.jackson;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.easy.web.desensitize.core.slider.annotation.MobileDesensitize;
+import com.easy.web.jackson.config.EasyJacksonProperties;
+import com.easy.web.jackson.config.YudaoJacksonAutoConfiguration;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import cn.iocoder.yudao.framework.common.pojo.CommonResult;
+import cn.iocoder.yudao.framework.common.pojo.PageResult;
+import cn.iocoder.yudao.framework.common.util.json.JsonUtils;
+import lombok.Data;
+
+/**
+ * Jackson 序列化基准测试
+ * <p>
+ * 使用典型的 CommonResult&lt;PageResult&lt;...&gt;&gt; 分页结果，对比默认配置与 easy.jackson.high-performance 高性能模式下
+ * JsonUtils 序列化、反序列化的耗时。数据包含 Long、超过 2^53-1 的 long、LocalDateTime 以及脱敏字段，
+ * 覆盖 NumberSerializer、TimestampLocalDateTime*、StringDesensitizeSerializer 等自定义序列化器，运行 main 方法即可
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonSerializationBenchmark {
+
+    private static final TypeReference<CommonResult<PageResult<BenchmarkUser>>> RESULT_TYPE =
+            new TypeReference<CommonResult<PageResult<BenchmarkUser>>>() {};
+
+    @Param({"false", "true"})
+    private boolean highPerformance;
+
+    @Param({"20", "200"})
+    private int pageSize;
+
+    private CommonResult<PageResult<BenchmarkUser>> result;
+
+    private String json;
+
+    @Setup
+    public void setup() {
+        EasyJacksonProperties properties = new EasyJacksonProperties();
+        properties.getHighPerformance().setEnable(highPerformance);
+        new YudaoJacksonAutoConfiguration().jsonUtils(Collections.singletonList(newObjectMapper()), properties);
+
+        List<BenchmarkUser> users = new ArrayList<>(pageSize);
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < pageSize; i++) {
+            BenchmarkUser user = new BenchmarkUser();
+            user.setId(1024L + i);
+            user.setSnowflakeId(1844674407370955161L + i);
+            user.setUsername("yudao-" + i);
+            user.setNickname("芋道源码");
+            user.setMobile("1324876" + String.format("%04d", i));
+            user.setStatus(i % 2);
+            user.setDeptId(100L);
+            user.setCreateTime(now.plusMinutes(i));
+            user.setUpdateTime(now.plusHours(i));
+            users.add(user);
+        }
+        result = CommonResult.success(new PageResult<>(users, (long) pageSize * 10));
+        json = JsonUtils.toJsonString(result);
+    }
+
+    @Benchmark
+    public String serialize() {
+        return JsonUtils.toJsonString(result);
+    }
+
+    @Benchmark
+    public byte[] serializeBytes() {
+        return JsonUtils.toJsonByte(result);
+    }
+
+    @Benchmark
+    public CommonResult<PageResult<BenchmarkUser>> deserialize() {
+        return JsonUtils.parseObject(json, RESULT_TYPE);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JacksonSerializationBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * 与 Spring Boot 创建的 ObjectMapper 相近的配置
+     */
+    private static ObjectMapper newObjectMapper() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        objectMapper.registerModules(new JavaTimeModule());
+        return objectMapper;
+    }
+
+    /**
+     * 基准测试用的用户
+     */
+    @Data
+    public static class BenchmarkUser {
+
+        private Long id;
+
+        private long snowflakeId;
+
+        private String username;
+
+        private String nickname;
+
+        @MobileDesensitize
+        private String mobile;
+
+        private Integer status;
+
+        private Long deptId;
+
+        private LocalDateTime createTime;
+
+        private LocalDateTime updateTime;
+
+    }
+
+}
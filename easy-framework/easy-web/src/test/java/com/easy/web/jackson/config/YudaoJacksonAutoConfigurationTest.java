@@ -0,0 +1,144 @@
+package com.easy.web.jackson.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import com.easy.web.jackson.core.enums.JacksonAcceleratorEnum;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import cn.iocoder.yudao.framework.common.pojo.CommonResult;
+import cn.iocoder.yudao.framework.common.pojo.PageResult;
+import cn.iocoder.yudao.framework.common.util.json.JsonUtils;
+import lombok.Data;
+
+/**
+ * Jackson 自动配置测试类
+ */
+class YudaoJacksonAutoConfigurationTest {
+
+    private static final String BLACKBIRD_MODULE = "com.fasterxml.jackson.module.blackbird.BlackbirdModule";
+    private static final String AFTERBURNER_MODULE = "com.fasterxml.jackson.module.afterburner.AfterburnerModule";
+
+    @AfterAll
+    static void resetJsonUtils() {
+        JsonUtils.init(newObjectMapper());
+    }
+
+    /**
+     * 测试高性能模式注册字节码加速模块后，Long、LocalDateTime 仍使用自定义的序列化器
+     */
+    @Test
+    void testHighPerformanceKeepsCustomSerializers() throws Exception {
+        ObjectMapper objectMapper = newObjectMapper();
+        init(objectMapper, true, JacksonAcceleratorEnum.AUTO);
+
+        assertTrue(objectMapper.getRegisteredModuleIds().contains(BLACKBIRD_MODULE)
+                || objectMapper.getRegisteredModuleIds().contains(AFTERBURNER_MODULE));
+        // 多次序列化，确保字节码加速生效后结果不变
+        for (int i = 0; i < 3; i++) {
+            JsonNode node = objectMapper.readTree(JsonUtils.toJsonString(newDemo()));
+            assertEquals("1152921504606846976", node.get("bigId").textValue(), "超过 2^53-1 的 long 应序列化为字符串");
+            assertEquals("1152921504606846977", node.get("bigWrapperId").textValue());
+            assertEquals(1024, node.get("id").longValue());
+            assertTrue(node.get("id").isNumber());
+            assertEquals(LocalDateTime.of(2024, 1, 1, 0, 0).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+                    node.get("createTime").longValue());
+        }
+    }
+
+    /**
+     * 测试高性能模式下 JsonUtils 缓存 ObjectReader、ObjectWriter，与未开启时的结果一致
+     */
+    @Test
+    void testJsonUtilsCache() {
+        CommonResult<PageResult<JacksonDemo>> result = CommonResult.success(
+                new PageResult<>(Arrays.asList(newDemo(), newDemo()), 2L));
+        init(newObjectMapper(), false, JacksonAcceleratorEnum.NONE);
+        String expected = JsonUtils.toJsonString(result);
+
+        init(newObjectMapper(), true, JacksonAcceleratorEnum.NONE);
+        for (int i = 0; i < 3; i++) {
+            String json = JsonUtils.toJsonString(result);
+            assertEquals(expected, json);
+            CommonResult<PageResult<JacksonDemo>> parsed = JsonUtils.parseObject(json,
+                    new TypeReference<CommonResult<PageResult<JacksonDemo>>>() {});
+            assertEquals(2, parsed.getData().getList().size());
+            assertEquals(1L << 60, parsed.getData().getList().get(0).getBigId());
+            List<JacksonDemo> list = JsonUtils.parseArray(JsonUtils.toJsonString(parsed.getData().getList()), JacksonDemo.class);
+            assertEquals(newDemo().getCreateTime(), list.get(1).getCreateTime());
+        }
+    }
+
+    /**
+     * 测试默认不开启高性能模式
+     */
+    @Test
+    void testDefaultDisabled() {
+        ObjectMapper objectMapper = newObjectMapper();
+        new YudaoJacksonAutoConfiguration().jsonUtils(Collections.singletonList(objectMapper), new EasyJacksonProperties());
+
+        assertFalse(objectMapper.getRegisteredModuleIds().contains(BLACKBIRD_MODULE));
+        assertFalse(objectMapper.getRegisteredModuleIds().contains(AFTERBURNER_MODULE));
+    }
+
+    private static void init(ObjectMapper objectMapper, boolean enable, JacksonAcceleratorEnum accelerator) {
+        EasyJacksonProperties properties = new EasyJacksonProperties();
+        properties.getHighPerformance().setEnable(enable);
+        properties.getHighPerformance().setAccelerator(accelerator);
+        new YudaoJacksonAutoConfiguration().jsonUtils(Collections.singletonList(objectMapper), properties);
+    }
+
+    /**
+     * 与 JsonUtils 默认的 ObjectMapper 配置一致，避免影响其它测试
+     */
+    private static ObjectMapper newObjectMapper() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        objectMapper.registerModules(new JavaTimeModule());
+        return objectMapper;
+    }
+
+    private static JacksonDemo newDemo() {
+        JacksonDemo demo = new JacksonDemo();
+        demo.setId(1024L);
+        demo.setBigId(1L << 60);
+        demo.setBigWrapperId((1L << 60) + 1);
+        demo.setName("芋道源码");
+        demo.setCreateTime(LocalDateTime.of(2024, 1, 1, 0, 0));
+        return demo;
+    }
+
+    @Data
+    public static class JacksonDemo {
+
+        private Long id;
+
+        private long bigId;
+
+        private Long bigWrapperId;
+
+        private String name;
+
+        private LocalDateTime createTime;
+
+    }
+
+}
@@ -0,0 +1,182 @@
+package com.easy.web.web.core.filter;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import javax.servlet.ServletInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+/**
+ * 请求内容缓存测试类
+ */
+class CachedRequestBodyTest {
+
+    /**
+     * 测试小于阈值的请求内容缓存在内存中，关闭后归还缓冲区
+     */
+    @Test
+    void testMemory() throws IOException {
+        RequestBodyBufferPool pool = new RequestBodyBufferPool(16, 1);
+        byte[] data = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+
+        CachedRequestBody body = CachedRequestBody.read(new ByteArrayInputStream(data), -1, pool, 0);
+
+        assertFalse(body.isSpilled());
+        assertEquals(data.length, body.size());
+        assertArrayEquals(data, toBytes(body.asReadOnlyBuffer()));
+        assertTrue(body.asReadOnlyBuffer().isReadOnly());
+
+        body.close();
+        assertThrows(IllegalStateException.class, body::asReadOnlyBuffer);
+    }
+
+    /**
+     * 测试超过阈值的请求内容写入临时文件，关闭后删除
+     */
+    @Test
+    void testSpill() throws IOException {
+        RequestBodyBufferPool pool = new RequestBodyBufferPool(16, 1);
+        byte[] data = new byte[100];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+
+        CachedRequestBody body = CachedRequestBody.read(new ByteArrayInputStream(data), -1, pool, 0);
+
+        assertTrue(body.isSpilled());
+        assertEquals(100, body.size());
+        // 每次打开独立的流读取临时文件
+        try (InputStream in = body.openStream()) {
+            assertArrayEquals(data, toBytes(in));
+        }
+        InputStream opened = body.openStream();
+        assertArrayEquals(Arrays.copyOf(data, 10), toBytes(body.asReadOnlyBuffer(10)));
+        assertThrows(IllegalStateException.class, body::asReadOnlyBuffer);
+
+        // 关闭时关闭未关闭的流，并删除临时文件
+        body.close();
+        assertThrows(IOException.class, opened::read);
+        assertThrows(IllegalStateException.class, body::openStream);
+    }
+
+    /**
+     * 测试已知长度的小请求按实际长度分配，不占用对象池的缓冲区
+     */
+    @Test
+    void testContentLength() throws IOException {
+        RequestBodyBufferPool pool = new RequestBodyBufferPool(16, 1);
+        byte[] pooled = pool.acquire();
+        pool.release(pooled);
+        byte[] data = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+
+        CachedRequestBody body = CachedRequestBody.read(new ByteArrayInputStream(data), data.length, pool, 0);
+
+        assertFalse(body.isSpilled());
+        assertArrayEquals(data, toBytes(body.asReadOnlyBuffer()));
+        // 池中的缓冲区未被借出
+        assertSame(pooled, pool.acquire());
+        body.close();
+    }
+
+    /**
+     * 测试实际内容比 Content-Length 长时，仍能完整读取
+     */
+    @Test
+    void testContentLengthTooSmall() throws IOException {
+        RequestBodyBufferPool pool = new RequestBodyBufferPool(16, 1);
+        byte[] data = new byte[40];
+        Arrays.fill(data, (byte) 1);
+
+        CachedRequestBody body = CachedRequestBody.read(new ByteArrayInputStream(data), 4, pool, 0);
+
+        assertTrue(body.isSpilled());
+        assertEquals(40, body.size());
+        try (InputStream in = body.openStream()) {
+            assertArrayEquals(data, toBytes(in));
+        }
+        body.close();
+    }
+
+    /**
+     * 测试请求内容超过最大大小时读取失败
+     */
+    @Test
+    void testMaxSize() {
+        RequestBodyBufferPool pool = new RequestBodyBufferPool(16, 1);
+
+        // Content-Length 超过时直接失败，不读取内容
+        assertThrows(IOException.class, () -> CachedRequestBody.read(new ByteArrayInputStream(new byte[0]), 101, pool, 100));
+        // 长度未知时，写入临时文件的过程中超过
+        assertThrows(IOException.class, () -> CachedRequestBody.read(new ByteArrayInputStream(new byte[101]), -1, pool, 100));
+    }
+
+    /**
+     * 测试请求内容恰好等于阈值时，仍缓存在内存中
+     */
+    @Test
+    void testExactThreshold() throws IOException {
+        RequestBodyBufferPool pool = new RequestBodyBufferPool(4, 1);
+
+        CachedRequestBody body = CachedRequestBody.read(new ByteArrayInputStream(new byte[]{1, 2, 3, 4}), -1, pool, 0);
+
+        assertFalse(body.isSpilled());
+        assertEquals(4, body.size());
+        body.close();
+    }
+
+    /**
+     * 测试 Wrapper 可重复读取，且流读取完成后 isFinished 返回 true
+     */
+    @Test
+    void testWrapper() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent("{\"name\":\"芋道\"}".getBytes(StandardCharsets.UTF_8));
+        request.setCharacterEncoding("UTF-8");
+        CacheRequestBodyWrapper wrapper = new CacheRequestBodyWrapper(request, new RequestBodyBufferPool(1024, 1), 0);
+
+        ServletInputStream in = wrapper.getInputStream();
+        assertFalse(in.isFinished());
+        byte[] bytes = new byte[64];
+        int count = in.read(bytes);
+        assertEquals(-1, in.read());
+        assertTrue(in.isFinished());
+        assertEquals("{\"name\":\"芋道\"}", new String(bytes, 0, count, StandardCharsets.UTF_8));
+        try (BufferedReader reader = wrapper.getReader()) {
+            assertEquals("{\"name\":\"芋道\"}", reader.readLine());
+        }
+        assertSame(wrapper.getCachedBody(), wrapper.getCachedBody());
+        wrapper.close();
+    }
+
+    private static byte[] toBytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static byte[] toBytes(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] bytes = new byte[7];
+        int count;
+        while ((count = in.read(bytes)) >= 0) {
+            out.write(bytes, 0, count);
+        }
+        return out.toByteArray();
+    }
+
+}
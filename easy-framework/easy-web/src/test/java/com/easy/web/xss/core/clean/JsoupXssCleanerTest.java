@@ -0,0 +1,78 @@
+package com.easy.web.xss.core.clean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Jsoup XSS清理器测试类
+ */
+class JsoupXssCleanerTest {
+
+    private final JsoupXssCleaner cleaner = new JsoupXssCleaner();
+
+    /**
+     * 测试纯文本走快速路径，原样返回
+     */
+    @Test
+    void testPlainTextFastPath() {
+        String text = "芋道 yudao\t123\n\"quote\" 'single'";
+
+        assertFalse(JsoupXssCleaner.needsClean(text));
+        assertSame(text, cleaner.clean(text));
+        assertNull(cleaner.clean(null));
+    }
+
+    /**
+     * 测试包含标记字符时仍交给 Jsoup 清理
+     */
+    @Test
+    void testMarkup() {
+        assertEquals("<b>bold</b>", cleaner.clean("<b>bold</b><script>alert(1)</script>"));
+        assertEquals("a &amp; b", cleaner.clean("a & b"));
+        assertEquals("a &gt; b", cleaner.clean("a > b"));
+        assertTrue(JsoupXssCleaner.needsClean("a\u0001b"));
+    }
+
+    /**
+     * 测试快速路径判断不需要清理的字符，使用清理器自己的 Safelist 清理后确实不变
+     */
+    @Test
+    void testFastPathConsistentWithJsoup() {
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            assertFastPathConsistent("a" + (char) c + "b", c);
+        }
+    }
+
+    /**
+     * 测试增补字符（代理对）的快速路径判断与 Jsoup 一致
+     */
+    @Test
+    void testFastPathConsistentWithJsoupForSupplementary() {
+        for (int c = Character.MIN_SUPPLEMENTARY_CODE_POINT; c <= Character.MAX_CODE_POINT; c++) {
+            assertFastPathConsistent("a" + new String(Character.toChars(c)) + "b", c);
+        }
+    }
+
+    /**
+     * 测试不成对的代理字符需要清理
+     */
+    @Test
+    void testLoneSurrogate() {
+        assertTrue(JsoupXssCleaner.needsClean("a\ud800b"));
+        assertTrue(JsoupXssCleaner.needsClean("a\udc00b"));
+        assertTrue(JsoupXssCleaner.needsClean("a\ud83d"));
+        assertFalse(JsoupXssCleaner.needsClean("a\ud83d\ude00b"));
+    }
+
+    private void assertFastPathConsistent(String text, int codePoint) {
+        if (!JsoupXssCleaner.needsClean(text)) {
+            assertEquals(text, cleaner.cleanWithJsoup(text), "字符 U+" + Integer.toHexString(codePoint));
+        }
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.easy.web.xss.core.matcher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * XSS白名单URL匹配器测试类
+ */
+class XssExcludeMatcherTest {
+
+    private static final List<String> EXCLUDE_URLS = Arrays.asList(
+            "/admin-api/bpm/model/update-bpmn",
+            "/admin-api/mp/**",
+            "/admin-api/*/article/*",
+            "/app-api/file/{id}/content",
+            "/**/*.html",
+            "/static/js?/**");
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    /**
+     * 测试匹配结果与逐条使用 AntPathMatcher 匹配一致
+     */
+    @Test
+    void testMatchSameAsPathMatcher() {
+        XssExcludeMatcher matcher = new XssExcludeMatcher(EXCLUDE_URLS, pathMatcher);
+        List<String> uris = Arrays.asList("/admin-api/bpm/model/update-bpmn", "/admin-api/bpm/model/update",
+                "/admin-api/mp/account/page", "/admin-api/mp", "/admin-api/system/article/1",
+                "/admin-api/system/article/1/2", "/app-api/file/1/content", "/app-api/file/1/2/content",
+                "/a/b/index.html", "/static/js1/a.js", "/static/js/a.js", "/", "", "/admin-api/mp/");
+
+        for (String uri : uris) {
+            boolean expected = EXCLUDE_URLS.stream().anyMatch(url -> pathMatcher.match(url, uri));
+            assertEquals(expected, matcher.match(uri), uri);
+        }
+    }
+
+    /**
+     * 测试匹配结果缓存在 request 的属性中
+     */
+    @Test
+    void testCachedInRequest() {
+        XssExcludeMatcher matcher = new XssExcludeMatcher(EXCLUDE_URLS, pathMatcher);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/admin-api/mp/account/create");
+
+        assertTrue(matcher.isExcluded(request));
+        assertEquals(Boolean.TRUE, request.getAttribute(XssExcludeMatcher.ATTRIBUTE_EXCLUDED));
+        // 已缓存时，不再匹配
+        request.setAttribute(XssExcludeMatcher.ATTRIBUTE_EXCLUDED, false);
+        assertFalse(matcher.isExcluded(request));
+    }
+
+    /**
+     * 测试没有白名单时不匹配
+     */
+    @Test
+    void testEmpty() {
+        XssExcludeMatcher matcher = new XssExcludeMatcher(Collections.emptyList(), pathMatcher);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/admin-api/mp/account/create");
+
+        assertFalse(matcher.isExcluded(request));
+    }
+
+}